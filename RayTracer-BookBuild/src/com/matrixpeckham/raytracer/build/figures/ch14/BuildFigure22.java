@@ -49,7 +49,8 @@ public class BuildFigure22 implements BuildWorldFunction {
 //		mappedColor = rawColor;
 // in the function World::displayPixel in Listing 14.18, just before the gamma correction
         //NOTE: JAVA COLOR THROWS AN EXCEPTION ON OVERFLOW (B) WILL NOT LOOK
-        //THE SAME, RenderPixel CHECKS FOR OVERFLOW TO PREVENT THIS, AND CLAMPS
+        //THE SAME, FrameBuffer.getRGB() CLAMPS EACH COMPONENT TO 0-255 TO
+        //PREVENT THIS
         int numSamples = 16;
 
         w.vp.setHres(600);
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer;
+
+import com.matrixpeckham.raytracer.tonemapping.ToneMapper;
+import com.matrixpeckham.raytracer.util.RGBColor;
+import java.util.logging.Logger;
+
+/**
+ * Float RGB image the render threads write finished pixels into. Pixels are
+ * stored row by row in one array, three floats each, in image coordinates
+ * (top left origin). There are no locks, every pixel is written by the one
+ * thread rendering it, and the render listener is told about a tile by that
+ * same thread after the tile is written, so it always sees the finished
+ * values. Tone mapping, gamma correction and conversion to 8 bit are done a
+ * tile at a time by getRGB(), when the listener wants to show or save it.
+ *
+ * @author William Matrix Peckham
+ */
+public class FrameBuffer {
+
+    /**
+     * width of the image in pixels
+     */
+    public final int width;
+
+    /**
+     * height of the image in pixels
+     */
+    public final int height;
+
+    /**
+     * r g b of every pixel, row major
+     */
+    private final float[] data;
+
+    /**
+     * tone mapper for getRGB
+     */
+    private final ToneMapper toneMapper;
+
+    /**
+     * gamma for getRGB
+     */
+    private final double gamma;
+
+    /**
+     * inverse of gamma, precomputed
+     */
+    private final double invGamma;
+
+    /**
+     * creates a black image.
+     *
+     * @param width
+     * @param height
+     * @param toneMapper maps colors into 0-1 in getRGB
+     * @param gamma gamma correction applied in getRGB
+     */
+    public FrameBuffer(int width, int height, ToneMapper toneMapper,
+            double gamma) {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("negative image size");
+        }
+        this.width = width;
+        this.height = height;
+        this.toneMapper = toneMapper;
+        this.gamma = gamma;
+        invGamma = 1.0 / gamma;
+        data = new float[3 * width * height];
+    }
+
+    /**
+     * stores the unmapped color of pixel x y.
+     *
+     * @param x
+     * @param y
+     * @param r
+     * @param g
+     * @param b
+     */
+    public void setPixel(int x, int y, double r, double g, double b) {
+        int i = 3 * (y * width + x);
+        data[i] = (float) r;
+        data[i + 1] = (float) g;
+        data[i + 2] = (float) b;
+    }
+
+    /**
+     * gets the unmapped color of pixel x y.
+     *
+     * @param x
+     * @param y
+     * @param out receives the color
+     * @return out
+     */
+    public RGBColor getPixel(int x, int y, RGBColor out) {
+        int i = 3 * (y * width + x);
+        out.setTo(data[i], data[i + 1], data[i + 2]);
+        return out;
+    }
+
+    /**
+     * copies the unmapped r g b values of row y, for writers that stream the
+     * image a scanline at a time.
+     *
+     * @param y
+     * @param out receives 3 * width floats
+     * @return out
+     */
+    public float[] getRow(int y, float[] out) {
+        System.arraycopy(data, 3 * y * width, out, 0, 3 * width);
+        return out;
+    }
+
+    /**
+     * tone maps, gamma corrects and converts a block of pixels to packed 8
+     * bit ARGB, laid out like BufferedImage.getRGB() does, so the result can
+     * go straight to BufferedImage.setRGB().
+     *
+     * @param x left of the block
+     * @param y top of the block
+     * @param w width of the block
+     * @param h height of the block
+     * @param out receives the pixels, allocated if null
+     * @param offset index of the block's first pixel in out
+     * @param scansize distance between the block's rows in out
+     * @return out
+     */
+    public int[] getRGB(int x, int y, int w, int h, int[] out, int offset,
+            int scansize) {
+        if (out == null) {
+            out = new int[offset + h * scansize];
+        }
+        RGBColor c = new RGBColor();
+        for (int j = 0; j < h; j++) {
+            int i = 3 * ((y + j) * width + x);
+            int o = offset + j * scansize;
+            for (int k = 0; k < w; k++, i += 3) {
+                c.setTo(data[i], data[i + 1], data[i + 2]);
+                toneMapper.map(c, c);
+                if (gamma != 1.0) {
+                    c.setTo(Math.pow(c.r, invGamma), Math.pow(c.g, invGamma),
+                            Math.pow(c.b, invGamma));
+                }
+                out[o + k] = 0xff000000 | toByte(c.r) << 16 | toByte(c.g)
+                        << 8 | toByte(c.b);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * converts a 0-1 component to 0-255, clamped
+     *
+     * @param v
+     * @return
+     */
+    private static int toByte(double v) {
+        int i = (int) (v * 255);
+        return i < 0 ? 0 : i > 255 ? 255 : i;
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(FrameBuffer.class.getName());
+
+}
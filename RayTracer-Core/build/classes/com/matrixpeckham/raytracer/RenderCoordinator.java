@@ -0,0 +1,531 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Render farm coordinator. Workers (RenderWorker) connect to its port, are
+ * told which scene to build, and then ask for tiles one at a time and send
+ * back each tile's unmapped pixels. The coordinator puts the tiles together
+ * in a frame buffer and passes them to the render listener as they arrive.
+ * If a worker's connection drops, the tiles it was sent that haven't come
+ * back are handed to the other workers. Each tile sent is leased to its
+ * worker for a while, once every tile has been sent a tile whose lease ran
+ * out is sent again, to whichever worker asks, and a worker that sends
+ * nothing for a whole lease is disconnected, so a hung worker doesn't hold up
+ * the render. Scenes are rendered one after another, a worker connects once
+ * per scene.
+ *
+ * There is no authentication, anyone who can connect can render tiles or
+ * read the scene names and options, so by default only the loopback address
+ * is listened on.
+ *
+ * <pre>
+ * protocol, big endian, on connecting the coordinator sends:
+ *   int MAGIC, utf class name, int n, n utf BatchRender options
+ * then the worker sends any number of
+ *   byte REQUEST                   answered with byte TILE, int first row,
+ *                                  first column, end row and end column,
+ *                                  byte WAIT when the only tiles left are
+ *                                  out with other workers, ask again later,
+ *                                  or byte DONE when there are no more
+ *   byte RESULT, int x, y, w, h,   a finished tile in image coordinates,
+ *   w * h * 3 float r g b          rows top to bottom
+ * </pre>
+ *
+ * @author William Matrix Peckham
+ */
+public class RenderCoordinator implements Closeable {
+
+    static final int MAGIC = 0x52544657;
+
+    static final int REQUEST = 1;
+
+    static final int RESULT = 2;
+
+    static final int TILE = 1;
+
+    static final int DONE = 0;
+
+    static final int WAIT = 2;
+
+    /**
+     * default time a worker has to send back a tile
+     */
+    public static final long DEFAULT_LEASE_MILLIS = 300_000;
+
+    /**
+     * longest close() waits for workers to hang up
+     */
+    private static final long CLOSE_MILLIS = 10_000;
+
+    private final ServerSocket server;
+
+    /**
+     * time a worker has to send back a tile, for scenes started after it is
+     * set
+     */
+    private volatile long leaseMillis = DEFAULT_LEASE_MILLIS;
+
+    /**
+     * scene being rendered, null between scenes
+     */
+    private Job job = null;
+
+    private boolean closed = false;
+
+    /**
+     * connections to workers that were given a scene and haven't hung up
+     */
+    private int serving = 0;
+
+    /**
+     * starts listening for workers on the loopback address, only workers on
+     * this machine can connect.
+     *
+     * @param port port to listen on, 0 for any free port
+     * @throws IOException
+     */
+    public RenderCoordinator(int port) throws IOException {
+	this(port, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * starts listening for workers.
+     *
+     * @param port port to listen on, 0 for any free port
+     * @param bindAddress local address to listen on, null for every one
+     * @throws IOException
+     */
+    public RenderCoordinator(int port, InetAddress bindAddress) throws
+	    IOException {
+	server = new ServerSocket(port, 0, bindAddress);
+	Thread accept = new Thread(this::acceptWorkers, "coordinator accept");
+	accept.setDaemon(true);
+	accept.start();
+    }
+
+    /**
+     * gets the port workers should connect to
+     *
+     * @return
+     */
+    public int getPort() {
+	return server.getLocalPort();
+    }
+
+    /**
+     * sets how long a worker has to send back a tile before it is sent to
+     * another worker, and how long a worker may send nothing before it is
+     * disconnected. should be well over the time a tile takes to render.
+     *
+     * @param millis
+     */
+    public void setLeaseMillis(long millis) {
+	if (millis <= 0) {
+	    throw new IllegalArgumentException("lease must be positive");
+	}
+	leaseMillis = millis;
+    }
+
+    /**
+     * getter
+     *
+     * @return
+     */
+    public long getLeaseMillis() {
+	return leaseMillis;
+    }
+
+    /**
+     * renders a scene on the workers, blocks until every tile has come back.
+     *
+     * @param className BuildWorldFunction the workers build
+     * @param options BatchRender options the workers apply to the scene
+     * @param fb image to put the tiles in, its size is the image size
+     * @param tileSize
+     * @param listener gets renderStarting, each tile, progress and
+     * renderFinished
+     * @throws InterruptedException
+     */
+    public void render(String className, List<String> options, FrameBuffer fb,
+	    int tileSize, RenderListener listener) throws InterruptedException {
+	Job j = new Job(className, options, fb, tileSize, listener,
+		leaseMillis);
+	listener.renderStarting(fb.width, fb.height);
+	synchronized (this) {
+	    job = j;
+	    notifyAll();
+	}
+	try {
+	    j.await();
+	} finally {
+	    synchronized (this) {
+		job = null;
+	    }
+	}
+	listener.renderFinished();
+    }
+
+    /**
+     * stops listening, workers waiting for a scene are disconnected. workers
+     * still asking for tiles of the last scene are given a while to be told
+     * it's done and hang up, so they don't see the connection drop when this
+     * process exits.
+     */
+    @Override
+    public void close() throws IOException {
+	synchronized (this) {
+	    closed = true;
+	    notifyAll();
+	}
+	server.close();
+	long end = System.currentTimeMillis() + CLOSE_MILLIS;
+	synchronized (this) {
+	    long left;
+	    while (serving > 0 && (left = end - System.currentTimeMillis())
+		    > 0) {
+		try {
+		    wait(left);
+		} catch (InterruptedException ex) {
+		    Thread.currentThread().interrupt();
+		    return;
+		}
+	    }
+	}
+    }
+
+    private void acceptWorkers() {
+	while (true) {
+	    Socket s;
+	    try {
+		s = server.accept();
+	    } catch (IOException ex) {
+		if (!server.isClosed()) {
+		    LOG.log(Level.SEVERE, null, ex);
+		}
+		return;
+	    }
+	    Thread t = new Thread(() -> serve(s), "coordinator "
+		    + s.getRemoteSocketAddress());
+	    t.setDaemon(true);
+	    t.start();
+	}
+    }
+
+    /**
+     * waits for a scene to render
+     *
+     * @return null if closed
+     */
+    private synchronized Job nextJob() {
+	while (job == null && !closed) {
+	    try {
+		wait();
+	    } catch (InterruptedException ex) {
+		return null;
+	    }
+	}
+	if (closed) {
+	    return null;
+	}
+	serving++;
+	return job;
+    }
+
+    /**
+     * talks to one worker for one scene
+     *
+     * @param s
+     */
+    private void serve(Socket s) {
+	Job j = nextJob();
+	//tiles sent to this worker that haven't come back
+	List<Integer> sent = new ArrayList<>();
+	try (Socket socket = s) {
+	    if (j == null) {
+		return;
+	    }
+	    socket.setTcpNoDelay(true);
+	    DataInputStream in = new DataInputStream(new BufferedInputStream(
+		    socket.getInputStream()));
+	    DataOutputStream out = new DataOutputStream(
+		    new BufferedOutputStream(socket.getOutputStream()));
+	    out.writeInt(MAGIC);
+	    out.writeUTF(j.className);
+	    out.writeInt(j.options.size());
+	    for (String o : j.options) {
+		out.writeUTF(o);
+	    }
+	    out.flush();
+	    //a live worker asks for tiles or sends them back within a lease
+	    socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE,
+		    j.leaseMillis));
+	    int type;
+	    while ((type = in.read()) >= 0) {
+		if (type == REQUEST) {
+		    //never blocks, so a worker that goes away is always noticed
+		    int t = j.take();
+		    if (t == -1) {
+			out.writeByte(DONE);
+		    } else if (t == -2) {
+			out.writeByte(WAIT);
+		    } else {
+			sent.add(t);
+			int r0 = (t / j.tilesX) * j.size;
+			int c0 = (t % j.tilesX) * j.size;
+			out.writeByte(TILE);
+			out.writeInt(r0);
+			out.writeInt(c0);
+			out.writeInt(Math.min(r0 + j.size, j.fb.height));
+			out.writeInt(Math.min(c0 + j.size, j.fb.width));
+		    }
+		    out.flush();
+		} else if (type == RESULT) {
+		    int x = in.readInt();
+		    int y = in.readInt();
+		    int w = in.readInt();
+		    int h = in.readInt();
+		    int t = j.tileAt(x, y, w, h);
+		    if (t < 0) {
+			throw new IOException("not a tile " + x + " " + y + " "
+				+ w + " " + h);
+		    }
+		    for (int py = y; py < y + h; py++) {
+			for (int px = x; px < x + w; px++) {
+			    float r = in.readFloat();
+			    float g = in.readFloat();
+			    float b = in.readFloat();
+			    j.fb.setPixel(px, py, r, g, b);
+			}
+		    }
+		    sent.remove((Integer) t);
+		    j.finish(t, x, y, w, h);
+		} else {
+		    throw new IOException("bad message " + type);
+		}
+	    }
+	} catch (EOFException | SocketException ex) {
+	    //worker went away, its tiles are handed out again below
+	} catch (SocketTimeoutException ex) {
+	    LOG.log(Level.WARNING, "{0} sent nothing for {1,number,#} ms, "
+		    + "disconnected", new Object[]{s.getRemoteSocketAddress(), j.leaseMillis});
+	} catch (IOException ex) {
+	    LOG.log(Level.WARNING, s.getRemoteSocketAddress().toString(), ex);
+	} finally {
+	    if (j != null) {
+		j.requeue(sent);
+		synchronized (this) {
+		    serving--;
+		    notifyAll();
+		}
+	    }
+	}
+    }
+
+    /**
+     * one scene's tiles
+     */
+    private static final class Job {
+
+	final String className;
+
+	final List<String> options;
+
+	final FrameBuffer fb;
+
+	final RenderListener listener;
+
+	final long leaseMillis;
+
+	final int size;
+
+	final int tilesX;
+
+	final int numTiles;
+
+	/**
+	 * tiles not sent to any worker, or sent to one that went away
+	 */
+	final ArrayDeque<Integer> pending = new ArrayDeque<>();
+
+	final boolean[] done;
+
+	/**
+	 * time each tile's lease runs out, 0 for tiles never sent
+	 */
+	final long[] leaseEnd;
+
+	/**
+	 * tiles that haven't come back
+	 */
+	int remaining;
+
+	/**
+	 * tiles passed to the listener
+	 */
+	int delivered = 0;
+
+	Job(String className, List<String> options, FrameBuffer fb, int size,
+		RenderListener listener, long leaseMillis) {
+	    this.className = className;
+	    this.options = options;
+	    this.fb = fb;
+	    this.size = size;
+	    this.listener = listener;
+	    this.leaseMillis = leaseMillis;
+	    tilesX = (fb.width + size - 1) / size;
+	    numTiles = tilesX * ((fb.height + size - 1) / size);
+	    done = new boolean[numTiles];
+	    leaseEnd = new long[numTiles];
+	    remaining = numTiles;
+	    //bottom rows first, like the scheduler's scanline order
+	    for (int t = 0; t < numTiles; t++) {
+		pending.add(t);
+	    }
+	}
+
+	/**
+	 * gets a tile to send and leases it. once every tile has been sent,
+	 * tiles whose lease ran out are sent again, whichever copy comes back
+	 * first is used.
+	 *
+	 * @return tile, -1 if every tile is done, or -2 if the only tiles left
+	 * are out with workers that may still send them
+	 */
+	synchronized int take() {
+	    if (remaining == 0) {
+		return -1;
+	    }
+	    long now = System.currentTimeMillis();
+	    int t = pending.isEmpty() ? expired(now) : pending.poll();
+	    if (t >= 0) {
+		leaseEnd[t] = now + leaseMillis;
+	    }
+	    return t;
+	}
+
+	/**
+	 * finds a tile that was sent but didn't come back in time
+	 *
+	 * @param now
+	 * @return -2 if there isn't one
+	 */
+	private int expired(long now) {
+	    for (int t = 0; t < numTiles; t++) {
+		if (!done[t] && leaseEnd[t] != 0 && leaseEnd[t] <= now) {
+		    LOG.log(Level.INFO, "tile {0} not back in {1,number,#} ms, sending it"
+			    + " again", new Object[]{t, leaseMillis});
+		    return t;
+		}
+	    }
+	    return -2;
+	}
+
+	/**
+	 * finds the tile an image rectangle is
+	 *
+	 * @param x
+	 * @param y
+	 * @param w
+	 * @param h
+	 * @return -1 if it isn't exactly a tile
+	 */
+	int tileAt(int x, int y, int w, int h) {
+	    //tiles are numbered by row from the bottom
+	    int r0 = fb.height - y - h;
+	    if (x < 0 || r0 < 0 || x % size != 0 || r0 % size != 0) {
+		return -1;
+	    }
+	    if (w != Math.min(size, fb.width - x) || h != Math.min(size,
+		    fb.height - r0)) {
+		return -1;
+	    }
+	    return (r0 / size) * tilesX + x / size;
+	}
+
+	/**
+	 * records a tile that came back, the first copy of a tile to come back
+	 * is passed to the listener.
+	 */
+	void finish(int t, int x, int y, int w, int h) {
+	    synchronized (this) {
+		if (done[t]) {
+		    return;
+		}
+		done[t] = true;
+		remaining--;
+	    }
+	    listener.newTile(fb, x, y, w, h);
+	    int d;
+	    synchronized (this) {
+		d = ++delivered;
+		if (d == numTiles) {
+		    notifyAll();
+		}
+	    }
+	    listener.progress((double) d / numTiles);
+	}
+
+	/**
+	 * hands out the tiles in ts again, unless they're done
+	 *
+	 * @param ts
+	 */
+	synchronized void requeue(List<Integer> ts) {
+	    for (int t : ts) {
+		if (!done[t]) {
+		    pending.addFirst(t);
+		}
+	    }
+	}
+
+	/**
+	 * waits for every tile to reach the listener
+	 *
+	 * @throws InterruptedException
+	 */
+	synchronized void await() throws InterruptedException {
+	    while (delivered < numTiles) {
+		wait();
+	    }
+	}
+
+    }
+
+    private static final Logger LOG
+	    = Logger.getLogger(RenderCoordinator.class.getName());
+
+}
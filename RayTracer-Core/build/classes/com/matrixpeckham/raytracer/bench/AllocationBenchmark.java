@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.bench;
+
+import com.matrixpeckham.raytracer.geometricobjects.primitives.Plane;
+import com.matrixpeckham.raytracer.geometricobjects.primitives.Sphere;
+import com.matrixpeckham.raytracer.lights.Directional;
+import com.matrixpeckham.raytracer.materials.Matte;
+import com.matrixpeckham.raytracer.tracers.Whitted;
+import com.matrixpeckham.raytracer.util.Normal;
+import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ShadeRec;
+import com.matrixpeckham.raytracer.util.Utility;
+import com.matrixpeckham.raytracer.world.World;
+import java.lang.management.ManagementFactory;
+import java.util.logging.Logger;
+
+/**
+ * Measures how many bytes are allocated per ray on the intersection and
+ * shading path, using the per thread allocation counter of the JVM. Compares
+ * the old hitObjects(ray) path, which makes a new ShadeRec per ray and copied
+ * it again in the tracer, with the reused per depth ShadeRec, and then the
+ * whole traceRay including shading. Run with no arguments, or the number of
+ * rays to trace.
+ *
+ * @author William Matrix Peckham
+ */
+public class AllocationBenchmark {
+
+    /**
+     * rays traced before measuring, so the JIT has compiled the hot path and
+     * the per thread records exist.
+     */
+    private static final int WARMUP_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int numRays = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        java.lang.management.ThreadMXBean mx = ManagementFactory.
+                getThreadMXBean();
+        if (!(mx instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println("per thread allocation counter not supported"
+                    + " by this JVM");
+            return;
+        }
+        com.sun.management.ThreadMXBean bean
+                = (com.sun.management.ThreadMXBean) mx;
+        bean.setThreadAllocatedMemoryEnabled(true);
+
+        World w = buildWorld();
+        Ray[] rays = makeRays(numRays);
+
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            boolean report = round == WARMUP_ROUNDS;
+            long tid = Thread.currentThread().getId();
+
+            long before = bean.getThreadAllocatedBytes(tid);
+            int hits = 0;
+            for (Ray ray : rays) {
+                ShadeRec sr = new ShadeRec(w.hitObjects(ray));
+                if (sr.hitAnObject) {
+                    hits++;
+                }
+            }
+            long copied = bean.getThreadAllocatedBytes(tid) - before;
+
+            before = bean.getThreadAllocatedBytes(tid);
+            for (Ray ray : rays) {
+                ShadeRec sr = w.hitObjects(ray, w.getShadeRec(0));
+                if (sr.hitAnObject) {
+                    hits--;
+                }
+            }
+            long reused = bean.getThreadAllocatedBytes(tid) - before;
+
+            before = bean.getThreadAllocatedBytes(tid);
+            double sum = 0;
+            for (Ray ray : rays) {
+                sum += w.tracer.traceRay(ray, 0).r;
+            }
+            long traced = bean.getThreadAllocatedBytes(tid) - before;
+
+            if (report) {
+                System.out.println("rays: " + numRays + " (hit count check "
+                        + hits + ", color sum " + sum + ")");
+                print("hitObjects(ray) + copy", copied, numRays);
+                print("hitObjects(ray, getShadeRec(0))", reused, numRays);
+                print("tracer.traceRay(ray, 0)", traced, numRays);
+            }
+        }
+    }
+
+    private static void print(String name, long bytes, int numRays) {
+        System.out.printf("%-34s %10.1f bytes/ray%n", name, (double) bytes
+                / numRays);
+    }
+
+    /**
+     * a plane and a cloud of small matte spheres in a BVH, lit by one
+     * directional light with shadows.
+     */
+    private static World buildWorld() {
+        World w = new World();
+        w.tracer = new Whitted(w);
+        w.setAccelerate(true);
+
+        Directional light = new Directional();
+        light.setDirection(-10, 20, 20);
+        light.scaleRadiance(3.0);
+        light.setShadows(true);
+        w.addLight(light);
+
+        Matte floor = new Matte();
+        floor.setKa(0.25);
+        floor.setKd(0.75);
+        floor.setCd(0.8, 0.8, 0.8);
+        Plane p = new Plane(new Point3D(0, -1, 0), new Normal(0, 1, 0));
+        p.setMaterial(floor);
+        w.addObject(p);
+
+        Utility.setRandSeed(15);
+        for (int j = 0; j < 1000; j++) {
+            Matte matte = new Matte();
+            matte.setKa(0.25);
+            matte.setKd(0.75);
+            matte.setCd(Utility.randDouble(), Utility.randDouble(), Utility.
+                    randDouble());
+            Sphere sphere = new Sphere();
+            sphere.setRadius(0.03);
+            sphere.setCenter(new Point3D(1.0 - 2.0 * Utility.randDouble(),
+                    1.0 - 2.0 * Utility.randDouble(),
+                    1.0 - 2.0 * Utility.randDouble()));
+            sphere.setMaterial(matte);
+            w.addObject(sphere);
+        }
+        w.buildAccelerator();
+        return w;
+    }
+
+    /**
+     * rays from a fixed eye point through random points of the sphere cloud
+     */
+    private static Ray[] makeRays(int numRays) {
+        Ray[] rays = new Ray[numRays];
+        for (int i = 0; i < numRays; i++) {
+            Ray r = new Ray();
+            r.o.setTo(0, 0, 5);
+            r.d.setTo(1.0 - 2.0 * Utility.randDouble(), 1.0 - 2.0 * Utility.
+                    randDouble(), -5);
+            r.d.normalize();
+            rays[i] = r;
+        }
+        return rays;
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(AllocationBenchmark.class.getName());
+
+}
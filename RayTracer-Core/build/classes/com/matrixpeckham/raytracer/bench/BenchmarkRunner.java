@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.bench;
+
+import com.matrixpeckham.raytracer.cameras.Camera;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * Small microbenchmark harness, so regressions in the hot paths can be
+ * measured without pulling a benchmarking library into the ant build. Each
+ * benchmark is warmed up, then timed for a number of iterations of roughly
+ * fixed length, and the mean and standard deviation of the time per operation
+ * is reported.
+ *
+ * usage: BenchmarkRunner [-w warmups] [-i iterations] [-t millis]
+ * [-f figure,figure...] [filter...]
+ *
+ * only benchmarks whose name contains one of the filters are run. Figure
+ * class names for the render benchmarks default to a few from the book build,
+ * which must be on the classpath (plugins/RayTracer-BookBuild.jar).
+ *
+ * @author William Matrix Peckham
+ */
+public class BenchmarkRunner {
+
+    /**
+     * results go here so the JIT can't drop the benchmark bodies.
+     */
+    private static volatile double sink;
+
+    /**
+     * warm up iterations, not reported
+     */
+    private int warmups = 3;
+
+    /**
+     * measured iterations
+     */
+    private int iterations = 5;
+
+    /**
+     * target length of one iteration
+     */
+    private long iterationNanos = 500_000_000L;
+
+    /**
+     * entry point
+     *
+     * @param args
+     * @throws InterruptedException
+     */
+    public static void main(String[] args) throws InterruptedException {
+        BenchmarkRunner runner = new BenchmarkRunner();
+        List<String> filters = new ArrayList<>();
+        String[] figures = RenderBenchmarks.DEFAULT_FIGURES;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-w":
+                    runner.warmups = Integer.parseInt(args[++i]);
+                    break;
+                case "-i":
+                    runner.iterations = Integer.parseInt(args[++i]);
+                    break;
+                case "-t":
+                    runner.iterationNanos = Long.parseLong(args[++i])
+                            * 1_000_000L;
+                    break;
+                case "-f":
+                    figures = args[++i].split(",");
+                    break;
+                default:
+                    filters.add(args[i]);
+            }
+        }
+
+        List<MicroBenchmark> all = new ArrayList<>();
+        all.addAll(IntersectionBenchmarks.create());
+        all.addAll(LoaderBenchmarks.create());
+        all.addAll(SamplerBenchmarks.create());
+        all.addAll(ShadeBenchmarks.create());
+        all.addAll(TextureBenchmarks.create());
+        all.addAll(RenderBenchmarks.create(figures));
+
+        System.out.printf("%-40s %8s %14s %12s%n", "benchmark", "threads",
+                "ns/op", "+/-");
+        for (MicroBenchmark b : all) {
+            if (matches(b.getName(), filters)) {
+                runner.run(b);
+            }
+        }
+        Camera.exit();
+    }
+
+    private static boolean matches(String name, List<String> filters) {
+        if (filters.isEmpty()) {
+            return true;
+        }
+        for (String f : filters) {
+            if (name.contains(f)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * runs and reports one benchmark
+     *
+     * @param b
+     * @throws InterruptedException
+     */
+    public void run(MicroBenchmark b) throws InterruptedException {
+        try {
+            b.setup();
+        } catch (Exception | LinkageError ex) {
+            System.out.printf("%-40s skipped: %s%n", b.getName(), ex);
+            return;
+        }
+        ExecutorService threads = Executors.newFixedThreadPool(b.getThreads());
+        try {
+            //grow the operation count until one call takes a tenth of an
+            //iteration, then scale it up to a whole iteration
+            int ops = 1;
+            long t;
+            while ((t = time(b, ops, threads)) < iterationNanos / 10
+                    && ops < Integer.MAX_VALUE / 2) {
+                ops *= 2;
+            }
+            ops = (int) Math.max(1, Math.min(Integer.MAX_VALUE,
+                    (double) ops * iterationNanos / Math.max(t, 1)));
+
+            for (int i = 0; i < warmups; i++) {
+                time(b, ops, threads);
+            }
+            double[] nsPerOp = new double[iterations];
+            double mean = 0;
+            for (int i = 0; i < iterations; i++) {
+                nsPerOp[i] = (double) time(b, ops, threads) / ops;
+                mean += nsPerOp[i];
+            }
+            mean /= iterations;
+            double var = 0;
+            for (double d : nsPerOp) {
+                var += (d - mean) * (d - mean);
+            }
+            double dev = iterations > 1 ? Math.sqrt(var / (iterations - 1)) : 0;
+            System.out.printf("%-40s %8d %14.1f %12.1f%n", b.getName(), b.
+                    getThreads(), mean, dev);
+        } catch (ExecutionException ex) {
+            System.out.printf("%-40s failed: %s%n", b.getName(), ex.getCause());
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    /**
+     * times ops operations on each of the benchmark's threads, all released
+     * together.
+     */
+    private static long time(final MicroBenchmark b, final int ops,
+            ExecutorService threads) throws InterruptedException,
+            ExecutionException {
+        int n = b.getThreads();
+        if (n == 1) {
+            long start = System.nanoTime();
+            sink += b.run(ops);
+            return System.nanoTime() - start;
+        }
+        final CyclicBarrier barrier = new CyclicBarrier(n + 1);
+        List<Future<Double>> results = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            results.add(threads.submit(new Callable<Double>() {
+                @Override
+                public Double call() throws Exception {
+                    barrier.await();
+                    return b.run(ops);
+                }
+            }));
+        }
+        long start;
+        try {
+            barrier.await();
+            start = System.nanoTime();
+        } catch (BrokenBarrierException ex) {
+            throw new ExecutionException(ex);
+        }
+        for (Future<Double> f : results) {
+            sink += f.get();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(BenchmarkRunner.class.getName());
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.bench;
+
+import com.matrixpeckham.raytracer.geometricobjects.compound.TriangleMesh;
+import com.matrixpeckham.raytracer.util.Mesh;
+import com.matrixpeckham.raytracer.util.ply.PLYFile;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Mesh loading benchmarks, the old element based PLYFile against the
+ * streaming reader behind TriangleMesh, in object and packed mode. One
+ * operation is one whole file load.
+ *
+ * @author William Matrix Peckham
+ */
+public class LoaderBenchmarks {
+
+    /**
+     * the model loaded, the largest bundled one
+     */
+    private static final String MODEL
+            = "resources/Models/Stanford Bunny/Bunny69K.ply";
+
+    /**
+     * all the loader benchmarks
+     *
+     * @return
+     */
+    public static List<MicroBenchmark> create() {
+        List<MicroBenchmark> list = new ArrayList<>();
+        list.add(new LoadBenchmark("PLYFile load Bunny69K") {
+            @Override
+            double load() throws IOException {
+                return new PLYFile(file).getElements("face").size();
+            }
+        });
+        list.add(new LoadBenchmark("TriangleMesh load Bunny69K") {
+            @Override
+            double load() throws IOException {
+                TriangleMesh mesh = new TriangleMesh(new Mesh());
+                mesh.readSmoothTriangles(file);
+                return mesh.getNumObjects();
+            }
+        });
+        list.add(new LoadBenchmark("TriangleMesh packed load Bunny69K") {
+            @Override
+            double load() throws IOException {
+                TriangleMesh mesh = new TriangleMesh(new Mesh());
+                mesh.setPacked(true);
+                mesh.readSmoothTriangles(file);
+                return mesh.getPackedMesh().numTriangles;
+            }
+        });
+        return list;
+    }
+
+    /**
+     * times loading the model from its file
+     */
+    abstract static class LoadBenchmark extends MicroBenchmark {
+
+        File file;
+
+        LoadBenchmark(String name) {
+            super(name);
+        }
+
+        abstract double load() throws IOException;
+
+        @Override
+        public void setup() throws Exception {
+            URL url = Thread.currentThread().getContextClassLoader().
+                    getResource(MODEL);
+            if (url == null || !url.getProtocol().equals("file")) {
+                throw new FileNotFoundException(MODEL);
+            }
+            try {
+                file = new File(url.toURI());
+            } catch (URISyntaxException ex) {
+                throw new FileNotFoundException(MODEL);
+            }
+        }
+
+        @Override
+        public double run(int ops) {
+            double sum = 0;
+            try {
+                for (int i = 0; i < ops; i++) {
+                    sum += load();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return sum;
+        }
+
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(LoaderBenchmarks.class.getName());
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.bench;
+
+import java.util.logging.Logger;
+
+/**
+ * One benchmark run by BenchmarkRunner. setup() is called once, then run() is
+ * called repeatedly with the number of operations to time. run() must return
+ * something computed from every operation so the JIT can't remove the work,
+ * the runner keeps it in a sink.
+ *
+ * @author William Matrix Peckham
+ */
+public abstract class MicroBenchmark {
+
+    /**
+     * name shown in the report, and matched against the runner's filters
+     */
+    private final String name;
+
+    /**
+     * number of threads that call run() at the same time
+     */
+    private final int threads;
+
+    /**
+     * single threaded benchmark
+     *
+     * @param name
+     */
+    protected MicroBenchmark(String name) {
+        this(name, 1);
+    }
+
+    /**
+     * benchmark run from several threads at once, for measuring contention
+     *
+     * @param name
+     * @param threads
+     */
+    protected MicroBenchmark(String name, int threads) {
+        this.name = name;
+        this.threads = threads;
+    }
+
+    /**
+     * getter
+     *
+     * @return
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * getter
+     *
+     * @return
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * builds whatever the benchmark needs, not timed. throw to skip the
+     * benchmark.
+     *
+     * @throws Exception
+     */
+    public void setup() throws Exception {
+    }
+
+    /**
+     * performs the operation being measured ops times.
+     *
+     * @param ops
+     * @return value depending on every operation
+     */
+    public abstract double run(int ops);
+
+    private static final Logger LOG
+            = Logger.getLogger(MicroBenchmark.class.getName());
+
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.bench;
+
+import com.matrixpeckham.raytracer.util.BruteForceSolver;
+import com.matrixpeckham.raytracer.util.QuarticSolver;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * Accuracy check for QuarticSolver, comparing the roots it finds against
+ * BruteForceSolver, which is far too slow to render with but works in
+ * BigDecimal. Covers quartics built from random roots, quartics with two
+ * nearly equal roots, quartics that only touch zero at a double root, and the
+ * torus quartics of rays grazing a torus. The number of roots and their values
+ * have to agree, repeated roots counting once per factor.
+ *
+ * BruteForceSolver itself misses double and nearly double roots, so every
+ * case also knows its real roots, from the factors it was built from (for the
+ * torus, the tangent point and the roots left after dividing it out). When
+ * BruteForceSolver disagrees with those the case is checked against them
+ * instead, and counted as a reference miss. Exits with status 1 if any case
+ * fails.
+ *
+ * usage: QuarticSolverCheck [-n cases] [-seed seed] [-v]
+ *
+ * @author William Matrix Peckham
+ */
+public class QuarticSolverCheck {
+
+    /**
+     * largest difference between matching roots, relative to the size of the
+     * root (or 1 for roots near 0)
+     */
+    private static final double ROOT_TOLERANCE = 1.0e-5;
+
+    /**
+     * swept and tube radius of the torus the grazing rays are aimed at, the
+     * default primitives.Torus
+     */
+    private static final double TORUS_A = 2;
+
+    private static final double TORUS_B = 0.5;
+
+    private final Random rand;
+
+    private final boolean verbose;
+
+    private int cases = 0;
+
+    private int failures = 0;
+
+    private int referenceMisses = 0;
+
+    private double maxError = 0;
+
+    /**
+     * initializing constructor
+     *
+     * @param seed
+     * @param verbose print every failing case
+     */
+    public QuarticSolverCheck(long seed, boolean verbose) {
+        rand = new Random(seed);
+        this.verbose = verbose;
+    }
+
+    /**
+     * entry point
+     *
+     * @param args
+     */
+    public static void main(String[] args) {
+        int n = 1000;
+        long seed = 1;
+        boolean verbose = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-n":
+                    n = Integer.parseInt(args[++i]);
+                    break;
+                case "-seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "-v":
+                    verbose = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option "
+                            + args[i]);
+            }
+        }
+        QuarticSolverCheck check = new QuarticSolverCheck(seed, verbose);
+        boolean ok = check.random(n);
+        ok &= check.nearDoubleRoots(n);
+        ok &= check.touching(n);
+        ok &= check.grazingTorus(n);
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * quartics with random roots, each pair either real or complex
+     *
+     * @param n number of quartics
+     * @return true if every one agreed
+     */
+    public boolean random(int n) {
+        start();
+        for (int i = 0; i < n; i++) {
+            double[] p = {1};
+            double[] known = new double[4];
+            int numKnown = 0;
+            for (int j = 0; j < 2; j++) {
+                if (rand.nextBoolean()) {
+                    known[numKnown++] = root();
+                    known[numKnown++] = root();
+                    p = timesReal(timesReal(p, known[numKnown - 2]),
+                            known[numKnown - 1]);
+                } else {
+                    p = timesPair(p, root(), 0.1 + rand.nextDouble() * 5);
+                }
+            }
+            compare(scale(p), known, numKnown);
+        }
+        return report("random");
+    }
+
+    /**
+     * quartics with two real roots closer together than 1e-3 relative, down
+     * to 1e-5, plus another pair
+     *
+     * @param n number of quartics
+     * @return true if every one agreed
+     */
+    public boolean nearDoubleRoots(int n) {
+        start();
+        for (int i = 0; i < n; i++) {
+            double r = root();
+            double gap = Math.max(1, Math.abs(r)) * Math.pow(10, -3 - 2 * rand.
+                    nextDouble());
+            double[] known = {r, r + gap, root(), root()};
+            double[] p = timesReal(timesReal(new double[]{1}, known[0]),
+                    known[1]);
+            int numKnown = 2;
+            if (rand.nextBoolean()) {
+                p = timesReal(timesReal(p, known[2]), known[3]);
+                numKnown = 4;
+            } else {
+                p = timesPair(p, known[2], 0.1 + rand.nextDouble() * 5);
+            }
+            compare(scale(p), known, numKnown);
+        }
+        return report("near double roots");
+    }
+
+    /**
+     * quartics with a double root, where the polynomial only touches zero,
+     * plus another pair
+     *
+     * @param n number of quartics
+     * @return true if every one agreed
+     */
+    public boolean touching(int n) {
+        start();
+        for (int i = 0; i < n; i++) {
+            //roots with few mantissa bits, so the coefficients are exact
+            double r = Math.rint(root() * 64) / 64;
+            double[] known = {r, r, Math.rint(root() * 64) / 64, Math.rint(
+                root() * 64) / 64};
+            double[] p = timesReal(timesReal(new double[]{1}, r), r);
+            int numKnown = 2;
+            if (rand.nextBoolean()) {
+                p = timesReal(timesReal(p, known[2]), known[3]);
+                numKnown = 4;
+            } else {
+                p = timesPair(p, known[2], Math.rint(1 + rand.nextDouble()
+                        * 64) / 16);
+            }
+            compare(p, known, numKnown);
+        }
+        return report("touching");
+    }
+
+    /**
+     * rays tangent to the torus at a random point, in a random tangent
+     * direction, starting from outside its bounding box. the quartic has a
+     * double root at the tangent point.
+     *
+     * @param n number of rays
+     * @return true if every one agreed
+     */
+    public boolean grazingTorus(int n) {
+        start();
+        for (int i = 0; i < n; i++) {
+            //point on the torus, and the normal there
+            double u = rand.nextDouble() * 2 * Math.PI;
+            double v = rand.nextDouble() * 2 * Math.PI;
+            double[] nrm = {Math.cos(v) * Math.cos(u), Math.sin(v), Math.cos(v)
+                * Math.sin(u)};
+            double[] pt = {(TORUS_A + TORUS_B * Math.cos(v)) * Math.cos(u),
+                TORUS_B * Math.sin(v), (TORUS_A + TORUS_B * Math.cos(v)) * Math.
+                sin(u)};
+            //random direction with the normal part removed
+            double[] d = {rand.nextGaussian(), rand.nextGaussian(), rand.
+                nextGaussian()};
+            double dn = d[0] * nrm[0] + d[1] * nrm[1] + d[2] * nrm[2];
+            double len = 0;
+            for (int k = 0; k < 3; k++) {
+                d[k] -= dn * nrm[k];
+                len += d[k] * d[k];
+            }
+            len = Math.sqrt(len);
+            double back = 2 * (TORUS_A + TORUS_B);
+            double[] o = new double[3];
+            for (int k = 0; k < 3; k++) {
+                d[k] /= len;
+                o[k] = pt[k] - back * d[k];
+            }
+            double[] p = torus(o, d);
+            //divide the double root at the tangent point out, the quadratic
+            //left has the other two
+            double[] q = divideReal(divideReal(p, back), back);
+            double[] known = {back, back, 0, 0};
+            int numKnown = 2;
+            double disc = q[1] * q[1] - 4 * q[0] * q[2];
+            if (disc >= 0) {
+                known[2] = (-q[1] - Math.sqrt(disc)) / (2 * q[0]);
+                known[3] = (-q[1] + Math.sqrt(disc)) / (2 * q[0]);
+                numKnown = 4;
+            }
+            compare(p, known, numKnown);
+        }
+        return report("grazing torus");
+    }
+
+    /**
+     * coefficients of the torus quartic for a ray, as primitives.Torus forms
+     * them, highest power first.
+     */
+    private static double[] torus(double[] o, double[] d) {
+        double sumD = d[0] * d[0] + d[1] * d[1] + d[2] * d[2];
+        double e = o[0] * o[0] + o[1] * o[1] + o[2] * o[2] - TORUS_A * TORUS_A
+                - TORUS_B * TORUS_B;
+        double f = o[0] * d[0] + o[1] * d[1] + o[2] * d[2];
+        double fourA2 = 4.0 * TORUS_A * TORUS_A;
+        return new double[]{sumD * sumD, 4.0 * sumD * f, 2.0 * sumD * e + 4.0
+            * f * f + fourA2 * d[1] * d[1], 4.0 * f * e + 2.0 * fourA2 * o[1]
+            * d[1], e * e - fourA2 * (TORUS_B * TORUS_B - o[1] * o[1])};
+    }
+
+    /**
+     * solves the quartic both ways and counts a failure if they disagree, or
+     * if BruteForceSolver got it wrong, if QuarticSolver disagrees with the
+     * known roots.
+     *
+     * @param p coefficients, highest power first
+     * @param known real roots of the quartic, with repeats
+     * @param numKnown
+     */
+    private void compare(double[] p, double[] known, int numKnown) {
+        cases++;
+        Arrays.sort(known, 0, numKnown);
+        double[] expected = new double[4];
+        int numExpected = new BruteForceSolver(p[0], p[1], p[2], p[3], p[4]).
+                solveQuartic(expected);
+        Arrays.sort(expected, 0, numExpected);
+        if (!same(expected, numExpected, known, numKnown)) {
+            referenceMisses++;
+            expected = known;
+            numExpected = numKnown;
+        }
+        double[] actual = new double[4];
+        int numActual = QuarticSolver.solveQuartic(p[0], p[1], p[2], p[3],
+                p[4], actual);
+        if (same(actual, numActual, expected, numExpected)) {
+            for (int i = 0; i < numActual; i++) {
+                maxError = Math.max(maxError, error(actual[i], expected[i]));
+            }
+        } else {
+            failures++;
+            if (verbose) {
+                System.out.printf("%s: expected %s, got %s%n", Arrays.toString(
+                        p), Arrays.toString(Arrays.copyOf(expected,
+                                        numExpected)), Arrays.toString(Arrays.
+                                copyOf(actual, numActual)));
+            }
+        }
+    }
+
+    /**
+     * checks if two sorted lists of roots match
+     */
+    private static boolean same(double[] a, int numA, double[] b, int numB) {
+        if (numA != numB) {
+            return false;
+        }
+        for (int i = 0; i < numA; i++) {
+            if (error(a[i], b[i]) > ROOT_TOLERANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double error(double a, double b) {
+        return Math.abs(a - b) / Math.max(1, Math.abs(b));
+    }
+
+    private void start() {
+        cases = 0;
+        failures = 0;
+        referenceMisses = 0;
+        maxError = 0;
+    }
+
+    private boolean report(String name) {
+        System.out.printf("%-20s %6d cases %6d failed %6d reference misses,"
+                + " max root error %.3g%n", name, cases, failures,
+                referenceMisses, maxError);
+        return failures == 0;
+    }
+
+    private double root() {
+        return (rand.nextDouble() * 2 - 1) * 10;
+    }
+
+    /**
+     * multiplies by a random leading coefficient
+     */
+    private double[] scale(double[] p) {
+        double a = Math.pow(10, rand.nextDouble() * 4 - 2);
+        for (int i = 0; i < p.length; i++) {
+            p[i] *= a;
+        }
+        return p;
+    }
+
+    /**
+     * p * (t - r), coefficients highest power first
+     */
+    private static double[] timesReal(double[] p, double r) {
+        double[] q = new double[p.length + 1];
+        for (int i = 0; i < p.length; i++) {
+            q[i] += p[i];
+            q[i + 1] -= r * p[i];
+        }
+        return q;
+    }
+
+    /**
+     * p / (t - r), dropping the remainder
+     */
+    private static double[] divideReal(double[] p, double r) {
+        double[] q = new double[p.length - 1];
+        double carry = 0;
+        for (int i = 0; i < q.length; i++) {
+            carry = p[i] + carry * r;
+            q[i] = carry;
+        }
+        return q;
+    }
+
+    /**
+     * p * (t - (re + im i)) * (t - (re - im i))
+     */
+    private static double[] timesPair(double[] p, double re, double im) {
+        double[] q = new double[p.length + 2];
+        for (int i = 0; i < p.length; i++) {
+            q[i] += p[i];
+            q[i + 1] -= 2 * re * p[i];
+            q[i + 2] += (re * re + im * im) * p[i];
+        }
+        return q;
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(QuarticSolverCheck.class.getName());
+
+}
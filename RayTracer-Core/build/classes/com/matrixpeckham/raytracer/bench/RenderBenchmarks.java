@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.bench;
+
+import com.matrixpeckham.raytracer.FrameBuffer;
+import com.matrixpeckham.raytracer.RenderListener;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
+import com.matrixpeckham.raytracer.world.BuildWorldFunction;
+import com.matrixpeckham.raytracer.world.World;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * End to end benchmarks, renders whole book figures through the camera's
+ * tile scheduler at a reduced resolution, one render per operation. The
+ * figures are loaded by name so the core doesn't depend on the book build.
+ *
+ * @author William Matrix Peckham
+ */
+public class RenderBenchmarks {
+
+    /**
+     * figures rendered when none are given: shaded spheres, a grid of
+     * spheres, and transparent objects.
+     */
+    static final String[] DEFAULT_FIGURES = {
+        "com.matrixpeckham.raytracer.build.figures.ch14.BuildFigure15",
+        "com.matrixpeckham.raytracer.build.figures.ch22.BuildFigure09A",
+        "com.matrixpeckham.raytracer.build.figures.ch28.BuildFigure05"
+    };
+
+    /**
+     * resolution of the longest side of the rendered image
+     */
+    private static final int SIZE = 64;
+
+    /**
+     * one benchmark per figure class name
+     *
+     * @param figures
+     * @return
+     */
+    public static List<MicroBenchmark> create(String[] figures) {
+        List<MicroBenchmark> list = new ArrayList<>();
+        for (String f : figures) {
+            list.add(new RenderBenchmark(f));
+        }
+        return list;
+    }
+
+    /**
+     * renders one figure
+     */
+    static class RenderBenchmark extends MicroBenchmark {
+
+        final String className;
+
+        World w;
+
+        RenderBenchmark(String className) {
+            super("render " + className.substring(className.lastIndexOf('.',
+                    className.lastIndexOf('.') - 1) + 1));
+            this.className = className;
+        }
+
+        @Override
+        public void setup() throws Exception {
+            BuildWorldFunction build = Class.forName(className).asSubclass(
+                    BuildWorldFunction.class).getDeclaredConstructor().
+                    newInstance();
+            w = new World();
+            ThreadRandom.seedBuild();
+            build.build(w);
+            if (w.camera == null) {
+                throw new IllegalStateException("figure has no camera");
+            }
+            //shrink to SIZE pixels keeping the field of view, like GenImages
+            double scale = Math.max(w.vp.hRes, w.vp.vRes) / (double) SIZE;
+            w.vp.hRes = Math.max(1, (int) (w.vp.hRes / scale));
+            w.vp.vRes = Math.max(1, (int) (w.vp.vRes / scale));
+            w.vp.s *= scale;
+            w.setRenderListener(new NullRenderListener());
+        }
+
+        @Override
+        public double run(int ops) {
+            for (int i = 0; i < ops; i++) {
+                w.camera.multiThreadRenderScene(w);
+            }
+            return w.vp.hRes * w.vp.vRes * ops;
+        }
+
+    }
+
+    /**
+     * discards the rendered pixels
+     */
+    static class NullRenderListener implements RenderListener {
+
+        @Override
+        public void renderStarting(int width, int height) {
+        }
+
+        @Override
+        public void newTile(FrameBuffer fb, int x, int y, int width,
+                int height) {
+        }
+
+        @Override
+        public void progress(double progress) {
+        }
+
+        @Override
+        public void renderFinished() {
+        }
+
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(RenderBenchmarks.class.getName());
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.bench;
+
+import com.matrixpeckham.raytracer.cameras.Camera;
+import com.matrixpeckham.raytracer.samplers.Halton;
+import com.matrixpeckham.raytracer.samplers.MultiJittered;
+import com.matrixpeckham.raytracer.samplers.PMJ02;
+import com.matrixpeckham.raytracer.samplers.Sampler;
+import com.matrixpeckham.raytracer.samplers.Sobol;
+import com.matrixpeckham.raytracer.util.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Sampler benchmarks. The camera and materials share one sampler between all
+ * render threads, so sampleUnitSquare is timed on one thread and on as many
+ * threads as the render pool uses, to show the cost of the contention.
+ *
+ * @author William Matrix Peckham
+ */
+public class SamplerBenchmarks {
+
+    /**
+     * sample count of the shared sampler
+     */
+    private static final int NUM_SAMPLES = 256;
+
+    /**
+     * all the sampler benchmarks
+     *
+     * @return
+     */
+    public static List<MicroBenchmark> create() {
+        List<MicroBenchmark> list = new ArrayList<>();
+        list.add(new UnitSquareBenchmark(1));
+        if (Camera.POOL_SIZE > 1) {
+            list.add(new UnitSquareBenchmark(Camera.POOL_SIZE));
+        }
+        list.add(new ContextBenchmark(1));
+        if (Camera.POOL_SIZE > 1) {
+            list.add(new ContextBenchmark(Camera.POOL_SIZE));
+        }
+        list.add(new GeneratedBenchmark("Sobol", () -> new Sobol(NUM_SAMPLES)));
+        list.add(new GeneratedBenchmark("Halton", () -> new Halton(
+                NUM_SAMPLES)));
+        list.add(new GeneratedBenchmark("PMJ02", () -> new PMJ02(NUM_SAMPLES)));
+        return list;
+    }
+
+    /**
+     * times sampleUnitSquare on a sampler shared by every thread
+     */
+    static class UnitSquareBenchmark extends MicroBenchmark {
+
+        Sampler sampler;
+
+        UnitSquareBenchmark(int threads) {
+            this("Sampler.sampleUnitSquare", threads);
+        }
+
+        UnitSquareBenchmark(String name, int threads) {
+            super(name, threads);
+        }
+
+        @Override
+        public void setup() {
+            sampler = new MultiJittered(NUM_SAMPLES);
+        }
+
+        @Override
+        public double run(int ops) {
+            double sum = 0;
+            for (int i = 0; i < ops; i++) {
+                Point2D p = sampler.sampleUnitSquare();
+                sum += p.x + p.y;
+            }
+            return sum;
+        }
+
+    }
+
+    /**
+     * times sampleUnitSquare on a shared sampler with a context per thread,
+     * the way a pixel loop holding its own context samples
+     */
+    static class ContextBenchmark extends UnitSquareBenchmark {
+
+        ContextBenchmark(int threads) {
+            this("Sampler.sampleUnitSquare context", threads);
+        }
+
+        ContextBenchmark(String name, int threads) {
+            super(name, threads);
+        }
+
+        @Override
+        public double run(int ops) {
+            Sampler.Context c = sampler.context();
+            double sum = 0;
+            for (int i = 0; i < ops; i++) {
+                Point2D p = sampler.sampleUnitSquare(c);
+                sum += p.x + p.y;
+            }
+            return sum;
+        }
+
+    }
+
+    /**
+     * times sampleUnitSquare with a held context on one of the samplers that
+     * compute their samples, against the MultiJittered tables above
+     */
+    static class GeneratedBenchmark extends ContextBenchmark {
+
+        final Supplier<Sampler> factory;
+
+        GeneratedBenchmark(String name, Supplier<Sampler> factory) {
+            super(name + ".sampleUnitSquare context", 1);
+            this.factory = factory;
+        }
+
+        @Override
+        public void setup() {
+            sampler = factory.get();
+        }
+
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(SamplerBenchmarks.class.getName());
+
+}
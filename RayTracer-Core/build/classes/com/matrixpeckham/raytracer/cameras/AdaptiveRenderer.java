@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.cameras;
+
+import com.matrixpeckham.raytracer.samplers.Sampler;
+import com.matrixpeckham.raytracer.util.Point2D;
+import com.matrixpeckham.raytracer.util.RGBColor;
+import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
+import com.matrixpeckham.raytracer.world.ViewPlane;
+import com.matrixpeckham.raytracer.world.World;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Adaptive render mode shared by the cameras, see ViewPlane.setAdaptive().
+ * The image is rendered in passes, the first takes adaptiveMinSamples samples
+ * per pixel and each after that doubles the samples of the pixels still
+ * going. Every pixel keeps a running mean and variance of its luminance, and
+ * stops once the standard error of the mean is small enough compared to the
+ * mean, or it reaches numSamples. Each pass continues the pixel's sample set
+ * where the last one stopped, so the progressive samplers (PMJ02, Sobol) stay
+ * stratified. Tiles are sent to the render listener
+ * after every pass, so the image refines as it goes. With a checkpoint the
+ * pixels' sums are saved between passes, and a resumed render starts at the
+ * pass after the saved one.
+ *
+ * @author William Matrix Peckham
+ */
+final class AdaptiveRenderer {
+
+    /**
+     * fraction of the image's average luminance the relative error is
+     * measured against for darker pixels, so dark pixels aren't sampled
+     * forever for noise nobody can see.
+     */
+    private static final double DARK_FRACTION = 0.1;
+
+    private final Camera camera;
+
+    private final World w;
+
+    /**
+     * view plane as adjusted by the camera for this render
+     */
+    private final ViewPlane vp;
+
+    /**
+     * sum of the samples, r g b per pixel
+     */
+    private final double[] sum;
+
+    /**
+     * running mean of the luminance of the samples
+     */
+    private final double[] mean;
+
+    /**
+     * running sum of squared differences from the mean, Welford's method
+     */
+    private final double[] m2;
+
+    /**
+     * samples taken per pixel
+     */
+    private final int[] count;
+
+    /**
+     * pixels that have stopped
+     */
+    private final boolean[] done;
+
+    /**
+     * luminance below which error is measured against this instead of the
+     * pixel's own, set after the first pass
+     */
+    private double floor = 0;
+
+    /**
+     * makes a renderer for one render of w through camera.
+     *
+     * @param camera
+     * @param w
+     * @param vp
+     */
+    AdaptiveRenderer(Camera camera, World w, ViewPlane vp) {
+        this.camera = camera;
+        this.w = w;
+        this.vp = vp;
+        int n = vp.hRes * vp.vRes;
+        sum = new double[3 * n];
+        mean = new double[n];
+        m2 = new double[n];
+        count = new int[n];
+        done = new boolean[n];
+    }
+
+    /**
+     * renders the image, blocks until every pixel has stopped.
+     */
+    void render() {
+        int max = vp.numSamples;
+        int first = Math.max(1, Math.min(vp.adaptiveMinSamples, max));
+        int passes = 1;
+        for (int t = first; t < max; t = Math.min(2 * t, max)) {
+            passes++;
+        }
+        final int numPasses = passes;
+        w.startRender(vp.hRes, vp.vRes);
+        int target = first;
+        int start = 0;
+        RenderCheckpoint cp = w.getCheckpoint();
+        if (cp != null) {
+            int[] resume = new int[2];
+            if (cp.load(w, RenderCheckpoint.ADAPTIVE, (DataInputStream in)
+                    -> {
+                resume[0] = in.readInt();
+                resume[1] = in.readInt();
+                floor = in.readDouble();
+                readPixels(in);
+            })) {
+                start = resume[0];
+                target = resume[1];
+                showAll();
+            } else {
+                //may have read part of a checkpoint
+                Arrays.fill(sum, 0);
+                Arrays.fill(mean, 0);
+                Arrays.fill(m2, 0);
+                Arrays.fill(count, 0);
+                Arrays.fill(done, false);
+                floor = 0;
+            }
+        }
+        for (int pass = start; pass < numPasses; pass++) {
+            final int p = pass;
+            final int t = target;
+            Camera.SCHEDULER.render(w, vp.vRes, vp.hRes, (int r, int c)
+                    -> samplePixel(r, c, p, t), (double f)
+                    -> w.updateProgress((p + f) / numPasses));
+            if (pass == 0) {
+                double total = 0;
+                for (double m : mean) {
+                    total += Math.abs(m);
+                }
+                floor = DARK_FRACTION * total / mean.length;
+            }
+            if (stopConverged() == 0) {
+                break;
+            }
+            target = Math.min(2 * target, max);
+            if (cp != null && cp.due()) {
+                final int next = pass + 1;
+                final int nextTarget = target;
+                cp.save(w, RenderCheckpoint.ADAPTIVE, (DataOutputStream out)
+                        -> {
+                    out.writeInt(next);
+                    out.writeInt(nextTarget);
+                    out.writeDouble(floor);
+                    writePixels(out);
+                });
+            }
+        }
+        if (cp != null) {
+            cp.setComplete();
+        }
+        w.finishRender();
+    }
+
+    /**
+     * writes every pixel's sums, mean, variance and sample count
+     *
+     * @param out
+     * @throws IOException
+     */
+    private void writePixels(DataOutputStream out) throws IOException {
+        for (int i = 0; i < count.length; i++) {
+            out.writeFloat((float) sum[3 * i]);
+            out.writeFloat((float) sum[3 * i + 1]);
+            out.writeFloat((float) sum[3 * i + 2]);
+            out.writeFloat((float) mean[i]);
+            out.writeFloat((float) m2[i]);
+            //stopped pixels are stored as negative counts
+            out.writeInt(done[i] ? -count[i] - 1 : count[i]);
+        }
+    }
+
+    /**
+     * reads what writePixels() wrote
+     *
+     * @param in
+     * @throws IOException
+     */
+    private void readPixels(DataInputStream in) throws IOException {
+        for (int i = 0; i < count.length; i++) {
+            sum[3 * i] = in.readFloat();
+            sum[3 * i + 1] = in.readFloat();
+            sum[3 * i + 2] = in.readFloat();
+            mean[i] = in.readFloat();
+            m2[i] = in.readFloat();
+            int n = in.readInt();
+            done[i] = n < 0;
+            count[i] = n < 0 ? -n - 1 : n;
+        }
+    }
+
+    /**
+     * displays every pixel that has samples, after resuming, since the
+     * stopped ones aren't rendered again.
+     */
+    private void showAll() {
+        for (int r = 0; r < vp.vRes; r++) {
+            for (int c = 0; c < vp.hRes; c++) {
+                int i = r * vp.hRes + c;
+                if (count[i] > 0) {
+                    double scale = camera.exposureTime / count[i];
+                    w.displayPixel(r, c, sum[3 * i] * scale, sum[3 * i + 1]
+                            * scale, sum[3 * i + 2] * scale);
+                }
+            }
+        }
+        w.displayTile(0, 0, vp.vRes, vp.hRes);
+    }
+
+    /**
+     * takes a pixel up to target samples and shows it, unless it has stopped.
+     *
+     * @param r
+     * @param c
+     * @param pass
+     * @param target
+     */
+    private void samplePixel(int r, int c, int pass, int target) {
+        int i = r * vp.hRes + c;
+        if (done[i]) {
+            return;
+        }
+        //new numbers for the tracer each pass, but the same pixel samples
+        ThreadRandom.seedPixel(r, c, pass);
+        Sampler.Context ctx = vp.sampler.context();
+        vp.sampler.resume(ctx, ThreadRandom.pixelSeed(r, c), count[i]);
+        Camera.PixelScratch scratch = Camera.getPixelScratch();
+        Ray ray = scratch.ray;
+        Point2D pp = scratch.pp;
+        double sr = sum[3 * i];
+        double sg = sum[3 * i + 1];
+        double sb = sum[3 * i + 2];
+        double m = mean[i];
+        double s2 = m2[i];
+        int n = count[i];
+        while (n < target) {
+            Point2D sp = vp.sampler.sampleUnitSquare(ctx);
+            pp.x = vp.s * (c - 0.5 * vp.hRes + sp.x);
+            pp.y = vp.s * (r - 0.5 * vp.vRes + sp.y);
+            double y = 0;
+            if (camera.cameraRay(vp, pp, ray)) {
+                RGBColor L = w.tracer.traceRay(ray, 0);
+                sr += L.r;
+                sg += L.g;
+                sb += L.b;
+                y = 0.2126 * L.r + 0.7152 * L.g + 0.0722 * L.b;
+            }
+            n++;
+            double d = y - m;
+            m += d / n;
+            s2 += d * (y - m);
+        }
+        sum[3 * i] = sr;
+        sum[3 * i + 1] = sg;
+        sum[3 * i + 2] = sb;
+        mean[i] = m;
+        m2[i] = s2;
+        count[i] = n;
+
+        double scale = camera.exposureTime / n;
+        w.displayPixel(r, c, sr * scale, sg * scale, sb * scale);
+    }
+
+    /**
+     * stops the pixels that have converged or have all their samples, done
+     * between passes so the result doesn't depend on the order pixels were
+     * rendered in.
+     *
+     * @return number of pixels still going
+     */
+    private int stopConverged() {
+        int active = 0;
+        for (int r = 0; r < vp.vRes; r++) {
+            for (int c = 0; c < vp.hRes; c++) {
+                int i = r * vp.hRes + c;
+                if (done[i]) {
+                    continue;
+                }
+                if (count[i] >= vp.numSamples || converged(r, c)) {
+                    done[i] = true;
+                } else {
+                    active++;
+                }
+            }
+        }
+        return active;
+    }
+
+    /**
+     * checks if the standard error of pixel r c's mean luminance is below the
+     * threshold, relative to its luminance or the dark floor if that's more.
+     * the variance used is the highest in the pixel's 3x3 neighbourhood: path
+     * traced samples are heavy tailed, and a pixel whose first samples
+     * happen to agree, like a dark pixel that hasn't found the light yet,
+     * mustn't stop while its neighbours are still noisy.
+     *
+     * @param r
+     * @param c
+     * @return
+     */
+    private boolean converged(int r, int c) {
+        double var = 0;
+        for (int y = Math.max(0, r - 1); y <= Math.min(vp.vRes - 1, r + 1);
+                y++) {
+            for (int x = Math.max(0, c - 1); x <= Math.min(vp.hRes - 1, c
+                    + 1); x++) {
+                int j = y * vp.hRes + x;
+                if (count[j] > 1) {
+                    var = Math.max(var, m2[j] / (count[j] - 1));
+                }
+            }
+        }
+        int i = r * vp.hRes + c;
+        int n = count[i];
+        double stdErr = Math.sqrt(var / n);
+        return stdErr <= vp.adaptiveThreshold * Math.max(Math.abs(mean[i]),
+                floor);
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(AdaptiveRenderer.class.getName());
+
+}
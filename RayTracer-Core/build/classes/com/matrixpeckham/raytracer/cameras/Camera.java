@@ -0,0 +1,452 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.cameras;
+
+import com.matrixpeckham.raytracer.util.DoubleRef;
+import com.matrixpeckham.raytracer.util.Point2D;
+import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.RGBColor;
+import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.Vector3D;
+import com.matrixpeckham.raytracer.world.ViewPlane;
+import com.matrixpeckham.raytracer.world.World;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Base class for cameras, holds all the stuff that all cameras have in common.
+ *
+ * @author William Matrix Peckham
+ */
+public abstract class Camera {
+
+    /**
+     * Number of threads to use, one per core unless the raytracer.threads
+     * system property says otherwise. Read once, when the first camera class
+     * is loaded.
+     */
+    public static final int POOL_SIZE = Math.max(1, Integer.getInteger(
+	    "raytracer.threads", Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * thread pool executor for multithreading.
+     */
+    protected static final ScheduledThreadPoolExecutor EXEC
+	    = new ScheduledThreadPoolExecutor(POOL_SIZE);
+
+    /**
+     * tile scheduler all the cameras render through in multiThreadRenderScene
+     */
+    protected static final TileScheduler SCHEDULER
+	    = new TileScheduler(EXEC, POOL_SIZE);
+
+    /**
+     * per thread scratch objects for the pixel functions, see
+     * getPixelScratch()
+     */
+    private static final ThreadLocal<PixelScratch> PIXEL_SCRATCH
+	    = new ThreadLocal<PixelScratch>() {
+		@Override
+		protected PixelScratch initialValue() {
+		    return new PixelScratch();
+		}
+
+	    };
+
+    public static void exit() {
+	EXEC.shutdown();
+    }
+
+    /**
+     * gets the shared tile scheduler, to set the tile size or order.
+     *
+     * @return
+     */
+    public static TileScheduler getScheduler() {
+	return SCHEDULER;
+    }
+
+    /**
+     * Eye Point of the camera, center of ortho view, or focal point of
+     * perspective.
+     */
+    protected final Point3D eye;
+
+    /**
+     * Point for the camera to look at.
+     */
+    protected final Point3D lookat;
+
+    /**
+     * Roll angle along look direction.
+     */
+    protected double rollAngle;
+
+    /**
+     * Three unit vectors for every camera.
+     */
+    protected final Vector3D u;
+
+    /**
+     *
+     */
+    protected final Vector3D v;
+
+    /**
+     *
+     */
+    protected final Vector3D w;
+
+    /**
+     * Up vector for the camera
+     */
+    protected final Vector3D up;
+
+    /**
+     * Exposure time.
+     */
+    protected double exposureTime = 1;
+
+    /**
+     * Sets defaults.
+     */
+    public Camera() {
+	eye = new Point3D(0, 0, 500);
+	lookat = new Point3D(0);
+	rollAngle = 0;
+	up = new Vector3D(0, 1, 0);
+	u = new Vector3D(1, 0, 0);
+	v = new Vector3D(0, 1, 0);
+	w = new Vector3D(0, 0, 1);
+	exposureTime = 1;
+    }
+
+    /**
+     * copies other camera.
+     *
+     * @param c
+     */
+    public Camera(Camera c) {
+	eye = new Point3D(c.eye);
+	lookat = new Point3D(c.lookat);
+	rollAngle = c.rollAngle;
+	up = new Vector3D(c.up);
+	u = new Vector3D(c.u);
+	v = new Vector3D(c.v);
+	w = new Vector3D(c.w);
+	exposureTime = c.exposureTime;
+    }
+
+    /**
+     * Computes basis vectors from look at and up.
+     */
+    public void computeUVW() {
+	w.setTo(eye.sub(lookat));
+	w.normalize();
+	up.setTo(Vector3D.rotateAAroundB(up, w, rollAngle));
+	u.setTo(up.cross(w));
+	u.normalize();
+	v.setTo(w.cross(u));
+
+	//special cases for strait up and down view.
+	if (eye.x == lookat.x && eye.z == lookat.z && eye.y > lookat.y) {
+	    w.setTo(new Vector3D(0, 1, 0));
+	    u.
+		    setTo(Vector3D.rotateAAroundB(new Vector3D(0, 0, 1), w,
+			    rollAngle));
+	    v.
+		    setTo(Vector3D.rotateAAroundB(new Vector3D(1, 0, 0), w,
+			    rollAngle));
+	}
+	if (eye.x == lookat.x && eye.z == lookat.z && eye.y < lookat.y) {
+	    w.setTo(new Vector3D(0, -1, 0));
+	    u.
+		    setTo(Vector3D.rotateAAroundB(new Vector3D(0, 0, 1), w,
+			    rollAngle));
+	    v.
+		    setTo(Vector3D.rotateAAroundB(new Vector3D(1, 0, 0), w,
+			    rollAngle));
+	}
+    }
+
+    /**
+     * Setter
+     *
+     * @param p
+     */
+    public void setEye(Point3D p) {
+	eye.setTo(p);
+    }
+
+    /**
+     * setter
+     *
+     * @param x
+     * @param y
+     * @param z
+     */
+    public void setEye(double x, double y, double z) {
+	eye.x = x;
+	eye.y = y;
+	eye.z = z;
+    }
+
+    /**
+     * setter
+     *
+     * @param p
+     */
+    public void setLookat(Point3D p) {
+	lookat.setTo(p);
+    }
+
+    /**
+     * setter
+     *
+     * @param x
+     * @param y
+     * @param z
+     */
+    public void setLookat(double x, double y, double z) {
+	lookat.x = x;
+	lookat.y = y;
+	lookat.z = z;
+    }
+
+    /**
+     * Sets the look at vector to point in the direction of view direction.
+     *
+     * @param vd view direction
+     */
+    public void setViewDirection(Vector3D vd) {
+	lookat.setTo(eye.add(vd));
+    }
+
+    /**
+     * Sets the look at vector to point in the direction specified by the three
+     * parameters.
+     *
+     * @param x
+     * @param y
+     * @param z
+     */
+    public void setViewDirection(double x, double y, double z) {
+	lookat.setTo(eye.add(new Vector3D(x, y, z)));
+    }
+
+    /**
+     * setter
+     *
+     * @param p
+     */
+    public void setUp(Vector3D p) {
+	up.setTo(p);
+    }
+
+    /**
+     * setter
+     *
+     * @param x
+     * @param y
+     * @param z
+     */
+    public void setUp(double x, double y, double z) {
+	up.x = x;
+	up.y = y;
+	up.z = z;
+    }
+
+    /**
+     * setter
+     *
+     * @param r
+     */
+    public void setRoll(double r) {
+	rollAngle = r;
+    }
+
+    /**
+     * setter
+     *
+     * @param exp
+     */
+    public void setExposureTime(double exp) {
+	exposureTime = exp;
+    }
+
+    /**
+     * renders a scene.
+     *
+     * @param w
+     */
+    public abstract void renderScene(World w);
+
+    /**
+     * renders a scene.
+     *
+     * @param w
+     */
+    public abstract void multiThreadRenderScene(World w);
+
+    /**
+     * angle in radians between the rays of neighbouring pixels, for the
+     * footprint of camera rays. cameras with parallel rays return 0.
+     *
+     * @param vp view plane as adjusted for this render, zoom applied
+     * @return
+     */
+    protected double pixelSpread(ViewPlane vp) {
+	return 0;
+    }
+
+    /**
+     * width of a pixel at the camera, for cameras with parallel rays.
+     *
+     * @param vp view plane as adjusted for this render, zoom applied
+     * @return
+     */
+    protected double pixelWidth(ViewPlane vp) {
+	return 0;
+    }
+
+    /**
+     * the objects a pixel function works with, reused from pixel to pixel so
+     * rendering a pixel doesn't allocate.
+     */
+    protected static final class PixelScratch {
+
+	/**
+	 * sum of the pixel's samples
+	 */
+	public final RGBColor color = new RGBColor();
+
+	/**
+	 * camera ray
+	 */
+	public final Ray ray = new Ray();
+
+	/**
+	 * sample point in [0, 1] X [0, 1]
+	 */
+	public final Point2D sp = new Point2D();
+
+	/**
+	 * sample point on the pixel
+	 */
+	public final Point2D pp = new Point2D();
+
+	/**
+	 * sample point on the unit disk
+	 */
+	public final Point2D dp = new Point2D();
+
+	/**
+	 * sample point on the lens
+	 */
+	public final Point2D lp = new Point2D();
+
+	/**
+	 * sum of squares of normalised device coordinates
+	 */
+	public final DoubleRef rSquared = new DoubleRef();
+
+    }
+
+    /**
+     * gets the calling thread's pixel scratch. a pixel function never renders
+     * another pixel, so one per thread is enough, but everything in it has to
+     * be set up again for each pixel.
+     *
+     * @return
+     */
+    protected static PixelScratch getPixelScratch() {
+	return PIXEL_SCRATCH.get();
+    }
+
+    /**
+     * gives a camera ray the footprint of one sample, its share of the pixel,
+     * if texture filtering is on. without it the ray has no footprint.
+     *
+     * @param ray
+     * @param vp view plane as adjusted for this render, zoom applied
+     */
+    protected void setFootprint(Ray ray, ViewPlane vp) {
+	if (!vp.textureFiltering) {
+	    ray.width = 0;
+	    ray.spread = 0;
+	    return;
+	}
+	//the samples of a pixel split its area between them
+	double share = 1.0 / Math.sqrt(vp.isAdaptive() ? vp.adaptiveMinSamples
+		: vp.numSamples);
+	ray.width = pixelWidth(vp) * share;
+	ray.spread = pixelSpread(vp) * share;
+    }
+
+    /**
+     * sets up the ray through point pp on the view plane, for the adaptive
+     * render mode. the cameras that support the mode override this.
+     *
+     * @param vp view plane as adjusted for this render, zoom applied
+     * @param pp point on the view plane
+     * @param ray receives the origin and direction
+     * @return false if pp is outside the camera's image, the sample is black
+     */
+    protected boolean cameraRay(ViewPlane vp, Point2D pp, Ray ray) {
+	throw new UnsupportedOperationException(getClass().getSimpleName()
+		+ " does not support adaptive rendering");
+    }
+
+    /**
+     * renders in the adaptive mode, for multiThreadRenderScene when
+     * vp.isAdaptive(). rays come from cameraRay().
+     *
+     * @param w
+     * @param vp view plane as adjusted for this render
+     */
+    protected void renderAdaptive(World w, ViewPlane vp) {
+	new AdaptiveRenderer(this, w, vp).render();
+    }
+
+    /**
+     * clone method.
+     *
+     * @return
+     */
+    public abstract Camera cloneCamera();
+
+    /**
+     * Render stereo, x is an offset for frustum, i is a raster offset.
+     *
+     * @param w
+     * @param x
+     * @param i
+     */
+    public abstract void renderStereo(World w, double x, int i);
+
+    /**
+     * sets the up vector
+     *
+     * @param i
+     * @param i0
+     * @param i1
+     */
+    public void setUpVector(int i, int i0, int i1) {
+	up.setTo(i, i0, i1);
+    }
+
+}
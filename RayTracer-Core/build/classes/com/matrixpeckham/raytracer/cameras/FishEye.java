@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.cameras;
+
+import com.matrixpeckham.raytracer.util.DoubleRef;
+import com.matrixpeckham.raytracer.util.Point2D;
+import com.matrixpeckham.raytracer.util.RGBColor;
+import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
+import com.matrixpeckham.raytracer.util.Utility;
+import com.matrixpeckham.raytracer.util.Vector3D;
+import com.matrixpeckham.raytracer.world.ViewPlane;
+import com.matrixpeckham.raytracer.world.World;
+
+/**
+ * Fish eye camera.
+ *
+ * @author William Matrix Peckham
+ */
+public class FishEye extends Camera {
+
+    private double psiMax = 90;//view angle
+
+    private boolean rectangular = false;//circle or square
+
+    /**
+     * default constructor
+     */
+    public FishEye() {
+
+    }
+
+    /**
+     * copy constructor
+     *
+     * @param aThis
+     */
+    public FishEye(FishEye aThis) {
+	super(aThis);
+	psiMax = aThis.psiMax;
+    }
+
+    /**
+     * render scene function
+     *
+     * @param w
+     */
+    @Override
+    public void renderScene(World w) {
+	//we map points on image to angles and project them
+	RGBColor L = new RGBColor();
+	ViewPlane vp = new ViewPlane(w.vp);
+	int hres = vp.hRes;
+	int vres = vp.vRes;
+	double s = vp.s;
+	Ray ray = new Ray();
+	int depth = 0;
+	Point2D sp = new Point2D();// sample point in [0, 1] X [0, 1]
+	Point2D pp = new Point2D();// sample point on the pixel
+	DoubleRef r_squared = new DoubleRef();// sum of squares of normalised device coordinates
+
+	ray.o.setTo(eye);
+	setFootprint(ray, vp);
+	int pixRendered = 0;
+	double pixToRender = vp.vRes * vp.hRes;
+	w.startRender(vp.hRes, vp.vRes);
+
+	for (int r = 0; r < vres; r++) // up
+	{
+	    for (int c = 0; c < hres; c++) {	// across
+		ThreadRandom.seedPixel(r, c);
+		L.setTo(Utility.BLACK);
+
+		for (int j = 0; j < vp.numSamples; j++) {
+		    sp.setTo(vp.sampler.sampleUnitSquare());
+		    pp.x = s * (c - 0.5 * hres + sp.x);
+		    pp.y = s * (r - 0.5 * vres + sp.y);
+		    rayDirection(pp, hres, vres, s, r_squared, ray.d);
+
+		    if (rectangular || r_squared.d <= 1.0) {
+			L.addLocal(w.tracer.traceRay(ray, depth));
+		    }
+		}
+
+		L.divLocal(vp.numSamples);
+		L.mulLocal(exposureTime);
+		w.displayPixel(r, c, L);
+		pixRendered++;
+	    }
+	    w.displayTile(r, 0, 1, vp.hRes);
+	    w.updateProgress(pixRendered / pixToRender);
+	}
+	w.finishRender();
+    }
+
+    /**
+     * stereo render function
+     *
+     * @param w
+     * @param x
+     * @param i
+     */
+    @Override
+    public void renderStereo(World w, double x, int i) {
+	RGBColor L = new RGBColor();
+	ViewPlane vp = new ViewPlane(w.vp);
+	int hres = vp.hRes;
+	int vres = vp.vRes;
+	double s = vp.s;
+	Ray ray = new Ray();
+	int depth = 0;
+	Point2D sp = new Point2D();// sample point in [0, 1] X [0, 1]
+	Point2D pp = new Point2D();// sample point on the pixel
+	DoubleRef r_squared = new DoubleRef();// sum of squares of normalised device coordinates
+
+	ray.o.setTo(eye);
+	setFootprint(ray, vp);
+	int pixRendered = 0;
+	double pixToRender = vp.vRes * vp.hRes;
+
+	for (int r = 0; r < vres; r++) // up
+	{
+	    for (int c = 0; c < hres; c++) {	// across
+		//each eye gets its own samples, the same every render
+		ThreadRandom.seedPixel(r, c + i);
+		L.setTo(Utility.BLACK);
+
+		for (int j = 0; j < vp.numSamples; j++) {
+		    sp.setTo(vp.sampler.sampleUnitSquare());
+		    pp.x = s * (c - 0.5 * hres + sp.x);
+		    pp.y = s * (r - 0.5 * vres + sp.y);
+		    rayDirection(pp, hres, vres, s, r_squared, ray.d);
+
+		    if (rectangular || r_squared.d <= 1.0) {
+			L.addLocal(w.tracer.traceRay(ray, depth));
+		    }
+		}
+
+		L.divLocal(vp.numSamples);
+		L.mulLocal(exposureTime);
+		w.displayPixel(r, c + i, L);
+		pixRendered++;
+	    }
+	    w.displayTile(r, i, 1, vp.hRes);
+	    w.updateProgress(pixRendered / pixToRender);
+	}
+    }
+
+    /**
+     * clone function
+     *
+     * @return
+     */
+    @Override
+    public Camera cloneCamera() {
+	return new FishEye(this);
+    }
+
+    /**
+     * gets the ray direction for the given parameters
+     *
+     * @param pp
+     * @param hres
+     * @param vres
+     * @param s
+     * @param r_squared
+     * @param dir vector to store the direction in
+     * @return dir
+     */
+    private Vector3D rayDirection(Point2D pp, int hres, int vres, double s,
+	    DoubleRef r_squared, Vector3D dir) {
+	double pnx = 2.0 / (s * hres) * pp.x;
+	double pny = 2.0 / (s * vres) * pp.y;
+	r_squared.d = pnx * pnx + pny * pny;
+	dir.setTo(0, 0, 0);
+	if (rectangular || r_squared.d <= 1.0) {
+	    double r = Math.sqrt(r_squared.d);
+	    double psi = r * psiMax * Utility.PI_ON_180;
+	    double sinPsi = Math.sin(psi);
+	    double cosPsi = Math.cos(psi);
+	    double sinAlpha = pny / r;
+	    double cosAlpha = pnx / r;
+	    dir.scaleAdd(sinPsi * cosAlpha, u).scaleAdd(sinPsi * sinAlpha, v).
+		    scaleAdd(-cosPsi, w);
+	}
+	return dir;
+    }
+
+    /**
+     * sets field of view
+     *
+     * @param d
+     */
+    public void setFov(double d) {
+	psiMax = d / 2;
+    }
+
+    /**
+     * sets rectangular field
+     *
+     * @param b
+     */
+    public void setRectangular(boolean b) {
+	rectangular = b;
+    }
+
+    /**
+     * ray through a view plane point, for the adaptive render mode
+     *
+     * @param vp
+     * @param pp
+     * @param ray
+     * @return
+     */
+    @Override
+    protected boolean cameraRay(ViewPlane vp, Point2D pp, Ray ray) {
+	setFootprint(ray, vp);
+	DoubleRef r_squared = new DoubleRef();
+	ray.o.setTo(eye);
+	rayDirection(pp, vp.hRes, vp.vRes, vp.s, r_squared, ray.d);
+	return rectangular || r_squared.d <= 1.0;
+    }
+
+    @Override
+    protected double pixelSpread(ViewPlane vp) {
+	return 2 * psiMax * Utility.PI_ON_180 / Math.min(vp.hRes, vp.vRes);
+    }
+
+    @Override
+    public void multiThreadRenderScene(final World w) {
+	//we map points on image to angles and project them
+	final ViewPlane vp = new ViewPlane(w.vp);
+	final int hres = vp.hRes;
+	final int vres = vp.vRes;
+	final double s = vp.s;
+	if (vp.isAdaptive()) {
+	    renderAdaptive(w, vp);
+	    return;
+	}
+	w.startRender(vp.hRes, vp.vRes);
+	SCHEDULER.render(w, vp.vRes, vp.hRes, (int r, int c) -> {
+	    PixelScratch scratch = getPixelScratch();
+	    RGBColor L = scratch.color;
+	    Ray ray = scratch.ray;
+	    setFootprint(ray, vp);
+	    int depth = 0;
+	    Point2D sp = scratch.sp;// sample point in [0, 1] X [0, 1]
+	    Point2D pp = scratch.pp;// sample point on the pixel
+	    DoubleRef r_squared = scratch.rSquared;// sum of squares of normalised device coordinates
+
+	    ray.o.setTo(eye);
+	    L.setTo(Utility.BLACK);
+
+	    for (int j = 0; j < vp.numSamples; j++) {
+		sp.setTo(vp.sampler.sampleUnitSquare());
+		pp.x = s * (c - 0.5 * hres + sp.x);
+		pp.y = s * (r - 0.5 * vres + sp.y);
+		rayDirection(pp, hres, vres, s, r_squared, ray.d);
+
+		if (rectangular || r_squared.d <= 1.0) {
+		    L.addLocal(w.tracer.traceRay(ray, depth));
+		}
+	    }
+
+	    L.divLocal(vp.numSamples);
+	    L.mulLocal(exposureTime);
+	    w.displayPixel(r, c, L);
+	});
+	w.finishRender();
+    }
+
+}
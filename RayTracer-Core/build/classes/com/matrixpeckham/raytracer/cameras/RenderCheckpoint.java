@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.cameras;
+
+import com.matrixpeckham.raytracer.world.ViewPlane;
+import com.matrixpeckham.raytracer.world.World;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Checkpoint file for a long render, set with World.setCheckpoint(). While the
+ * multithreaded render runs the finished work is saved to the file every so
+ * often, and a render of the same scene with the same settings started later
+ * picks up from the file instead of starting over. Fixed sample renders save
+ * the pixels of their finished tiles, adaptive renders save every pixel's
+ * sums after each pass. The file is deleted once the render is finished, a
+ * render that fails or is interrupted keeps it.
+ *
+ * A checkpoint only matches a render with the same key, which should name the
+ * scene, and the same view plane settings, anything else starts over.
+ *
+ * @author William Matrix Peckham
+ */
+public class RenderCheckpoint {
+
+    /**
+     * body written by the tile scheduler
+     */
+    static final int TILES = 1;
+
+    /**
+     * body written by the adaptive renderer
+     */
+    static final int ADAPTIVE = 2;
+
+    private static final int MAGIC = 0x52544350;
+
+    private static final int VERSION = 1;
+
+    /**
+     * writes the part of a checkpoint after the header
+     */
+    static interface Body {
+
+	void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * reads the part of a checkpoint after the header
+     */
+    static interface Loader {
+
+	void read(DataInputStream in) throws IOException;
+    }
+
+    private final File file;
+
+    private final String key;
+
+    private final long intervalMillis;
+
+    /**
+     * time the next save is due
+     */
+    private final AtomicLong nextSave = new AtomicLong();
+
+    /**
+     * set once every part of the render is done
+     */
+    private volatile boolean complete = false;
+
+    /**
+     * checkpoint in file, saved at most every intervalMillis.
+     *
+     * @param file
+     * @param key identifies the scene, like the build class name
+     * @param intervalMillis
+     */
+    public RenderCheckpoint(File file, String key, long intervalMillis) {
+	this.file = file;
+	this.key = key;
+	this.intervalMillis = intervalMillis;
+	nextSave.set(System.currentTimeMillis() + intervalMillis);
+    }
+
+    /**
+     * getter
+     *
+     * @return
+     */
+    public File getFile() {
+	return file;
+    }
+
+    /**
+     * checks if a save is due, only one of the threads asking at the same time
+     * is told yes.
+     *
+     * @return
+     */
+    boolean due() {
+	long now = System.currentTimeMillis();
+	long next = nextSave.get();
+	return now >= next && nextSave.compareAndSet(next, now
+		+ intervalMillis);
+    }
+
+    /**
+     * settings a checkpoint has to have been made with to be used for w
+     *
+     * @param w
+     * @param kind
+     * @return
+     */
+    private String settings(World w, int kind) {
+	ViewPlane vp = w.vp;
+	return key + " kind " + kind + " " + vp.hRes + "x" + vp.vRes + " s "
+		+ vp.s + " spp " + vp.numSamples + " depth " + vp.maxDepth
+		+ " sampler " + (vp.sampler == null ? null : vp.sampler.
+		getClass().getName()) + " adaptive " + vp.adaptiveThreshold
+		+ " " + vp.adaptiveMinSamples + " textures "
+		+ vp.textureFiltering;
+    }
+
+    /**
+     * writes the checkpoint to a temporary file and renames it over the old
+     * one, so a crash while saving leaves the last checkpoint. failures are
+     * logged, the render goes on without the checkpoint.
+     *
+     * @param w
+     * @param kind
+     * @param body
+     */
+    synchronized void save(World w, int kind, Body body) {
+	File tmp = new File(file.getPath() + ".tmp");
+	try {
+	    File dir = file.getAbsoluteFile().getParentFile();
+	    if (dir != null && !dir.exists() && !dir.mkdirs()) {
+		throw new IOException("cannot create " + dir);
+	    }
+	    try (DataOutputStream out = new DataOutputStream(
+		    new BufferedOutputStream(new FileOutputStream(tmp),
+			    1 << 16))) {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeUTF(settings(w, kind));
+		body.write(out);
+	    }
+	    if (!tmp.renameTo(file)) {
+		file.delete();
+		if (!tmp.renameTo(file)) {
+		    throw new IOException("cannot rename " + tmp);
+		}
+	    }
+	} catch (IOException ex) {
+	    tmp.delete();
+	    LOG.log(Level.WARNING, "checkpoint " + file, ex);
+	}
+    }
+
+    /**
+     * reads the checkpoint if there is one that matches w's settings.
+     *
+     * @param w
+     * @param kind
+     * @param loader
+     * @return true if the loader read a checkpoint, false if the render has
+     * to start over
+     */
+    synchronized boolean load(World w, int kind, Loader loader) {
+	if (!file.isFile()) {
+	    return false;
+	}
+	try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+		new FileInputStream(file), 1 << 16))) {
+	    if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.
+		    readUTF().equals(settings(w, kind))) {
+		LOG.log(Level.INFO, "{0} is for a different render, ignored",
+			file);
+		return false;
+	    }
+	    loader.read(in);
+	    LOG.log(Level.INFO, "resuming from {0}", file);
+	    return true;
+	} catch (IOException ex) {
+	    LOG.log(Level.WARNING, "checkpoint " + file + " unreadable", ex);
+	    return false;
+	}
+    }
+
+    /**
+     * records that the render got through all of its work. a render that
+     * failed or was interrupted never gets here, and keeps its checkpoint.
+     */
+    void setComplete() {
+	complete = true;
+    }
+
+    /**
+     * checks if the render got through all of its work, so the checkpoint
+     * isn't needed any more.
+     *
+     * @return
+     */
+    public boolean isComplete() {
+	return complete;
+    }
+
+    /**
+     * deletes the file, called when the render is done.
+     */
+    public synchronized void finished() {
+	if (file.exists() && !file.delete()) {
+	    LOG.log(Level.WARNING, "cannot delete {0}", file);
+	}
+    }
+
+    private static final Logger LOG
+	    = Logger.getLogger(RenderCheckpoint.class.getName());
+
+}
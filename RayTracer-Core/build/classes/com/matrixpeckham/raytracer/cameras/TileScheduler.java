@@ -0,0 +1,519 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.cameras;
+
+import com.matrixpeckham.raytracer.FrameBuffer;
+import com.matrixpeckham.raytracer.util.RGBColor;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
+import com.matrixpeckham.raytracer.world.World;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Splits an image into square tiles and renders them on a thread pool. One
+ * task is submitted per worker thread, each worker keeps taking the next tile
+ * until there are none left, so the number of tasks doesn't depend on the
+ * image size. Shared by all the cameras through Camera.getScheduler().
+ *
+ * @author William Matrix Peckham
+ */
+public class TileScheduler {
+
+    /**
+     * order the tiles are handed out in
+     */
+    public static enum TileOrder {
+
+	/**
+	 * row by row from the first row
+	 */
+	SCANLINE,
+	/**
+	 * along a hilbert curve, keeps consecutive tiles close together
+	 */
+	HILBERT,
+	/**
+	 * outward from the center of the image, so the middle shows up first
+	 */
+	SPIRAL
+    }
+
+    /**
+     * function that renders a single pixel, the cameras implement this with
+     * the body of their render loops.
+     */
+    public static interface PixelFunction {
+
+	/**
+	 * render and display one pixel
+	 *
+	 * @param r row
+	 * @param c column
+	 */
+	public void renderPixel(int r, int c);
+    }
+
+    /**
+     * hands out the tiles to render instead of the scheduler, see
+     * World.setTileSource(). lets a render farm worker render only the tiles
+     * it is sent.
+     */
+    public static interface TileSource {
+
+	/**
+	 * gets the next tile to render, blocks until there is one. called by
+	 * several threads at once.
+	 *
+	 * @param tile receives the first row, first column, end row and end
+	 * column
+	 * @return false if there are no more tiles
+	 */
+	public boolean nextTile(int[] tile);
+    }
+
+    /**
+     * pool the tiles are rendered on
+     */
+    private final ExecutorService exec;
+
+    /**
+     * number of workers to submit per render
+     */
+    private final int numThreads;
+
+    /**
+     * width and height of the tiles in pixels
+     */
+    private volatile int tileSize = 16;
+
+    /**
+     * order to render tiles in
+     */
+    private volatile TileOrder order = TileOrder.SCANLINE;
+
+    /**
+     * creates a scheduler that runs on the given pool
+     *
+     * @param exec
+     * @param numThreads number of threads in exec
+     */
+    public TileScheduler(ExecutorService exec, int numThreads) {
+	this.exec = exec;
+	this.numThreads = numThreads;
+    }
+
+    /**
+     * getter
+     *
+     * @return
+     */
+    public int getTileSize() {
+	return tileSize;
+    }
+
+    /**
+     * setter
+     *
+     * @param tileSize
+     */
+    public void setTileSize(int tileSize) {
+	if (tileSize < 1) {
+	    throw new IllegalArgumentException("tile size must be positive");
+	}
+	this.tileSize = tileSize;
+    }
+
+    /**
+     * getter
+     *
+     * @return
+     */
+    public TileOrder getTileOrder() {
+	return order;
+    }
+
+    /**
+     * setter
+     *
+     * @param order
+     */
+    public void setTileOrder(TileOrder order) {
+	this.order = order;
+    }
+
+    /**
+     * renders every pixel of a vRes by hRes image with f, and sends each tile
+     * to the world's display and updates its progress when the tile is done.
+     * the thread's random stream is reseeded for each pixel so the result
+     * doesn't depend on which thread drew it. blocks until the image is done,
+     * does not call startRender or finishRender. if the world has a
+     * checkpoint the finished tiles are saved to it as the render goes, and
+     * the tiles already in it aren't rendered again. if the world has a tile
+     * source only the tiles it hands out are rendered, without progress.
+     *
+     * @param w
+     * @param vRes
+     * @param hRes
+     * @param f
+     */
+    public void render(final World w, final int vRes, final int hRes,
+	    final PixelFunction f) {
+	final TileSource source = w.getTileSource();
+	if (source == null) {
+	    render(w, vRes, hRes, f, w::updateProgress, w.getCheckpoint());
+	    return;
+	}
+	final AtomicBoolean stop = new AtomicBoolean();
+	runWorkers(numThreads, stop, () -> {
+	    int[] tile = new int[4];
+	    while (!stop.get() && source.nextTile(tile)) {
+		renderTile(f, tile[0], tile[1], tile[2], tile[3]);
+		w.displayTile(tile[0], tile[1], tile[2] - tile[0], tile[3]
+			- tile[1]);
+	    }
+	});
+    }
+
+    /**
+     * renders every pixel of a vRes by hRes image with f, like
+     * render(w, vRes, hRes, f), but reports the fraction of pixels done to
+     * progress instead of the world, and doesn't use the world's checkpoint.
+     *
+     * @param w
+     * @param vRes
+     * @param hRes
+     * @param f
+     * @param progress
+     */
+    public void render(final World w, final int vRes, final int hRes,
+	    final PixelFunction f, final DoubleConsumer progress) {
+	render(w, vRes, hRes, f, progress, null);
+    }
+
+    /**
+     * renders the tiles
+     *
+     * @param w
+     * @param vRes
+     * @param hRes
+     * @param f
+     * @param progress
+     * @param cp checkpoint to save tiles to, may be null
+     */
+    private void render(final World w, final int vRes, final int hRes,
+	    final PixelFunction f, final DoubleConsumer progress,
+	    final RenderCheckpoint cp) {
+	final int size = tileSize;
+	final int tilesX = (hRes + size - 1) / size;
+	final int tilesY = (vRes + size - 1) / size;
+	final int[] tiles = orderTiles(tilesX, tilesY);
+	final double pixToRender = (double) vRes * hRes;
+	final AtomicInteger nextTile = new AtomicInteger();
+	final AtomicInteger pixRendered = new AtomicInteger();
+	//tiles that are finished, set after their pixels are written
+	final AtomicIntegerArray finished = new AtomicIntegerArray(tiles.length);
+	final RenderCheckpoint.Body save = (DataOutputStream out) -> {
+	    out.writeInt(size);
+	    out.writeInt(tilesX);
+	    out.writeInt(tilesY);
+	    for (int t = 0; t < finished.length(); t++) {
+		if (finished.get(t) != 0) {
+		    out.writeInt(t);
+		    writeTile(w.getFrameBuffer(), t, tilesX, size, vRes, hRes,
+			    out);
+		}
+	    }
+	    out.writeInt(-1);
+	};
+	if (cp != null) {
+	    cp.load(w, RenderCheckpoint.TILES, (DataInputStream in) -> {
+		if (in.readInt() != size || in.readInt() != tilesX || in.
+			readInt() != tilesY) {
+		    throw new IOException("tiles don't match");
+		}
+		int t;
+		while ((t = in.readInt()) >= 0) {
+		    readTile(w.getFrameBuffer(), t, tilesX, size, vRes, hRes, in);
+		    finished.set(t, 1);
+		}
+	    });
+	}
+	final AtomicBoolean stop = new AtomicBoolean();
+	try {
+	    runWorkers(Math.min(numThreads, tiles.length), stop, () -> {
+		int i;
+		while (!stop.get() && (i = nextTile.getAndIncrement())
+			< tiles.length) {
+		    int r0 = (tiles[i] / tilesX) * size;
+		    int c0 = (tiles[i] % tilesX) * size;
+		    int r1 = Math.min(r0 + size, vRes);
+		    int c1 = Math.min(c0 + size, hRes);
+		    //tiles from the checkpoint are only displayed
+		    if (finished.get(tiles[i]) == 0) {
+			renderTile(f, r0, c0, r1, c1);
+			finished.set(tiles[i], 1);
+			if (cp != null && cp.due()) {
+			    cp.save(w, RenderCheckpoint.TILES, save);
+			}
+		    }
+		    w.displayTile(r0, c0, r1 - r0, c1 - c0);
+		    int done = pixRendered.addAndGet((r1 - r0) * (c1 - c0));
+		    progress.accept(done / pixToRender);
+		}
+	    });
+	} catch (RuntimeException ex) {
+	    //keep the tiles finished since the last save for the next try
+	    if (cp != null) {
+		cp.save(w, RenderCheckpoint.TILES, save);
+	    }
+	    throw ex;
+	}
+	if (cp != null) {
+	    for (int t = 0; t < finished.length(); t++) {
+		if (finished.get(t) == 0) {
+		    return;
+		}
+	    }
+	    cp.setComplete();
+	}
+    }
+
+    /**
+     * runs body on the pool, on the given number of threads, and waits for
+     * them all to finish. body should return once stop is set. if a worker
+     * throws, stop is set so the others finish early, and the exception is
+     * thrown from here once they have. if the calling thread is interrupted
+     * the workers are stopped and waited for, and a CancellationException is
+     * thrown with the thread's interrupt flag set.
+     *
+     * @param workers
+     * @param stop
+     * @param body
+     * @throws IllegalStateException wrapping what a worker threw
+     * @throws CancellationException if interrupted
+     */
+    private void runWorkers(int workers, final AtomicBoolean stop,
+	    final Runnable body) {
+	workers = Math.max(1, workers);
+	final CountDownLatch cdl = new CountDownLatch(workers);
+	final AtomicReference<Throwable> failure = new AtomicReference<>();
+	Runnable worker = new Runnable() {
+	    public void run() {
+		try {
+		    body.run();
+		} catch (RuntimeException | Error ex) {
+		    failure.compareAndSet(null, ex);
+		    stop.set(true);
+		} finally {
+		    cdl.countDown();
+		}
+	    }
+	};
+	for (int i = 0; i < workers; i++) {
+	    exec.submit(worker);
+	}
+	boolean interrupted = false;
+	while (true) {
+	    try {
+		cdl.await();
+		break;
+	    } catch (InterruptedException ex) {
+		//wait for the workers anyway, so none of them is still writing
+		//pixels once this returns
+		interrupted = true;
+		stop.set(true);
+	    }
+	}
+	if (interrupted) {
+	    Thread.currentThread().interrupt();
+	    throw new CancellationException("render interrupted");
+	}
+	if (failure.get() != null) {
+	    throw new IllegalStateException("render worker failed", failure.
+		    get());
+	}
+    }
+
+    /**
+     * renders the pixels of rows r0 to r1 and columns c0 to c1, reseeding
+     * the thread's random stream for each.
+     *
+     * @param f
+     * @param r0
+     * @param c0
+     * @param r1
+     * @param c1
+     */
+    private static void renderTile(PixelFunction f, int r0, int c0, int r1,
+	    int c1) {
+	for (int r = r0; r < r1; r++) {
+	    for (int c = c0; c < c1; c++) {
+		ThreadRandom.seedPixel(r, c);
+		f.renderPixel(r, c);
+	    }
+	}
+    }
+
+    /**
+     * writes the pixels of tile t of the frame buffer
+     *
+     * @param fb
+     * @param t
+     * @param tilesX
+     * @param size
+     * @param vRes
+     * @param hRes
+     * @param out
+     * @throws IOException
+     */
+    private static void writeTile(FrameBuffer fb, int t, int tilesX, int size,
+	    int vRes, int hRes, DataOutputStream out) throws IOException {
+	int r0 = (t / tilesX) * size;
+	int c0 = (t % tilesX) * size;
+	RGBColor color = new RGBColor();
+	for (int r = r0; r < Math.min(r0 + size, vRes); r++) {
+	    for (int c = c0; c < Math.min(c0 + size, hRes); c++) {
+		fb.getPixel(c, vRes - r - 1, color);
+		out.writeFloat((float) color.r);
+		out.writeFloat((float) color.g);
+		out.writeFloat((float) color.b);
+	    }
+	}
+    }
+
+    /**
+     * reads the pixels of tile t into the frame buffer
+     *
+     * @param fb
+     * @param t
+     * @param tilesX
+     * @param size
+     * @param vRes
+     * @param hRes
+     * @param in
+     * @throws IOException
+     */
+    private static void readTile(FrameBuffer fb, int t, int tilesX, int size,
+	    int vRes, int hRes, DataInputStream in) throws IOException {
+	int r0 = (t / tilesX) * size;
+	int c0 = (t % tilesX) * size;
+	for (int r = r0; r < Math.min(r0 + size, vRes); r++) {
+	    for (int c = c0; c < Math.min(c0 + size, hRes); c++) {
+		float red = in.readFloat();
+		float green = in.readFloat();
+		float blue = in.readFloat();
+		fb.setPixel(c, vRes - r - 1, red, green, blue);
+	    }
+	}
+    }
+
+    /**
+     * computes the order to render the tiles in. tiles are indexed row major.
+     *
+     * @param tilesX
+     * @param tilesY
+     * @return
+     */
+    private int[] orderTiles(int tilesX, int tilesY) {
+	int numTiles = tilesX * tilesY;
+	int[] tiles = new int[numTiles];
+	switch (order) {
+	    case HILBERT: {
+		//walk a power of two curve big enough for the grid and skip
+		//the cells that fall outside.
+		int n = 1;
+		while (n < tilesX || n < tilesY) {
+		    n *= 2;
+		}
+		int count = 0;
+		for (int d = 0; d < n * n && count < numTiles; d++) {
+		    int x = 0;
+		    int y = 0;
+		    int t = d;
+		    for (int s = 1; s < n; s *= 2) {
+			int rx = 1 & (t / 2);
+			int ry = 1 & (t ^ rx);
+			if (ry == 0) {
+			    if (rx == 1) {
+				x = s - 1 - x;
+				y = s - 1 - y;
+			    }
+			    int tmp = x;
+			    x = y;
+			    y = tmp;
+			}
+			x += s * rx;
+			y += s * ry;
+			t /= 4;
+		    }
+		    if (x < tilesX && y < tilesY) {
+			tiles[count++] = y * tilesX + x;
+		    }
+		}
+		break;
+	    }
+	    case SPIRAL: {
+		//sort by ring around the center, then by angle within a ring
+		final double cx = (tilesX - 1) / 2.0;
+		final double cy = (tilesY - 1) / 2.0;
+		ArrayList<Integer> list = new ArrayList<>(numTiles);
+		for (int i = 0; i < numTiles; i++) {
+		    list.add(i);
+		}
+		list.sort((Integer a, Integer b) -> {
+		    double ax = a % tilesX - cx;
+		    double ay = a / tilesX - cy;
+		    double bx = b % tilesX - cx;
+		    double by = b / tilesX - cy;
+		    int ring = Double.compare(Math.max(Math.abs(ax), Math.abs(
+			    ay)), Math.max(Math.abs(bx), Math.abs(by)));
+		    if (ring != 0) {
+			return ring;
+		    }
+		    return Double.compare(Math.atan2(ay, ax), Math.atan2(by,
+			    bx));
+		});
+		for (int i = 0; i < numTiles; i++) {
+		    tiles[i] = list.get(i);
+		}
+		break;
+	    }
+	    default:
+		for (int i = 0; i < numTiles; i++) {
+		    tiles[i] = i;
+		}
+	}
+	return tiles;
+    }
+
+    private static final Logger LOG
+	    = Logger.getLogger(TileScheduler.class.getName());
+
+}
@@ -0,0 +1,471 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.geometricobjects.compound;
+
+import com.matrixpeckham.raytracer.util.Utility;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * The node arrays of a bounding volume hierarchy and the code that builds
+ * them, without the primitives. BVH keeps its objects in leaf order next to
+ * this, TriangleMesh's packed mode keeps triangle indices. The tree is built
+ * top down with the binned surface area heuristic from primitive boxes and
+ * centroids, and stored flattened in depth first order, the left child of an
+ * interior node is always the next node, so only the right child index is
+ * stored.
+ *
+ * @author William Matrix Peckham
+ */
+final class BVHTree {
+
+    /**
+     * number of bins used when evaluating the surface area heuristic
+     */
+    private static final int NUM_BINS = 16;
+
+    /**
+     * relative cost of stepping through an interior node
+     */
+    private static final double TRAVERSAL_COST = 1.0;
+
+    /**
+     * relative cost of intersecting one primitive
+     */
+    private static final double INTERSECTION_COST = 1.0;
+
+    /**
+     * maximum number of primitives in a leaf, leaves may only be larger than
+     * this when all the primitives have the same centroid
+     */
+    int maxLeafSize = 4;
+
+    /**
+     * node bounds, six values per node, x0 y0 z0 x1 y1 z1
+     */
+    double[] nodeBounds = new double[0];
+
+    /**
+     * for leaves the index of the first primitive in leaf order, for interior
+     * nodes the index of the right child
+     */
+    int[] nodeOffset = new int[0];
+
+    /**
+     * number of primitives in leaves, zero for interior nodes
+     */
+    int[] nodeCount = new int[0];
+
+    /**
+     * split axis for interior nodes, used to visit the nearer child first
+     */
+    int[] nodeAxis = new int[0];
+
+    /**
+     * number of nodes used in the arrays
+     */
+    int numNodes = 0;
+
+    /**
+     * deepest leaf, sizes the traversal stacks
+     */
+    private int maxDepth = 0;
+
+    /**
+     * per thread traversal stack, reused so a traversal doesn't allocate. a
+     * hierarchy never traverses itself recursively, so one per thread is
+     * enough.
+     */
+    private final ThreadLocal<int[]> stacks = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[0];
+        }
+
+    };
+
+    /**
+     * builds the tree over n primitives.
+     *
+     * @param boxes six values per primitive, x0 y0 z0 x1 y1 z1
+     * @param centroids three values per primitive
+     * @param n
+     * @return the primitive indices in leaf order, leaves reference ranges of
+     * this array
+     */
+    int[] build(double[] boxes, double[] centroids, int n) {
+        nodeBounds = new double[6 * Math.max(1, 2 * n - 1)];
+        nodeOffset = new int[Math.max(1, 2 * n - 1)];
+        nodeCount = new int[Math.max(1, 2 * n - 1)];
+        nodeAxis = new int[Math.max(1, 2 * n - 1)];
+        numNodes = 0;
+        maxDepth = 0;
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+        }
+        if (n > 0) {
+            buildNode(boxes, centroids, indices, 0, n, 0);
+        }
+        //leaves usually hold several primitives, drop the unused space
+        if (numNodes > 0 && numNodes < nodeCount.length) {
+            nodeBounds = Arrays.copyOf(nodeBounds, 6 * numNodes);
+            nodeOffset = Arrays.copyOf(nodeOffset, numNodes);
+            nodeCount = Arrays.copyOf(nodeCount, numNodes);
+            nodeAxis = Arrays.copyOf(nodeAxis, numNodes);
+        }
+        return indices;
+    }
+
+    /**
+     * recursively builds the node for objects indices[start] to
+     * indices[end-1], returns the index of the node created.
+     *
+     * @param boxes
+     * @param centroids
+     * @param indices
+     * @param start
+     * @param end
+     * @param depth
+     * @return
+     */
+    private int buildNode(double[] boxes, double[] centroids, int[] indices,
+            int start, int end, int depth) {
+        int node = numNodes++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+        int count = end - start;
+
+        //bounds of the objects and of their centroids
+        double[] b = {Utility.HUGE_VALUE, Utility.HUGE_VALUE,
+            Utility.HUGE_VALUE, -Utility.HUGE_VALUE, -Utility.HUGE_VALUE,
+            -Utility.HUGE_VALUE};
+        double[] cb = {Utility.HUGE_VALUE, Utility.HUGE_VALUE,
+            Utility.HUGE_VALUE, -Utility.HUGE_VALUE, -Utility.HUGE_VALUE,
+            -Utility.HUGE_VALUE};
+        for (int i = start; i < end; i++) {
+            int p = indices[i];
+            for (int a = 0; a < 3; a++) {
+                b[a] = Math.min(b[a], boxes[6 * p + a]);
+                b[a + 3] = Math.max(b[a + 3], boxes[6 * p + a + 3]);
+                cb[a] = Math.min(cb[a], centroids[3 * p + a]);
+                cb[a + 3] = Math.max(cb[a + 3], centroids[3 * p + a]);
+            }
+        }
+        System.arraycopy(b, 0, nodeBounds, 6 * node, 6);
+
+        if (count == 1) {
+            makeLeaf(node, start, count);
+            return node;
+        }
+
+        //evaluate binned SAH along every axis with non zero centroid extent
+        double bestCost = Utility.HUGE_VALUE;
+        int bestAxis = -1;
+        int bestBin = 0;
+        int[] binCounts = new int[NUM_BINS];
+        double[] binBounds = new double[6 * NUM_BINS];
+        double[] rightArea = new double[NUM_BINS];
+        for (int a = 0; a < 3; a++) {
+            double extent = cb[a + 3] - cb[a];
+            if (extent <= 0) {
+                continue;
+            }
+            for (int k = 0; k < NUM_BINS; k++) {
+                binCounts[k] = 0;
+                emptyBounds(binBounds, k);
+            }
+            for (int i = start; i < end; i++) {
+                int p = indices[i];
+                int k = binIndex(centroids[3 * p + a], cb[a], extent);
+                binCounts[k]++;
+                growBounds(binBounds, k, boxes, p);
+            }
+            //sweep from the right to get the area of each right side
+            double[] acc = {Utility.HUGE_VALUE, Utility.HUGE_VALUE,
+                Utility.HUGE_VALUE, -Utility.HUGE_VALUE, -Utility.HUGE_VALUE,
+                -Utility.HUGE_VALUE};
+            int[] rightCount = new int[NUM_BINS];
+            int accCount = 0;
+            for (int k = NUM_BINS - 1; k > 0; k--) {
+                accCount += binCounts[k];
+                mergeBounds(acc, binBounds, k);
+                rightCount[k] = accCount;
+                rightArea[k] = accCount == 0 ? 0 : area(acc, 0);
+            }
+            //sweep from the left evaluating each split plane
+            acc[0] = acc[1] = acc[2] = Utility.HUGE_VALUE;
+            acc[3] = acc[4] = acc[5] = -Utility.HUGE_VALUE;
+            accCount = 0;
+            for (int k = 0; k < NUM_BINS - 1; k++) {
+                accCount += binCounts[k];
+                mergeBounds(acc, binBounds, k);
+                if (accCount == 0 || rightCount[k + 1] == 0) {
+                    continue;
+                }
+                double cost = area(acc, 0) * accCount + rightArea[k + 1]
+                        * rightCount[k + 1];
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestAxis = a;
+                    bestBin = k;
+                }
+            }
+        }
+
+        double nodeArea = area(nodeBounds, 6 * node);
+        double leafCost = INTERSECTION_COST * count;
+        double splitCost = nodeArea > 0 ? TRAVERSAL_COST + INTERSECTION_COST
+                * bestCost / nodeArea : Utility.HUGE_VALUE;
+
+        if (bestAxis < 0) {
+            //all centroids coincide, no plane separates them
+            makeLeaf(node, start, count);
+            return node;
+        }
+        if (count <= maxLeafSize && leafCost <= splitCost) {
+            makeLeaf(node, start, count);
+            return node;
+        }
+
+        //partition the indices around the chosen bin boundary
+        double extent = cb[bestAxis + 3] - cb[bestAxis];
+        int i = start;
+        int j = end - 1;
+        while (i <= j) {
+            int k = binIndex(centroids[3 * indices[i] + bestAxis], cb[bestAxis],
+                    extent);
+            if (k <= bestBin) {
+                i++;
+            } else {
+                int tmp = indices[i];
+                indices[i] = indices[j];
+                indices[j] = tmp;
+                j--;
+            }
+        }
+        int mid = i;
+        if (mid == start || mid == end) {
+            mid = (start + end) / 2;
+        }
+
+        nodeCount[node] = 0;
+        nodeAxis[node] = bestAxis;
+        buildNode(boxes, centroids, indices, start, mid, depth + 1);
+        nodeOffset[node] = buildNode(boxes, centroids, indices, mid, end, depth
+                + 1);
+        return node;
+    }
+
+    /**
+     * stores leaf data in node
+     *
+     * @param node
+     * @param start
+     * @param count
+     */
+    private void makeLeaf(int node, int start, int count) {
+        nodeOffset[node] = start;
+        nodeCount[node] = count;
+        nodeAxis[node] = 0;
+    }
+
+    /**
+     * finds the bin for a centroid coordinate
+     *
+     * @param c
+     * @param min
+     * @param extent
+     * @return
+     */
+    private static int binIndex(double c, double min, double extent) {
+        int k = (int) (NUM_BINS * (c - min) / extent);
+        if (k >= NUM_BINS) {
+            k = NUM_BINS - 1;
+        }
+        if (k < 0) {
+            k = 0;
+        }
+        return k;
+    }
+
+    /**
+     * resets bin k to an empty box
+     *
+     * @param bins
+     * @param k
+     */
+    private static void emptyBounds(double[] bins, int k) {
+        for (int a = 0; a < 3; a++) {
+            bins[6 * k + a] = Utility.HUGE_VALUE;
+            bins[6 * k + a + 3] = -Utility.HUGE_VALUE;
+        }
+    }
+
+    /**
+     * grows bin k to hold box p
+     *
+     * @param bins
+     * @param k
+     * @param boxes
+     * @param p
+     */
+    private static void growBounds(double[] bins, int k, double[] boxes, int p) {
+        for (int a = 0; a < 3; a++) {
+            bins[6 * k + a] = Math.min(bins[6 * k + a], boxes[6 * p + a]);
+            bins[6 * k + a + 3] = Math.max(bins[6 * k + a + 3], boxes[6 * p + a
+                    + 3]);
+        }
+    }
+
+    /**
+     * grows acc to hold bin k
+     *
+     * @param acc
+     * @param bins
+     * @param k
+     */
+    private static void mergeBounds(double[] acc, double[] bins, int k) {
+        for (int a = 0; a < 3; a++) {
+            acc[a] = Math.min(acc[a], bins[6 * k + a]);
+            acc[a + 3] = Math.max(acc[a + 3], bins[6 * k + a + 3]);
+        }
+    }
+
+    /**
+     * surface area of the box starting at offset
+     *
+     * @param b
+     * @param off
+     * @return
+     */
+    private static double area(double[] b, int off) {
+        double dx = b[off + 3] - b[off];
+        double dy = b[off + 4] - b[off + 1];
+        double dz = b[off + 5] - b[off + 2];
+        if (dx < 0 || dy < 0 || dz < 0) {
+            return 0;
+        }
+        return 2.0 * (dx * dy + dy * dz + dz * dx);
+    }
+
+    /**
+     * slab test of the ray against a node, true if the box overlaps the ray
+     * parameter range tLow to tHigh. comparisons are written so that NaNs from
+     * zero direction components are ignored.
+     *
+     * @param node
+     * @param ox
+     * @param oy
+     * @param oz
+     * @param idx
+     * @param idy
+     * @param idz
+     * @param tLow
+     * @param tHigh
+     * @return
+     */
+    boolean hitNode(int node, double ox, double oy, double oz,
+            double idx, double idy, double idz, double tLow, double tHigh) {
+        int off = 6 * node;
+        double t0 = tLow;
+        double t1 = tHigh;
+        double tNear;
+        double tFar;
+        if (idx >= 0) {
+            tNear = (nodeBounds[off] - ox) * idx;
+            tFar = (nodeBounds[off + 3] - ox) * idx;
+        } else {
+            tNear = (nodeBounds[off + 3] - ox) * idx;
+            tFar = (nodeBounds[off] - ox) * idx;
+        }
+        if (tNear > t0) {
+            t0 = tNear;
+        }
+        if (tFar < t1) {
+            t1 = tFar;
+        }
+        if (t0 > t1) {
+            return false;
+        }
+        if (idy >= 0) {
+            tNear = (nodeBounds[off + 1] - oy) * idy;
+            tFar = (nodeBounds[off + 4] - oy) * idy;
+        } else {
+            tNear = (nodeBounds[off + 4] - oy) * idy;
+            tFar = (nodeBounds[off + 1] - oy) * idy;
+        }
+        if (tNear > t0) {
+            t0 = tNear;
+        }
+        if (tFar < t1) {
+            t1 = tFar;
+        }
+        if (t0 > t1) {
+            return false;
+        }
+        if (idz >= 0) {
+            tNear = (nodeBounds[off + 2] - oz) * idz;
+            tFar = (nodeBounds[off + 5] - oz) * idz;
+        } else {
+            tNear = (nodeBounds[off + 5] - oz) * idz;
+            tFar = (nodeBounds[off + 2] - oz) * idz;
+        }
+        if (tNear > t0) {
+            t0 = tNear;
+        }
+        if (tFar < t1) {
+            t1 = tFar;
+        }
+        return t0 <= t1;
+    }
+
+
+    /**
+     * true if the right child of an interior node is nearer along the ray and
+     * should be visited first.
+     *
+     * @param node
+     * @param idx
+     * @param idy
+     * @param idz
+     * @return
+     */
+    boolean rightFirst(int node, double idx, double idy, double idz) {
+        int axis = nodeAxis[node];
+        return axis == 0 ? idx < 0 : axis == 1 ? idy < 0 : idz < 0;
+    }
+
+    /**
+     * gets the calling thread's traversal stack, grown to fit the tree.
+     *
+     * @return
+     */
+    int[] getStack() {
+        int[] stack = stacks.get();
+        if (stack.length < maxDepth + 1) {
+            stack = new int[maxDepth + 1];
+            stacks.set(stack);
+        }
+        return stack;
+    }
+
+    private static final Logger LOG = Logger.getLogger(BVHTree.class.getName());
+
+}
@@ -0,0 +1,262 @@
+package com.matrixpeckham.raytracer.geometricobjects.compound;
+
+import com.matrixpeckham.raytracer.geometricobjects.GeometricObject;
+import com.matrixpeckham.raytracer.materials.Material;
+import com.matrixpeckham.raytracer.util.BBox;
+import com.matrixpeckham.raytracer.util.DoubleRef;
+import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ShadeRec;
+import com.matrixpeckham.raytracer.util.Utility;
+import java.util.ArrayList;
+
+/**
+ * Compound class, geometric object constructed of multiple other geometric
+ * objects
+ *
+ * @author William Matrix Peckham
+ */
+public class Compound extends GeometricObject {
+
+    /**
+     * list of sub objects
+     */
+    protected ArrayList<GeometricObject> objects = new ArrayList<>();
+
+    /**
+     * default constructor
+     */
+    public Compound() {
+        super();
+    }
+
+    /**
+     * copy constructor
+     *
+     * @param c
+     */
+    public Compound(Compound c) {
+        copyObjects(c.objects);
+    }
+
+    /**
+     * clone
+     *
+     * @return
+     */
+    @Override
+    public GeometricObject cloneGeometry() {
+        return new Compound(this);
+    }
+
+    /**
+     * Add an object to the collection of sub objects
+     *
+     * @param obj
+     */
+    public void addObject(GeometricObject obj) {
+        objects.add(obj);
+    }
+
+    /**
+     * sets the material for every object, the material is copied once and the
+     * copy is shared by all of them.
+     *
+     * @param mat
+     */
+    @Override
+    public void setMaterial(Material mat) {
+        setSharedMaterial(mat.cloneMaterial());
+    }
+
+    /**
+     * shares the material with every object, no copies are made.
+     *
+     * @param mat
+     */
+    @Override
+    public void setSharedMaterial(Material mat) {
+        objects.stream().
+                forEach((obj) -> {
+                    obj.setSharedMaterial(mat);
+                });
+    }
+
+    /**
+     * sets the material for an object at index i
+     *
+     * @param mat
+     * @param i
+     */
+    public void setMaterial(Material mat, int i) {
+        objects.get(i).setMaterial(mat);
+    }
+
+    /**
+     * hit function, works the same way as World.hitObjects does.
+     *
+     * @param ray
+     * @param s
+     * @return
+     */
+    @Override
+    public boolean hit(Ray ray, ShadeRec s) {
+
+        //temporary storage for keeping lowest distance hit, plain doubles so
+        //the hit doesn't allocate.
+        double nx = 0;
+        double ny = 0;
+        double nz = 0;
+        double lx = 0;
+        double ly = 0;
+        double lz = 0;
+        double ls = 1;
+        Material m = null;
+        boolean hit = false;
+        double tmin = Utility.HUGE_VALUE;
+        int numObjects = objects.size();
+
+        for (int j = 0; j < numObjects; j++) {
+            s.localScale = 1;
+            s.material = null;
+            if (objects.get(j).hit(ray, s) && s.lastT < tmin) {
+                hit = true;
+                tmin = s.lastT;
+                m = hitMaterial(objects.get(j), s);
+                nx = s.normal.x;
+                ny = s.normal.y;
+                nz = s.normal.z;
+                lx = s.localHitPosition.x;
+                ly = s.localHitPosition.y;
+                lz = s.localHitPosition.z;
+                ls = s.localScale;
+            }
+        }
+
+        if (hit) {
+            //s.t=tmin;
+            s.lastT = tmin;
+            s.normal.setTo(nx, ny, nz);
+            s.localHitPosition.setTo(lx, ly, lz);
+            s.localScale = ls;
+            s.material = m;
+        }
+
+        return hit;
+
+    }
+
+    /**
+     * hit function, works the same way as World.hitObjects does.
+     *
+     * @param ray
+     * @param s
+     * @return
+     */
+    @Override
+    public boolean hit(Ray ray, ArrayList<ShadeRec> hits, ShadeRec sr) {
+
+        boolean hit = false;
+        int numObjects = objects.size();
+
+        for (int j = 0; j < numObjects; j++) {
+            if (objects.get(j).hit(ray, hits, sr)) {
+                hit = true;
+            }
+        }
+
+        return hit;
+
+    }
+
+    /**
+     * shadow hit function works same way as hit function
+     *
+     * @param ray
+     * @param t
+     * @return
+     */
+    @Override
+    public boolean shadowHit(Ray ray, DoubleRef t) {
+        //early out if shadows false all implementations do this
+        if (!shadows) {
+            return false;
+        }
+        boolean hit = false;
+        double tmin = Utility.HUGE_VALUE;
+        int numObjects = objects.size();
+
+        for (int j = 0; j < numObjects; j++) {
+            if (objects.get(j).shadowHit(ray, t) && t.d < tmin) {
+                hit = true;
+                tmin = t.d;
+            }
+        }
+
+        if (hit) {
+            t.d = tmin;
+        }
+
+        return hit;
+    }
+
+    /**
+     * clears sub objects
+     */
+    private void deleteObjects() {
+        objects.clear();
+    }
+
+    /**
+     * clones objects in rhs into this compound object
+     *
+     * @param rhs
+     */
+    private void copyObjects(ArrayList<GeometricObject> rhs) {
+        deleteObjects();
+        rhs.stream().
+                forEach((obj) -> {
+                    objects.add(obj.cloneGeometry());
+                });
+    }
+
+    /**
+     * returns the number of objects in this compound
+     *
+     * @return
+     */
+    public int getNumObjects() {
+        return objects.size();
+    }
+
+    /**
+     * expands an empty bounding box to hold each sub object
+     *
+     * @return
+     */
+    @Override
+    public BBox getBoundingBox() {
+        BBox box = new BBox(0, 0, 0, 0, 0, 0);
+        objects.stream().
+                forEach((obj) -> {
+                    box.expandToFit(obj.getBoundingBox());
+                });
+        return box;
+    }
+
+    /**
+     * bounded only if every sub object is bounded, the box above is built from
+     * the sub objects' boxes
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        for (GeometricObject obj : objects) {
+            if (!obj.isBounded()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
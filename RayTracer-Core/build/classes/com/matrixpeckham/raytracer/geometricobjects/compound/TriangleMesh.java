@@ -0,0 +1,1039 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.geometricobjects.compound;
+
+import com.matrixpeckham.raytracer.geometricobjects.triangles.FlatMeshTriangle;
+import com.matrixpeckham.raytracer.geometricobjects.triangles.FlatUVMeshTriangle;
+import com.matrixpeckham.raytracer.geometricobjects.triangles.MeshTriangle;
+import com.matrixpeckham.raytracer.geometricobjects.triangles.SmoothMeshTriangle;
+import com.matrixpeckham.raytracer.geometricobjects.triangles.SmoothTriangle;
+import com.matrixpeckham.raytracer.geometricobjects.triangles.SmoothUVMeshTriangle;
+import com.matrixpeckham.raytracer.geometricobjects.triangles.Triangle;
+import com.matrixpeckham.raytracer.materials.Material;
+import com.matrixpeckham.raytracer.util.BBox;
+import com.matrixpeckham.raytracer.util.DoubleRef;
+import com.matrixpeckham.raytracer.util.Mesh;
+import com.matrixpeckham.raytracer.util.Normal;
+import com.matrixpeckham.raytracer.util.PackedMesh;
+import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ShadeRec;
+import com.matrixpeckham.raytracer.util.Utility;
+import com.matrixpeckham.raytracer.util.ply.PLYMeshReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.logging.Logger;
+
+/**
+ * TriangleMesh class, for storing triangle meshes an rendering them. also has
+ * the code to load them.
+ *
+ * Extends grid because we'll have many child triangles and they need to be
+ * efficiently culled from hit tests
+ *
+ * In packed mode, see setPacked(), the read methods load the file into a
+ * PackedMesh instead, and no object is made per triangle: setupCells() builds
+ * a bounding volume hierarchy over the triangle indices, and the hit functions
+ * intersect the packed arrays directly. The whole mesh then shares the
+ * material set on it.
+ *
+ * @author William Matrix Peckham
+ */
+public class TriangleMesh extends Grid {
+
+    /**
+     * reads a ply file for flat triangle mesh with uv coordinates
+     *
+     * @param fileName
+     * @throws IOException
+     */
+    public void readFlatUVTriangles(File fileName) throws IOException {
+        readPLYFileUV(fileName, TriangleType.FLAT);
+    }
+
+    /**
+     * reads a ply file for smooth triangle mesh with uv coordinates
+     *
+     * @param fileName
+     * @throws IOException
+     */
+    public void readSmoothUvTriangles(File fileName) throws IOException {
+        readPLYFileUV(fileName, TriangleType.SMOOTH);
+        computeMeshNormals();
+    }
+
+    /**
+     * reads a ply file for smooth triangle mesh with uv coordinates
+     *
+     * @param fileName
+     * @throws IOException
+     */
+    public void readSmoothUvTriangles(InputStream fileName) throws IOException {
+        readPLYFileUV(fileName, TriangleType.SMOOTH);
+        computeMeshNormals();
+    }
+
+    /**
+     * Triangle type
+     */
+    enum TriangleType {
+
+        /**
+         * flat triangles, one normal per triangle
+         */
+        FLAT,
+        /**
+         * smooth triangles, interpolated individual normals
+         */
+        SMOOTH
+
+    }
+
+    /**
+     * mesh reference that will hold all the vertices, normals, uvs.
+     */
+    protected Mesh mesh;
+
+    /**
+     * are the normals reversed
+     */
+    protected boolean reverseNomral = false;
+
+    /**
+     * if true the read methods fill packed instead of making triangle objects
+     */
+    protected boolean packMode = false;
+
+    /**
+     * the packed triangles, null unless a file was read in packed mode
+     */
+    protected PackedMesh packed = null;
+
+    /**
+     * hierarchy over the packed triangles, which are stored in leaf order
+     */
+    private BVHTree packedTree = null;
+
+    /**
+     * default constructor, empty mesh
+     */
+    public TriangleMesh() {
+        super();
+        mesh = new Mesh();
+    }
+
+    /**
+     *
+     * @param mesh
+     */
+    public TriangleMesh(Mesh mesh) {
+        this.mesh = mesh;
+    }
+
+    /**
+     * copy constructor
+     *
+     * @param m
+     */
+    public TriangleMesh(TriangleMesh m) {
+        super(m);
+        this.mesh = m.mesh;
+        reverseNomral = m.reverseNomral;
+        //packed data is never changed after setupCells() so it is shared
+        packMode = m.packMode;
+        packed = m.packed;
+        packedTree = m.packedTree;
+        if (packed != null) {
+            bbox = new BBox(m.bbox);
+            material = m.material;
+        }
+    }
+
+    /**
+     * clone
+     *
+     * @return
+     */
+    @Override
+    public TriangleMesh cloneGeometry() {
+        return new TriangleMesh(this);
+    }
+
+    /**
+     * sets flag to reverse normals to true
+     */
+    public void reverseNormal() {
+        reverseNomral = true;
+    }
+
+    /**
+     * turns packed mode on or off, must be called before reading a file.
+     *
+     * @param packed
+     */
+    public void setPacked(boolean packed) {
+        packMode = packed;
+    }
+
+    /**
+     * returns true if files are read in packed mode
+     *
+     * @return
+     */
+    public boolean isPacked() {
+        return packMode;
+    }
+
+    /**
+     * gets the packed triangles
+     *
+     * @return null unless a file was read in packed mode
+     */
+    public PackedMesh getPackedMesh() {
+        return packed;
+    }
+
+    /**
+     * reads a file for a flat triangle mesh
+     *
+     * @param f
+     * @throws IOException
+     */
+    public void readFlatTriangles(File f) throws IOException {
+        readPLYFile(f, TriangleType.FLAT);
+    }
+
+    /**
+     * reads a file for a flat triangle mesh
+     *
+     * @param f
+     * @throws IOException
+     */
+    public void readFlatTriangles(InputStream f) throws IOException {
+        readPLYFile(f, TriangleType.FLAT);
+    }
+
+    public void readSmoothTriangles(InputStream f) throws IOException {
+        readPLYFile(f, TriangleType.SMOOTH);
+        computeMeshNormals();
+    }
+
+    /**
+     * reads a file for a smooth triangle mesh
+     *
+     * @param f
+     * @throws IOException
+     */
+    public void readSmoothTriangles(File f) throws IOException {
+        readPLYFile(f, TriangleType.SMOOTH);
+        computeMeshNormals();
+    }
+
+    private void readPLYFile(File f, TriangleType t) throws IOException {
+        PLYMeshReader.read(f, handler(t, false));
+    }
+
+    /**
+     * reads a PLY file and creates the correct triangle type for the type input
+     *
+     * @param f
+     * @param t
+     * @throws IOException
+     */
+    private void readPLYFile(InputStream f, TriangleType t) throws IOException {
+        PLYMeshReader.read(f, handler(t, false));
+    }
+
+    private void readPLYFileUV(File f, TriangleType t) throws IOException {
+        PLYMeshReader.read(f, handler(t, true));
+    }
+
+    /**
+     * Reads a ply file with per vertex uv coordinates with the specified
+     * triangle type
+     *
+     * @param f
+     * @param t
+     * @throws IOException
+     */
+    private void readPLYFileUV(InputStream f, TriangleType t) throws IOException {
+        PLYMeshReader.read(f, handler(t, true));
+    }
+
+    /**
+     * makes the handler the ply reader streams the file into, packed mode
+     * fills packed, otherwise triangles of the requested type are made.
+     *
+     * @param t
+     * @param uv true to read per vertex texture coordinates
+     * @return
+     */
+    private PLYMeshReader.Handler handler(TriangleType t, boolean uv) {
+        if (packMode) {
+            return new PackedHandler(uv);
+        }
+        return new ObjectHandler(t, uv);
+    }
+
+    /**
+     * fills in the mesh and makes a mesh triangle object per face.
+     */
+    private class ObjectHandler implements PLYMeshReader.Handler {
+
+        final TriangleType type;
+
+        final boolean uv;
+
+        ObjectHandler(TriangleType type, boolean uv) {
+            this.type = type;
+            this.uv = uv;
+        }
+
+        @Override
+        public void start(int numVertices, int numFaces, boolean hasUV)
+                throws IOException {
+            if (uv && !hasUV) {
+                throw new IOException("PLY vertices have no u and v");
+            }
+            mesh.numVertices = numVertices;
+            mesh.numTriangles = numFaces;
+            //make sure we have empty lists for each vertex to store triangle connectivity, used in smooth triangles
+            for (int i = 0; i < numVertices; i++) {
+                mesh.vertexFaces.add(new ArrayList<>());
+            }
+        }
+
+        @Override
+        public void vertex(int i, double x, double y, double z, double u,
+                double v) {
+            mesh.vertices.add(new Point3D(x, y, z));
+            if (uv) {
+                mesh.u.add(u);
+                mesh.v.add(v);
+            }
+        }
+
+        @Override
+        public void face(int i, int v0, int v1, int v2) throws IOException {
+            if (v0 < 0 || v0 >= mesh.numVertices || v1 < 0 || v1
+                    >= mesh.numVertices || v2 < 0 || v2 >= mesh.numVertices) {
+                throw new IOException("PLY face " + i
+                        + " has a vertex index out of range");
+            }
+            MeshTriangle tri;
+            if (type == TriangleType.FLAT) {
+                tri = uv ? new FlatUVMeshTriangle(mesh, v0, v1, v2)
+                        : new FlatMeshTriangle(mesh, v0, v1, v2);
+            } else {
+                tri = uv ? new SmoothUVMeshTriangle(mesh, v0, v1, v2)
+                        : new SmoothMeshTriangle(mesh, v0, v1, v2);
+                //add connectivity information
+                mesh.vertexFaces.get(v0).add(i);
+                mesh.vertexFaces.get(v1).add(i);
+                mesh.vertexFaces.get(v2).add(i);
+            }
+            tri.computeNormal(reverseNomral);
+            objects.add(tri);
+        }
+
+    }
+
+    /**
+     * fills packed, flat or smooth is decided later by whether
+     * computeMeshNormals() is called.
+     */
+    private class PackedHandler implements PLYMeshReader.Handler {
+
+        final boolean uv;
+
+        PackedMesh pm;
+
+        PackedHandler(boolean uv) {
+            this.uv = uv;
+        }
+
+        @Override
+        public void start(int numVertices, int numFaces, boolean hasUV)
+                throws IOException {
+            if (uv && !hasUV) {
+                throw new IOException("PLY vertices have no u and v");
+            }
+            pm = new PackedMesh(numVertices, numFaces, uv);
+            packed = pm;
+            packedTree = null;
+        }
+
+        @Override
+        public void vertex(int i, double x, double y, double z, double u,
+                double v) {
+            pm.setVertex(i, x, y, z);
+            if (uv) {
+                pm.setUV(i, u, v);
+            }
+        }
+
+        @Override
+        public void face(int i, int v0, int v1, int v2) throws IOException {
+            try {
+                pm.setTriangle(i, v0, v1, v2);
+            } catch (IllegalArgumentException ex) {
+                throw new IOException(ex.getMessage(), ex);
+            }
+        }
+
+    }
+
+    /**
+     * computes the normals for the mesh from the stored adjacency information
+     */
+    public void computeMeshNormals() {
+        if (packed != null) {
+            packed.computeNormals(reverseNomral);
+            return;
+        }
+        for (int ind = 0; ind < mesh.numVertices; ind++) {
+            Normal normal = new Normal();
+            for (int j = 0; j < mesh.vertexFaces.get(ind).size(); j++) {
+                normal.addLocal(((MeshTriangle) objects.get(mesh.vertexFaces.
+                        get(ind).get(j))).
+                        getNormal());
+            }
+            if (normal.x == 0 && normal.y == 0 && normal.z == 0) {
+                normal.y = 1;
+            } else {
+                normal.normalize();
+            }
+            mesh.normals.add(normal);
+        }
+    }
+
+    /**
+     *
+     * @param horizontalSteps
+     * @param verticalSteps
+     */
+    public void tessellateFlatSphere(int horizontalSteps, int verticalSteps) {
+
+        // define the top triangles which all touch the north pole
+        int k = 1;
+
+        for (int j = 0; j <= horizontalSteps - 1; j++) {
+            // define vertices
+
+            Point3D v0 = new Point3D(0, 1, 0);																		// top (north pole)
+
+            Point3D v1 = new Point3D(Math.sin(2.0 * Utility.PI * j
+                    / horizontalSteps) * Math.
+                    sin(Utility.PI * k / verticalSteps), // bottom left
+                    Math.cos(Utility.PI * k / verticalSteps),
+                    Math.cos(2.0 * Utility.PI * j / horizontalSteps) * Math.sin(
+                            Utility.PI * k / verticalSteps));
+
+            Point3D v2 = new Point3D(Math.sin(2.0 * Utility.PI * (j + 1)
+                    / horizontalSteps) * Math.
+                    sin(Utility.PI * k / verticalSteps), // bottom  right
+                    Math.cos(Utility.PI * k / verticalSteps),
+                    Math.cos(2.0 * Utility.PI * (j + 1) / horizontalSteps)
+                    * Math.sin(Utility.PI * k / verticalSteps));
+
+            Triangle trianglePtr = new Triangle(v0, v1, v2);
+            objects.add(trianglePtr);
+        }
+
+        // define the bottom triangles which all touch the south pole
+        k = verticalSteps - 1;
+
+        for (int j = 0; j <= horizontalSteps - 1; j++) {
+            // define vertices
+
+            Point3D v0 = new Point3D(Math.sin(2.0 * Utility.PI * j
+                    / horizontalSteps) * Math.
+                    sin(Utility.PI * k / verticalSteps), // top left
+                    Math.cos(Utility.PI * k / verticalSteps),
+                    Math.cos(2.0 * Utility.PI * j / horizontalSteps) * Math.sin(
+                            Utility.PI * k / verticalSteps));
+
+            Point3D v1 = new Point3D(0, -1, 0);																		// bottom (south pole)
+
+            Point3D v2 = new Point3D(Math.sin(2.0 * Utility.PI * (j + 1)
+                    / horizontalSteps) * Math.
+                    sin(Utility.PI * k / verticalSteps), // top right
+                    Math.cos(Utility.PI * k / verticalSteps),
+                    Math.cos(2.0 * Utility.PI * (j + 1) / horizontalSteps)
+                    * Math.sin(Utility.PI * k / verticalSteps));
+
+            Triangle trianglePtr = new Triangle(v0, v1, v2);
+            objects.add(trianglePtr);
+        }
+
+        //  define the other triangles
+        for (k = 1; k <= verticalSteps - 2; k++) {
+            for (int j = 0; j <= horizontalSteps - 1; j++) {
+			// define the first triangle
+
+                // vertices
+                Point3D v0 = new Point3D(Math.sin(2.0 * Utility.PI * j
+                        / horizontalSteps) * Math.sin(Utility.PI * (k + 1)
+                                / verticalSteps), // bottom left, use k + 1, j
+                        Math.cos(Utility.PI * (k + 1) / verticalSteps),
+                        Math.cos(2.0 * Utility.PI * j / horizontalSteps) * Math.
+                        sin(Utility.PI * (k + 1) / verticalSteps));
+
+                Point3D v1 = new Point3D(Math.sin(2.0 * Utility.PI * (j + 1)
+                        / horizontalSteps) * Math.sin(Utility.PI * (k + 1)
+                                / verticalSteps), // bottom  right, use k + 1, j + 1
+                        Math.cos(Utility.PI * (k + 1) / verticalSteps),
+                        Math.cos(2.0 * Utility.PI * (j + 1) / horizontalSteps)
+                        * Math.sin(Utility.PI * (k + 1) / verticalSteps));
+
+                Point3D v2 = new Point3D(Math.sin(2.0 * Utility.PI * j
+                        / horizontalSteps) * Math.sin(Utility.PI * k
+                                / verticalSteps), // top left, 	use k, j
+                        Math.cos(Utility.PI * k / verticalSteps),
+                        Math.cos(2.0 * Utility.PI * j / horizontalSteps) * Math.
+                        sin(Utility.PI * k / verticalSteps));
+
+                Triangle trianglePtr1 = new Triangle(v0, v1, v2);
+                objects.add(trianglePtr1);
+
+                // define the second triangle
+                // vertices
+                v0 = new Point3D(Math.sin(2.0 * Utility.PI * (j + 1)
+                        / horizontalSteps) * Math.sin(Utility.PI * k
+                                / verticalSteps), // top right, use k, j + 1
+                        Math.cos(Utility.PI * k / verticalSteps),
+                        Math.cos(2.0 * Utility.PI * (j + 1) / horizontalSteps)
+                        * Math.sin(Utility.PI * k / verticalSteps));
+
+                v1 = new Point3D(Math.
+                        sin(2.0 * Utility.PI * j / horizontalSteps) * Math.sin(
+                                Utility.PI * k / verticalSteps), // top left, 	use k, j
+                        Math.cos(Utility.PI * k / verticalSteps),
+                        Math.cos(2.0 * Utility.PI * j / horizontalSteps) * Math.
+                        sin(Utility.PI * k / verticalSteps));
+
+                v2 = new Point3D(Math.sin(2.0 * Utility.PI * (j + 1)
+                        / horizontalSteps) * Math.sin(Utility.PI * (k + 1)
+                                / verticalSteps), // bottom  right, use k + 1, j + 1
+                        Math.cos(Utility.PI * (k + 1) / verticalSteps),
+                        Math.cos(2.0 * Utility.PI * (j + 1) / horizontalSteps)
+                        * Math.sin(Utility.PI * (k + 1) / verticalSteps));
+
+                Triangle trianglePtr2 = new Triangle(v0, v1, v2);
+                objects.add(trianglePtr2);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------------  tesselateSmoothSphere
+    // tesselate a unit sphere into smooth triangles that are stored directly in the grid
+    /**
+     *
+     * @param horizontalSteps
+     * @param verticalSteps
+     */
+    public void tessellateSmoothSphere(int horizontalSteps, int verticalSteps) {
+        // define the top triangles
+        int k = 1;
+        for (int j = 0; j <= horizontalSteps - 1;
+                j++) {
+            // define vertices
+            Point3D v0 = new Point3D(0, 1, 0); // top
+            Point3D v1
+                    = new Point3D(Math.sin(2.0 * Utility.PI * j
+                                    / horizontalSteps) * Math.sin(Utility.PI * k
+                                    / verticalSteps),
+                            // bottom left
+                            Math.cos(Utility.PI * k / verticalSteps),
+                            Math.cos(2.0 * Utility.PI * j / horizontalSteps)
+                            * Math.sin(Utility.PI * k / verticalSteps));
+            Point3D v2
+                    = new Point3D(Math.sin(2.0 * Utility.PI * (j + 1)
+                                    / horizontalSteps) * Math.sin(Utility.PI * k
+                                    / verticalSteps),
+                            // bottom  right
+                            Math.cos(Utility.PI * k / verticalSteps),
+                            Math.cos(2.0 * Utility.PI * (j + 1)
+                                    / horizontalSteps) * Math.sin(Utility.PI * k
+                                    / verticalSteps));
+            SmoothTriangle trianglePtr = new SmoothTriangle(v0, v1, v2);
+            trianglePtr.n0.setTo(v0);
+            trianglePtr.n1.setTo(v1);
+            trianglePtr.n2.setTo(v2);
+            objects.add(trianglePtr);
+        }
+        // define the bottom triangles
+        k = verticalSteps - 1;
+        for (int j = 0; j <= horizontalSteps - 1;
+                j++) {
+            // define vertices
+            Point3D v0
+                    = new Point3D(Math.sin(2.0 * Utility.PI * j
+                                    / horizontalSteps) * Math.sin(Utility.PI * k
+                                    / verticalSteps),
+                            // top left
+                            Math.cos(Utility.PI * k / verticalSteps),
+                            Math.cos(2.0 * Utility.PI * j / horizontalSteps)
+                            * Math.sin(Utility.PI * k / verticalSteps));
+            Point3D v1 = new Point3D(0, -1, 0); // bottom
+            Point3D v2
+                    = new Point3D(Math.sin(2.0 * Utility.PI * (j + 1)
+                                    / horizontalSteps) * Math.sin(Utility.PI * k
+                                    / verticalSteps),
+                            // top right
+                            Math.cos(Utility.PI * k / verticalSteps),
+                            Math.cos(2.0 * Utility.PI * (j + 1)
+                                    / horizontalSteps) * Math.sin(Utility.PI * k
+                                    / verticalSteps));
+            SmoothTriangle trianglePtr = new SmoothTriangle(v0, v1, v2);
+            trianglePtr.n0.setTo(v0);
+            trianglePtr.n1.setTo(v1);
+            trianglePtr.n2.setTo(v2);
+            objects.add(trianglePtr);
+        }
+        //  define the other triangles
+        for (k = 1; k <= verticalSteps - 2;
+                k++) {
+            for (int j = 0; j <= horizontalSteps - 1;
+                    j++) {
+                // define the first triangle
+                // vertices
+                Point3D v0
+                        = new Point3D(Math.sin(2.0 * Utility.PI * j
+                                        / horizontalSteps) * Math.sin(Utility.PI
+                                        * (k + 1) / verticalSteps),
+                                // bottom left, use k + 1, j
+                                Math.cos(Utility.PI * (k + 1) / verticalSteps),
+                                Math.cos(2.0 * Utility.PI * j / horizontalSteps)
+                                * Math.sin(Utility.PI * (k + 1) / verticalSteps));
+                Point3D v1
+                        = new Point3D(Math.sin(2.0 * Utility.PI * (j + 1)
+                                        / horizontalSteps) * Math.sin(Utility.PI
+                                        * (k + 1) / verticalSteps),
+                                // bottom  right, use k + 1, j + 1
+                                Math.cos(Utility.PI * (k + 1) / verticalSteps),
+                                Math.cos(2.0 * Utility.PI * (j + 1)
+                                        / horizontalSteps) * Math.sin(Utility.PI
+                                        * (k + 1) / verticalSteps));
+                Point3D v2
+                        = new Point3D(Math.sin(2.0 * Utility.PI * j
+                                        / horizontalSteps) * Math.sin(Utility.PI
+                                        * k / verticalSteps),
+                                // top left, 	use k, j
+                                Math.cos(Utility.PI * k / verticalSteps),
+                                Math.cos(2.0 * Utility.PI * j / horizontalSteps)
+                                * Math.sin(Utility.PI * k / verticalSteps));
+                SmoothTriangle trianglePtr1 = new SmoothTriangle(v0, v1, v2);
+                trianglePtr1.n0.setTo(v0);
+                trianglePtr1.n1.setTo(v1);
+                trianglePtr1.n2.setTo(v2);
+                objects.add(trianglePtr1);
+                // define the second triangle
+                // vertices
+                v0
+                        = new Point3D(Math.sin(2.0 * Utility.PI * (j + 1)
+                                        / horizontalSteps) * Math.sin(Utility.PI
+                                        * k / verticalSteps),
+                                // top right, use k, j + 1
+                                Math.cos(Utility.PI * k / verticalSteps),
+                                Math.cos(2.0 * Utility.PI * (j + 1)
+                                        / horizontalSteps) * Math.sin(Utility.PI
+                                        * k / verticalSteps));
+                v1
+                        = new Point3D(Math.sin(2.0 * Utility.PI * j
+                                        / horizontalSteps) * Math.sin(Utility.PI
+                                        * k / verticalSteps),
+                                // top left, 	use k, j
+                                Math.cos(Utility.PI * k / verticalSteps),
+                                Math.cos(2.0 * Utility.PI * j / horizontalSteps)
+                                * Math.sin(Utility.PI * k / verticalSteps));
+                v2
+                        = new Point3D(Math.sin(2.0 * Utility.PI * (j + 1)
+                                        / horizontalSteps) * Math.sin(Utility.PI
+                                        * (k + 1) / verticalSteps),
+                                // bottom  right, use k + 1, j + 1
+                                Math.cos(Utility.PI * (k + 1) / verticalSteps),
+                                Math.cos(2.0 * Utility.PI * (j + 1)
+                                        / horizontalSteps) * Math.sin(Utility.PI
+                                        * (k + 1) / verticalSteps));
+                SmoothTriangle trianglePtr2 = new SmoothTriangle(v0, v1, v2);
+                trianglePtr2.n0.setTo(v0);
+                trianglePtr2.n1.setTo(v1);
+                trianglePtr2.n2.setTo(v2);
+                objects.add(trianglePtr2);
+            }
+        }
+    }
+
+    /**
+     * shares the material, in packed mode there are no triangle objects so
+     * the mesh keeps it.
+     *
+     * @param mat
+     */
+    @Override
+    public void setSharedMaterial(Material mat) {
+        if (packMode) {
+            material = mat;
+        } else {
+            super.setSharedMaterial(mat);
+        }
+    }
+
+    /**
+     * sets up the cells, in packed mode this builds a hierarchy over the
+     * packed triangles instead of the grid, and reorders them to match it.
+     */
+    @Override
+    public void setupCells() {
+        if (packed == null) {
+            super.setupCells();
+            return;
+        }
+        int n = packed.numTriangles;
+        float[] pos = packed.positions;
+        int[] ind = packed.indices;
+        double[] boxes = new double[6 * n];
+        double[] centroids = new double[3 * n];
+        for (int t = 0; t < n; t++) {
+            for (int axis = 0; axis < 3; axis++) {
+                double p0 = pos[3 * ind[3 * t] + axis];
+                double p1 = pos[3 * ind[3 * t + 1] + axis];
+                double p2 = pos[3 * ind[3 * t + 2] + axis];
+                double lo = Math.min(p0, Math.min(p1, p2));
+                double hi = Math.max(p0, Math.max(p1, p2));
+                boxes[6 * t + axis] = lo - Utility.EPSILON;
+                boxes[6 * t + 3 + axis] = hi + Utility.EPSILON;
+                centroids[3 * t + axis] = (lo + hi) * 0.5;
+            }
+        }
+        BVHTree tr = new BVHTree();
+        packed.reorderTriangles(tr.build(boxes, centroids, n));
+        packedTree = tr;
+        if (n == 0) {
+            bbox = new BBox(0, 0, 0, 0, 0, 0);
+        } else {
+            double[] nb = tr.nodeBounds;
+            bbox = new BBox(nb[0], nb[3], nb[1], nb[4], nb[2], nb[5]);
+        }
+    }
+
+    /**
+     * hit function, in packed mode finds the closest packed triangle.
+     *
+     * @param ray
+     * @param sr
+     * @return
+     */
+    @Override
+    public boolean hit(Ray ray, ShadeRec sr) {
+        if (packed == null) {
+            return super.hit(ray, sr);
+        }
+        if (packedTree == null || packedTree.numNodes == 0) {
+            return false;
+        }
+        double ox = ray.o.x;
+        double oy = ray.o.y;
+        double oz = ray.o.z;
+        double idx = 1.0 / ray.d.x;
+        double idy = 1.0 / ray.d.y;
+        double idz = 1.0 / ray.d.z;
+        double tmin = Utility.HUGE_VALUE;
+        int closest = -1;
+
+        int[] stack = packedTree.getStack();
+        int top = 0;
+        int node = 0;
+        while (true) {
+            if (packedTree.hitNode(node, ox, oy, oz, idx, idy, idz, 0, tmin)) {
+                int count = packedTree.nodeCount[node];
+                if (count > 0) {
+                    int first = packedTree.nodeOffset[node];
+                    for (int j = first; j < first + count; j++) {
+                        double t = intersectPacked(j, ray);
+                        if (t >= Utility.EPSILON && t < tmin) {
+                            tmin = t;
+                            closest = j;
+                        }
+                    }
+                } else {
+                    if (packedTree.rightFirst(node, idx, idy, idz)) {
+                        stack[top++] = node + 1;
+                        node = packedTree.nodeOffset[node];
+                    } else {
+                        stack[top++] = packedTree.nodeOffset[node];
+                        node = node + 1;
+                    }
+                    continue;
+                }
+            }
+            if (top == 0) {
+                break;
+            }
+            node = stack[--top];
+        }
+
+        if (closest < 0) {
+            return false;
+        }
+        fillPackedHit(closest, ray, tmin, sr);
+        return true;
+    }
+
+    /**
+     * multiple hit function, in packed mode reports every packed triangle the
+     * ray line crosses, like the mesh triangles do. hits are sorted by lastT.
+     *
+     * @param ray
+     * @param hits
+     * @param s
+     * @return
+     */
+    @Override
+    public boolean hit(Ray ray, ArrayList<ShadeRec> hits, ShadeRec s) {
+        if (packed == null) {
+            return super.hit(ray, hits, s);
+        }
+        if (packedTree == null || packedTree.numNodes == 0) {
+            return false;
+        }
+        double ox = ray.o.x;
+        double oy = ray.o.y;
+        double oz = ray.o.z;
+        double idx = 1.0 / ray.d.x;
+        double idy = 1.0 / ray.d.y;
+        double idz = 1.0 / ray.d.z;
+        boolean hit = false;
+
+        int[] stack = packedTree.getStack();
+        int top = 0;
+        int node = 0;
+        while (true) {
+            if (packedTree.hitNode(node, ox, oy, oz, idx, idy, idz,
+                    -Utility.HUGE_VALUE, Utility.HUGE_VALUE)) {
+                int count = packedTree.nodeCount[node];
+                if (count > 0) {
+                    int first = packedTree.nodeOffset[node];
+                    for (int j = first; j < first + count; j++) {
+                        double t = intersectPacked(j, ray);
+                        if (!Double.isNaN(t)) {
+                            ShadeRec sr = new ShadeRec(s);
+                            fillPackedHit(j, ray, t, sr);
+                            hits.add(sr);
+                            hit = true;
+                        }
+                    }
+                } else {
+                    stack[top++] = packedTree.nodeOffset[node];
+                    node = node + 1;
+                    continue;
+                }
+            }
+            if (top == 0) {
+                break;
+            }
+            node = stack[--top];
+        }
+        if (hit) {
+            hits.sort((ShadeRec s1, ShadeRec s2) -> {
+                return Double.compare(s1.lastT, s2.lastT);
+            });
+        }
+        return hit;
+    }
+
+    /**
+     * shadow hit function, in packed mode finds the closest packed triangle.
+     *
+     * @param ray
+     * @param t
+     * @return
+     */
+    @Override
+    public boolean shadowHit(Ray ray, DoubleRef t) {
+        if (packed == null) {
+            return super.shadowHit(ray, t);
+        }
+        //early out for shadows, all implementations do this
+        if (!shadows) {
+            return false;
+        }
+        if (packedTree == null || packedTree.numNodes == 0) {
+            return false;
+        }
+        double ox = ray.o.x;
+        double oy = ray.o.y;
+        double oz = ray.o.z;
+        double idx = 1.0 / ray.d.x;
+        double idy = 1.0 / ray.d.y;
+        double idz = 1.0 / ray.d.z;
+        double tmin = Utility.HUGE_VALUE;
+        boolean hit = false;
+
+        int[] stack = packedTree.getStack();
+        int top = 0;
+        int node = 0;
+        while (true) {
+            if (packedTree.hitNode(node, ox, oy, oz, idx, idy, idz, 0, tmin)) {
+                int count = packedTree.nodeCount[node];
+                if (count > 0) {
+                    int first = packedTree.nodeOffset[node];
+                    for (int j = first; j < first + count; j++) {
+                        double d = intersectPacked(j, ray);
+                        if (d >= Utility.EPSILON && d < tmin) {
+                            tmin = d;
+                            hit = true;
+                        }
+                    }
+                } else {
+                    if (packedTree.rightFirst(node, idx, idy, idz)) {
+                        stack[top++] = node + 1;
+                        node = packedTree.nodeOffset[node];
+                    } else {
+                        stack[top++] = packedTree.nodeOffset[node];
+                        node = node + 1;
+                    }
+                    continue;
+                }
+            }
+            if (top == 0) {
+                break;
+            }
+            node = stack[--top];
+        }
+
+        if (hit) {
+            t.d = tmin;
+        }
+        return hit;
+    }
+
+    /**
+     * intersects the ray with a packed triangle, same test as the mesh
+     * triangles.
+     *
+     * @param tri
+     * @param ray
+     * @return the ray parameter of the hit, NaN if the line misses
+     */
+    private double intersectPacked(int tri, Ray ray) {
+        float[] pos = packed.positions;
+        int i0 = 3 * packed.indices[3 * tri];
+        int i1 = 3 * packed.indices[3 * tri + 1];
+        int i2 = 3 * packed.indices[3 * tri + 2];
+        double v0x = pos[i0], v0y = pos[i0 + 1], v0z = pos[i0 + 2];
+
+        double a = v0x - pos[i1], b = v0x - pos[i2], c = ray.d.x, d = v0x
+                - ray.o.x;
+        double e = v0y - pos[i1 + 1], f = v0y - pos[i2 + 1], g = ray.d.y, h
+                = v0y - ray.o.y;
+        double i = v0z - pos[i1 + 2], j = v0z - pos[i2 + 2], k = ray.d.z, l
+                = v0z - ray.o.z;
+
+        double m = f * k - g * j, n = h * k - g * l, p = f * l - h * j;
+        double q = g * i - e * k, s = e * j - f * i;
+
+        double inv_denom = 1.0 / (a * m + b * q + c * s);
+
+        double beta = (d * m - b * n - c * p) * inv_denom;
+        if (beta < 0.0) {
+            return Double.NaN;
+        }
+
+        double r = e * l - h * i;
+        double gamma = (a * n + d * q + c * r) * inv_denom;
+        if (gamma < 0.0 || beta + gamma > 1.0) {
+            return Double.NaN;
+        }
+
+        return (a * p - b * r + d * s) * inv_denom;
+    }
+
+    /**
+     * fills in the shade rec for a hit on a packed triangle, only done once
+     * per ray so the barycentric coordinates are worked out again here
+     * instead of being carried through the traversal.
+     *
+     * @param tri
+     * @param ray
+     * @param t
+     * @param sr
+     */
+    private void fillPackedHit(int tri, Ray ray, double t, ShadeRec sr) {
+        float[] pos = packed.positions;
+        int i0 = packed.indices[3 * tri];
+        int i1 = packed.indices[3 * tri + 1];
+        int i2 = packed.indices[3 * tri + 2];
+        double px = ray.o.x + t * ray.d.x;
+        double py = ray.o.y + t * ray.d.y;
+        double pz = ray.o.z + t * ray.d.z;
+
+        //edges and face normal, the barycentrics are ratios of sub areas
+        double e1x = pos[3 * i1] - pos[3 * i0];
+        double e1y = pos[3 * i1 + 1] - pos[3 * i0 + 1];
+        double e1z = pos[3 * i1 + 2] - pos[3 * i0 + 2];
+        double e2x = pos[3 * i2] - pos[3 * i0];
+        double e2y = pos[3 * i2 + 1] - pos[3 * i0 + 1];
+        double e2z = pos[3 * i2 + 2] - pos[3 * i0 + 2];
+        double nx = e1y * e2z - e1z * e2y;
+        double ny = e1z * e2x - e1x * e2z;
+        double nz = e1x * e2y - e1y * e2x;
+        double wx = px - pos[3 * i0];
+        double wy = py - pos[3 * i0 + 1];
+        double wz = pz - pos[3 * i0 + 2];
+        double nn = nx * nx + ny * ny + nz * nz;
+        double beta = ((wy * e2z - wz * e2y) * nx + (wz * e2x - wx * e2z) * ny
+                + (wx * e2y - wy * e2x) * nz) / nn;
+        double gamma = ((e1y * wz - e1z * wy) * nx + (e1z * wx - e1x * wz) * ny
+                + (e1x * wy - e1y * wx) * nz) / nn;
+        double alpha = 1 - beta - gamma;
+
+        sr.lastT = t;
+        float[] norm = packed.normals;
+        if (norm == null) {
+            sr.normal.setTo(nx, ny, nz);
+            sr.normal.normalize();
+            if (reverseNomral) {
+                sr.normal.setTo(-sr.normal.x, -sr.normal.y, -sr.normal.z);
+            }
+        } else {
+            sr.normal.setTo(
+                    alpha * norm[3 * i0] + beta * norm[3 * i1] + gamma
+                    * norm[3 * i2],
+                    alpha * norm[3 * i0 + 1] + beta * norm[3 * i1 + 1] + gamma
+                    * norm[3 * i2 + 1],
+                    alpha * norm[3 * i0 + 2] + beta * norm[3 * i1 + 2] + gamma
+                    * norm[3 * i2 + 2]);
+            sr.normal.normalize();
+        }
+        sr.localHitPosition.setTo(px, py, pz);
+        float[] uv = packed.uvs;
+        if (uv != null) {
+            sr.u = alpha * uv[2 * i0] + beta * uv[2 * i1] + gamma * uv[2 * i2];
+            sr.v = alpha * uv[2 * i0 + 1] + beta * uv[2 * i1 + 1] + gamma
+                    * uv[2 * i2 + 1];
+        }
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(TriangleMesh.class.getName());
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2016 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.geometricobjects.partobjects;
+
+import com.matrixpeckham.raytracer.util.Point3D;
+
+/**
+ * ConcaveHemisphere, zero centered upper hemisphere with inward facing normals
+ *
+ * @author William Matrix Peckham
+ */
+public class ConcaveHemisphere extends ConcavePartSphere {
+
+    /**
+     * constructor
+     */
+    public ConcaveHemisphere() {
+        super(new Point3D(0, 0, 0), 1, 0, 360, 0, 90);
+    }
+
+}
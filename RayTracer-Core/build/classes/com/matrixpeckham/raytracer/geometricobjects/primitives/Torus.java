@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.geometricobjects.primitives;
+
+import com.matrixpeckham.raytracer.geometricobjects.GeometricObject;
+import com.matrixpeckham.raytracer.util.BBox;
+import com.matrixpeckham.raytracer.util.DoubleRef;
+import com.matrixpeckham.raytracer.util.Normal;
+import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.QuarticSolver;
+import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ShadeRec;
+import com.matrixpeckham.raytracer.util.Utility;
+import java.util.ArrayList;
+
+/**
+ * Torus primitive, solved directly as a quartic rather than tessellated like
+ * parametric.Torus. The quartic used to go through BruteForceSolver, which was
+ * free of artifacts but far too slow, it now uses the double precision
+ * QuarticSolver. To keep the coefficients well conditioned the ray origin is
+ * first moved along the ray to the point closest to the center of the torus.
+ *
+ * @author William Matrix Peckham
+ */
+public class Torus extends GeometricObject {
+
+    private double a;
+
+    private double b;
+
+    private BBox bbox;
+
+    /**
+     * default constructor
+     */
+    public Torus() {
+        this(2, 0.5);
+    }
+
+    /**
+     * initializing constructor
+     *
+     * @param a swept radius
+     * @param b tube radius
+     */
+    public Torus(double a, double b) {
+        super();
+        this.a = a;
+        this.b = b;
+        bbox = new BBox(-a - b, a + b, -b, b, -a - b, a + b);
+    }
+
+    /**
+     * copy constructor
+     *
+     * @param t
+     */
+    public Torus(Torus t) {
+        super(t);
+        this.a = t.a;
+        this.b = t.b;
+        bbox = new BBox(-a - b, a + b, -b, b, -a - b, a + b);
+    }
+
+    @Override
+    public GeometricObject cloneGeometry() {
+        return new Torus(this);
+    }
+
+    public Normal computeNormal(Point3D p) {
+        Normal normal = new Normal();
+        double param_squared = a * a + b * b;
+
+        double x = p.x;
+        double y = p.y;
+        double z = p.z;
+        double sum_squared = x * x + y * y + z * z;
+
+        normal.x = 4.0 * x * (sum_squared - param_squared);
+        normal.y = 4.0 * y * (sum_squared - param_squared + 2.0 * a * a);
+        normal.z = 4.0 * z * (sum_squared - param_squared);
+        normal.normalize();
+
+        return (normal);
+    }
+
+    /**
+     * finds every ray parameter where the ray crosses the torus, sorted
+     * smallest first.
+     *
+     * @param ray
+     * @param roots array of at least 4 to hold the ray parameters
+     * @return number of roots found
+     */
+    private int findRoots(Ray ray, double[] roots) {
+        double d1 = ray.d.x;
+        double d2 = ray.d.y;
+        double d3 = ray.d.z;
+        double sum_d_sqrd = d1 * d1 + d2 * d2 + d3 * d3;
+
+        //start the ray at its closest point to the center, far away origins
+        //otherwise swamp the coefficients with roundoff
+        double t0 = Math.max(0, -(ray.o.x * d1 + ray.o.y * d2 + ray.o.z * d3)
+                / sum_d_sqrd);
+        double x1 = ray.o.x + t0 * d1;
+        double y1 = ray.o.y + t0 * d2;
+        double z1 = ray.o.z + t0 * d3;
+
+        // define the coefficients of the quartic equation
+        double e = x1 * x1 + y1 * y1 + z1 * z1 - a * a - b * b;
+        double f = x1 * d1 + y1 * d2 + z1 * d3;
+        double four_a_sqrd = 4.0 * a * a;
+
+        double E = e * e - four_a_sqrd * (b * b - y1 * y1); 	// constant term
+        double D = 4.0 * f * e + 2.0 * four_a_sqrd * y1 * d2;
+        double C = 2.0 * sum_d_sqrd * e + 4.0 * f * f + four_a_sqrd * d2 * d2;
+        double B = 4.0 * sum_d_sqrd * f;
+        double A = sum_d_sqrd * sum_d_sqrd; // coefficient of t^4
+
+        int num_real_roots = QuarticSolver.solveQuartic(A, B, C, D, E, roots);
+        for (int j = 0; j < num_real_roots; j++) {
+            roots[j] += t0;
+        }
+        return num_real_roots;
+    }
+
+    @Override
+    public boolean hit(Ray ray, ShadeRec s) {
+        if (!bbox.hit(ray)) {
+            return (false);
+        }
+
+        double[] roots = new double[4];	// solution array for the quartic equation
+        int num_real_roots = findRoots(ray, roots);
+
+        // roots are sorted, so the first one past kEpsilon is the nearest
+        for (int j = 0; j < num_real_roots; j++) {
+            if (roots[j] > Utility.EPSILON) {
+                double t = roots[j];
+                s.lastT = t;
+                s.localHitPosition.setTo(ray.o.add(ray.d.mul(t)));
+                s.normal.setTo(computeNormal(s.localHitPosition));
+                return (true);
+            }
+        }
+
+        return (false);
+    }
+
+    @Override
+    public boolean hit(Ray ray, ArrayList<ShadeRec> hits, ShadeRec sr) {
+        if (!bbox.hit(ray)) {
+            return (false);
+        }
+
+        double[] roots = new double[4];	// solution array for the quartic equation
+        int num_real_roots = findRoots(ray, roots);
+
+        // roots come back sorted, so the hits are added in order
+        for (int j = 0; j < num_real_roots; j++) {
+            double t = roots[j];
+            ShadeRec s = new ShadeRec(sr);
+            s.lastT = t;
+            s.localHitPosition.setTo(ray.o.add(ray.d.mul(t)));
+            s.normal.setTo(computeNormal(s.localHitPosition));
+            hits.add(s);
+        }
+
+        return (num_real_roots > 0);
+    }
+
+    @Override
+    public boolean shadowHit(Ray ray, DoubleRef tr) {
+        if (!shadows) {
+            return false;
+        }
+        if (!bbox.hit(ray)) {
+            return (false);
+        }
+
+        double[] roots = new double[4];	// solution array for the quartic equation
+        int num_real_roots = findRoots(ray, roots);
+
+        for (int j = 0; j < num_real_roots; j++) {
+            if (roots[j] > Utility.EPSILON) {
+                tr.d = roots[j];
+                return (true);
+            }
+        }
+
+        return (false);
+    }
+
+    @Override
+    public BBox getBoundingBox() {
+        return new BBox(bbox);
+    }
+
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
+}
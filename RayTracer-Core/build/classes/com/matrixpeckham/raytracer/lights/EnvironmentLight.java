@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.lights;
+
+import com.matrixpeckham.raytracer.materials.Material;
+import com.matrixpeckham.raytracer.samplers.Sampler;
+import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.RGBColor;
+import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ShadeRec;
+import com.matrixpeckham.raytracer.util.Utility;
+import com.matrixpeckham.raytracer.util.Vector3D;
+import java.util.logging.Logger;
+
+/**
+ * Environment light.
+ *
+ * @author William Matrix Peckham
+ */
+public class EnvironmentLight extends Light {
+
+    /**
+     * sampler
+     */
+    Sampler sampler;
+
+    /**
+     * material to use for light color
+     */
+    Material material;
+
+    //uvw coordinate system at hit point
+    private ThreadLocal<Vector3D> u = new ThreadLocal<Vector3D>() {
+
+        @Override
+        protected Vector3D initialValue() {
+            return new Vector3D(1, 0, 0);
+        }
+
+    };
+
+    private ThreadLocal<Vector3D> v = new ThreadLocal<Vector3D>() {
+
+        @Override
+        protected Vector3D initialValue() {
+            return new Vector3D(0, 1, 0);
+        }
+
+    };
+
+    private ThreadLocal<Vector3D> w = new ThreadLocal<Vector3D>() {
+
+        @Override
+        protected Vector3D initialValue() {
+            return new Vector3D(0, 0, 1);
+        }
+
+    };
+
+    //sampled direction to light, per thread like the uvw basis, pdf() reads
+    //the one the same thread's getDirection() sampled
+    private ThreadLocal<Vector3D> wi = new ThreadLocal<Vector3D>() {
+
+        @Override
+        protected Vector3D initialValue() {
+            return new Vector3D();
+        }
+
+    };
+
+    /**
+     * default constructor
+     */
+    public EnvironmentLight() {
+    }
+
+    /**
+     * copy constructor
+     *
+     * @param l
+     */
+    public EnvironmentLight(EnvironmentLight l) {
+        sampler = l.sampler.cloneSampler();
+        material = l.material.cloneMaterial();
+        u.get().setTo(l.u.get());
+        v.get().setTo(l.v.get());
+        w.get().setTo(l.w.get());
+        wi.get().setTo(l.wi.get());
+    }
+
+    /**
+     * sets sampler
+     *
+     * @param sampler
+     */
+    public void setSampler(Sampler sampler) {
+        this.sampler = sampler.cloneSampler();
+        this.sampler.mapSamplesToHemisphere(1);
+    }
+
+    /**
+     * clone method
+     *
+     * @return
+     */
+    @Override
+    public Light cloneLight() {
+        return new EnvironmentLight(this);
+    }
+
+    /**
+     * samples the direction
+     *
+     * @param sr
+     * @return
+     */
+    @Override
+    public Vector3D getDirection(ShadeRec sr) {
+        w.get().setTo(sr.normal);
+        v.get().setTo(0.0034, 1, 0.0071);
+        w.get().crossInto(v.get(), v.get());
+        v.get().normalize();
+        v.get().crossInto(w.get(), u.get());
+        Point3D sp = sampler.sampleHemisphere();
+        Vector3D dir = wi.get();
+        dir.setTo(0, 0, 0);
+        dir.scaleAdd(sp.x, u.get()).scaleAdd(sp.y, v.get()).scaleAdd(sp.z, w.
+                get());
+        return dir;
+    }
+
+    /**
+     * same as ambient occlusion, if the ray hits anything that casts shadows
+     * return true
+     *
+     * @param shadowRay
+     * @param sr
+     * @return
+     */
+    @Override
+    public boolean inShadow(Ray shadowRay, ShadeRec sr) {
+        //any hit at all blocks the environment
+        return sr.material.getShadows() && sr.w.occluded(shadowRay,
+                Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * samples material for light color at hit location
+     *
+     * @param sr
+     * @return
+     */
+    @Override
+    public RGBColor L(ShadeRec sr) {
+        return material.getLe(sr);
+    }
+
+    /**
+     * pdf function, cosine term over pi
+     *
+     * @param sr
+     * @return
+     */
+    @Override
+    public double pdf(ShadeRec sr) {
+        return sr.normal.dot(wi.get()) * Utility.INV_PI;
+    }
+
+    /**
+     * sets the material to use
+     *
+     * @param m
+     */
+    public void setMaterial(Material m) {
+        material = m.cloneMaterial();
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(EnvironmentLight.class.getName());
+
+}
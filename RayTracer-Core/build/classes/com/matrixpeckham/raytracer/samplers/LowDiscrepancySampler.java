@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.samplers;
+
+import com.matrixpeckham.raytracer.util.Point2D;
+import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
+import java.util.logging.Logger;
+
+/**
+ * Base class for samplers that compute their samples on the fly instead of
+ * reading them from sample sets. Each run of numSamples samples, one pixel's
+ * worth, is the first numSamples points of a low discrepancy sequence
+ * scrambled with a new random seed, so neighbouring pixels don't share a
+ * pattern and no tables of numSets sets are needed. The disc, hemisphere and
+ * sphere mappings are applied per sample.
+ *
+ * @author William Matrix Peckham
+ */
+public abstract class LowDiscrepancySampler extends Sampler {
+
+    /**
+     * cosine power for sampleHemisphere, set by mapSamplesToHemisphere
+     */
+    private double exp = 1;
+
+    /**
+     * sampler with num samples per pixel, no sample sets are made.
+     *
+     * @param num
+     */
+    public LowDiscrepancySampler(int num) {
+        super(num, 0);
+    }
+
+    /**
+     * copy constructor
+     *
+     * @param s
+     */
+    public LowDiscrepancySampler(LowDiscrepancySampler s) {
+        super(s);
+        exp = s.exp;
+    }
+
+    /**
+     * computes a unit square sample.
+     *
+     * @param index index of the sample in the pixel, 0 to numSamples-1
+     * @param seed scramble seed of the pixel
+     * @param out receives x and y in out[0] and out[1]
+     */
+    protected abstract void samplePoint(int index, long seed, double[] out);
+
+    /**
+     * nested uniform (Owen) scramble of a binary fraction, the hash based
+     * permutation from Burley's "Practical Hash-based Owen Scrambling". Keeps
+     * the stratification of (0,m,2) nets, so scrambled points stay stratified.
+     *
+     * @param x fraction as unsigned 32 bits
+     * @param seed
+     * @return scrambled fraction
+     */
+    protected static int owenScramble(int x, int seed) {
+        x = Integer.reverse(x);
+        x += seed;
+        x ^= x * 0x6c50b47c;
+        x ^= x * 0xb82f1e52;
+        x ^= x * 0xc7afe638;
+        x ^= x * 0x8d22f6e6;
+        return Integer.reverse(x);
+    }
+
+    /**
+     * converts an unsigned 32 bit fraction to a double in [0,1)
+     *
+     * @param x
+     * @return
+     */
+    protected static double toUnit(int x) {
+        return (x & 0xffffffffL) * 0x1p-32;
+    }
+
+    /**
+     * advances the context and computes the next sample into its scratch
+     * space, a new seed is drawn at the first sample of each pixel.
+     *
+     * @param c
+     */
+    private void next(Context c) {
+        int count = c.startCount();
+        if (c.resumed) {
+            c.resumed = false;
+        } else if (count % numSamples == 0) {
+            c.seed = ThreadRandom.current().nextLong();
+        }
+        c.count = count + 1;
+        samplePoint(count % numSamples, c.seed, c.scratch);
+    }
+
+    /**
+     * nothing to generate, samples are computed when taken
+     */
+    @Override
+    public void generateSamples() {
+    }
+
+    /**
+     * nothing to map, samples are mapped when taken
+     */
+    @Override
+    public void mapSamplesToUnitDisc() {
+    }
+
+    /**
+     * records the exponent, samples are mapped when taken
+     *
+     * @param exp
+     */
+    @Override
+    public void mapSamplesToHemisphere(double exp) {
+        this.exp = exp;
+    }
+
+    /**
+     * nothing to map, samples are mapped when taken
+     */
+    @Override
+    public void mapSamplesToSphere() {
+    }
+
+    @Override
+    public Point2D sampleUnitSquare(Context c) {
+        next(c);
+        c.point2.x = c.scratch[0];
+        c.point2.y = c.scratch[1];
+        return c.point2;
+    }
+
+    @Override
+    public Point2D sampleUnitDisc(Context c) {
+        next(c);
+        discPoint(c.scratch[0], c.scratch[1], c.scratch, 0);
+        c.point2.x = c.scratch[0];
+        c.point2.y = c.scratch[1];
+        return c.point2;
+    }
+
+    @Override
+    public Point3D sampleHemisphere(Context c) {
+        next(c);
+        hemispherePoint(c.scratch[0], c.scratch[1], exp, c.scratch, 0);
+        c.point3.setTo(c.scratch[0], c.scratch[1], c.scratch[2]);
+        return c.point3;
+    }
+
+    @Override
+    public Point3D sampleSphere(Context c) {
+        next(c);
+        spherePoint(c.scratch[0], c.scratch[1], c.scratch, 0);
+        c.point3.setTo(c.scratch[0], c.scratch[1], c.scratch[2]);
+        return c.point3;
+    }
+
+    /**
+     * points of the sequence in order with a fixed scramble, the same set
+     * every cycle.
+     *
+     * @return
+     */
+    @Override
+    public Point2D sampleOneSet() {
+        Context c = context();
+        samplePoint(c.count++ % numSamples, 0, c.scratch);
+        c.point2.x = c.scratch[0];
+        c.point2.y = c.scratch[1];
+        return c.point2;
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(LowDiscrepancySampler.class.getName());
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.samplers;
+
+import com.matrixpeckham.raytracer.util.Utility;
+import java.util.logging.Logger;
+
+/**
+ * Multijittered samples.
+ *
+ * @author William Matrix Peckham
+ */
+public class MultiJittered extends Sampler {
+
+    /**
+     * default
+     */
+    public MultiJittered() {
+        super();
+    }
+
+    /**
+     * number of samples settable
+     *
+     * @param num
+     */
+    public MultiJittered(int num) {
+        super(num);
+        generateSamples();
+    }
+
+    /**
+     * num is sample number and m is sets.
+     *
+     * @param num
+     * @param m
+     */
+    public MultiJittered(int num, int m) {
+        super(num, m);
+        generateSamples();
+    }
+
+    /**
+     * copy constructor
+     *
+     * @param u
+     */
+    public MultiJittered(MultiJittered u) {
+        super(u);
+        //generateSamples();
+    }
+
+    /**
+     * generate samples that will be multijittered
+     */
+    @Override
+    public final void generateSamples() {
+        // numSamples needs to be a perfect square
+
+        int n = (int) Math.sqrt((double) numSamples);
+        double subcell_width = 1.0 / ((double) numSamples);
+        double[] s = samples;
+        // distribute points in the initial patterns
+        for (int p = 0; p < numSets; p++) {
+            for (int j = 0; j < n; j++) {
+                for (int i = 0; i < n; i++) {
+                    int k = j * n + i + p * numSamples;
+                    s[2 * k] = (i * n + j) * subcell_width + Utility.
+                            randDouble(0, subcell_width);
+                    s[2 * k + 1] = (j * n + i) * subcell_width + Utility.
+                            randDouble(0, subcell_width);
+                }
+            }
+        }
+
+        // shuffle x coordinates
+        for (int p = 0; p < numSets; p++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    int k = Utility.randInt(j, n - 1);
+                    int a = i * n + j + p * numSamples;
+                    int b = i * n + k + p * numSamples;
+                    double t = s[2 * a];
+                    s[2 * a] = s[2 * b];
+                    s[2 * b] = t;
+                }
+            }
+        }
+
+        // shuffle y coordinates
+        for (int p = 0; p < numSets; p++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    int k = Utility.randInt(j, n - 1);
+                    int a = j * n + i + p * numSamples;
+                    int b = k * n + i + p * numSamples;
+                    double t = s[2 * a + 1];
+                    s[2 * a + 1] = s[2 * b + 1];
+                    s[2 * b + 1] = t;
+                }
+            }
+        }
+    }
+
+    /**
+     * clone
+     *
+     * @return
+     */
+    @Override
+    public Sampler protclone() {
+        return new MultiJittered(this);
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(MultiJittered.class.getName());
+
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.samplers;
+
+import com.matrixpeckham.raytracer.util.RandomStream;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
+import java.util.logging.Logger;
+
+/**
+ * Progressive multi-jittered (0,2) samples, Christensen, Kensler and Kilpatrick
+ * "Progressive Multi-Jittered Sample Sequences". Every power of two prefix is
+ * stratified in all the elementary intervals, so the pattern stays good when
+ * fewer samples than numSamples are used. One sequence of numSamples points is
+ * made, each pixel takes it through its own Owen scramble, which keeps the
+ * stratification.
+ *
+ * @author William Matrix Peckham
+ */
+public class PMJ02 extends LowDiscrepancySampler {
+
+    /**
+     * the sequence, x y per sample as unsigned 32 bit fractions
+     */
+    private int[] points;
+
+    /**
+     * default, one sample
+     */
+    public PMJ02() {
+        this(1);
+    }
+
+    /**
+     * set number of samples
+     *
+     * @param num
+     */
+    public PMJ02(int num) {
+        super(num);
+        generateSamples();
+    }
+
+    /**
+     * copy constructor, shares the sequence
+     *
+     * @param p
+     */
+    public PMJ02(PMJ02 p) {
+        super(p);
+        points = p.points;
+    }
+
+    /**
+     * makes the sequence, to the next power of two and keeps numSamples
+     * points.
+     */
+    @Override
+    public final void generateSamples() {
+        int n = Integer.highestOneBit(Math.max(numSamples - 1, 1)) << 1;
+        if (numSamples == 1) {
+            n = 1;
+        }
+        new Generator(n).generate();
+    }
+
+    @Override
+    protected void samplePoint(int index, long seed, double[] out) {
+        out[0] = toUnit(owenScramble(points[2 * index], (int) seed));
+        out[1] = toUnit(owenScramble(points[2 * index + 1], (int) (seed
+                >>> 32)));
+    }
+
+    /**
+     * clone
+     *
+     * @return
+     */
+    @Override
+    public Sampler protclone() {
+        return new PMJ02(this);
+    }
+
+    /**
+     * builds the sequence by repeatedly doubling it, each new point placed in
+     * an empty sub quadrant of an old point's cell and in a free stratum of
+     * every elementary interval.
+     */
+    private class Generator {
+
+        /**
+         * points made so far
+         */
+        final double[] x;
+
+        final double[] y;
+
+        /**
+         * occupied elementary intervals, one grid per shape, for the current
+         * doubling
+         */
+        boolean[][] occupied;
+
+        /**
+         * log2 of the size the current doubling makes
+         */
+        int log;
+
+        final RandomStream rand = ThreadRandom.current();
+
+        Generator(int size) {
+            x = new double[size];
+            y = new double[size];
+        }
+
+        void generate() {
+            int size = x.length;
+            x[0] = rand.nextDouble();
+            y[0] = rand.nextDouble();
+            int n = 1;
+            while (n < size) {
+                extendEven(n);
+                n *= 2;
+                if (n < size) {
+                    extendOdd(n);
+                    n *= 2;
+                }
+            }
+            int[] p = new int[2 * numSamples];
+            for (int i = 0; i < numSamples; i++) {
+                p[2 * i] = (int) (long) (x[i] * 0x1p32);
+                p[2 * i + 1] = (int) (long) (y[i] * 0x1p32);
+            }
+            points = p;
+        }
+
+        /**
+         * n is a power of 4, the grid is sqrt(n) square with one point per
+         * cell, each new point goes in the sub quadrant diagonally opposite
+         * the old point of its cell.
+         *
+         * @param n
+         */
+        void extendEven(int n) {
+            int grid = (int) Math.round(Math.sqrt(n));
+            markOccupied(n, 2 * n);
+            for (int s = 0; s < n; s++) {
+                int i = (int) (x[s] * grid);
+                int j = (int) (y[s] * grid);
+                int xhalf = (int) (2 * (x[s] * grid - i));
+                int yhalf = (int) (2 * (y[s] * grid - j));
+                place(n + s, i, j, 1 - xhalf, 1 - yhalf, grid);
+            }
+        }
+
+        /**
+         * n is twice a power of 4, each cell of the sqrt(n/2) grid has two
+         * points in diagonal sub quadrants, the other two get one each.
+         *
+         * @param n
+         */
+        void extendOdd(int n) {
+            int half = n / 2;
+            int grid = (int) Math.round(Math.sqrt(half));
+            markOccupied(n, 2 * n);
+            for (int s = 0; s < half; s++) {
+                int i = (int) (x[s] * grid);
+                int j = (int) (y[s] * grid);
+                int xhalf = (int) (2 * (x[s] * grid - i));
+                int yhalf = (int) (2 * (y[s] * grid - j));
+                //pick one of the two empty sub quadrants at random
+                if (rand.nextDouble() < 0.5) {
+                    xhalf = 1 - xhalf;
+                } else {
+                    yhalf = 1 - yhalf;
+                }
+                place(n + s, i, j, xhalf, yhalf, grid);
+                place(n + half + s, i, j, 1 - xhalf, 1 - yhalf, grid);
+            }
+        }
+
+        /**
+         * marks the elementary intervals of the first count points, for a
+         * sequence that will hold total points.
+         *
+         * @param count
+         * @param total
+         */
+        void markOccupied(int count, int total) {
+            log = Integer.numberOfTrailingZeros(total);
+            occupied = new boolean[log + 1][total];
+            for (int s = 0; s < count; s++) {
+                mark((int) (x[s] * total), (int) (y[s] * total));
+            }
+        }
+
+        /**
+         * marks every elementary interval containing the finest stratum xs ys
+         *
+         * @param xs
+         * @param ys
+         */
+        void mark(int xs, int ys) {
+            for (int k = 0; k <= log; k++) {
+                occupied[k][((ys >> k) << k) + (xs >> (log - k))] = true;
+            }
+        }
+
+        /**
+         * checks if the finest stratum xs ys is free in every elementary
+         * interval
+         *
+         * @param xs
+         * @param ys
+         * @return
+         */
+        boolean free(int xs, int ys) {
+            for (int k = 0; k <= log; k++) {
+                if (occupied[k][((ys >> k) << k) + (xs >> (log - k))]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * places point s in the given sub quadrant of cell i j of the grid, in
+         * a random free stratum, jittered within it.
+         *
+         * @param s
+         * @param i
+         * @param j
+         * @param xhalf
+         * @param yhalf
+         * @param grid
+         */
+        void place(int s, int i, int j, int xhalf, int yhalf, int grid) {
+            int total = 1 << log;
+            //finest strata per sub quadrant side
+            int span = total / (2 * grid);
+            int x0 = (2 * i + xhalf) * span;
+            int y0 = (2 * j + yhalf) * span;
+            int found = 0;
+            int bx = x0;
+            int by = y0;
+            for (int xs = x0; xs < x0 + span; xs++) {
+                for (int ys = y0; ys < y0 + span; ys++) {
+                    if (free(xs, ys) && rand.nextInt(++found) == 0) {
+                        bx = xs;
+                        by = ys;
+                    }
+                }
+            }
+            if (found == 0) {
+                LOG.fine("no free stratum for pmj02 sample " + s);
+            }
+            mark(bx, by);
+            x[s] = (bx + rand.nextDouble()) / total;
+            y[s] = (by + rand.nextDouble()) / total;
+        }
+
+    }
+
+    private static final Logger LOG = Logger.getLogger(PMJ02.class.getName());
+
+}
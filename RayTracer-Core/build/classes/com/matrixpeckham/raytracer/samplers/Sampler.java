@@ -0,0 +1,632 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.samplers;
+
+import com.matrixpeckham.raytracer.util.Point2D;
+import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.RandomStream;
+import com.matrixpeckham.raytracer.util.SplitMix64;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
+import com.matrixpeckham.raytracer.util.Utility;
+
+/**
+ * Abstract base class for generating random samples in various patters.
+ *
+ * The sample tables are flat double arrays, two or three values per sample,
+ * and never change once generated and mapped, so copies of a sampler share
+ * them and cloning is cheap. The position in the sample sets is kept in a
+ * Context, one per thread for the no argument sample functions, or passed in
+ * explicitly by callers that keep their own. The points returned belong to
+ * the context and are overwritten by its next sample, read them right away.
+ *
+ * @author William Matrix Peckham
+ */
+public abstract class Sampler {
+
+    /**
+     * position in the sample sets for one thread or one pixel loop, and the
+     * points sample values are returned in.
+     */
+    public static final class Context {
+
+        /**
+         * current number of samples taken, also considered current index in
+         * c/C++ this would be unsigned long to avoid possible overflow, so we
+         * check for negative number and reset it to 0 if overflow happens,
+         * which it can on LARGE images.
+         */
+        int count = 0;
+
+        /**
+         * random index jump, used to select random sample set at each new
+         * pixel
+         */
+        int jump = 0;
+
+        /**
+         * per pixel scramble seed, used by the samplers that make their
+         * samples on the fly instead of reading them from tables
+         */
+        long seed = 0;
+
+        /**
+         * set by resume(), the next sample continues the resumed set instead
+         * of picking a new one
+         */
+        boolean resumed = false;
+
+        /**
+         * pixel count of the thread the context belongs to
+         */
+        final ThreadRandom.PixelCount pixels = ThreadRandom.pixelCount();
+
+        /**
+         * pixel count when the context was last used, the position starts
+         * over at a new pixel
+         */
+        int pixel;
+
+        /**
+         * scratch space for mapping a generated sample
+         */
+        final double[] scratch = new double[3];
+
+        /**
+         * returned by the 2d sample functions
+         */
+        final Point2D point2 = new Point2D();
+
+        /**
+         * returned by the 3d sample functions
+         */
+        final Point3D point3 = new Point3D();
+
+        Context() {
+            pixel = pixels.get();
+        }
+
+        /**
+         * gets the count to take the next sample at, starting over if the
+         * thread has moved on to another pixel since the last sample. without
+         * this the set a sampler used at a pixel would depend on how many
+         * samples it gave the pixels the thread drew before.
+         *
+         * @return
+         */
+        int startCount() {
+            int p = pixels.get();
+            if (p != pixel) {
+                pixel = p;
+                if (!resumed) {
+                    count = 0;
+                }
+            }
+            //overflow possible on very large images with large sample counts
+            return count < 0 ? 0 : count;
+        }
+
+    }
+
+    /**
+     * number of samples to generate per pattern
+     */
+    protected int numSamples;
+
+    /**
+     * number of patterns to generate. defaults to 83, a somewhat large prime
+     * should be changed if image width will be a multiple of 83, as that will
+     * cause column samples to be identical and may lead to some bad artifacts.
+     */
+    protected int numSets;
+
+    /**
+     * original 2d unit square samples, x y per sample, numSamples*numSets
+     * samples
+     */
+    protected double[] samples;
+
+    /**
+     * shuffled samples array indices
+     */
+    protected int[] shuffledIndices;
+
+    /**
+     * sample points mapped to a unit disc, x y per sample, filled when
+     * mapSamplesToUnitDisc is called.
+     */
+    protected double[] discSamples = new double[0];
+
+    /**
+     * sample points mapped to unit hemisphere, x y z per sample, filled when
+     * mapSamplesToUnitHemisphere(exp) is called.
+     */
+    protected double[] hemisphereSamples = new double[0];
+
+    /**
+     * sample points mapped to unit sphere, x y z per sample, filled when
+     * mapSamplesToUnitPhere is called.
+     */
+    protected double[] sphereSamples = new double[0];
+
+    /**
+     * context used by the sample functions that don't take one
+     */
+    private final ThreadLocal<Context> threadContext
+            = new ThreadLocal<Context>() {
+        @Override
+        protected Context initialValue() {
+            return new Context();
+        }
+
+    };
+
+    /**
+     * default sampler constructor, one sample.
+     */
+    public Sampler() {
+        this(1);
+    }
+
+    /**
+     * Create a sampler with i samples and 83 sets
+     *
+     * @param i
+     */
+    public Sampler(int i) {
+        this(i, 83);
+    }
+
+    /**
+     * create a sampler with i samples and s sets.
+     *
+     * @param i
+     * @param s
+     */
+    public Sampler(int i, int s) {
+        numSamples = i;
+        numSets = s;
+        samples = new double[2 * numSamples * numSets];
+        setupShuffledIndices();
+    }
+
+    /**
+     * copy constructor, shares the sample tables, which are never changed in
+     * place.
+     *
+     * @param s
+     */
+    public Sampler(Sampler s) {
+        numSamples = s.numSamples;
+        numSets = s.numSets;
+        samples = s.samples;
+        shuffledIndices = s.shuffledIndices;
+        discSamples = s.discSamples;
+        hemisphereSamples = s.hemisphereSamples;
+        sphereSamples = s.sphereSamples;
+    }
+
+    /**
+     * sets number of sample set
+     *
+     * @param s
+     */
+    public void setNumSets(int s) {
+        numSets = s;
+    }
+
+    /**
+     * sets number of samples
+     *
+     * @return
+     */
+    public int getNumSamples() {
+        return numSamples;
+    }
+
+    /**
+     * stores a unit square sample, used by generateSamples()
+     *
+     * @param index
+     * @param x
+     * @param y
+     */
+    protected final void setSample(int index, double x, double y) {
+        samples[2 * index] = x;
+        samples[2 * index + 1] = y;
+    }
+
+    /**
+     * shuffles x coordinates of sample points (used in NRooks and
+     * MultiJittered)
+     */
+    public void shuffleXCoordinates() {
+        shuffleCoordinates(0);
+    }
+
+    /**
+     * shuffles y coordinates of sample points (used in NRooks and
+     * MultiJittered)
+     */
+    public void shuffleYCoordinates() {
+        shuffleCoordinates(1);
+    }
+
+    /**
+     * shuffles one coordinate of the samples within each set, on a copy so
+     * samplers sharing the table don't see it change.
+     *
+     * @param offset 0 for x 1 for y
+     */
+    private void shuffleCoordinates(int offset) {
+        double[] s = samples.clone();
+        for (int p = 0; p < numSets; p++) {
+            for (int i = 0; i < numSamples - 1; i++) {
+                int target = Utility.randInt() % numSamples + p * numSamples;
+                int k = i + p * numSamples + 1;
+                double temp = s[2 * k + offset];
+                s[2 * k + offset] = s[2 * target + offset];
+                s[2 * target + offset] = temp;
+            }
+        }
+        samples = s;
+    }
+
+    /**
+     * sets up the shuffled indices for each set
+     */
+    public final void setupShuffledIndices() {
+        shuffledIndices = new int[numSamples * numSets];
+        //temporary array for indices 0-(numSamples-1)
+        int[] indices = new int[numSamples];
+        for (int i = 0; i < numSamples; i++) {
+            indices[i] = i;
+        }
+
+        //for each sample set
+        RandomStream rand = ThreadRandom.current();
+        for (int i = 0; i < numSets; i++) {
+            //shuffle the indices, fisher-yates off the thread's own stream
+            for (int j = numSamples - 1; j > 0; j--) {
+                int k = rand.nextInt(j + 1);
+                int t = indices[j];
+                indices[j] = indices[k];
+                indices[k] = t;
+            }
+            //add them all to the shuffled index array
+            System.arraycopy(indices, 0, shuffledIndices, i * numSamples,
+                    numSamples);
+        }
+    }
+
+    /**
+     * maps the samples to a unit disc for sampleUnitDisc(), typically called
+     * by a primitive or camera to a sampler that has been passed to it
+     *
+     */
+    public void mapSamplesToUnitDisc() {
+        int size = samples.length / 2;
+        double[] disc = new double[2 * size];
+        for (int j = 0; j < size; j++) {
+            discPoint(samples[2 * j], samples[2 * j + 1], disc, 2 * j);
+        }
+        discSamples = disc;
+    }
+
+    /**
+     * maps one unit square point to the unit disc, Shirley's concentric map.
+     *
+     * @param x
+     * @param y
+     * @param out receives x y
+     * @param off offset in out
+     */
+    static void discPoint(double x, double y, double[] out, int off) {
+        double r;
+        double phi;
+        double spx = 2.0 * x - 1.0;
+        double spy = 2.0 * y - 1.0;
+        if (spx > -spy) {
+            if (spx > spy) {
+                r = spx;
+                if (spx != 0) {
+                    phi = spy / spx;
+                } else {
+                    phi = 0;
+                }
+            } else {
+                r = spy;
+                if (spy != 0) {
+                    phi = 2.0 - spx / spy;
+                } else {
+                    phi = 0;
+                }
+            }
+        } else {
+            if (spx < spy) {
+                r = -spx;
+                if (spx != 0) {
+                    phi = 4 + spy / spx;
+                } else {
+                    phi = 0;
+                }
+            } else {
+                r = -spy;
+                if (spy != 0) {
+                    phi = 6 - spx / spy;
+                } else {
+                    phi = 0;
+                }
+            }
+        }
+        phi *= Utility.PI / 4.0;
+        out[off] = r * Math.cos(phi);
+        out[off + 1] = r * Math.sin(phi);
+    }
+
+    /**
+     * maps the samples to a hemisphere for sampleHemisphere(), typically
+     * called by a primitive or camera to a sampler that has been passed to it
+     * generates a cosine distribution with exp as the exponent
+     *
+     * @param exp
+     */
+    public void mapSamplesToHemisphere(double exp) {
+        int size = samples.length / 2;
+        double[] hemi = new double[3 * size];
+        for (int j = 0; j < size; j++) {
+            hemispherePoint(samples[2 * j], samples[2 * j + 1], exp, hemi, 3
+                    * j);
+        }
+        hemisphereSamples = hemi;
+    }
+
+    /**
+     * maps one unit square point to the hemisphere with a cosine power
+     * distribution.
+     *
+     * @param x
+     * @param y
+     * @param exp
+     * @param out receives x y z
+     * @param off offset in out
+     */
+    static void hemispherePoint(double x, double y, double exp, double[] out,
+            int off) {
+        double cos_phi = Math.cos(2.0 * Utility.PI * x);
+        double sin_phi = Math.sin(2.0 * Utility.PI * x);
+        double cos_theta = Math.pow((1.0 - y), 1.0 / (exp + 1.0));
+        double sin_theta = Math.sqrt(1.0 - cos_theta * cos_theta);
+        out[off] = sin_theta * cos_phi;
+        out[off + 1] = sin_theta * sin_phi;
+        out[off + 2] = cos_theta;
+    }
+
+    /**
+     * maps the samples to a sphere for sampleSphere(), typically called by a
+     * primitive or camera to a sampler that has been passed to it
+     */
+    public void mapSamplesToSphere() {
+        int size = numSamples * numSets;
+        double[] sphere = new double[3 * size];
+        for (int j = 0; j < size; j++) {
+            spherePoint(samples[2 * j], samples[2 * j + 1], sphere, 3 * j);
+        }
+        sphereSamples = sphere;
+    }
+
+    /**
+     * maps one unit square point to the unit sphere, uniformly.
+     *
+     * @param x
+     * @param y
+     * @param out receives x y z
+     * @param off offset in out
+     */
+    static void spherePoint(double x, double y, double[] out, int off) {
+        double z = 1.0 - 2.0 * x;
+        double r = Math.sqrt(1.0 - z * z);
+        double phi = Utility.TWO_PI * y;
+        out[off] = r * Math.cos(phi);
+        out[off + 1] = r * Math.sin(phi);
+        out[off + 2] = z;
+    }
+
+    /**
+     * makes a new context, for callers that want to keep the sample position
+     * themselves instead of using the calling thread's. it starts over at
+     * each new pixel of the thread that made it, so only use it on that
+     * thread.
+     *
+     * @return
+     */
+    public Context newContext() {
+        return new Context();
+    }
+
+    /**
+     * gets the calling thread's context, the one the no argument sample
+     * functions use. looking it up once per pixel instead of once per sample
+     * saves the thread local lookups.
+     *
+     * @return
+     */
+    public Context context() {
+        return threadContext.get();
+    }
+
+    /**
+     * positions c at sample index of the set picked by seed, so a pixel can
+     * be sampled over several passes: each pass resumes with the pixel's own
+     * seed and the number of samples already taken, and carries on through
+     * the same set where the last pass stopped.
+     *
+     * @param c
+     * @param seed the pixel's seed, the same for every pass
+     * @param index samples already taken from the pixel
+     */
+    public void resume(Context c, long seed, int index) {
+        long h = SplitMix64.mix(seed);
+        c.count = index % numSamples;
+        c.jump = numSets > 0 ? (int) ((h >>> 1) % numSets) * numSamples : 0;
+        c.seed = h;
+        c.resumed = true;
+        c.pixel = c.pixels.get();
+    }
+
+    /**
+     * advances the context and returns the index of the next sample
+     *
+     * @param c
+     * @return
+     */
+    private int nextIndex(Context c) {
+        int count = c.startCount();
+        //if this is the first sample from this pixel, calculate next set of
+        //samples and the jump point
+        if (c.resumed) {
+            c.resumed = false;
+        } else if (count % numSamples == 0) {
+            c.jump = (Utility.randInt() % numSets) * numSamples;
+        }
+        c.count = count + 1;
+        return c.jump + shuffledIndices[c.jump + count % numSamples];
+    }
+
+    /**
+     * gets the next sample from the unit square.
+     *
+     * @return
+     */
+    public Point2D sampleUnitSquare() {
+        return sampleUnitSquare(threadContext.get());
+    }
+
+    /**
+     * gets the next sample from the unit square.
+     *
+     * @param c
+     * @return point owned by c
+     */
+    public Point2D sampleUnitSquare(Context c) {
+        int i = nextIndex(c);
+        c.point2.x = samples[2 * i];
+        c.point2.y = samples[2 * i + 1];
+        return c.point2;
+    }
+
+    /**
+     * get next sample from the unit disc
+     *
+     * @return
+     */
+    public Point2D sampleUnitDisc() {
+        return sampleUnitDisc(threadContext.get());
+    }
+
+    /**
+     * get next sample from the unit disc
+     *
+     * @param c
+     * @return point owned by c
+     */
+    public Point2D sampleUnitDisc(Context c) {
+        int i = nextIndex(c);
+        c.point2.x = discSamples[2 * i];
+        c.point2.y = discSamples[2 * i + 1];
+        return c.point2;
+    }
+
+    /**
+     * get sample from unit hemisphere
+     *
+     * @return
+     */
+    public Point3D sampleHemisphere() {
+        return sampleHemisphere(threadContext.get());
+    }
+
+    /**
+     * get sample from unit hemisphere
+     *
+     * @param c
+     * @return point owned by c
+     */
+    public Point3D sampleHemisphere(Context c) {
+        int i = nextIndex(c);
+        c.point3.setTo(hemisphereSamples[3 * i], hemisphereSamples[3 * i + 1],
+                hemisphereSamples[3 * i + 2]);
+        return c.point3;
+    }
+
+    /**
+     * get the next sample from the unit sphere.
+     *
+     * @return
+     */
+    public Point3D sampleSphere() {
+        return sampleSphere(threadContext.get());
+    }
+
+    /**
+     * get the next sample from the unit sphere.
+     *
+     * @param c
+     * @return point owned by c
+     */
+    public Point3D sampleSphere(Context c) {
+        int i = nextIndex(c);
+        c.point3.setTo(sphereSamples[3 * i], sphereSamples[3 * i + 1],
+                sphereSamples[3 * i + 2]);
+        return c.point3;
+    }
+
+    /**
+     * clone this sampler
+     *
+     * @return
+     */
+    public abstract Sampler protclone();
+
+    /**
+     * clone this sampler
+     *
+     * @return
+     */
+    public final Sampler cloneSampler() {
+        return protclone();
+    }
+
+    /**
+     * This method should generate numSamples*numSets samples
+     */
+    public abstract void generateSamples();
+
+    /**
+     * This method is only in the generate vector noise function of the lattice
+     * noise class.
+     *
+     * @return
+     */
+    public Point2D sampleOneSet() {
+        Context c = threadContext.get();
+        int index = c.count++ % numSamples;
+        c.point2.x = samples[2 * index];
+        c.point2.y = samples[2 * index + 1];
+        return c.point2;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.samplers;
+
+import java.util.logging.Logger;
+
+/**
+ * Sobol samples, the first two dimensions of the Sobol sequence, a (0,2)
+ * sequence, so every power of two prefix is stratified in every elementary
+ * interval. Each pixel gets its own Owen scramble of both dimensions.
+ * Computed per sample from 32 direction numbers, no sample sets.
+ *
+ * @author William Matrix Peckham
+ */
+public class Sobol extends LowDiscrepancySampler {
+
+    /**
+     * direction numbers of the second dimension, the first is the bit
+     * reversal of the index.
+     */
+    private static final int[] DIRECTIONS = new int[32];
+
+    static {
+        int v = 1 << 31;
+        for (int k = 0; k < 32; k++) {
+            DIRECTIONS[k] = v;
+            v ^= v >>> 1;
+        }
+    }
+
+    /**
+     * default, one sample
+     */
+    public Sobol() {
+        this(1);
+    }
+
+    /**
+     * set number of samples
+     *
+     * @param num
+     */
+    public Sobol(int num) {
+        super(num);
+    }
+
+    /**
+     * copy constructor
+     *
+     * @param s
+     */
+    public Sobol(Sobol s) {
+        super(s);
+    }
+
+    /**
+     * computes the index'th Sobol point, scrambled with seed
+     *
+     * @param index
+     * @param seed
+     * @param out
+     */
+    @Override
+    protected void samplePoint(int index, long seed, double[] out) {
+        int x = Integer.reverse(index);
+        int y = 0;
+        for (int k = 0; index != 0; k++, index >>>= 1) {
+            if ((index & 1) != 0) {
+                y ^= DIRECTIONS[k];
+            }
+        }
+        out[0] = toUnit(owenScramble(x, (int) seed));
+        out[1] = toUnit(owenScramble(y, (int) (seed >>> 32)));
+    }
+
+    /**
+     * clone
+     *
+     * @return
+     */
+    @Override
+    public Sampler protclone() {
+        return new Sobol(this);
+    }
+
+    private static final Logger LOG = Logger.getLogger(Sobol.class.getName());
+
+}
@@ -0,0 +1,487 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.textures;
+
+import com.matrixpeckham.raytracer.util.BBox;
+import com.matrixpeckham.raytracer.util.RGBColor;
+import com.matrixpeckham.raytracer.util.ShadeRec;
+import com.matrixpeckham.raytracer.world.World;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Caches an expensive solid texture, like Wood or an FBm texture, in a voxel
+ * grid over a box and answers lookups by trilinear interpolation of the
+ * grid. The grid is a sparse brick map: it's cut into bricks of BRICK cells a
+ * side, and a brick's corner colors are evaluated the first time a lookup
+ * falls in it, so only the bricks a surface passes through are ever baked.
+ * bake() evaluates every brick up front instead.
+ *
+ * The box is in the space the texture is looked up in, the local hit
+ * position, which for a TInstance is before its transform, and for an
+ * object in a transformed Instance is the untransformed object's space.
+ * Lookups outside it go straight to the texture.
+ *
+ * The resolution is the number of cells along the box's longest side, cells
+ * are cubes. If the whole grid wouldn't fit in the memory budget the
+ * resolution is lowered until it does, so the result never depends on which
+ * bricks happen to be baked. measureError() compares the grid with the
+ * texture, to choose a resolution by.
+ *
+ * @author William Matrix Peckham
+ */
+public class BakedTexture implements Texture {
+
+    /**
+     * cells along each side of a brick
+     */
+    public static final int BRICK = 8;
+
+    /**
+     * corner samples along each side of a brick
+     */
+    private static final int SIDE = BRICK + 1;
+
+    /**
+     * bytes of one baked brick, three floats per sample
+     */
+    private static final long BRICK_BYTES = 12L * SIDE * SIDE * SIDE;
+
+    /**
+     * default memory budget, 64 MB
+     */
+    public static final long DEFAULT_BUDGET = 64L << 20;
+
+    /**
+     * texture being cached
+     */
+    private final Texture texture;
+
+    /**
+     * box the grid covers
+     */
+    private final BBox box;
+
+    private int resolution;
+
+    private long budget = DEFAULT_BUDGET;
+
+    /**
+     * grid shared with copies, replaced when the resolution changes
+     */
+    private Grid grid;
+
+    /**
+     * the color each thread's lookups return
+     */
+    private final ThreadLocal<RGBColor> color = new ThreadLocal<RGBColor>() {
+        @Override
+        protected RGBColor initialValue() {
+            return new RGBColor();
+        }
+
+    };
+
+    /**
+     * shade rec each thread bakes bricks with. only its position is set, so
+     * a brick doesn't depend on which hit first fell in it.
+     */
+    private static final ThreadLocal<ShadeRec> BAKE_REC
+            = new ThreadLocal<ShadeRec>() {
+                @Override
+                protected ShadeRec initialValue() {
+                    return new ShadeRec((World) null);
+                }
+
+            };
+
+    /**
+     * caches texture over box.
+     *
+     * @param texture
+     * @param box where the texture will be looked up, in local hit
+     * coordinates
+     * @param resolution cells along the longest side of the box
+     */
+    public BakedTexture(Texture texture, BBox box, int resolution) {
+        if (resolution < 1) {
+            throw new IllegalArgumentException("resolution must be positive");
+        }
+        this.texture = texture;
+        this.box = new BBox(box);
+        this.resolution = resolution;
+        grid = makeGrid();
+    }
+
+    /**
+     * copy constructor, the copy shares the baked bricks
+     *
+     * @param b
+     */
+    public BakedTexture(BakedTexture b) {
+        texture = b.texture;
+        box = new BBox(b.box);
+        resolution = b.resolution;
+        budget = b.budget;
+        grid = b.grid;
+    }
+
+    @Override
+    public Texture cloneTexture() {
+        return new BakedTexture(this);
+    }
+
+    /**
+     * sets the resolution, dropping anything baked
+     *
+     * @param resolution cells along the longest side of the box
+     */
+    public void setResolution(int resolution) {
+        if (resolution < 1) {
+            throw new IllegalArgumentException("resolution must be positive");
+        }
+        this.resolution = resolution;
+        grid = makeGrid();
+    }
+
+    /**
+     * sets the most memory the grid may take, dropping anything baked. the
+     * resolution used is lowered until the whole grid fits.
+     *
+     * @param bytes
+     */
+    public void setMemoryBudget(long bytes) {
+        if (bytes < BRICK_BYTES) {
+            throw new IllegalArgumentException("budget is less than a brick");
+        }
+        budget = bytes;
+        grid = makeGrid();
+    }
+
+    /**
+     * gets the resolution actually used, which may be lower than the one set
+     * to keep to the budget
+     *
+     * @return
+     */
+    public int getEffectiveResolution() {
+        return grid.res;
+    }
+
+    /**
+     * bytes taken by the bricks baked so far
+     *
+     * @return
+     */
+    public long getBakedBytes() {
+        Grid g = grid;
+        int n = 0;
+        for (int i = 0; i < g.bricks.length(); i++) {
+            if (g.bricks.get(i) != null) {
+                n++;
+            }
+        }
+        return n * BRICK_BYTES;
+    }
+
+    /**
+     * bakes every brick now rather than when first looked up.
+     */
+    public void bake() {
+        Grid g = grid;
+        ShadeRec sr = BAKE_REC.get();
+        for (int i = 0; i < g.bricks.length(); i++) {
+            if (g.bricks.get(i) == null) {
+                g.bricks.compareAndSet(i, null, bakeBrick(g, i, sr));
+            }
+        }
+    }
+
+    /**
+     * finds the grid for the resolution and budget
+     *
+     * @return
+     */
+    private Grid makeGrid() {
+        double longest = Math.max(box.x1 - box.x0, Math.max(box.y1 - box.y0,
+                box.z1 - box.z0));
+        if (!(longest > 0)) {
+            throw new IllegalArgumentException("empty box " + box);
+        }
+        //the bricks are kept in one array, which an int indexes
+        long most = Math.min(budget / BRICK_BYTES, Integer.MAX_VALUE);
+        int res = resolution;
+        while (res > 1 && brickCount(box, longest / res) > most) {
+            res = Math.max(1, Math.min(res - 1, (int) (res * 0.9)));
+        }
+        if (res != resolution) {
+            LOG.log(Level.INFO, "baked texture resolution lowered from {0} to"
+                    + " {1} to fit {2} bytes", new Object[]{resolution, res,
+                        budget});
+        }
+        return new Grid(box, longest, res);
+    }
+
+    /**
+     * bricks in the whole grid for a cell size, as a double since it can be
+     * more than a long holds
+     *
+     * @param box
+     * @param cell
+     * @return
+     */
+    private static double brickCount(BBox box, double cell) {
+        return (double) bricks(cells(box.x1 - box.x0, cell)) * bricks(cells(
+                box.y1 - box.y0, cell)) * bricks(cells(box.z1 - box.z0, cell));
+    }
+
+    /**
+     * cells needed to cover a length, at least one
+     *
+     * @param length
+     * @param cell
+     * @return
+     */
+    private static long cells(double length, double cell) {
+        return Math.max(1, (long) Math.ceil(length / cell - 1e-9));
+    }
+
+    private static long bricks(long cells) {
+        return (cells + BRICK - 1) / BRICK;
+    }
+
+    /**
+     * looks the texture up in the grid. the color returned belongs to the
+     * calling thread and holds until its next lookup on this texture.
+     *
+     * @param sr
+     * @return
+     */
+    @Override
+    public RGBColor getColor(ShadeRec sr) {
+        Grid g = grid;
+        //grid coordinates, in cells
+        double gx = (sr.localHitPosition.x - box.x0) / g.cell;
+        double gy = (sr.localHitPosition.y - box.y0) / g.cell;
+        double gz = (sr.localHitPosition.z - box.z0) / g.cell;
+        //hits on the box's faces can be a rounding error outside it
+        double tol = 1e-6 * g.res;
+        if (!(gx >= -tol && gy >= -tol && gz >= -tol && gx <= g.nx + tol
+                && gy <= g.ny + tol && gz <= g.nz + tol)) {
+            return texture.getColor(sr);
+        }
+        int ix = Math.min(Math.max((int) gx, 0), g.nx - 1);
+        int iy = Math.min(Math.max((int) gy, 0), g.ny - 1);
+        int iz = Math.min(Math.max((int) gz, 0), g.nz - 1);
+        double tx = Math.min(Math.max(gx - ix, 0), 1);
+        double ty = Math.min(Math.max(gy - iy, 0), 1);
+        double tz = Math.min(Math.max(gz - iz, 0), 1);
+        int b = (iz / BRICK * g.by + iy / BRICK) * g.bx + ix / BRICK;
+        float[] brick = g.bricks.get(b);
+        if (brick == null) {
+            //two threads may bake the same brick, the first one is kept
+            g.bricks.compareAndSet(b, null, bakeBrick(g, b, BAKE_REC.get()));
+            brick = g.bricks.get(b);
+        }
+        int i = 3 * (((iz % BRICK) * SIDE + iy % BRICK) * SIDE + ix % BRICK);
+        RGBColor c = color.get();
+        c.setTo(trilinear(brick, i, tx, ty, tz), trilinear(brick, i + 1, tx,
+                ty, tz), trilinear(brick, i + 2, tx, ty, tz));
+        return c;
+    }
+
+    /**
+     * interpolates one channel of the cell whose low corner sample is at i
+     *
+     * @param brick
+     * @param i
+     * @param tx
+     * @param ty
+     * @param tz
+     * @return
+     */
+    private static double trilinear(float[] brick, int i, double tx,
+            double ty, double tz) {
+        //along x, then y, then z
+        int dy = 3 * SIDE;
+        int dz = 3 * SIDE * SIDE;
+        double c00 = lerp(tx, brick[i], brick[i + 3]);
+        double c10 = lerp(tx, brick[i + dy], brick[i + dy + 3]);
+        double c01 = lerp(tx, brick[i + dz], brick[i + dz + 3]);
+        double c11 = lerp(tx, brick[i + dy + dz], brick[i + dy + dz + 3]);
+        return lerp(tz, lerp(ty, c00, c10), lerp(ty, c01, c11));
+    }
+
+    private static double lerp(double t, double a, double b) {
+        return a + t * (b - a);
+    }
+
+    /**
+     * evaluates the texture at every corner of a brick
+     *
+     * @param g
+     * @param b brick number
+     * @param sr shade rec to evaluate with, its position is changed
+     * @return SIDE^3 r g b samples, x fastest
+     */
+    private float[] bakeBrick(Grid g, int b, ShadeRec sr) {
+        int x0 = b % g.bx * BRICK;
+        int y0 = b / g.bx % g.by * BRICK;
+        int z0 = b / (g.bx * g.by) * BRICK;
+        float[] s = new float[3 * SIDE * SIDE * SIDE];
+        int i = 0;
+        for (int z = 0; z < SIDE; z++) {
+            for (int y = 0; y < SIDE; y++) {
+                for (int x = 0; x < SIDE; x++, i += 3) {
+                    sr.localHitPosition.setTo(box.x0 + (x0 + x) * g.cell,
+                            box.y0 + (y0 + y) * g.cell, box.z0 + (z0 + z)
+                            * g.cell);
+                    sr.hitPoint.setTo(sr.localHitPosition);
+                    RGBColor c = texture.getColor(sr);
+                    s[i] = (float) c.r;
+                    s[i + 1] = (float) c.g;
+                    s[i + 2] = (float) c.b;
+                }
+            }
+        }
+        return s;
+    }
+
+    /**
+     * compares the grid with the texture at random points in the box, baking
+     * the bricks they fall in.
+     *
+     * @param samples points to compare at
+     * @return differences, averaged over the three channels
+     */
+    public ErrorReport measureError(int samples) {
+        Random r = new Random(samples);
+        ShadeRec sr = new ShadeRec((World) null);
+        double sum = 0;
+        double sumSq = 0;
+        double max = 0;
+        for (int n = 0; n < samples; n++) {
+            sr.localHitPosition.setTo(box.x0 + r.nextDouble() * (box.x1
+                    - box.x0), box.y0 + r.nextDouble() * (box.y1 - box.y0),
+                    box.z0 + r.nextDouble() * (box.z1 - box.z0));
+            sr.hitPoint.setTo(sr.localHitPosition);
+            RGBColor baked = getColor(sr);
+            RGBColor direct = texture.getColor(sr);
+            double e = (Math.abs(baked.r - direct.r) + Math.abs(baked.g
+                    - direct.g) + Math.abs(baked.b - direct.b)) / 3;
+            sum += e;
+            sumSq += e * e;
+            max = Math.max(max, e);
+        }
+        return new ErrorReport(samples, sum / samples, Math.sqrt(sumSq
+                / samples), max);
+    }
+
+    /**
+     * result of measureError()
+     */
+    public static final class ErrorReport {
+
+        public final int samples;
+
+        /**
+         * mean absolute difference
+         */
+        public final double mean;
+
+        /**
+         * root mean square difference
+         */
+        public final double rms;
+
+        /**
+         * largest difference
+         */
+        public final double max;
+
+        ErrorReport(int samples, double mean, double rms, double max) {
+            this.samples = samples;
+            this.mean = mean;
+            this.rms = rms;
+            this.max = max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d samples: mean %.5f, rms %.5f, max %.5f",
+                    samples, mean, rms, max);
+        }
+
+    }
+
+    /**
+     * cell layout and the bricks for one resolution
+     */
+    private static final class Grid {
+
+        final int res;
+
+        /**
+         * side of a cell
+         */
+        final double cell;
+
+        /**
+         * cells along each axis
+         */
+        final int nx;
+
+        final int ny;
+
+        final int nz;
+
+        /**
+         * bricks along each axis
+         */
+        final int bx;
+
+        final int by;
+
+        /**
+         * baked bricks, x fastest, null until baked
+         */
+        final AtomicReferenceArray<float[]> bricks;
+
+        Grid(BBox box, double longest, int res) {
+            this.res = res;
+            cell = longest / res;
+            nx = (int) cells(box.x1 - box.x0, cell);
+            ny = (int) cells(box.y1 - box.y0, cell);
+            nz = (int) cells(box.z1 - box.z0, cell);
+            bx = (int) bricks(nx);
+            by = (int) bricks(ny);
+            long count = (long) bx * by * bricks(nz);
+            if (count > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("too many bricks " + count);
+            }
+            bricks = new AtomicReferenceArray<>((int) count);
+        }
+
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(BakedTexture.class.getName());
+
+}
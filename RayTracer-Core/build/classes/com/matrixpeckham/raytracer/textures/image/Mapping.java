@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.textures.image;
+
+import com.matrixpeckham.raytracer.util.Point2D;
+import com.matrixpeckham.raytracer.util.Point3D;
+
+/**
+ * Interface that image texture uses to map hit position to texture coordinates.
+ *
+ * @author William Matrix Peckham
+ */
+public interface Mapping {
+
+    /**
+     * clone
+     *
+     * @return
+     */
+    public Mapping cloneMapping();
+
+    /**
+     * return a texture coordinate based on the point3d and the size of the
+     * image.
+     *
+     * @param hitPoint
+     * @param xRes
+     * @param yRes
+     * @return
+     */
+    public TexelCoord getTexelCoordinate(Point3D hitPoint, int xRes, int yRes);
+
+    /**
+     * texel position of a point before it is truncated to a texel, for
+     * filtered lookups. mappings should override this, the default can only
+     * give the texel getTexelCoordinate() picks.
+     *
+     * @param hitPoint
+     * @param xRes
+     * @param yRes
+     * @param out receives the column in x and the row in y
+     * @return out
+     */
+    public default Point2D getTexelPosition(Point3D hitPoint, int xRes,
+            int yRes, Point2D out) {
+        TexelCoord t = getTexelCoordinate(hitPoint, xRes, yRes);
+        out.x = t.col;
+        out.y = t.row;
+        return out;
+    }
+}
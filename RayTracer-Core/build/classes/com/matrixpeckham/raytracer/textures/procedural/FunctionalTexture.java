@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2016 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.textures.procedural;
+
+import com.matrixpeckham.raytracer.textures.Texture;
+import com.matrixpeckham.raytracer.util.RGBColor;
+import com.matrixpeckham.raytracer.util.ShadeRec;
+import com.matrixpeckham.raytracer.util.Utility;
+
+/**
+ *
+ * @author William Matrix Peckham
+ */
+public class FunctionalTexture implements Texture {
+
+    @FunctionalInterface
+    public static interface TextureFunction {
+
+        public double f(double x, double y);
+    }
+
+    TextureFunction func;
+
+    public FunctionalTexture(TextureFunction func) {
+        this.func = func;
+    }
+
+    @Override
+    public Texture cloneTexture() {
+        return new FunctionalTexture(func);
+    }
+
+    @Override
+    public RGBColor getColor(ShadeRec sr) {
+        return Utility.WHITE.mul(func.f(sr.localHitPosition.x,
+                sr.localHitPosition.y));
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2016 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.tonemapping;
+
+import com.matrixpeckham.raytracer.util.RGBColor;
+
+/**
+ * Interface for mapping float colors back to an acceptable 0-1 range.
+ *
+ * @author William Matrix Peckham
+ */
+public interface ToneMapper {
+
+    /**
+     * Maps in from an arbitrary float valued RGB color to an RGB color that
+     * contains only values in 0-1 range.
+     *
+     * @param in
+     * @return
+     */
+    public RGBColor map(RGBColor in);
+
+    /**
+     * Maps in like map(in), but into out, so converting a whole image doesn't
+     * allocate a color per pixel. in and out may be the same color.
+     *
+     * @param in
+     * @param out
+     */
+    public default void map(RGBColor in, RGBColor out) {
+        out.setTo(map(in));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.util;
+
+import java.util.logging.Logger;
+
+/**
+ * SplitMix64 generator, the same one java.util.SplittableRandom uses, but this
+ * one can be reseeded, which is what lets every pixel start from its own seed.
+ * Small, fast and good enough for sampling.
+ *
+ * @author William Matrix Peckham
+ */
+public class SplitMix64 implements RandomStream {
+
+    /**
+     * golden ratio increment
+     */
+    private static final long GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    /**
+     * seeds from the clock
+     */
+    public SplitMix64() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * seeded constructor
+     *
+     * @param seed
+     */
+    public SplitMix64(long seed) {
+        state = seed;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        state += GAMMA;
+        return mix(state);
+    }
+
+    /**
+     * scrambles the bits of z, used to turn the counter into random numbers
+     * and to hash seeds together.
+     *
+     * @param z
+     * @return
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(SplitMix64.class.getName());
+
+}
@@ -0,0 +1,892 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer;
+
+import com.matrixpeckham.raytracer.cameras.Camera;
+import com.matrixpeckham.raytracer.cameras.RenderCheckpoint;
+import com.matrixpeckham.raytracer.cameras.StereoCamera;
+import com.matrixpeckham.raytracer.samplers.Halton;
+import com.matrixpeckham.raytracer.samplers.Jittered;
+import com.matrixpeckham.raytracer.samplers.MultiJittered;
+import com.matrixpeckham.raytracer.samplers.PMJ02;
+import com.matrixpeckham.raytracer.samplers.Sampler;
+import com.matrixpeckham.raytracer.samplers.Sobol;
+import com.matrixpeckham.raytracer.textures.image.TextureCache;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
+import com.matrixpeckham.raytracer.world.BuildWorldFunction;
+import com.matrixpeckham.raytracer.world.World;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
+
+/**
+ * Headless batch renderer for running scenes without the GUI, e.g. on a
+ * render farm. Each scene is a BuildWorldFunction class name, looked up on the
+ * classpath and in the jars in plugins/. Images are written as each scene
+ * finishes, and the render time and ray rate are printed per scene.
+ *
+ * <pre>
+ * usage: BatchRender [options] class[=output] ...
+ *   -size WxH        image resolution, the field of view is kept
+ *   -spp n           samples per pixel
+ *   -sampler type    pixel sampler: multijittered, jittered, sobol, halton
+ *                    or pmj02
+ *   -adaptive e      adaptive sampling, stop pixels at relative error e,
+ *                    -spp is the most a pixel takes
+ *   -depth n         max ray depth
+ *   -texfilter mode  image texture lookups: nearest, or trilinear to filter
+ *                    them to each camera ray's footprint
+ *   -threads n       render threads (default one per core)
+ *   -texcache mb     read binary PPM textures a tile at a time, keeping at
+ *                    most mb megabytes of tiles in memory, the cache's hits
+ *                    and misses are printed at the end
+ *   -jobs n          scenes rendered at the same time (default 1)
+ *   -o dir           output directory for scenes without =output
+ *   -format fmt      image format for those scenes (default png), hdr exr
+ *                    and pfm save the radiance before tone mapping
+ *   -progressive s   rewrite the partial image every s seconds
+ *   -checkpoint s    save the render's progress every s seconds next to the
+ *                    image, a render interrupted before it finished resumes
+ *                    from there when run again with the same options
+ *   -serve port      render farm coordinator: the scenes are rendered one at
+ *                    a time by the workers connected to port, this process
+ *                    only puts the images together and saves them
+ *   -bind addr       address the coordinator listens on, by default only
+ *                    loopback, so workers on other machines need this
+ *   -lease s         time a worker has to send back a tile before it's sent
+ *                    to another worker, and a silent worker is dropped
+ *   -worker host:port  render farm worker: render tiles for the coordinator
+ *                    at host:port until it has no more scenes, no scene
+ *                    arguments. -threads is the worker's own
+ * </pre>
+ *
+ * Workers are sent the scene class and the -size, -spp, -sampler, -depth and
+ * -texfilter options, so every worker needs the scene classes too. They can
+ * be started before or after the coordinator and can join or leave mid
+ * render, the tiles of a worker that goes away, or hangs, are rendered by the
+ * others. There is no authentication, only bind to addresses on a trusted
+ * network. Adaptive renders and stereo cameras aren't supported on a farm.
+ *
+ * exits with EXIT_OK if every scene rendered and was saved, EXIT_FAILED if any
+ * failed, and EXIT_USAGE for bad arguments. Concurrent scenes share the render
+ * threads, so their ray rates add up to the machine's.
+ *
+ * @author William Matrix Peckham
+ */
+public class BatchRender {
+
+    /**
+     * every scene rendered and saved
+     */
+    public static final int EXIT_OK = 0;
+
+    /**
+     * at least one scene failed to build, render, or save
+     */
+    public static final int EXIT_FAILED = 1;
+
+    /**
+     * bad command line
+     */
+    public static final int EXIT_USAGE = 2;
+
+    /**
+     * image resolution override, 0 to keep the scene's
+     */
+    private int hRes = 0;
+
+    private int vRes = 0;
+
+    /**
+     * samples per pixel override, 0 to keep the scene's
+     */
+    private int samples = 0;
+
+    /**
+     * pixel sampler override, null to keep the scene's
+     */
+    private String sampler = null;
+
+    /**
+     * adaptive sampling error threshold, 0 to keep the scene's setting
+     */
+    private double adaptive = 0;
+
+    /**
+     * max depth override, -1 to keep the scene's
+     */
+    private int depth = -1;
+
+    /**
+     * texture filtering override, null to keep the scene's
+     */
+    private Boolean textureFiltering = null;
+
+    /**
+     * render thread count, 0 for the default
+     */
+    private int threads = 0;
+
+    /**
+     * texture cache budget in bytes, 0 to load textures whole
+     */
+    private long textureCacheBytes = 0;
+
+    /**
+     * scenes in flight
+     */
+    private int jobs = 1;
+
+    private File outDir = new File(".");
+
+    private String format = "png";
+
+    /**
+     * milliseconds between partial image writes, 0 to only write finished
+     * images.
+     */
+    private long progressiveMillis = 0;
+
+    /**
+     * milliseconds between checkpoints, 0 for none.
+     */
+    private long checkpointMillis = 0;
+
+    private final List<Scene> scenes = new ArrayList<>();
+
+    /**
+     * options that change the rendered scene, the ones workers are sent
+     */
+    private static final List<String> SCENE_OPTIONS = Arrays.asList("-size",
+	    "-spp", "-sampler", "-adaptive", "-depth", "-texfilter");
+
+    /**
+     * the scene options given, with their values
+     */
+    private final List<String> sceneOptions = new ArrayList<>();
+
+    /**
+     * port to coordinate workers on, -1 to render here
+     */
+    private int servePort = -1;
+
+    /**
+     * address to coordinate workers on, null for loopback
+     */
+    private InetAddress bindAddress = null;
+
+    /**
+     * time a worker has to send back a tile, 0 for the coordinator's default
+     */
+    private long leaseMillis = 0;
+
+    /**
+     * coordinator to render tiles for, null to render scenes here
+     */
+    private String workerHost = null;
+
+    private int workerPort = 0;
+
+    /**
+     * how long a worker keeps trying to reach a coordinator that isn't up yet
+     */
+    private static final long CONNECT_MILLIS = 60000;
+
+    /**
+     * set while serving
+     */
+    private RenderCoordinator coordinator = null;
+
+    /**
+     * loads the scene classes, includes the plugin jars
+     */
+    private ClassLoader loader = BatchRender.class.getClassLoader();
+
+    /**
+     * entry point, see class comment
+     *
+     * @param args
+     */
+    public static void main(String[] args) {
+	BatchRender batch = new BatchRender();
+	try {
+	    batch.parse(args);
+	} catch (IllegalArgumentException ex) {
+	    System.err.println(ex.getMessage());
+	    usage();
+	    System.exit(EXIT_USAGE);
+	}
+	System.exit(batch.run());
+    }
+
+    private static void usage() {
+	System.err.println("usage: BatchRender [-size WxH] [-spp n] [-sampler type]"
+		+ " [-adaptive e] [-depth n] [-texfilter mode] [-threads n]"
+		+ " [-texcache mb] [-jobs n] [-o dir] [-format fmt]"
+		+ " [-progressive seconds] [-checkpoint seconds] [-serve port"
+		+ " [-bind addr] [-lease seconds]] class[=output] ...");
+	System.err.println("       BatchRender [-threads n] [-texcache mb]"
+		+ " -worker host:port");
+    }
+
+    /**
+     * reads the command line
+     *
+     * @param args
+     * @throws IllegalArgumentException on bad arguments
+     */
+    void parse(String[] args) {
+	for (int i = 0; i < args.length; i++) {
+	    String a = args[i];
+	    if (!a.startsWith("-")) {
+		int eq = a.indexOf('=');
+		if (eq < 0) {
+		    scenes.add(new Scene(a, null));
+		} else {
+		    scenes.add(new Scene(a.substring(0, eq), new File(a.
+			    substring(eq + 1))));
+		}
+		continue;
+	    }
+	    if (i + 1 >= args.length) {
+		throw new IllegalArgumentException("missing value for " + a);
+	    }
+	    String v = args[++i];
+	    if (SCENE_OPTIONS.contains(a)) {
+		sceneOptions.add(a);
+		sceneOptions.add(v);
+	    }
+	    switch (a) {
+		case "-size":
+		    int x = v.indexOf('x');
+		    if (x < 0) {
+			throw new IllegalArgumentException("bad size " + v);
+		    }
+		    hRes = number(a, v.substring(0, x), 1);
+		    vRes = number(a, v.substring(x + 1), 1);
+		    break;
+		case "-spp":
+		    samples = number(a, v, 1);
+		    break;
+		case "-sampler":
+		    //fail on a bad name now, not once per scene
+		    makeSampler(v, 1);
+		    sampler = v;
+		    break;
+		case "-adaptive":
+		    try {
+			adaptive = Double.parseDouble(v);
+		    } catch (NumberFormatException ex) {
+			adaptive = -1;
+		    }
+		    if (!(adaptive > 0)) {
+			throw new IllegalArgumentException("bad value for " + a
+				+ ": " + v);
+		    }
+		    break;
+		case "-depth":
+		    depth = number(a, v, 0);
+		    break;
+		case "-texfilter":
+		    if (!v.equals("nearest") && !v.equals("trilinear")) {
+			throw new IllegalArgumentException("bad value for " + a
+				+ ": " + v);
+		    }
+		    textureFiltering = v.equals("trilinear");
+		    break;
+		case "-threads":
+		    threads = number(a, v, 1);
+		    break;
+		case "-texcache":
+		    textureCacheBytes = number(a, v, 1) * 1048576L;
+		    break;
+		case "-jobs":
+		    jobs = number(a, v, 1);
+		    break;
+		case "-o":
+		    outDir = new File(v);
+		    break;
+		case "-format":
+		    format = v;
+		    break;
+		case "-progressive":
+		    progressiveMillis = (long) (1000 * Double.parseDouble(v));
+		    break;
+		case "-checkpoint":
+		    checkpointMillis = (long) (1000 * Double.parseDouble(v));
+		    break;
+		case "-serve":
+		    servePort = number(a, v, 0);
+		    break;
+		case "-bind":
+		    try {
+			bindAddress = InetAddress.getByName(v);
+		    } catch (UnknownHostException ex) {
+			throw new IllegalArgumentException("unknown address " + v);
+		    }
+		    break;
+		case "-lease":
+		    leaseMillis = (long) (1000 * Double.parseDouble(v));
+		    if (leaseMillis <= 0) {
+			throw new IllegalArgumentException("bad " + a + " " + v);
+		    }
+		    break;
+		case "-worker":
+		    int colon = v.lastIndexOf(':');
+		    if (colon < 0) {
+			throw new IllegalArgumentException("bad address " + v);
+		    }
+		    workerHost = v.substring(0, colon);
+		    workerPort = number(a, v.substring(colon + 1), 1);
+		    break;
+		default:
+		    throw new IllegalArgumentException("unknown option " + a);
+	    }
+	}
+	if (servePort < 0 && (bindAddress != null || leaseMillis > 0)) {
+	    throw new IllegalArgumentException("-bind and -lease are only for "
+		    + "-serve");
+	}
+	if (workerHost != null) {
+	    if (!scenes.isEmpty() || servePort >= 0) {
+		throw new IllegalArgumentException("a worker gets its scenes "
+			+ "from the coordinator");
+	    }
+	    return;
+	}
+	if (scenes.isEmpty()) {
+	    throw new IllegalArgumentException("no scenes given");
+	}
+	if (servePort >= 0 && (jobs > 1 || checkpointMillis > 0)) {
+	    throw new IllegalArgumentException("-jobs and -checkpoint can't be "
+		    + "used with -serve");
+	}
+    }
+
+    private static int number(String opt, String v, int min) {
+	int n;
+	try {
+	    n = Integer.parseInt(v);
+	} catch (NumberFormatException ex) {
+	    throw new IllegalArgumentException("bad value for " + opt + ": "
+		    + v);
+	}
+	if (n < min) {
+	    throw new IllegalArgumentException(opt + " must be at least "
+		    + min);
+	}
+	return n;
+    }
+
+    /**
+     * renders every scene
+     *
+     * @return exit code
+     */
+    int run() {
+	if (threads > 0) {
+	    //must happen before the camera classes are loaded
+	    System.setProperty("raytracer.threads", Integer.toString(threads));
+	}
+	loader = pluginLoader(loader);
+	if (textureCacheBytes > 0) {
+	    TextureCache.getShared().setBudget(textureCacheBytes);
+	}
+	if (workerHost != null) {
+	    int code = work();
+	    Camera.exit();
+	    printCacheStats();
+	    return code;
+	}
+	if (servePort >= 0) {
+	    try {
+		coordinator = bindAddress == null ? new RenderCoordinator(
+			servePort) : new RenderCoordinator(servePort, bindAddress);
+		if (leaseMillis > 0) {
+		    coordinator.setLeaseMillis(leaseMillis);
+		}
+	    } catch (IOException ex) {
+		System.err.println("cannot listen on port " + servePort + ": "
+			+ ex.getMessage());
+		Camera.exit();
+		return EXIT_FAILED;
+	    }
+	    System.out.println("waiting for workers on port " + coordinator.
+		    getPort());
+	}
+	ExecutorService sceneExec = Executors.newFixedThreadPool(jobs);
+	List<Future<Boolean>> results = new ArrayList<>();
+	for (final Scene s : scenes) {
+	    results.add(sceneExec.submit(() -> render(s)));
+	}
+	int failed = 0;
+	for (Future<Boolean> f : results) {
+	    try {
+		if (!f.get()) {
+		    failed++;
+		}
+	    } catch (InterruptedException | ExecutionException ex) {
+		LOG.log(Level.SEVERE, null, ex);
+		failed++;
+	    }
+	}
+	sceneExec.shutdown();
+	if (coordinator != null) {
+	    try {
+		//disconnects the workers waiting for another scene
+		coordinator.close();
+	    } catch (IOException ex) {
+		LOG.log(Level.WARNING, null, ex);
+	    }
+	}
+	Camera.exit();
+	System.out.println((scenes.size() - failed) + " of " + scenes.size()
+		+ " scenes rendered");
+	printCacheStats();
+	return failed == 0 ? EXIT_OK : EXIT_FAILED;
+    }
+
+    /**
+     * prints the texture cache's counts if -texcache was given
+     */
+    private void printCacheStats() {
+	if (textureCacheBytes > 0) {
+	    System.out.println(TextureCache.getShared());
+	}
+    }
+
+    /**
+     * adds the jars in plugins/ to a class loader, like Main does, so the book
+     * figures can be named.
+     *
+     * @param parent
+     * @return
+     */
+    private static ClassLoader pluginLoader(ClassLoader parent) {
+	File[] jars = new File("plugins/").listFiles((File f) -> f.getName().
+		endsWith(".jar"));
+	if (jars == null || jars.length == 0) {
+	    return parent;
+	}
+	List<URL> urls = new ArrayList<>();
+	for (File f : jars) {
+	    try {
+		urls.add(f.toURI().toURL());
+	    } catch (MalformedURLException ex) {
+		LOG.log(Level.WARNING, null, ex);
+	    }
+	}
+	return new URLClassLoader(urls.toArray(new URL[urls.size()]), parent);
+    }
+
+    /**
+     * builds, renders and saves one scene
+     *
+     * @param s
+     * @return true if the image was written
+     */
+    private boolean render(Scene s) {
+	String name = s.className.substring(s.className.lastIndexOf('.') + 1);
+	File out = s.output != null ? s.output : new File(outDir, name + "."
+		+ format);
+	try {
+	    World w = build(s.className);
+	    if (w.camera == null) {
+		System.err.println(name + ": scene has no camera");
+		return false;
+	    }
+	    ImageFileListener image = new ImageFileListener(out,
+		    progressiveMillis);
+	    if (coordinator != null) {
+		return renderOnWorkers(name, s, w, image, out);
+	    }
+	    w.setRenderListener(image);
+	    if (checkpointMillis > 0) {
+		w.setCheckpoint(new RenderCheckpoint(new File(out.getPath()
+			+ ".checkpoint"), s.className, checkpointMillis));
+	    }
+
+	    w.resetRayCount();
+	    long start = System.nanoTime();
+	    w.camera.multiThreadRenderScene(w);
+	    double secs = (System.nanoTime() - start) / 1e9;
+	    long rays = w.getRayCount();
+
+	    if (image.error != null) {
+		System.err.println(name + ": could not write " + out + ": "
+			+ image.error.getMessage());
+		return false;
+	    }
+	    System.out.printf("%s: %dx%d, %d spp, %.2f s, %d rays, %.3f Mrays/s"
+		    + " -> %s%n", name, w.vp.hRes, w.vp.vRes, w.vp.numSamples,
+		    secs, rays, rays / secs / 1e6, out.getPath());
+	    return true;
+	} catch (ReflectiveOperationException | ClassCastException ex) {
+	    System.err.println(name + ": cannot load scene " + s.className
+		    + ": " + ex);
+	} catch (RuntimeException | LinkageError ex) {
+	    LOG.log(Level.SEVERE, name, ex);
+	} catch (InterruptedException ex) {
+	    Thread.currentThread().interrupt();
+	}
+	return false;
+    }
+
+    /**
+     * builds a scene and applies the command line overrides
+     *
+     * @param className
+     * @return the world, without overrides if it has no camera
+     * @throws ReflectiveOperationException
+     */
+    private World build(String className) throws
+	    ReflectiveOperationException {
+	World w = new World();
+	//the builds load their models through the context loader
+	Thread.currentThread().setContextClassLoader(loader);
+	BuildWorldFunction build = Class.forName(className, true, loader).
+		asSubclass(BuildWorldFunction.class).getDeclaredConstructor().
+		newInstance();
+	//every process builds the same sample tables and random placements, so
+	//workers' tiles and resumed checkpoints match
+	ThreadRandom.seedBuild();
+	build.build(w);
+	if (w.camera != null) {
+	    applyOverrides(w);
+	}
+	return w;
+    }
+
+    /**
+     * renders a built scene on the workers and saves it
+     *
+     * @param name
+     * @param s
+     * @param w the scene as the workers will build it
+     * @param image
+     * @param out
+     * @return true if the image was written
+     * @throws InterruptedException
+     */
+    private boolean renderOnWorkers(String name, Scene s, World w,
+	    ImageFileListener image, File out) throws InterruptedException {
+	if (w.vp.isAdaptive() || w.camera instanceof StereoCamera) {
+	    System.err.println(name + ": adaptive and stereo renders can't be"
+		    + " split between workers");
+	    return false;
+	}
+	FrameBuffer fb = new FrameBuffer(w.vp.hRes, w.vp.vRes, w.vp.toneMapper,
+		w.vp.gamma);
+	long start = System.nanoTime();
+	coordinator.render(s.className, sceneOptions, fb, Camera.
+		getScheduler().getTileSize(), image);
+	double secs = (System.nanoTime() - start) / 1e9;
+	if (image.error != null) {
+	    System.err.println(name + ": could not write " + out + ": "
+		    + image.error.getMessage());
+	    return false;
+	}
+	System.out.printf("%s: %dx%d, %d spp, %.2f s on workers -> %s%n", name,
+		w.vp.hRes, w.vp.vRes, w.vp.numSamples, secs, out.getPath());
+	return true;
+    }
+
+    /**
+     * renders tiles for the coordinator, a scene per connection, until it
+     * goes away.
+     *
+     * @return exit code
+     */
+    private int work() {
+	String at = workerHost + ":" + workerPort;
+	long giveUp = System.currentTimeMillis() + CONNECT_MILLIS;
+	int rendered = 0;
+	while (true) {
+	    RenderWorker worker;
+	    try {
+		worker = new RenderWorker(workerHost, workerPort);
+	    } catch (IOException ex) {
+		if (rendered > 0) {
+		    //the coordinator is done with its scenes
+		    System.out.println(rendered + " scenes rendered for " + at);
+		    return EXIT_OK;
+		}
+		if (System.currentTimeMillis() > giveUp) {
+		    System.err.println("cannot reach coordinator " + at + ": "
+			    + ex.getMessage());
+		    return EXIT_FAILED;
+		}
+		try {
+		    Thread.sleep(500);
+		} catch (InterruptedException ie) {
+		    return EXIT_FAILED;
+		}
+		continue;
+	    }
+	    try (RenderWorker rw = worker) {
+		//a fresh batch for the scene's options, loading from here
+		BatchRender job = new BatchRender();
+		job.loader = loader;
+		job.workerHost = workerHost;
+		job.parse(rw.options.toArray(new String[rw.options.size()]));
+		World w = job.build(rw.className);
+		if (w.camera == null) {
+		    System.err.println(rw.className + ": scene has no camera");
+		    return EXIT_FAILED;
+		}
+		w.setRenderListener(rw);
+		w.setTileSource(rw);
+		long start = System.nanoTime();
+		w.camera.multiThreadRenderScene(w);
+		if (rw.getError() != null) {
+		    System.err.println("lost coordinator " + at + ": " + rw.
+			    getError().getMessage());
+		    return EXIT_FAILED;
+		}
+		System.out.printf("%s: %.2f s, %d rays%n", rw.className,
+			(System.nanoTime() - start) / 1e9, w.getRayCount());
+		rendered++;
+	    } catch (ReflectiveOperationException | ClassCastException ex) {
+		System.err.println("cannot load scene " + worker.className
+			+ ": " + ex);
+		return EXIT_FAILED;
+	    } catch (IOException | RuntimeException | LinkageError ex) {
+		LOG.log(Level.SEVERE, worker.className, ex);
+		return EXIT_FAILED;
+	    }
+	}
+    }
+
+    /**
+     * applies the command line overrides to a built world
+     *
+     * @param w
+     */
+    private void applyOverrides(World w) {
+	if (hRes > 0) {
+	    //keep the field of view, as GenImages does
+	    double pH = (double) hRes / w.vp.hRes;
+	    double pV = (double) vRes / w.vp.vRes;
+	    w.vp.s /= pH < pV ? pH : pV;
+	    w.vp.hRes = hRes;
+	    w.vp.vRes = vRes;
+	}
+	if (samples > 0) {
+	    w.vp.setSamples(samples);
+	}
+	if (sampler != null) {
+	    w.vp.setSampler(makeSampler(sampler, w.vp.numSamples));
+	}
+	if (adaptive > 0) {
+	    w.vp.setAdaptive(adaptive, w.vp.adaptiveMinSamples);
+	}
+	if (depth >= 0) {
+	    w.vp.maxDepth = depth;
+	}
+	if (textureFiltering != null) {
+	    w.vp.setTextureFiltering(textureFiltering);
+	}
+    }
+
+    /**
+     * makes a pixel sampler by name
+     *
+     * @param name
+     * @param n samples per pixel
+     * @return
+     * @throws IllegalArgumentException for an unknown name
+     */
+    private static Sampler makeSampler(String name, int n) {
+	switch (name) {
+	    case "multijittered":
+		return new MultiJittered(n);
+	    case "jittered":
+		return new Jittered(n);
+	    case "sobol":
+		return new Sobol(n);
+	    case "halton":
+		return new Halton(n);
+	    case "pmj02":
+		return new PMJ02(n);
+	    default:
+		throw new IllegalArgumentException("unknown sampler " + name);
+	}
+    }
+
+    /**
+     * scene to render
+     */
+    private static class Scene {
+
+	final String className;
+
+	/**
+	 * null for the default name in the output directory
+	 */
+	final File output;
+
+	Scene(String className, File output) {
+	    this.className = className;
+	    this.output = output;
+	}
+
+    }
+
+    /**
+     * writes the render's frame buffer to an image file when the render
+     * finishes, and every so often during the render if asked to. pixels are
+     * only converted when the image is written, finished tiles aren't copied
+     * anywhere.
+     */
+    static class ImageFileListener implements RenderListener {
+
+	private final File file;
+
+	private final long intervalMillis;
+
+	private final AtomicLong nextWrite = new AtomicLong();
+
+	private BufferedImage image;
+
+	/**
+	 * frame buffer of the render, known from the first finished tile
+	 */
+	private volatile FrameBuffer frameBuffer;
+
+	/**
+	 * set if the final write failed
+	 */
+	IOException error;
+
+	ImageFileListener(File file, long intervalMillis) {
+	    this.file = file;
+	    this.intervalMillis = intervalMillis;
+	}
+
+	@Override
+	public synchronized void renderStarting(int width, int height) {
+	    if (!HdrWriter.isHdrFormat(format())) {
+		image = new BufferedImage(width, height,
+			BufferedImage.TYPE_INT_RGB);
+	    }
+	    nextWrite.set(System.currentTimeMillis() + intervalMillis);
+	}
+
+	@Override
+	public void newTile(FrameBuffer fb, int x, int y, int width,
+		int height) {
+	    frameBuffer = fb;
+	}
+
+	@Override
+	public void progress(double progress) {
+	    if (intervalMillis <= 0) {
+		return;
+	    }
+	    long now = System.currentTimeMillis();
+	    long next = nextWrite.get();
+	    //only the thread that moves the deadline writes
+	    if (now >= next && nextWrite.compareAndSet(next, now
+		    + intervalMillis)) {
+		try {
+		    write();
+		} catch (IOException ex) {
+		    LOG.log(Level.WARNING, file.getPath(), ex);
+		}
+	    }
+	}
+
+	@Override
+	public void renderFinished() {
+	    try {
+		write();
+	    } catch (IOException ex) {
+		error = ex;
+	    }
+	}
+
+	/**
+	 * image format from the file name
+	 *
+	 * @return
+	 */
+	private String format() {
+	    String name = file.getName();
+	    return name.substring(name.lastIndexOf('.') + 1);
+	}
+
+	/**
+	 * writes to a temporary file and renames it, so a reader never sees a
+	 * half written image.
+	 */
+	private synchronized void write() throws IOException {
+	    File dir = file.getAbsoluteFile().getParentFile();
+	    if (dir != null && !dir.exists() && !dir.mkdirs()) {
+		throw new IOException("cannot create " + dir);
+	    }
+	    String name = file.getName();
+	    String fmt = format();
+	    File tmp = new File(dir, "." + name + ".tmp");
+	    FrameBuffer fb = frameBuffer;
+	    if (HdrWriter.isHdrFormat(fmt)) {
+		if (fb == null) {
+		    //nothing rendered yet
+		    return;
+		}
+		HdrWriter.write(fb, fmt, tmp);
+	    } else if (fb != null) {
+		//the whole image at once, straight into the raster
+		int[] rgb = ((DataBufferInt) image.getRaster().getDataBuffer()).
+			getData();
+		fb.getRGB(0, 0, fb.width, fb.height, rgb, 0, fb.width);
+	    }
+	    if (!HdrWriter.isHdrFormat(fmt) && !ImageIO.write(image, fmt, tmp)) {
+		tmp.delete();
+		throw new IOException("no writer for format " + fmt);
+	    }
+	    if (!tmp.renameTo(file)) {
+		file.delete();
+		if (!tmp.renameTo(file)) {
+		    throw new IOException("cannot rename " + tmp);
+		}
+	    }
+	}
+
+    }
+
+    private static final Logger LOG
+	    = Logger.getLogger(BatchRender.class.getName());
+
+}
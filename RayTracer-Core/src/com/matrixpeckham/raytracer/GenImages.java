@@ -19,6 +19,7 @@ package com.matrixpeckham.raytracer;
 
 import com.matrixpeckham.raytracer.build.BuildFigure16_multi_tracer;
 import com.matrixpeckham.raytracer.cameras.Camera;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
 import com.matrixpeckham.raytracer.world.BuildWorldFunction;
 import com.matrixpeckham.raytracer.world.World;
 import java.awt.image.BufferedImage;
@@ -98,6 +99,7 @@ public class GenImages {
 	    try {
 		World w = new World();
 		BuildWorldFunction bwf = cls.newInstance();
+		ThreadRandom.seedBuild();
 		bwf.build(w);
 		String name = bwf.getClass().getName();
 		name = name.replaceAll("\\.", "/");
@@ -135,14 +137,25 @@ public class GenImages {
 
 	int counter = 0;
 
+	/**
+	 * format to also save the unmapped image in, from the raytracer.hdr
+	 * property, hdr exr or pfm, null for png only
+	 */
+	final String hdrFormat = System.getProperty("raytracer.hdr");
+
+	FrameBuffer frameBuffer;
+
 	public CreateFileRnderListener(String fname) {
 	    filename = fname;
 	}
 
 	@Override
-	public void newPixel(RenderPixel pix) {
+	public void newTile(FrameBuffer fb, int x, int y, int width,
+		int height) {
+	    int[] rgb = fb.getRGB(x, y, width, height, null, 0, width);
 	    synchronized (this) {
-		image.setRGB(pix.x, pix.y, pix.color);
+		frameBuffer = fb;
+		image.setRGB(x, y, width, height, rgb, 0, width);
 	    }
 	}
 
@@ -171,6 +184,11 @@ public class GenImages {
 		System.out.println("saving file:" + file.getAbsolutePath());
 		try {
 		    ImageIO.write(image, "PNG", file);
+		    if (hdrFormat != null && frameBuffer != null) {
+			HdrWriter.write(frameBuffer, hdrFormat, new File(
+				filename.substring(0, filename.lastIndexOf('.'))
+				+ "." + hdrFormat));
+		    }
 		} catch (IOException ex) {
 		    Logger.getLogger(GenImages.class.getName()).
 			    log(Level.SEVERE, null, ex);
@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Logger;
+
+/**
+ * Writes the unmapped radiance in a frame buffer to high dynamic range image
+ * files, so renders can be tone mapped again or composited without rendering
+ * them again. Supported formats are Radiance RGBE (hdr), uncompressed half
+ * float OpenEXR (exr) and portable float map (pfm). Images are written a
+ * scanline at a time, only one row is ever copied out of the frame buffer.
+ *
+ * @author William Matrix Peckham
+ */
+public final class HdrWriter {
+
+    /**
+     * checks if format is one of the formats this writes.
+     *
+     * @param format file extension, any case
+     * @return
+     */
+    public static boolean isHdrFormat(String format) {
+        switch (format.toLowerCase()) {
+            case "hdr":
+            case "exr":
+            case "pfm":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * writes fb to file in the given format.
+     *
+     * @param fb
+     * @param format hdr, exr or pfm
+     * @param file
+     * @throws IOException
+     */
+    public static void write(FrameBuffer fb, String format, File file) throws
+            IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(
+                file), 1 << 16)) {
+            switch (format.toLowerCase()) {
+                case "hdr":
+                    writeRadiance(fb, out);
+                    break;
+                case "exr":
+                    writeExr(fb, out);
+                    break;
+                case "pfm":
+                    writePfm(fb, out);
+                    break;
+                default:
+                    throw new IOException("not an hdr format " + format);
+            }
+        }
+    }
+
+    /**
+     * writes a Radiance RGBE image, run length encoded when the width allows.
+     *
+     * @param fb
+     * @param out
+     * @throws IOException
+     */
+    public static void writeRadiance(FrameBuffer fb, OutputStream out) throws
+            IOException {
+        int w = fb.width;
+        out.write(("#?RADIANCE\nFORMAT=32-bit_rle_rgbe\n\n-Y " + fb.height
+                + " +X " + w + "\n").getBytes(StandardCharsets.US_ASCII));
+        float[] row = new float[3 * w];
+        //components in separate planes for the run length encoding
+        byte[] rgbe = new byte[4 * w];
+        boolean rle = w >= 8 && w < 0x8000;
+        for (int y = 0; y < fb.height; y++) {
+            fb.getRow(y, row);
+            for (int x = 0; x < w; x++) {
+                toRGBE(row[3 * x], row[3 * x + 1], row[3 * x + 2], rgbe, x, w);
+            }
+            if (rle) {
+                out.write(2);
+                out.write(2);
+                out.write(w >> 8);
+                out.write(w & 0xff);
+                for (int k = 0; k < 4; k++) {
+                    writeRun(rgbe, k * w, w, out);
+                }
+            } else {
+                for (int x = 0; x < w; x++) {
+                    for (int k = 0; k < 4; k++) {
+                        out.write(rgbe[k * w + x]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * converts a color to shared exponent form, stored at out[x], out[x +
+     * stride], out[x + 2 * stride] and out[x + 3 * stride]. negative values are
+     * clamped to zero.
+     *
+     * @param r
+     * @param g
+     * @param b
+     * @param out
+     * @param x
+     * @param stride
+     */
+    private static void toRGBE(float r, float g, float b, byte[] out, int x,
+            int stride) {
+        //the comparisons also send NaN to zero
+        r = r > 0 ? r : 0;
+        g = g > 0 ? g : 0;
+        b = b > 0 ? b : 0;
+        float v = Math.max(r, Math.max(g, b));
+        if (v < 1e-32f) {
+            out[x] = out[x + stride] = out[x + 2 * stride] = out[x + 3
+                    * stride] = 0;
+            return;
+        }
+        //v = m * 2^e with m in [0.5, 1)
+        int e = Math.getExponent(v) + 1;
+        double scale = Math.scalb(256.0, -e);
+        out[x] = (byte) Math.min(255, (int) (r * scale));
+        out[x + stride] = (byte) Math.min(255, (int) (g * scale));
+        out[x + 2 * stride] = (byte) Math.min(255, (int) (b * scale));
+        out[x + 3 * stride] = (byte) (e + 128);
+    }
+
+    /**
+     * run length encodes one component of a scanline, runs of four or more
+     * equal bytes are written as runs, everything else as literal dumps. the
+     * scheme from Bruce Walter's rgbe.c.
+     *
+     * @param data
+     * @param off
+     * @param len
+     * @param out
+     * @throws IOException
+     */
+    private static void writeRun(byte[] data, int off, int len,
+            OutputStream out) throws IOException {
+        int cur = 0;
+        while (cur < len) {
+            int begRun = cur;
+            int runCount = 0;
+            int oldRunCount = 0;
+            //find the next run of at least 4
+            while (runCount < 4 && begRun < len) {
+                begRun += runCount;
+                oldRunCount = runCount;
+                runCount = 1;
+                while (begRun + runCount < len && runCount < 127
+                        && data[off + begRun] == data[off + begRun + runCount]) {
+                    runCount++;
+                }
+            }
+            //a short run right before the long one is cheaper as a run
+            if (oldRunCount > 1 && oldRunCount == begRun - cur) {
+                out.write(128 + oldRunCount);
+                out.write(data[off + cur]);
+                cur = begRun;
+            }
+            while (cur < begRun) {
+                int dump = Math.min(128, begRun - cur);
+                out.write(dump);
+                out.write(data, off + cur, dump);
+                cur += dump;
+            }
+            if (runCount >= 4) {
+                out.write(128 + runCount);
+                out.write(data[off + begRun]);
+                cur += runCount;
+            }
+        }
+    }
+
+    /**
+     * writes a scanline OpenEXR image with half float B, G and R channels and
+     * no compression, one scanline per block.
+     *
+     * @param fb
+     * @param out
+     * @throws IOException
+     */
+    public static void writeExr(FrameBuffer fb, OutputStream out) throws
+            IOException {
+        int w = fb.width;
+        int h = fb.height;
+        ByteBuffer header = ByteBuffer.allocate(512).order(
+                ByteOrder.LITTLE_ENDIAN);
+        header.putInt(20000630);//magic number
+        header.putInt(2);//version 2, single part scanline
+        putAttribute(header, "channels", "chlist", 3 * 18 + 1);
+        //channels are sorted by name
+        for (String c : new String[]{"B", "G", "R"}) {
+            putString(header, c);
+            header.putInt(1);//half
+            header.putInt(0);//pLinear and reserved
+            header.putInt(1);//x sampling
+            header.putInt(1);//y sampling
+        }
+        header.put((byte) 0);
+        putAttribute(header, "compression", "compression", 1);
+        header.put((byte) 0);//none
+        putAttribute(header, "dataWindow", "box2i", 16);
+        header.putInt(0).putInt(0).putInt(w - 1).putInt(h - 1);
+        putAttribute(header, "displayWindow", "box2i", 16);
+        header.putInt(0).putInt(0).putInt(w - 1).putInt(h - 1);
+        putAttribute(header, "lineOrder", "lineOrder", 1);
+        header.put((byte) 0);//increasing y
+        putAttribute(header, "pixelAspectRatio", "float", 4);
+        header.putFloat(1);
+        putAttribute(header, "screenWindowCenter", "v2f", 8);
+        header.putFloat(0).putFloat(0);
+        putAttribute(header, "screenWindowWidth", "float", 4);
+        header.putFloat(1);
+        header.put((byte) 0);
+        out.write(header.array(), 0, header.position());
+
+        //offset table, every block is the same size so it's known up front
+        int dataSize = 3 * 2 * w;
+        long blockSize = 8 + dataSize;
+        long first = header.position() + 8L * h;
+        ByteBuffer line = ByteBuffer.allocate((int) Math.max(blockSize, 8)).
+                order(ByteOrder.LITTLE_ENDIAN);
+        for (int y = 0; y < h; y++) {
+            line.clear();
+            line.putLong(first + y * blockSize);
+            out.write(line.array(), 0, 8);
+        }
+
+        float[] row = new float[3 * w];
+        for (int y = 0; y < h; y++) {
+            fb.getRow(y, row);
+            line.clear();
+            line.putInt(y);
+            line.putInt(dataSize);
+            for (int k = 2; k >= 0; k--) {
+                for (int x = 0; x < w; x++) {
+                    line.putShort((short) toHalf(row[3 * x + k]));
+                }
+            }
+            out.write(line.array(), 0, line.position());
+        }
+    }
+
+    /**
+     * writes an OpenEXR attribute's name, type and size, the value follows.
+     *
+     * @param b
+     * @param name
+     * @param type
+     * @param size
+     */
+    private static void putAttribute(ByteBuffer b, String name, String type,
+            int size) {
+        putString(b, name);
+        putString(b, type);
+        b.putInt(size);
+    }
+
+    /**
+     * writes a null terminated string
+     *
+     * @param b
+     * @param s
+     */
+    private static void putString(ByteBuffer b, String s) {
+        b.put(s.getBytes(StandardCharsets.US_ASCII));
+        b.put((byte) 0);
+    }
+
+    /**
+     * converts a float to IEEE half precision bits, rounding to nearest even.
+     * values too big for a half become infinity.
+     *
+     * @param f
+     * @return
+     */
+    static int toHalf(float f) {
+        int bits = Float.floatToIntBits(f);
+        int sign = (bits >>> 16) & 0x8000;
+        int val = bits & 0x7fffffff;
+        if (val >= 0x7f800000) {
+            //infinity, or a quiet NaN
+            return sign | 0x7c00 | (val > 0x7f800000 ? 0x200 : 0);
+        }
+        if (val >= 0x477ff000) {
+            //rounds to more than the largest half
+            return sign | 0x7c00;
+        }
+        if (val < 0x38800000) {
+            //subnormal, in units of 2^-24, rounding up to 1024 gives the
+            //smallest normal half
+            return sign | (int) Math.rint(Math.abs(f) * 0x1p24);
+        }
+        //rebias the exponent from 127 to 15 and round away 13 mantissa bits
+        return sign | (val - 0x38000000 + 0xfff + ((val >> 13) & 1)) >> 13;
+    }
+
+    /**
+     * writes a little endian portable float map, rows bottom to top.
+     *
+     * @param fb
+     * @param out
+     * @throws IOException
+     */
+    public static void writePfm(FrameBuffer fb, OutputStream out) throws
+            IOException {
+        int w = fb.width;
+        out.write(("PF\n" + w + " " + fb.height + "\n-1.0\n").getBytes(
+                StandardCharsets.US_ASCII));
+        float[] row = new float[3 * w];
+        ByteBuffer line = ByteBuffer.allocate(4 * row.length).order(
+                ByteOrder.LITTLE_ENDIAN);
+        for (int y = fb.height - 1; y >= 0; y--) {
+            fb.getRow(y, row);
+            line.clear();
+            line.asFloatBuffer().put(row);
+            out.write(line.array());
+        }
+    }
+
+    private HdrWriter() {
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(HdrWriter.class.getName());
+
+}
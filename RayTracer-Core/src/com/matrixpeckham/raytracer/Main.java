@@ -17,6 +17,7 @@
  */
 package com.matrixpeckham.raytracer;
 
+import com.matrixpeckham.raytracer.util.ThreadRandom;
 import com.matrixpeckham.raytracer.world.BuildWorldFunction;
 import com.matrixpeckham.raytracer.world.World;
 import java.awt.BorderLayout;
@@ -136,9 +137,14 @@ public class Main extends JFrame implements ActionListener, RenderListener {
      */
     ImageViewComponent imageComponent;
 
-    private final transient BlockingQueue<RenderPixel> queue
+    private final transient BlockingQueue<RenderTile> queue
 	    = new LinkedBlockingQueue<>();
 
+    /**
+     * frame buffer of the last render, for saving the unmapped image.
+     */
+    private transient volatile FrameBuffer frameBuffer = null;
+
     /**
      * Swing timer for updating the image often.
      */
@@ -268,12 +274,15 @@ public class Main extends JFrame implements ActionListener, RenderListener {
     }
 
     @Override
-    public void newPixel(RenderPixel pixel) {
-	//this can be called from any
-	//using our blocking queue we transfer the pixel to the gui thread
+    public void newTile(FrameBuffer fb, int x, int y, int width, int height) {
+	//this can be called from any thread, convert the tile here so the gui
+	//thread only copies it, then transfer it with our blocking queue
+	frameBuffer = fb;
+	RenderTile tile = new RenderTile(x, y, width, height, fb.getRGB(x, y,
+		width, height, null, 0, width));
 	boolean accepted;
 	do {
-	    accepted = queue.offer(pixel);
+	    accepted = queue.offer(tile);
 	} while (!accepted);
     }
 
@@ -299,7 +308,8 @@ public class Main extends JFrame implements ActionListener, RenderListener {
 	//create a new world
 	World w = new World();
 	statusBar.setText("Building World...");
-	//generate the world
+	//generate the world, the same way every time
+	ThreadRandom.seedBuild();
 	builder.build(w);
 	//world needs a reference to the render queue
 	w.setRenderListener(this);
@@ -376,7 +386,9 @@ public class Main extends JFrame implements ActionListener, RenderListener {
     }
 
     /**
-     * simply saves the image to a file.
+     * simply saves the image to a file. hdr, exr and pfm files get the last
+     * render's radiance before tone mapping, anything else is a png of the
+     * image shown.
      */
     public void save() {
 	JFileChooser chooser = new JFileChooser();
@@ -384,8 +396,16 @@ public class Main extends JFrame implements ActionListener, RenderListener {
 	if (b == JFileChooser.APPROVE_OPTION) {
 	    try {
 		File f = chooser.getSelectedFile();
-		ImageIO.write(image, "PNG", f);
+		String name = f.getName();
+		String fmt = name.substring(name.lastIndexOf('.') + 1);
+		FrameBuffer fb = frameBuffer;
+		if (fb != null && HdrWriter.isHdrFormat(fmt)) {
+		    HdrWriter.write(fb, fmt, f);
+		} else {
+		    ImageIO.write(image, "PNG", f);
+		}
 	    } catch (IOException ex) {
+		LOG.log(Level.WARNING, null, ex);
 	    }
 	}
     }
@@ -420,9 +440,10 @@ public class Main extends JFrame implements ActionListener, RenderListener {
 	long s = System.currentTimeMillis();
 	while (!queue.isEmpty() && System.currentTimeMillis() - s < 30) {
 	    try {
-		RenderPixel pix = queue.take();
-		image.setRGB(pix.x, pix.y, pix.color);
-		pixelsRendered++;
+		RenderTile tile = queue.take();
+		image.setRGB(tile.x, tile.y, tile.width, tile.height,
+			tile.rgb, 0, tile.width);
+		pixelsRendered += tile.width * tile.height;
 	    } catch (InterruptedException ex) {
 	    }
 	}
@@ -455,6 +476,29 @@ public class Main extends JFrame implements ActionListener, RenderListener {
 	imageComponent.repaint();
     }
 
+    //finished block of pixels on its way to the gui thread
+    static class RenderTile {
+
+	final int x;
+
+	final int y;
+
+	final int width;
+
+	final int height;
+
+	final int[] rgb;
+
+	RenderTile(int x, int y, int width, int height, int[] rgb) {
+	    this.x = x;
+	    this.y = y;
+	    this.width = width;
+	    this.height = height;
+	    this.rgb = rgb;
+	}
+
+    }
+
     //class for either a treemap or a class, inner or leaf nodes of a tree
     static class TreeOrClass {
 
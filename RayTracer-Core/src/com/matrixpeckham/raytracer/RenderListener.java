@@ -33,12 +33,18 @@ public interface RenderListener {
     public void renderStarting(int width, int height);
 
     /**
-     * Called each time a pixel is finished, must be thread safe, as it may be
-     * called by several threads.
+     * Called each time a block of pixels is finished, with the frame buffer
+     * they were written to. Must be thread safe, as it may be called by
+     * several threads at once for different blocks. The block's pixels may be
+     * read with fb.getRGB(), pixels outside it may still be changing.
      *
-     * @param pixel
+     * @param fb image being rendered
+     * @param x left of the block
+     * @param y top of the block
+     * @param width width of the block
+     * @param height height of the block
      */
-    public void newPixel(RenderPixel pixel);
+    public void newTile(FrameBuffer fb, int x, int y, int width, int height);
 
     /**
      * called periodically, should be used to update user on progress.
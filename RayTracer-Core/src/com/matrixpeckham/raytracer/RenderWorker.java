@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer;
+
+import com.matrixpeckham.raytracer.cameras.TileScheduler;
+import com.matrixpeckham.raytracer.util.RGBColor;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Worker end of a connection to a RenderCoordinator, for one scene. It is the
+ * tile source and render listener of the worker's world: the render threads
+ * ask it for tiles, which it asks the coordinator for, and finished tiles are
+ * sent straight back. See RenderCoordinator for the protocol.
+ *
+ * @author William Matrix Peckham
+ */
+public class RenderWorker implements RenderListener, TileScheduler.TileSource,
+	Closeable {
+
+    /**
+     * time to wait before asking again when told to wait
+     */
+    private static final long WAIT_MILLIS = 100;
+
+    /**
+     * time to wait for the coordinator to answer a request, it answers at
+     * once unless it has hung
+     */
+    private static final int REPLY_MILLIS = 60_000;
+
+    private final Socket socket;
+
+    private final DataInputStream in;
+
+    /**
+     * written by several render threads, locked
+     */
+    private final DataOutputStream out;
+
+    /**
+     * held for a whole request and its answer
+     */
+    private final Object requestLock = new Object();
+
+    /**
+     * scene to build
+     */
+    public final String className;
+
+    /**
+     * BatchRender options to apply to the scene
+     */
+    public final List<String> options = new ArrayList<>();
+
+    /**
+     * set if the connection failed, the render stops early
+     */
+    private volatile IOException error = null;
+
+    /**
+     * connects and reads the scene to render.
+     *
+     * @param host
+     * @param port
+     * @throws IOException if the connection fails or isn't to a coordinator
+     */
+    public RenderWorker(String host, int port) throws IOException {
+	socket = new Socket(host, port);
+	try {
+	    socket.setTcpNoDelay(true);
+	    in = new DataInputStream(new BufferedInputStream(socket.
+		    getInputStream()));
+	    out = new DataOutputStream(new BufferedOutputStream(socket.
+		    getOutputStream(), 1 << 16));
+	    if (in.readInt() != RenderCoordinator.MAGIC) {
+		throw new IOException("not a render coordinator");
+	    }
+	    className = in.readUTF();
+	    int n = in.readInt();
+	    for (int i = 0; i < n; i++) {
+		options.add(in.readUTF());
+	    }
+	    //no timeout before this, the coordinator only answers once it has a
+	    //scene to render
+	    socket.setSoTimeout(REPLY_MILLIS);
+	} catch (IOException ex) {
+	    socket.close();
+	    throw ex;
+	}
+    }
+
+    /**
+     * gets the error that stopped the render early
+     *
+     * @return null if there wasn't one
+     */
+    public IOException getError() {
+	return error;
+    }
+
+    @Override
+    public boolean nextTile(int[] tile) {
+	synchronized (requestLock) {
+	    try {
+		while (error == null) {
+		    synchronized (out) {
+			out.writeByte(RenderCoordinator.REQUEST);
+			out.flush();
+		    }
+		    int type = in.readByte();
+		    if (type == RenderCoordinator.DONE) {
+			return false;
+		    }
+		    if (type == RenderCoordinator.TILE) {
+			for (int i = 0; i < 4; i++) {
+			    tile[i] = in.readInt();
+			}
+			return true;
+		    }
+		    if (type != RenderCoordinator.WAIT) {
+			throw new IOException("bad message " + type);
+		    }
+		    Thread.sleep(WAIT_MILLIS);
+		}
+	    } catch (IOException ex) {
+		error = ex;
+	    } catch (InterruptedException ex) {
+		Thread.currentThread().interrupt();
+	    }
+	    return false;
+	}
+    }
+
+    @Override
+    public void newTile(FrameBuffer fb, int x, int y, int width, int height) {
+	ByteBuffer buf = ByteBuffer.allocate(17 + 12 * width * height);
+	buf.put((byte) RenderCoordinator.RESULT);
+	buf.putInt(x).putInt(y).putInt(width).putInt(height);
+	RGBColor c = new RGBColor();
+	for (int py = y; py < y + height; py++) {
+	    for (int px = x; px < x + width; px++) {
+		fb.getPixel(px, py, c);
+		buf.putFloat((float) c.r).putFloat((float) c.g).putFloat(
+			(float) c.b);
+	    }
+	}
+	try {
+	    synchronized (out) {
+		out.write(buf.array());
+		out.flush();
+	    }
+	} catch (IOException ex) {
+	    error = ex;
+	}
+    }
+
+    @Override
+    public void renderStarting(int width, int height) {
+    }
+
+    @Override
+    public void progress(double progress) {
+    }
+
+    @Override
+    public void renderFinished() {
+    }
+
+    @Override
+    public void close() throws IOException {
+	socket.close();
+    }
+
+    private static final Logger LOG
+	    = Logger.getLogger(RenderWorker.class.getName());
+
+}
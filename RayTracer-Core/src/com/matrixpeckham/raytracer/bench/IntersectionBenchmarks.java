@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.bench;
+
+import com.matrixpeckham.raytracer.geometricobjects.GeometricObject;
+import com.matrixpeckham.raytracer.geometricobjects.compound.TriangleMesh;
+import com.matrixpeckham.raytracer.geometricobjects.primitives.Sphere;
+import com.matrixpeckham.raytracer.geometricobjects.primitives.Torus;
+import com.matrixpeckham.raytracer.geometricobjects.triangles.Triangle;
+import com.matrixpeckham.raytracer.util.BBox;
+import com.matrixpeckham.raytracer.util.DoubleRef;
+import com.matrixpeckham.raytracer.util.Mesh;
+import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ShadeRec;
+import com.matrixpeckham.raytracer.util.Utility;
+import com.matrixpeckham.raytracer.world.World;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Ray/object intersection benchmarks: hit() on single primitives, and hit()
+ * and shadowHit() through the grid of the bundled ply models.
+ *
+ * @author William Matrix Peckham
+ */
+public class IntersectionBenchmarks {
+
+    /**
+     * rays cycled through by each benchmark
+     */
+    static final int NUM_RAYS = 4096;
+
+    /**
+     * model directory on the classpath
+     */
+    private static final String MODELS = "resources/Models/";
+
+    /**
+     * all the intersection benchmarks
+     *
+     * @return
+     */
+    public static List<MicroBenchmark> create() {
+        List<MicroBenchmark> list = new ArrayList<>();
+        list.add(new HitBenchmark("Sphere.hit") {
+            @Override
+            GeometricObject build() {
+                return new Sphere(new Point3D(0), 1);
+            }
+        });
+        list.add(new HitBenchmark("Triangle.hit") {
+            @Override
+            GeometricObject build() {
+                return new Triangle(new Point3D(-1, -1, 0), new Point3D(1, -1,
+                        0), new Point3D(0, 1, 0.5));
+            }
+        });
+        list.add(new HitBenchmark("Torus.hit") {
+            @Override
+            GeometricObject build() {
+                return new Torus(1, 0.3);
+            }
+        });
+        list.add(new HitBenchmark("Grid.hit Horse2K") {
+            @Override
+            GeometricObject build() throws IOException {
+                return loadMesh("Horse2K.ply");
+            }
+        });
+        list.add(new ShadowHitBenchmark("Grid.shadowHit Horse2K") {
+            @Override
+            GeometricObject build() throws IOException {
+                return loadMesh("Horse2K.ply");
+            }
+        });
+        list.add(new HitBenchmark("Grid.hit Bunny16K") {
+            @Override
+            GeometricObject build() throws IOException {
+                return loadMesh("Stanford Bunny/Bunny16K.ply");
+            }
+        });
+        list.add(new ShadowHitBenchmark("Grid.shadowHit Bunny16K") {
+            @Override
+            GeometricObject build() throws IOException {
+                return loadMesh("Stanford Bunny/Bunny16K.ply");
+            }
+        });
+        list.add(new HitBenchmark("Packed.hit Bunny16K") {
+            @Override
+            GeometricObject build() throws IOException {
+                return loadMesh("Stanford Bunny/Bunny16K.ply", true);
+            }
+        });
+        list.add(new ShadowHitBenchmark("Packed.shadowHit Bunny16K") {
+            @Override
+            GeometricObject build() throws IOException {
+                return loadMesh("Stanford Bunny/Bunny16K.ply", true);
+            }
+        });
+        return list;
+    }
+
+    /**
+     * loads a smooth shaded mesh from the models directory the same way the
+     * book builds do.
+     *
+     * @param name
+     * @return
+     * @throws IOException
+     */
+    static TriangleMesh loadMesh(String name) throws IOException {
+        return loadMesh(name, false);
+    }
+
+    /**
+     * loads a smooth shaded mesh from the models directory, optionally in the
+     * mesh's packed mode.
+     *
+     * @param name
+     * @param packed
+     * @return
+     * @throws IOException
+     */
+    static TriangleMesh loadMesh(String name, boolean packed) throws
+            IOException {
+        InputStream in = Thread.currentThread().getContextClassLoader().
+                getResourceAsStream(MODELS + name);
+        if (in == null) {
+            throw new FileNotFoundException(MODELS + name);
+        }
+        TriangleMesh mesh = new TriangleMesh(new Mesh());
+        mesh.setPacked(packed);
+        try {
+            mesh.readSmoothTriangles(in);
+        } finally {
+            in.close();
+        }
+        mesh.setupCells();
+        return mesh;
+    }
+
+    /**
+     * rays starting outside the box and aimed at random points inside it, so
+     * most of them hit whatever the box bounds. Always the same rays.
+     *
+     * @param box
+     * @param num
+     * @return
+     */
+    static Ray[] aimedRays(BBox box, int num) {
+        Utility.setRandSeed(1234);
+        Point3D center = new Point3D((box.x0 + box.x1) / 2, (box.y0 + box.y1)
+                / 2, (box.z0 + box.z1) / 2);
+        double dist = 2 * Math.sqrt((box.x1 - box.x0) * (box.x1 - box.x0)
+                + (box.y1 - box.y0) * (box.y1 - box.y0) + (box.z1 - box.z0)
+                * (box.z1 - box.z0));
+        Ray[] rays = new Ray[num];
+        for (int i = 0; i < num; i++) {
+            Ray r = new Ray();
+            r.d.setTo(Utility.randDouble() - 0.5, Utility.randDouble() - 0.5,
+                    Utility.randDouble() - 0.5);
+            r.d.normalize();
+            r.o.setTo(center).scaleAdd(dist, r.d);
+            Point3D target = new Point3D(
+                    box.x0 + Utility.randDouble() * (box.x1 - box.x0),
+                    box.y0 + Utility.randDouble() * (box.y1 - box.y0),
+                    box.z0 + Utility.randDouble() * (box.z1 - box.z0));
+            Point3D.sub(target, r.o, r.d);
+            r.d.normalize();
+            rays[i] = r;
+        }
+        return rays;
+    }
+
+    /**
+     * times hit() on one object
+     */
+    abstract static class HitBenchmark extends MicroBenchmark {
+
+        GeometricObject obj;
+
+        Ray[] rays;
+
+        ShadeRec sr;
+
+        HitBenchmark(String name) {
+            super(name);
+        }
+
+        abstract GeometricObject build() throws IOException;
+
+        @Override
+        public void setup() throws Exception {
+            obj = build();
+            rays = aimedRays(obj.getBoundingBox(), NUM_RAYS);
+            sr = new ShadeRec(new World());
+        }
+
+        @Override
+        public double run(int ops) {
+            double sum = 0;
+            for (int i = 0; i < ops; i++) {
+                sr.lastT = Utility.HUGE_VALUE;
+                if (obj.hit(rays[i & (NUM_RAYS - 1)], sr)) {
+                    sum += sr.lastT;
+                }
+            }
+            return sum;
+        }
+
+    }
+
+    /**
+     * times shadowHit() on one object
+     */
+    abstract static class ShadowHitBenchmark extends HitBenchmark {
+
+        final DoubleRef t = new DoubleRef();
+
+        ShadowHitBenchmark(String name) {
+            super(name);
+        }
+
+        @Override
+        public double run(int ops) {
+            double sum = 0;
+            for (int i = 0; i < ops; i++) {
+                if (obj.shadowHit(rays[i & (NUM_RAYS - 1)], t)) {
+                    sum += t.d;
+                }
+            }
+            return sum;
+        }
+
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(IntersectionBenchmarks.class.getName());
+
+}
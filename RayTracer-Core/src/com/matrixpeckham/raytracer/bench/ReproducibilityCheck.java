@@ -0,0 +1,368 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.bench;
+
+import com.matrixpeckham.raytracer.BatchRender;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Checks that renders are reproducible. Each scene is rendered by BatchRender,
+ * in a process of its own, with one render thread and then with several, and
+ * the two pfm files have to be the same byte for byte. Since every render is
+ * a new process the scene is built again each time, so this also checks that
+ * builds draw the same sample tables. With -workers each scene is also
+ * rendered on a render farm of that many worker processes on this machine,
+ * which has to give the same image as a local render. With -resume each scene
+ * is also rendered with a checkpoint, killed part way through and run again,
+ * which has to give the same image as a render that wasn't interrupted. The
+ * renders are left in a temporary directory. Exits with status 1 if any scene
+ * differs or fails to render.
+ *
+ * usage: ReproducibilityCheck [-threads n] [-workers n] [-resume] [-size WxH]
+ * [-spp n] [-sampler type] [-depth n] class ...
+ *
+ * @author William Matrix Peckham
+ */
+public class ReproducibilityCheck {
+
+    /**
+     * where the renders go
+     */
+    private final File dir;
+
+    /**
+     * BatchRender options every render gets
+     */
+    private final List<String> options;
+
+    private int runs = 0;
+
+    /**
+     * initializing constructor
+     *
+     * @param options BatchRender options for every render
+     * @throws IOException if the temporary directory can't be made
+     */
+    public ReproducibilityCheck(List<String> options) throws IOException {
+        this.options = options;
+        dir = Files.createTempDirectory("reproducibility").toFile();
+    }
+
+    /**
+     * entry point
+     *
+     * @param args
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public static void main(String[] args) throws IOException,
+            InterruptedException {
+        int threads = 4;
+        int workers = 0;
+        boolean resume = false;
+        List<String> options = new ArrayList<>();
+        List<String> scenes = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "-workers":
+                    workers = Integer.parseInt(args[++i]);
+                    break;
+                case "-resume":
+                    resume = true;
+                    break;
+                case "-size":
+                case "-spp":
+                case "-sampler":
+                case "-depth":
+                    options.add(args[i]);
+                    options.add(args[++i]);
+                    break;
+                default:
+                    if (args[i].startsWith("-")) {
+                        throw new IllegalArgumentException("unknown option "
+                                + args[i]);
+                    }
+                    scenes.add(args[i]);
+            }
+        }
+        if (scenes.isEmpty()) {
+            throw new IllegalArgumentException("no scenes given");
+        }
+        ReproducibilityCheck check = new ReproducibilityCheck(options);
+        System.out.println("renders in " + check.dir);
+        boolean ok = true;
+        for (String scene : scenes) {
+            ok &= check.threads(scene, threads);
+            if (workers > 0) {
+                ok &= check.farm(scene, workers);
+            }
+            if (resume) {
+                ok &= check.resume(scene);
+            }
+        }
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * renders a scene with one thread and with several
+     *
+     * @param className scene class
+     * @param threads
+     * @return true if the images are the same
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public boolean threads(String className, int threads) throws IOException,
+            InterruptedException {
+        File one = render(className, "-threads", "1");
+        File many = render(className, "-threads", Integer.toString(threads));
+        return compare(className, "1 thread", one, threads + " threads", many);
+    }
+
+    /**
+     * renders a scene locally and on a render farm of worker processes
+     *
+     * @param className scene class
+     * @param workers number of worker processes
+     * @return true if the images are the same
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public boolean farm(String className, int workers) throws IOException,
+            InterruptedException {
+        File local = render(className);
+        File image = new File(dir, "run" + runs++ + ".pfm");
+        List<String> cmd = command(BatchRender.class);
+        cmd.addAll(options);
+        cmd.add("-serve");
+        cmd.add("0");
+        cmd.add(className + "=" + image.getPath());
+        File log = new File(dir, image.getName() + ".log");
+        Process coordinator = start(cmd, log);
+        List<Process> started = new ArrayList<>();
+        try {
+            int port = port(coordinator, log);
+            if (port < 0) {
+                System.out.println(className + ": coordinator failed, see "
+                        + log);
+                return false;
+            }
+            for (int i = 0; i < workers; i++) {
+                List<String> worker = command(BatchRender.class);
+                worker.add("-threads");
+                worker.add("2");
+                worker.add("-worker");
+                worker.add("localhost:" + port);
+                started.add(start(worker, workerLog(image, i)));
+            }
+            if (coordinator.waitFor() != BatchRender.EXIT_OK) {
+                System.out.println(className + ": farm render failed, see "
+                        + log);
+                return false;
+            }
+            //workers leave once the coordinator has no more scenes
+            for (int i = 0; i < started.size(); i++) {
+                if (started.get(i).waitFor() != BatchRender.EXIT_OK) {
+                    System.out.println(className + ": worker " + i
+                            + " failed, see " + workerLog(image, i));
+                    return false;
+                }
+            }
+        } finally {
+            coordinator.destroy();
+            for (Process p : started) {
+                p.destroy();
+            }
+        }
+        return compare(className, "local", local, workers + " workers",
+                image);
+    }
+
+    /**
+     * renders a scene without stopping, and with a checkpoint, killing the
+     * render once the checkpoint has been saved and running it again to
+     * finish from there.
+     *
+     * @param className scene class
+     * @return true if the images are the same
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public boolean resume(String className) throws IOException,
+            InterruptedException {
+        File whole = render(className);
+        File image = new File(dir, "run" + runs++ + ".pfm");
+        File checkpoint = new File(image.getPath() + ".checkpoint");
+        List<String> cmd = command(BatchRender.class);
+        cmd.addAll(options);
+        cmd.add("-checkpoint");
+        cmd.add("0.5");
+        cmd.add(className + "=" + image.getPath());
+        File log = new File(dir, image.getName() + ".log");
+        Process p = start(cmd, log);
+        while (p.isAlive() && !checkpoint.exists()) {
+            Thread.sleep(50);
+        }
+        p.destroyForcibly().waitFor();
+        if (!checkpoint.exists()) {
+            System.out.println(className + ": render finished before it"
+                    + " was interrupted, see " + log);
+            return false;
+        }
+        File resumed = new File(dir, image.getName() + ".resumed.log");
+        if (start(cmd, resumed).waitFor() != BatchRender.EXIT_OK) {
+            System.out.println(className + ": resumed render failed, see "
+                    + resumed);
+            return false;
+        }
+        return compare(className, "uninterrupted", whole, "resumed", image);
+    }
+
+    /**
+     * where a farm worker's output goes
+     *
+     * @param image the farm's image
+     * @param i worker number
+     * @return
+     */
+    private File workerLog(File image, int i) {
+        return new File(dir, image.getName() + ".worker" + i + ".log");
+    }
+
+    /**
+     * waits for a coordinator to say which port it's listening on
+     *
+     * @param coordinator
+     * @param log the coordinator's output
+     * @return the port, -1 if it exited first
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    private static int port(Process coordinator, File log) throws
+            IOException, InterruptedException {
+        String prefix = "waiting for workers on port ";
+        while (true) {
+            boolean exited = !coordinator.isAlive();
+            for (String line : Files.readAllLines(log.toPath(),
+                    StandardCharsets.UTF_8)) {
+                if (line.startsWith(prefix)) {
+                    return Integer.parseInt(line.substring(prefix.length()).
+                            trim());
+                }
+            }
+            if (exited) {
+                return -1;
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    /**
+     * renders a scene to pfm in a new process
+     *
+     * @param className
+     * @param extra options for this render
+     * @return the image, null if the render failed
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    private File render(String className, String... extra) throws
+            IOException, InterruptedException {
+        File image = new File(dir, "run" + runs++ + ".pfm");
+        List<String> cmd = command(BatchRender.class);
+        cmd.addAll(options);
+        cmd.addAll(Arrays.asList(extra));
+        cmd.add(className + "=" + image.getPath());
+        File log = new File(dir, image.getName() + ".log");
+        if (start(cmd, log).waitFor() != BatchRender.EXIT_OK) {
+            System.out.println(className + ": render failed, see " + log);
+            return null;
+        }
+        return image;
+    }
+
+    /**
+     * starts a java process with the same class path as this one
+     *
+     * @param cmd
+     * @param log gets the process's output
+     * @return
+     * @throws IOException
+     */
+    private static Process start(List<String> cmd, File log) throws
+            IOException {
+        return new ProcessBuilder(cmd).redirectErrorStream(true).
+                redirectOutput(log).start();
+    }
+
+    /**
+     * command line to run a main class with the same class path as this
+     * process
+     *
+     * @param main
+     * @return
+     */
+    private static List<String> command(Class<?> main) {
+        return new ArrayList<>(Arrays.asList(new File(System.getProperty(
+                "java.home"), "bin" + File.separator + "java").getPath(),
+                "-cp", System.getProperty("java.class.path"), main.getName()));
+    }
+
+    /**
+     * compares two renders and prints the result
+     *
+     * @param className
+     * @param nameA
+     * @param a null if it failed
+     * @param nameB
+     * @param b null if it failed
+     * @return true if both rendered and are the same
+     * @throws IOException
+     */
+    private static boolean compare(String className, String nameA, File a,
+            String nameB, File b) throws IOException {
+        if (a == null || b == null) {
+            return false;
+        }
+        byte[] bytesA = Files.readAllBytes(a.toPath());
+        byte[] bytesB = Files.readAllBytes(b.toPath());
+        int differ = Math.abs(bytesA.length - bytesB.length);
+        for (int i = 0; i < Math.min(bytesA.length, bytesB.length); i++) {
+            if (bytesA[i] != bytesB[i]) {
+                differ++;
+            }
+        }
+        System.out.println(className + ": " + nameA + " and " + nameB + (differ
+                == 0 ? " are the same" : " differ in " + differ + " bytes"));
+        return differ == 0;
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(ReproducibilityCheck.class.getName());
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.bench;
+
+import com.matrixpeckham.raytracer.geometricobjects.primitives.Plane;
+import com.matrixpeckham.raytracer.geometricobjects.primitives.Sphere;
+import com.matrixpeckham.raytracer.lights.PointLight;
+import com.matrixpeckham.raytracer.materials.Dielectric;
+import com.matrixpeckham.raytracer.materials.Material;
+import com.matrixpeckham.raytracer.materials.Matte;
+import com.matrixpeckham.raytracer.tracers.Whitted;
+import com.matrixpeckham.raytracer.util.Normal;
+import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.RGBColor;
+import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ShadeRec;
+import com.matrixpeckham.raytracer.world.World;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Material shading benchmarks. Hit records on a matte sphere and a glass
+ * sphere are computed up front, only the shade() call is timed. For the glass
+ * that includes the reflected and transmitted rays it traces.
+ *
+ * @author William Matrix Peckham
+ */
+public class ShadeBenchmarks {
+
+    /**
+     * all the shading benchmarks
+     *
+     * @return
+     */
+    public static List<MicroBenchmark> create() {
+        List<MicroBenchmark> list = new ArrayList<>();
+        list.add(new ShadeBenchmark("Matte.shade", Matte.class, 0));
+        list.add(new ShadeBenchmark("Dielectric.shade", Dielectric.class, 1));
+        return list;
+    }
+
+    /**
+     * matte sphere and glass sphere above a matte plane, one point light.
+     *
+     * @return
+     */
+    static World buildWorld() {
+        World w = new World();
+        w.tracer = new Whitted(w);
+        w.vp.maxDepth = 4;
+        w.backgroundColor = new RGBColor(0.2, 0.3, 0.6);
+
+        PointLight light = new PointLight();
+        light.setLocation(5, 10, 10);
+        light.scaleRadiance(3.0);
+        light.setShadows(true);
+        w.addLight(light);
+
+        Matte matte = new Matte();
+        matte.setKa(0.25);
+        matte.setKd(0.75);
+        matte.setCd(0.8, 0.5, 0.1);
+        Sphere s0 = new Sphere(new Point3D(-1.2, 0, 0), 1);
+        s0.setMaterial(matte);
+        w.addObject(s0);
+
+        Dielectric glass = new Dielectric();
+        glass.setKs(0.2);
+        glass.setExp(2000);
+        glass.setIorIn(1.5);
+        glass.setIorOut(1.0);
+        glass.setCfIn(0.65, 0.9, 0.75);
+        glass.setCfOut(1.0);
+        Sphere s1 = new Sphere(new Point3D(1.2, 0, 0), 1);
+        s1.setMaterial(glass);
+        w.addObject(s1);
+
+        Matte floor = new Matte();
+        floor.setKa(0.25);
+        floor.setKd(0.75);
+        floor.setCd(0.9);
+        Plane p = new Plane(new Point3D(0, -1, 0), new Normal(0, 1, 0));
+        p.setMaterial(floor);
+        w.addObject(p);
+        return w;
+    }
+
+    /**
+     * times shade() on hit records for one material type
+     */
+    static class ShadeBenchmark extends MicroBenchmark {
+
+        final Class<? extends Material> type;
+
+        final int object;
+
+        ShadeRec[] records;
+
+        ShadeBenchmark(String name, Class<? extends Material> type,
+                int object) {
+            super(name);
+            this.type = type;
+            this.object = object;
+        }
+
+        @Override
+        public void setup() {
+            World w = buildWorld();
+            Ray[] rays = IntersectionBenchmarks.aimedRays(w.objects.get(object).
+                    getBoundingBox(), IntersectionBenchmarks.NUM_RAYS * 4);
+            List<ShadeRec> list = new ArrayList<>();
+            for (Ray ray : rays) {
+                ShadeRec sr = new ShadeRec(w.hitObjects(ray));
+                if (sr.hitAnObject && type.isInstance(sr.material)) {
+                    sr.depth = 0;
+                    sr.ray.setTo(ray);
+                    list.add(sr);
+                }
+            }
+            records = list.toArray(new ShadeRec[list.size()]);
+        }
+
+        @Override
+        public double run(int ops) {
+            double sum = 0;
+            for (int i = 0; i < ops; i++) {
+                ShadeRec sr = records[i % records.length];
+                sum += sr.material.shade(sr).r;
+            }
+            return sum;
+        }
+
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(ShadeBenchmarks.class.getName());
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.bench;
+
+import com.matrixpeckham.raytracer.textures.BakedTexture;
+import com.matrixpeckham.raytracer.textures.TInstance;
+import com.matrixpeckham.raytracer.textures.Texture;
+import com.matrixpeckham.raytracer.textures.image.Image;
+import com.matrixpeckham.raytracer.textures.procedural.CubicNoise;
+import com.matrixpeckham.raytracer.textures.procedural.RampFBmTexture;
+import com.matrixpeckham.raytracer.util.BBox;
+import com.matrixpeckham.raytracer.util.ShadeRec;
+import com.matrixpeckham.raytracer.world.World;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * Solid texture benchmarks. The sandstone from the book's figure 31.41B, a
+ * six octave RampFBmTexture in a TInstance, is looked up straight and through
+ * a BakedTexture, at points on the surface of the cube it's put on. The baked
+ * texture is baked in setup, which prints its error against the texture.
+ *
+ * @author William Matrix Peckham
+ */
+public class TextureBenchmarks {
+
+    /**
+     * the sandstone's color ramp
+     */
+    private static final String RAMP
+            = "resources/Textures/ppm/sandstone_ramp1.ppm";
+
+    /**
+     * the cube the figure puts the texture on
+     */
+    private static final BBox CUBE = new BBox(-1, 1, -1, 1, -1, 1);
+
+    private static final int NUM_POINTS = 1 << 16;
+
+    /**
+     * all the texture benchmarks
+     *
+     * @return
+     */
+    public static List<MicroBenchmark> create() {
+        List<MicroBenchmark> list = new ArrayList<>();
+        list.add(new TextureBenchmark("RampFBmTexture.getColor", 0));
+        list.add(new TextureBenchmark("BakedTexture.getColor 128", 128));
+        return list;
+    }
+
+    /**
+     * the sandstone texture of figure 31.41B
+     *
+     * @return
+     * @throws IOException if the ramp can't be read
+     */
+    static Texture sandstone() throws IOException {
+        CubicNoise noise = new CubicNoise();
+        noise.setNumOctaves(6);
+        noise.setGain(0.5);
+        noise.setLacunarity(2.0);
+        Image ramp = new Image();
+        try (InputStream in = Thread.currentThread().getContextClassLoader().
+                getResourceAsStream(RAMP)) {
+            if (in == null) {
+                throw new FileNotFoundException(RAMP);
+            }
+            ramp.loadPPMFile(in);
+        }
+        RampFBmTexture sandstone = new RampFBmTexture(ramp);
+        sandstone.setNoise(noise);
+        sandstone.setPerturbation(6.0);
+        TInstance t = new TInstance(sandstone);
+        t.rotateZ(90);
+        t.rotateY(45);
+        t.translate(-6.0, 0.0, 1.0);
+        return t;
+    }
+
+    /**
+     * times getColor() at points on the cube's faces
+     */
+    static class TextureBenchmark extends MicroBenchmark {
+
+        /**
+         * cells along a side of the baked grid, 0 for the texture itself
+         */
+        final int resolution;
+
+        Texture texture;
+
+        ShadeRec[] records;
+
+        TextureBenchmark(String name, int resolution) {
+            super(name);
+            this.resolution = resolution;
+        }
+
+        @Override
+        public void setup() throws IOException {
+            texture = sandstone();
+            if (resolution > 0) {
+                BakedTexture baked = new BakedTexture(texture, CUBE,
+                        resolution);
+                baked.bake();
+                System.out.println(getName() + " error: " + baked.
+                        measureError(10000));
+                texture = baked;
+            }
+            Random r = new Random(1);
+            records = new ShadeRec[NUM_POINTS];
+            for (int i = 0; i < records.length; i++) {
+                ShadeRec sr = new ShadeRec((World) null);
+                double[] p = {r.nextDouble() * 2 - 1, r.nextDouble() * 2 - 1,
+                    r.nextDouble() * 2 - 1};
+                //push one coordinate out to a face
+                p[r.nextInt(3)] = r.nextBoolean() ? 1 : -1;
+                sr.localHitPosition.setTo(p[0], p[1], p[2]);
+                sr.hitPoint.setTo(sr.localHitPosition);
+                records[i] = sr;
+            }
+        }
+
+        @Override
+        public double run(int ops) {
+            double sum = 0;
+            for (int i = 0; i < ops; i++) {
+                sum += texture.getColor(records[i % records.length]).r;
+            }
+            return sum;
+        }
+
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(TextureBenchmarks.class.getName());
+
+}
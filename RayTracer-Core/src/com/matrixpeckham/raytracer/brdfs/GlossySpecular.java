@@ -119,14 +119,13 @@ public class GlossySpecular extends BRDF {
      */
     @Override
     public RGBColor f(ShadeRec sr, Vector3D wo, Vector3D wi) {
-        RGBColor l = new RGBColor();
         double ndotwi = sr.normal.dot(wi);
-        Vector3D r = wi.neg().add(new Vector3D(sr.normal.mul(2 * ndotwi)));
-        double rdotwo = r.dot(wo);
+        //r = -wi + 2 * ndotwi * n, dotted with wo without building r
+        double rdotwo = 2 * ndotwi * sr.normal.dot(wo) - wi.dot(wo);
         if (rdotwo > 0) {
-            l.setTo(cs.mul(ks * Math.pow(rdotwo, exp)));
+            return cs.mul(ks * Math.pow(rdotwo, exp));
         }
-        return l;
+        return new RGBColor();
     }
 
     /**
@@ -143,16 +142,20 @@ public class GlossySpecular extends BRDF {
     @Override
     public RGBColor sampleF(ShadeRec sr, Vector3D wo, Vector3D wi, DoubleRef pdf) {
         double ndotwo = sr.normal.dot(wo);
-        Vector3D r = wo.neg().add(new Vector3D(sr.normal.mul(2 * ndotwo)));
+        Vector3D r = new Vector3D(wo).negLocal().scaleAdd(2 * ndotwo,
+                sr.normal);
         Vector3D w = new Vector3D(r);
-        Vector3D u = new Vector3D(0.00424, 1, 0.00764).cross(w);
+        Vector3D u = new Vector3D(0.00424, 1, 0.00764);
+        u.crossInto(w, u);
         u.normalize();
-        Vector3D v = u.cross(w);
+        Vector3D v = u.crossInto(w, new Vector3D());
 
         Point3D sp = sampler.sampleHemisphere();
-        wi.setTo(u.mul(sp.x).add(v.mul(sp.y).add(w.mul(sp.z))));
+        wi.setTo(0, 0, 0);
+        wi.scaleAdd(sp.x, u).scaleAdd(sp.y, v).scaleAdd(sp.z, w);
         if (sr.normal.dot(wi) < 0.0) {
-            wi.setTo(u.mul(-sp.x).add(v.mul(-sp.y).add(w.mul(sp.z))));
+            wi.setTo(0, 0, 0);
+            wi.scaleAdd(-sp.x, u).scaleAdd(-sp.y, v).scaleAdd(sp.z, w);
         }
         double phong_lobe = Math.pow(r.dot(w), exp);
         pdf.d = phong_lobe * sr.normal.dot(wi);
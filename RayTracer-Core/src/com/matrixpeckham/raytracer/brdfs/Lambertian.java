@@ -91,7 +91,7 @@ public class Lambertian extends BRDF {
      */
     @Override
     public RGBColor f(ShadeRec sr, Vector3D wo, Vector3D wi) {
-        return cd.mul(kd).mul(Utility.INV_PI);
+        return cd.mul(kd * Utility.INV_PI);
     }
 
     /**
@@ -177,18 +177,20 @@ public class Lambertian extends BRDF {
     @Override
     public RGBColor sampleF(ShadeRec sr, Vector3D wo, Vector3D wi, DoubleRef pdf) {
         Vector3D w = new Vector3D(sr.normal);
-        Vector3D v = new Vector3D(0.0034, 1, 0.0071).cross(w);
+        Vector3D v = new Vector3D(0.0034, 1, 0.0071);
+        v.crossInto(w, v);
         v.normalize();
-        Vector3D u = v.cross(w);
+        Vector3D u = v.crossInto(w, new Vector3D());
 
         Point3D sp = sampler.sampleHemisphere();
         //wi = sp.x * u + sp.y * v + sp.z * w;
-        wi.setTo(u.mul(sp.x).add(v.mul(sp.y).add(w.mul(sp.z))));
+        wi.setTo(0, 0, 0);
+        wi.scaleAdd(sp.x, u).scaleAdd(sp.y, v).scaleAdd(sp.z, w);
         wi.normalize();
 
         pdf.d = sr.normal.dot(wi) * Utility.INV_PI;
 
-        return (cd.mul(kd).mul(Utility.INV_PI));
+        return cd.mul(kd * Utility.INV_PI);
     }
 
     private static final Logger LOG
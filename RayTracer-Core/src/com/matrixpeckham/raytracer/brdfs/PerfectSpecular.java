@@ -131,8 +131,8 @@ public class PerfectSpecular extends BRDF {
     @Override
     public RGBColor sampleF(ShadeRec sr, Vector3D wo, Vector3D wi) {
         double ndotwo = sr.normal.dot(wo);
-        wi.setTo(wo.neg().add(new Vector3D(sr.normal.mul(2 * ndotwo))));
-        return cr.div(Math.abs(sr.normal.dot(wi))).mul(kr);
+        wi.setTo(wo).negLocal().scaleAdd(2 * ndotwo, sr.normal);
+        return cr.mul(kr / Math.abs(sr.normal.dot(wi)));
     }
 
     /**
@@ -148,7 +148,7 @@ public class PerfectSpecular extends BRDF {
     @Override
     public RGBColor sampleF(ShadeRec sr, Vector3D wo, Vector3D wi, DoubleRef pdf) {
         double ndotwo = sr.normal.dot(wo);
-        wi.setTo(wo.neg().add(new Vector3D(sr.normal.mul(2 * ndotwo))));
+        wi.setTo(wo).negLocal().scaleAdd(2 * ndotwo, sr.normal);
         pdf.d = Math.abs(sr.normal.dot(wi));
         return cr.mul(kr);
     }
@@ -17,8 +17,13 @@
  */
 package com.matrixpeckham.raytracer.cameras;
 
+import com.matrixpeckham.raytracer.util.DoubleRef;
+import com.matrixpeckham.raytracer.util.Point2D;
 import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.RGBColor;
+import com.matrixpeckham.raytracer.util.Ray;
 import com.matrixpeckham.raytracer.util.Vector3D;
+import com.matrixpeckham.raytracer.world.ViewPlane;
 import com.matrixpeckham.raytracer.world.World;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 
@@ -30,9 +35,12 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 public abstract class Camera {
 
     /**
-     * Number of threads to use
+     * Number of threads to use, one per core unless the raytracer.threads
+     * system property says otherwise. Read once, when the first camera class
+     * is loaded.
      */
-    public static final int POOL_SIZE = 10;
+    public static final int POOL_SIZE = Math.max(1, Integer.getInteger(
+	    "raytracer.threads", Runtime.getRuntime().availableProcessors()));
 
     /**
      * thread pool executor for multithreading.
@@ -40,10 +48,38 @@ public abstract class Camera {
     protected static final ScheduledThreadPoolExecutor EXEC
 	    = new ScheduledThreadPoolExecutor(POOL_SIZE);
 
+    /**
+     * tile scheduler all the cameras render through in multiThreadRenderScene
+     */
+    protected static final TileScheduler SCHEDULER
+	    = new TileScheduler(EXEC, POOL_SIZE);
+
+    /**
+     * per thread scratch objects for the pixel functions, see
+     * getPixelScratch()
+     */
+    private static final ThreadLocal<PixelScratch> PIXEL_SCRATCH
+	    = new ThreadLocal<PixelScratch>() {
+		@Override
+		protected PixelScratch initialValue() {
+		    return new PixelScratch();
+		}
+
+	    };
+
     public static void exit() {
 	EXEC.shutdown();
     }
 
+    /**
+     * gets the shared tile scheduler, to set the tile size or order.
+     *
+     * @return
+     */
+    public static TileScheduler getScheduler() {
+	return SCHEDULER;
+    }
+
     /**
      * Eye Point of the camera, center of ortho view, or focal point of
      * perspective.
@@ -266,6 +302,126 @@ public abstract class Camera {
      */
     public abstract void multiThreadRenderScene(World w);
 
+    /**
+     * angle in radians between the rays of neighbouring pixels, for the
+     * footprint of camera rays. cameras with parallel rays return 0.
+     *
+     * @param vp view plane as adjusted for this render, zoom applied
+     * @return
+     */
+    protected double pixelSpread(ViewPlane vp) {
+	return 0;
+    }
+
+    /**
+     * width of a pixel at the camera, for cameras with parallel rays.
+     *
+     * @param vp view plane as adjusted for this render, zoom applied
+     * @return
+     */
+    protected double pixelWidth(ViewPlane vp) {
+	return 0;
+    }
+
+    /**
+     * the objects a pixel function works with, reused from pixel to pixel so
+     * rendering a pixel doesn't allocate.
+     */
+    protected static final class PixelScratch {
+
+	/**
+	 * sum of the pixel's samples
+	 */
+	public final RGBColor color = new RGBColor();
+
+	/**
+	 * camera ray
+	 */
+	public final Ray ray = new Ray();
+
+	/**
+	 * sample point in [0, 1] X [0, 1]
+	 */
+	public final Point2D sp = new Point2D();
+
+	/**
+	 * sample point on the pixel
+	 */
+	public final Point2D pp = new Point2D();
+
+	/**
+	 * sample point on the unit disk
+	 */
+	public final Point2D dp = new Point2D();
+
+	/**
+	 * sample point on the lens
+	 */
+	public final Point2D lp = new Point2D();
+
+	/**
+	 * sum of squares of normalised device coordinates
+	 */
+	public final DoubleRef rSquared = new DoubleRef();
+
+    }
+
+    /**
+     * gets the calling thread's pixel scratch. a pixel function never renders
+     * another pixel, so one per thread is enough, but everything in it has to
+     * be set up again for each pixel.
+     *
+     * @return
+     */
+    protected static PixelScratch getPixelScratch() {
+	return PIXEL_SCRATCH.get();
+    }
+
+    /**
+     * gives a camera ray the footprint of one sample, its share of the pixel,
+     * if texture filtering is on. without it the ray has no footprint.
+     *
+     * @param ray
+     * @param vp view plane as adjusted for this render, zoom applied
+     */
+    protected void setFootprint(Ray ray, ViewPlane vp) {
+	if (!vp.textureFiltering) {
+	    ray.width = 0;
+	    ray.spread = 0;
+	    return;
+	}
+	//the samples of a pixel split its area between them
+	double share = 1.0 / Math.sqrt(vp.isAdaptive() ? vp.adaptiveMinSamples
+		: vp.numSamples);
+	ray.width = pixelWidth(vp) * share;
+	ray.spread = pixelSpread(vp) * share;
+    }
+
+    /**
+     * sets up the ray through point pp on the view plane, for the adaptive
+     * render mode. the cameras that support the mode override this.
+     *
+     * @param vp view plane as adjusted for this render, zoom applied
+     * @param pp point on the view plane
+     * @param ray receives the origin and direction
+     * @return false if pp is outside the camera's image, the sample is black
+     */
+    protected boolean cameraRay(ViewPlane vp, Point2D pp, Ray ray) {
+	throw new UnsupportedOperationException(getClass().getSimpleName()
+		+ " does not support adaptive rendering");
+    }
+
+    /**
+     * renders in the adaptive mode, for multiThreadRenderScene when
+     * vp.isAdaptive(). rays come from cameraRay().
+     *
+     * @param w
+     * @param vp view plane as adjusted for this render
+     */
+    protected void renderAdaptive(World w, ViewPlane vp) {
+	new AdaptiveRenderer(this, w, vp).render();
+    }
+
     /**
      * clone method.
      *
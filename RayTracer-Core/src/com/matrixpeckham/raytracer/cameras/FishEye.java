@@ -21,13 +21,11 @@ import com.matrixpeckham.raytracer.util.DoubleRef;
 import com.matrixpeckham.raytracer.util.Point2D;
 import com.matrixpeckham.raytracer.util.RGBColor;
 import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
 import com.matrixpeckham.raytracer.util.Utility;
 import com.matrixpeckham.raytracer.util.Vector3D;
 import com.matrixpeckham.raytracer.world.ViewPlane;
 import com.matrixpeckham.raytracer.world.World;
-import java.util.concurrent.CountDownLatch;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Fish eye camera.
@@ -77,20 +75,22 @@ public class FishEye extends Camera {
 	DoubleRef r_squared = new DoubleRef();// sum of squares of normalised device coordinates
 
 	ray.o.setTo(eye);
+	setFootprint(ray, vp);
 	int pixRendered = 0;
 	double pixToRender = vp.vRes * vp.hRes;
-	w.startRender(vp.hRes, vp.hRes);
+	w.startRender(vp.hRes, vp.vRes);
 
 	for (int r = 0; r < vres; r++) // up
 	{
 	    for (int c = 0; c < hres; c++) {	// across
+		ThreadRandom.seedPixel(r, c);
 		L.setTo(Utility.BLACK);
 
 		for (int j = 0; j < vp.numSamples; j++) {
 		    sp.setTo(vp.sampler.sampleUnitSquare());
 		    pp.x = s * (c - 0.5 * hres + sp.x);
 		    pp.y = s * (r - 0.5 * vres + sp.y);
-		    ray.d.setTo(rayDirection(pp, hres, vres, s, r_squared));
+		    rayDirection(pp, hres, vres, s, r_squared, ray.d);
 
 		    if (rectangular || r_squared.d <= 1.0) {
 			L.addLocal(w.tracer.traceRay(ray, depth));
@@ -102,6 +102,7 @@ public class FishEye extends Camera {
 		w.displayPixel(r, c, L);
 		pixRendered++;
 	    }
+	    w.displayTile(r, 0, 1, vp.hRes);
 	    w.updateProgress(pixRendered / pixToRender);
 	}
 	w.finishRender();
@@ -128,19 +129,22 @@ public class FishEye extends Camera {
 	DoubleRef r_squared = new DoubleRef();// sum of squares of normalised device coordinates
 
 	ray.o.setTo(eye);
+	setFootprint(ray, vp);
 	int pixRendered = 0;
 	double pixToRender = vp.vRes * vp.hRes;
 
 	for (int r = 0; r < vres; r++) // up
 	{
 	    for (int c = 0; c < hres; c++) {	// across
+		//each eye gets its own samples, the same every render
+		ThreadRandom.seedPixel(r, c + i);
 		L.setTo(Utility.BLACK);
 
 		for (int j = 0; j < vp.numSamples; j++) {
 		    sp.setTo(vp.sampler.sampleUnitSquare());
 		    pp.x = s * (c - 0.5 * hres + sp.x);
 		    pp.y = s * (r - 0.5 * vres + sp.y);
-		    ray.d.setTo(rayDirection(pp, hres, vres, s, r_squared));
+		    rayDirection(pp, hres, vres, s, r_squared, ray.d);
 
 		    if (rectangular || r_squared.d <= 1.0) {
 			L.addLocal(w.tracer.traceRay(ray, depth));
@@ -152,6 +156,7 @@ public class FishEye extends Camera {
 		w.displayPixel(r, c + i, L);
 		pixRendered++;
 	    }
+	    w.displayTile(r, i, 1, vp.hRes);
 	    w.updateProgress(pixRendered / pixToRender);
 	}
     }
@@ -174,27 +179,26 @@ public class FishEye extends Camera {
      * @param vres
      * @param s
      * @param r_squared
-     * @return
+     * @param dir vector to store the direction in
+     * @return dir
      */
     private Vector3D rayDirection(Point2D pp, int hres, int vres, double s,
-	    DoubleRef r_squared) {
-	Point2D pn = new Point2D(2.0 / (s * hres) * pp.x, 2.0 / (s * vres)
-		* pp.y);
-	r_squared.d = pn.x * pn.x + pn.y * pn.y;
+	    DoubleRef r_squared, Vector3D dir) {
+	double pnx = 2.0 / (s * hres) * pp.x;
+	double pny = 2.0 / (s * vres) * pp.y;
+	r_squared.d = pnx * pnx + pny * pny;
+	dir.setTo(0, 0, 0);
 	if (rectangular || r_squared.d <= 1.0) {
 	    double r = Math.sqrt(r_squared.d);
 	    double psi = r * psiMax * Utility.PI_ON_180;
 	    double sinPsi = Math.sin(psi);
 	    double cosPsi = Math.cos(psi);
-	    double sinAlpha = pn.y / r;
-	    double cosAlpha = pn.x / r;
-	    Vector3D dir = (u.mul(sinPsi * cosAlpha)
-		    .add(v.mul(sinPsi * sinAlpha)))
-		    .sub(w.mul(cosPsi));
-	    return dir;
-	} else {
-	    return new Vector3D(0);
+	    double sinAlpha = pny / r;
+	    double cosAlpha = pnx / r;
+	    dir.scaleAdd(sinPsi * cosAlpha, u).scaleAdd(sinPsi * sinAlpha, v).
+		    scaleAdd(-cosPsi, w);
 	}
+	return dir;
     }
 
     /**
@@ -215,6 +219,28 @@ public class FishEye extends Camera {
 	rectangular = b;
     }
 
+    /**
+     * ray through a view plane point, for the adaptive render mode
+     *
+     * @param vp
+     * @param pp
+     * @param ray
+     * @return
+     */
+    @Override
+    protected boolean cameraRay(ViewPlane vp, Point2D pp, Ray ray) {
+	setFootprint(ray, vp);
+	DoubleRef r_squared = new DoubleRef();
+	ray.o.setTo(eye);
+	rayDirection(pp, vp.hRes, vp.vRes, vp.s, r_squared, ray.d);
+	return rectangular || r_squared.d <= 1.0;
+    }
+
+    @Override
+    protected double pixelSpread(ViewPlane vp) {
+	return 2 * psiMax * Utility.PI_ON_180 / Math.min(vp.hRes, vp.vRes);
+    }
+
     @Override
     public void multiThreadRenderScene(final World w) {
 	//we map points on image to angles and project them
@@ -222,54 +248,39 @@ public class FishEye extends Camera {
 	final int hres = vp.hRes;
 	final int vres = vp.vRes;
 	final double s = vp.s;
-	w.startRender(vp.vRes, vp.hRes);
-	CountDownLatch cdl = new CountDownLatch(vp.vRes * vp.hRes);
-
-	for (int ri = 0; ri < vp.vRes; ri++) {
-	    for (int ci = 0; ci < vp.hRes; ci++) {
-		final int r = ri;
-		final int c = ci;
-		Runnable pix = new Runnable() {
-		    public void run() {
-			RGBColor L = new RGBColor();
-			Ray ray = new Ray();
-			int depth = 0;
-			Point2D sp = new Point2D();// sample point in [0, 1] X [0, 1]
-			Point2D pp = new Point2D();// sample point on the pixel
-			DoubleRef r_squared = new DoubleRef();// sum of squares of normalised device coordinates
-
-			ray.o.setTo(eye);
-			L.setTo(Utility.BLACK);
+	if (vp.isAdaptive()) {
+	    renderAdaptive(w, vp);
+	    return;
+	}
+	w.startRender(vp.hRes, vp.vRes);
+	SCHEDULER.render(w, vp.vRes, vp.hRes, (int r, int c) -> {
+	    PixelScratch scratch = getPixelScratch();
+	    RGBColor L = scratch.color;
+	    Ray ray = scratch.ray;
+	    setFootprint(ray, vp);
+	    int depth = 0;
+	    Point2D sp = scratch.sp;// sample point in [0, 1] X [0, 1]
+	    Point2D pp = scratch.pp;// sample point on the pixel
+	    DoubleRef r_squared = scratch.rSquared;// sum of squares of normalised device coordinates
 
-			for (int j = 0; j < vp.numSamples; j++) {
-			    sp.setTo(vp.sampler.sampleUnitSquare());
-			    pp.x = s * (c - 0.5 * hres + sp.x);
-			    pp.y = s * (r - 0.5 * vres + sp.y);
-			    ray.d.setTo(rayDirection(pp, hres, vres, s,
-				    r_squared));
+	    ray.o.setTo(eye);
+	    L.setTo(Utility.BLACK);
 
-			    if (rectangular || r_squared.d <= 1.0) {
-				L.addLocal(w.tracer.traceRay(ray, depth));
-			    }
-			}
+	    for (int j = 0; j < vp.numSamples; j++) {
+		sp.setTo(vp.sampler.sampleUnitSquare());
+		pp.x = s * (c - 0.5 * hres + sp.x);
+		pp.y = s * (r - 0.5 * vres + sp.y);
+		rayDirection(pp, hres, vres, s, r_squared, ray.d);
 
-			L.divLocal(vp.numSamples);
-			L.mulLocal(exposureTime);
-			w.displayPixel(r, c, L);
-			w.updateProgress(((double) cdl.getCount())
-				/ ((double) (vp.hRes * vp.vRes)));
-			cdl.countDown();
-		    }
-		};
-		EXEC.submit(pix);
+		if (rectangular || r_squared.d <= 1.0) {
+		    L.addLocal(w.tracer.traceRay(ray, depth));
+		}
 	    }
-	}
-	try {
-	    cdl.await();
-	} catch (InterruptedException ex) {
-	    Logger.getLogger(Pinhole.class.getName()).
-		    log(Level.SEVERE, null, ex);
-	}
+
+	    L.divLocal(vp.numSamples);
+	    L.mulLocal(exposureTime);
+	    w.displayPixel(r, c, L);
+	});
 	w.finishRender();
     }
 
@@ -18,14 +18,13 @@
 package com.matrixpeckham.raytracer.cameras;
 
 import com.matrixpeckham.raytracer.util.Point2D;
+import com.matrixpeckham.raytracer.util.Point3D;
 import com.matrixpeckham.raytracer.util.RGBColor;
 import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
 import com.matrixpeckham.raytracer.util.Vector3D;
 import com.matrixpeckham.raytracer.world.ViewPlane;
 import com.matrixpeckham.raytracer.world.World;
-import java.util.concurrent.CountDownLatch;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Orthographic camera.
@@ -67,9 +66,20 @@ public class Orthographic extends Camera {
      * @return
      */
     public Vector3D getDirection(Point2D p) {
-	Vector3D dir = (lookat.sub(eye));
-	dir.normalize();
-	return dir;
+	return getDirection(p, new Vector3D());
+    }
+
+    /**
+     * Same as getDirection(p) but stores the direction in out.
+     *
+     * @param p point on the 2d plane
+     * @param out
+     * @return out
+     */
+    public Vector3D getDirection(Point2D p, Vector3D out) {
+	Point3D.sub(lookat, eye, out);
+	out.normalize();
+	return out;
     }
 
     /**
@@ -91,12 +101,14 @@ public class Orthographic extends Camera {
 	Point2D pp = new Point2D();
 	//normalized sample point
 	Point2D sp = new Point2D();
+	setFootprint(ray, vp);
 	//loop through all pixels
 	int pixRendered = 0;
 	double pixToRender = vp.vRes * vp.hRes;
-	w.startRender(vp.hRes, vp.hRes);
+	w.startRender(vp.hRes, vp.vRes);
 	for (int r = 0; r < vp.vRes; r++) {
 	    for (int c = 0; c < vp.hRes; c++) {
+		ThreadRandom.seedPixel(r, c);
 		//this is a bad idea
 		//initialize color
 		L.setTo(0, 0, 0);
@@ -108,9 +120,9 @@ public class Orthographic extends Camera {
 		    pp.x = vp.s * (c - 0.5f * vp.hRes + sp.x);
 		    pp.y = vp.s * (r - 0.5f * vp.vRes + sp.y);
 		    //get ray direction
-		    ray.d.setTo(getDirection(pp));
+		    getDirection(pp, ray.d);
 		    //set ray origin, eyepoint + pixel location
-		    ray.o.setTo(eye.add(u.mul(pp.x).add(v.mul(pp.y))));
+		    ray.o.setTo(eye).scaleAdd(pp.x, u).scaleAdd(pp.y, v);
 		    //sum up samples.
 		    L.addLocal(w.tracer.traceRay(ray, depth));
 		}
@@ -121,6 +133,7 @@ public class Orthographic extends Camera {
 		w.displayPixel(r, c, L);
 		pixRendered++;
 	    }
+	    w.displayTile(r, 0, 1, vp.hRes);
 	    w.updateProgress(pixRendered / pixToRender);
 	}
 	w.finishRender();
@@ -132,64 +145,71 @@ public class Orthographic extends Camera {
      *
      * @param w
      */
+    /**
+     * ray through a view plane point, for the adaptive render mode
+     *
+     * @param vp
+     * @param pp
+     * @param ray
+     * @return
+     */
+    @Override
+    protected boolean cameraRay(ViewPlane vp, Point2D pp, Ray ray) {
+	setFootprint(ray, vp);
+	getDirection(pp, ray.d);
+	ray.o.setTo(eye).scaleAdd(pp.x, u).scaleAdd(pp.y, v);
+	return true;
+    }
+
+    @Override
+    protected double pixelWidth(ViewPlane vp) {
+	return vp.s;
+    }
+
     @Override
     public void multiThreadRenderScene(final World w) {
 	//copy of view plane.
 	final ViewPlane vp = new ViewPlane(w.vp);
-	w.startRender(vp.vRes, vp.hRes);
-	CountDownLatch cdl = new CountDownLatch(vp.vRes * vp.hRes);
-	//loop through all pixels
-	for (int ri = 0; ri < vp.vRes; ri++) {
-	    for (int ci = 0; ci < vp.hRes; ci++) {
-		final int r = ri;
-		final int c = ci;
-		Runnable pix = new Runnable() {
-		    public void run() {
-			//color
-			RGBColor L = new RGBColor();
-			//ray
-			Ray ray = new Ray();
-			//depth
-			int depth = 0;
-			//pixel point
-			Point2D pp = new Point2D();
-			//normalized sample point
-			Point2D sp = new Point2D();
-			//initialize color
-			L.setTo(0, 0, 0);
-			//for all samples in point
-			for (int p = 0; p < vp.sampler.getNumSamples(); p++) {
-			    //sample point
-			    sp.setTo(vp.sampler.sampleUnitSquare());
-			    //convert normalized sample point to a point somewhere in the pixel
-			    pp.x = vp.s * (c - 0.5f * vp.hRes + sp.x);
-			    pp.y = vp.s * (r - 0.5f * vp.vRes + sp.y);
-			    //get ray direction
-			    ray.d.setTo(getDirection(pp));
-			    //set ray origin, eyepoint + pixel location
-			    ray.o.setTo(eye.add(u.mul(pp.x).add(v.mul(pp.y))));
-			    //sum up samples.
-			    L.addLocal(w.tracer.traceRay(ray, depth));
-			}
-			//normalize and expose pixel
-			L.divLocal(vp.numSamples);
-			L.mulLocal(exposureTime);
-			//display
-			w.displayPixel(r, c, L);
-			w.updateProgress(((double) cdl.getCount())
-				/ ((double) (vp.hRes * vp.vRes)));
-			cdl.countDown();
-		    }
-		};
-		EXEC.submit(pix);
-	    }
-	}
-	try {
-	    cdl.await();
-	} catch (InterruptedException ex) {
-	    Logger.getLogger(Pinhole.class.getName()).
-		    log(Level.SEVERE, null, ex);
+	if (vp.isAdaptive()) {
+	    renderAdaptive(w, vp);
+	    return;
 	}
+	w.startRender(vp.hRes, vp.vRes);
+	SCHEDULER.render(w, vp.vRes, vp.hRes, (int r, int c) -> {
+	    PixelScratch scratch = getPixelScratch();
+	    //color
+	    RGBColor L = scratch.color;
+	    //ray
+	    Ray ray = scratch.ray;
+	    setFootprint(ray, vp);
+	    //depth
+	    int depth = 0;
+	    //pixel point
+	    Point2D pp = scratch.pp;
+	    //normalized sample point
+	    Point2D sp = scratch.sp;
+	    //initialize color
+	    L.setTo(0, 0, 0);
+	    //for all samples in point
+	    for (int p = 0; p < vp.sampler.getNumSamples(); p++) {
+		//sample point
+		sp.setTo(vp.sampler.sampleUnitSquare());
+		//convert normalized sample point to a point somewhere in the pixel
+		pp.x = vp.s * (c - 0.5f * vp.hRes + sp.x);
+		pp.y = vp.s * (r - 0.5f * vp.vRes + sp.y);
+		//get ray direction
+		getDirection(pp, ray.d);
+		//set ray origin, eyepoint + pixel location
+		ray.o.setTo(eye).scaleAdd(pp.x, u).scaleAdd(pp.y, v);
+		//sum up samples.
+		L.addLocal(w.tracer.traceRay(ray, depth));
+	    }
+	    //normalize and expose pixel
+	    L.divLocal(vp.numSamples);
+	    L.mulLocal(exposureTime);
+	    //display
+	    w.displayPixel(r, c, L);
+	});
 	w.finishRender();
 
     }
@@ -215,11 +235,14 @@ public class Orthographic extends Camera {
 	Point2D pp = new Point2D();
 	//normalized sample point
 	Point2D sp = new Point2D();
+	setFootprint(ray, vp);
 	int pixRendered = 0;
 	double pixToRender = vp.vRes * vp.hRes;
 	//loop through all pixels
 	for (int r = 0; r < vp.vRes; r++) {
 	    for (int c = 0; c < vp.hRes; c++) {
+		//each eye gets its own samples, the same every render
+		ThreadRandom.seedPixel(r, c + i);
 		//initialize color
 		L.setTo(0, 0, 0);
 		//for all samples in point
@@ -230,9 +253,9 @@ public class Orthographic extends Camera {
 		    pp.x = vp.s * (c - 0.5f * vp.hRes + sp.x) + x;
 		    pp.y = vp.s * (r - 0.5f * vp.vRes + sp.y);
 		    //get ray direction
-		    ray.d.setTo(getDirection(pp));
+		    getDirection(pp, ray.d);
 		    //set ray origin, eyepoint + pixel location
-		    ray.o.setTo(eye.add(u.mul(pp.x).add(v.mul(pp.y))));
+		    ray.o.setTo(eye).scaleAdd(pp.x, u).scaleAdd(pp.y, v);
 		    //sum up samples.
 		    L.addLocal(w.tracer.traceRay(ray, depth));
 		}
@@ -243,6 +266,7 @@ public class Orthographic extends Camera {
 		w.displayPixel(r, c + i, L);
 		pixRendered++;
 	    }
+	    w.displayTile(r, i, 1, vp.hRes);
 	    w.updateProgress(pixRendered / pixToRender);
 	}
 
@@ -20,12 +20,10 @@ package com.matrixpeckham.raytracer.cameras;
 import com.matrixpeckham.raytracer.util.Point2D;
 import com.matrixpeckham.raytracer.util.RGBColor;
 import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
 import com.matrixpeckham.raytracer.util.Vector3D;
 import com.matrixpeckham.raytracer.world.ViewPlane;
 import com.matrixpeckham.raytracer.world.World;
-import java.util.concurrent.CountDownLatch;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Pinhole perspective camera.
@@ -76,9 +74,22 @@ public class Pinhole extends Camera {
      * @return
      */
     public Vector3D getDirection(Point2D p) {
-	Vector3D dir = (u.mul(p.x)).add(v.mul(p.y)).sub(w.mul(d));
-	dir.normalize();
-	return dir;
+	return getDirection(p, new Vector3D());
+    }
+
+    /**
+     * Same as getDirection(p) but stores the direction in out instead of
+     * making a new vector.
+     *
+     * @param p
+     * @param out
+     * @return out
+     */
+    public Vector3D getDirection(Point2D p, Vector3D out) {
+	out.setTo(0, 0, 0);
+	out.scaleAdd(p.x, u).scaleAdd(p.y, v).scaleAdd(-d, w);
+	out.normalize();
+	return out;
     }
 
     /**
@@ -100,15 +111,17 @@ public class Pinhole extends Camera {
 	Point2D pp = new Point2D();
 	//change the pixel size for the zoom
 	vp.s /= zoom;
+	setFootprint(ray, vp);
 	//the origin of the ray will always be the eye point.
 	ray.o.setTo(eye);
 	int pixRendered = 0;
 	double pixToRender = vp.vRes * vp.hRes;
-	w.startRender(vp.hRes, vp.hRes);
+	w.startRender(vp.hRes, vp.vRes);
 
 	//loop through all pixels
 	for (int r = 0; r < vp.vRes; r++) {
 	    for (int c = 0; c < vp.hRes; c++) {
+		ThreadRandom.seedPixel(r, c);
 		//reset color
 		L.setTo(0, 0, 0);
 		//for all samples
@@ -118,7 +131,7 @@ public class Pinhole extends Camera {
 		    pp.x = vp.s * (c - 0.5f * vp.hRes + sp.x);
 		    pp.y = vp.s * (r - 0.5f * vp.vRes + sp.y);
 		    //compute direction
-		    ray.d.setTo(getDirection(pp));
+		    getDirection(pp, ray.d);
 		    //add color
 		    L.addLocal(w.tracer.traceRay(ray, depth));
 		}
@@ -129,6 +142,7 @@ public class Pinhole extends Camera {
 		w.displayPixel(r, c, L);
 		pixRendered++;
 	    }
+	    w.displayTile(r, 0, 1, vp.hRes);
 	    w.updateProgress(pixRendered / pixToRender);
 	}
 	w.finishRender();
@@ -174,6 +188,7 @@ public class Pinhole extends Camera {
 	Point2D pp = new Point2D();
 	//change the pixel size for the zoom
 	vp.s /= zoom;
+	setFootprint(ray, vp);
 	//the origin of the ray will always be the eye point.
 	ray.o.setTo(eye);
 	int pixRendered = 0;
@@ -182,6 +197,8 @@ public class Pinhole extends Camera {
 	//loop through all pixels
 	for (int r = 0; r < vp.vRes; r++) {
 	    for (int c = 0; c < vp.hRes; c++) {
+		//each eye gets its own samples, the same every render
+		ThreadRandom.seedPixel(r, c + i);
 		//reset color
 		L.setTo(0, 0, 0);
 		//for all samples
@@ -192,7 +209,7 @@ public class Pinhole extends Camera {
 		    pp.x = vp.s * (c - 0.5f * vp.hRes + sp.x) + x;
 		    pp.y = vp.s * (r - 0.5f * vp.vRes + sp.y);
 		    //compute direction
-		    ray.d.setTo(getDirection(pp));
+		    getDirection(pp, ray.d);
 		    //add color
 		    L.addLocal(w.tracer.traceRay(ray, depth));
 		}
@@ -203,71 +220,76 @@ public class Pinhole extends Camera {
 		w.displayPixel(r, c + i, L);
 		pixRendered++;
 	    }
+	    w.displayTile(r, i, 1, vp.hRes);
 	    w.updateProgress(pixRendered / pixToRender);
 	}
 
     }
 
+    /**
+     * ray through a view plane point, for the adaptive render mode
+     *
+     * @param vp
+     * @param pp
+     * @param ray
+     * @return
+     */
+    @Override
+    protected boolean cameraRay(ViewPlane vp, Point2D pp, Ray ray) {
+	setFootprint(ray, vp);
+	ray.o.setTo(eye);
+	getDirection(pp, ray.d);
+	return true;
+    }
+
+    @Override
+    protected double pixelSpread(ViewPlane vp) {
+	return vp.s / d;
+    }
+
     @Override
     public void multiThreadRenderScene(World w) {
 	//clone the viewport, we'll manipulate it later
 	final ViewPlane vp = new ViewPlane(w.vp);
 	//change the pixel size for the zoom
 	vp.s /= zoom;
-	w.startRender(vp.vRes, vp.hRes);
-	CountDownLatch cdl = new CountDownLatch(vp.vRes * vp.hRes);
-
-	//loop through all pixels
-	for (int ri = 0; ri < vp.vRes; ri++) {
-	    for (int ci = 0; ci < vp.hRes; ci++) {
-		final int r = ri;
-		final int c = ci;
-		Runnable pix = new Runnable() {
-		    public void run() {
-			//color
-			RGBColor L = new RGBColor();
-			//ray
-			Ray ray = new Ray();
-			//depth
-			int depth = 0;
-			//pixel point
-			Point2D pp = new Point2D();
-			//the origin of the ray will always be the eye point.
-			ray.o.setTo(eye);
-			//reset color
-			L.setTo(0, 0, 0);
-			//for all samples
-			for (int p = 0; p < vp.numSamples; p++) {
-			    //get sample point on pixel.
-			    Point2D sp = vp.sampler.sampleUnitSquare();
-			    pp.x = vp.s * (c - 0.5f * vp.hRes + sp.x);
-			    pp.y = vp.s * (r - 0.5f * vp.vRes + sp.y);
-			    //compute direction
-			    ray.d.setTo(getDirection(pp));
-			    //add color
-			    L.addLocal(w.tracer.traceRay(ray, depth));
-			}
-			//normalize color and expose
-			L.divLocal(vp.numSamples);
-			L.mulLocal(exposureTime);
-			//display
-			w.displayPixel(r, c, L);
-			w.updateProgress(((double) cdl.getCount())
-				/ ((double) (vp.hRes * vp.vRes)));
-			cdl.countDown();
-		    }
-		};
-		EXEC.submit(pix);
-
-	    }
-	}
-
-	try {
-	    cdl.await();
-	} catch (InterruptedException ex) {
-	    Logger.getLogger(Pinhole.class.getName()).
-		    log(Level.SEVERE, null, ex);
+	if (vp.isAdaptive()) {
+	    renderAdaptive(w, vp);
+	    return;
 	}
+	w.startRender(vp.hRes, vp.vRes);
+	SCHEDULER.render(w, vp.vRes, vp.hRes, (int r, int c) -> {
+	    PixelScratch scratch = getPixelScratch();
+	    //color
+	    RGBColor L = scratch.color;
+	    //ray
+	    Ray ray = scratch.ray;
+	    setFootprint(ray, vp);
+	    //depth
+	    int depth = 0;
+	    //pixel point
+	    Point2D pp = scratch.pp;
+	    //the origin of the ray will always be the eye point.
+	    ray.o.setTo(eye);
+	    //reset color
+	    L.setTo(0, 0, 0);
+	    //for all samples
+	    for (int p = 0; p < vp.numSamples; p++) {
+		//get sample point on pixel.
+		Point2D sp = vp.sampler.sampleUnitSquare();
+		pp.x = vp.s * (c - 0.5f * vp.hRes + sp.x);
+		pp.y = vp.s * (r - 0.5f * vp.vRes + sp.y);
+		//compute direction
+		getDirection(pp, ray.d);
+		//add color
+		L.addLocal(w.tracer.traceRay(ray, depth));
+	    }
+	    //normalize color and expose
+	    L.divLocal(vp.numSamples);
+	    L.mulLocal(exposureTime);
+	    //display
+	    w.displayPixel(r, c, L);
+	});
 	w.finishRender();
     }
 }
@@ -21,13 +21,11 @@ import com.matrixpeckham.raytracer.util.DoubleRef;
 import com.matrixpeckham.raytracer.util.Point2D;
 import com.matrixpeckham.raytracer.util.RGBColor;
 import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
 import com.matrixpeckham.raytracer.util.Utility;
 import com.matrixpeckham.raytracer.util.Vector3D;
 import com.matrixpeckham.raytracer.world.ViewPlane;
 import com.matrixpeckham.raytracer.world.World;
-import java.util.concurrent.CountDownLatch;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Spherical camera.
@@ -77,20 +75,22 @@ public class Spherical extends Camera {
 	DoubleRef r_squared = new DoubleRef();// sum of squares of normalised device coordinates
 
 	ray.o.setTo(eye);
+	setFootprint(ray, vp);
 	int pixRendered = 0;
 	double pixToRender = vp.vRes * vp.hRes;
-	w.startRender(vp.hRes, vp.hRes);
+	w.startRender(vp.hRes, vp.vRes);
 
 	for (int r = 0; r < vres; r++) // up
 	{
 	    for (int c = 0; c < hres; c++) {	// across
+		ThreadRandom.seedPixel(r, c);
 		L.setTo(Utility.BLACK);
 
 		for (int j = 0; j < vp.numSamples; j++) {//samples
 		    sp.setTo(vp.sampler.sampleUnitSquare());
 		    pp.x = s * (c - 0.5 * hres + sp.x);
 		    pp.y = s * (r - 0.5 * vres + sp.y);
-		    ray.d.setTo(rayDirection(pp, hres, vres, s, r_squared));
+		    rayDirection(pp, hres, vres, s, r_squared, ray.d);
 
 		    //if (r_squared.d <= 1.0)
 		    L.addLocal(w.tracer.traceRay(ray, depth));
@@ -101,6 +101,7 @@ public class Spherical extends Camera {
 		w.displayPixel(r, c, L);
 		pixRendered++;
 	    }
+	    w.displayTile(r, 0, 1, vp.hRes);
 	    w.updateProgress(pixRendered / pixToRender);
 	}
 	w.finishRender();
@@ -124,14 +125,14 @@ public class Spherical extends Camera {
      * @param vres
      * @param s
      * @param r_squared
-     * @return
+     * @param dir vector to store the direction in
+     * @return dir
      */
     private Vector3D rayDirection(Point2D pp, int hres, int vres, double s,
-	    DoubleRef r_squared) {
-	Point2D pn = new Point2D(2.0 / (s * hres) * pp.x, 2.0 / (s * vres)
-		* pp.y);
-	double lambda = pn.x * lambdaMax * Utility.PI_ON_180;
-	double psi = pn.y * psiMax * Utility.PI_ON_180;
+	    DoubleRef r_squared, Vector3D dir) {
+	double lambda = 2.0 / (s * hres) * pp.x * lambdaMax
+		* Utility.PI_ON_180;
+	double psi = 2.0 / (s * vres) * pp.y * psiMax * Utility.PI_ON_180;
 	double phi = Utility.PI - lambda;
 	double theta = 0.5 * Utility.PI - psi;
 
@@ -140,9 +141,9 @@ public class Spherical extends Camera {
 	double sinTheta = Math.sin(theta);
 	double cosTheta = Math.cos(theta);
 
-	Vector3D dir = (u.mul(sinTheta * sinPhi)
-		.add(v.mul(cosTheta)))
-		.add(w.mul(cosPhi * sinTheta));
+	dir.setTo(0, 0, 0);
+	dir.scaleAdd(sinTheta * sinPhi, u).scaleAdd(cosTheta, v).
+		scaleAdd(cosPhi * sinTheta, w);
 	return dir;
     }
 
@@ -185,19 +186,22 @@ public class Spherical extends Camera {
 	DoubleRef r_squared = new DoubleRef();// sum of squares of normalised device coordinates
 
 	ray.o.setTo(eye);
+	setFootprint(ray, vp);
 	int pixRendered = 0;
 	double pixToRender = vp.vRes * vp.hRes;
 
 	for (int r = 0; r < vres; r++) // up
 	{
 	    for (int c = 0; c < hres; c++) {	// across
+		//each eye gets its own samples, the same every render
+		ThreadRandom.seedPixel(r, c + i);
 		L.setTo(Utility.BLACK);
 
 		for (int j = 0; j < vp.numSamples; j++) {
 		    sp.setTo(vp.sampler.sampleUnitSquare());
 		    pp.x = s * (c - 0.5 * hres + sp.x);
 		    pp.y = s * (r - 0.5 * vres + sp.y);
-		    ray.d.setTo(rayDirection(pp, hres, vres, s, r_squared));
+		    rayDirection(pp, hres, vres, s, r_squared, ray.d);
 
 		    //if (r_squared.d <= 1.0)
 		    L.addLocal(w.tracer.traceRay(ray, depth));
@@ -208,64 +212,71 @@ public class Spherical extends Camera {
 		w.displayPixel(r, c + i, L);
 		pixRendered++;
 	    }
+	    w.displayTile(r, i, 1, vp.hRes);
 	    w.updateProgress(pixRendered / pixToRender);
 	}
     }
 
+    /**
+     * ray through a view plane point, for the adaptive render mode
+     *
+     * @param vp
+     * @param pp
+     * @param ray
+     * @return
+     */
+    @Override
+    protected boolean cameraRay(ViewPlane vp, Point2D pp, Ray ray) {
+	setFootprint(ray, vp);
+	ray.o.setTo(eye);
+	rayDirection(pp, vp.hRes, vp.vRes, vp.s, new DoubleRef(), ray.d);
+	return true;
+    }
+
+    @Override
+    protected double pixelSpread(ViewPlane vp) {
+	return 2 * Math.max(lambdaMax / vp.hRes, psiMax / vp.vRes)
+		* Utility.PI_ON_180;
+    }
+
     @Override
     public void multiThreadRenderScene(final World w) {
 	final ViewPlane vp = new ViewPlane(w.vp);//viewport
 	final int hres = vp.hRes;//resulutions
 	final int vres = vp.vRes;
 	final double s = vp.s;//size of pixel
-	w.startRender(vp.vRes, vp.hRes);
-	CountDownLatch cdl = new CountDownLatch(vp.vRes * vp.hRes);
-
-	//loop through all pixels
-	for (int ri = 0; ri < vp.vRes; ri++) {
-	    for (int ci = 0; ci < vp.hRes; ci++) {
-		final int r = ri;
-		final int c = ci;
-		Runnable pix = new Runnable() {
-		    public void run() {
-			RGBColor L = new RGBColor();//out color
-			Ray ray = new Ray();
-			int depth = 0;
-			Point2D sp = new Point2D();// sample point in [0, 1] X [0, 1]
-			Point2D pp = new Point2D();// sample point on the pixel
-			DoubleRef r_squared = new DoubleRef();// sum of squares of normalised device coordinates
-
-			ray.o.setTo(eye);
-			L.setTo(Utility.BLACK);
-
-			for (int j = 0; j < vp.numSamples; j++) {//samples
-			    sp.setTo(vp.sampler.sampleUnitSquare());
-			    pp.x = s * (c - 0.5 * hres + sp.x);
-			    pp.y = s * (r - 0.5 * vres + sp.y);
-			    ray.d.setTo(rayDirection(pp, hres, vres, s,
-				    r_squared));
-
-			    //if (r_squared.d <= 1.0)
-			    L.addLocal(w.tracer.traceRay(ray, depth));
-			}
-
-			L.divLocal(vp.numSamples);
-			L.mulLocal(exposureTime);
-			w.displayPixel(r, c, L);
-			w.updateProgress(((double) cdl.getCount())
-				/ ((double) (vp.hRes * vp.vRes)));
-			cdl.countDown();
-		    }
-		};
-		EXEC.submit(pix);
-	    }
-	}
-	try {
-	    cdl.await();
-	} catch (InterruptedException ex) {
-	    Logger.getLogger(Pinhole.class.getName()).
-		    log(Level.SEVERE, null, ex);
+	if (vp.isAdaptive()) {
+	    renderAdaptive(w, vp);
+	    return;
 	}
+	w.startRender(vp.hRes, vp.vRes);
+	SCHEDULER.render(w, vp.vRes, vp.hRes, (int r, int c) -> {
+	    PixelScratch scratch = getPixelScratch();
+	    RGBColor L = scratch.color;//out color
+	    Ray ray = scratch.ray;
+	    setFootprint(ray, vp);
+	    int depth = 0;
+	    Point2D sp = scratch.sp;// sample point in [0, 1] X [0, 1]
+	    Point2D pp = scratch.pp;// sample point on the pixel
+	    DoubleRef r_squared = scratch.rSquared;// sum of squares of normalised device coordinates
+
+	    ray.o.setTo(eye);
+	    L.setTo(Utility.BLACK);
+
+	    for (int j = 0; j < vp.numSamples; j++) {//samples
+		sp.setTo(vp.sampler.sampleUnitSquare());
+		pp.x = s * (c - 0.5 * hres + sp.x);
+		pp.y = s * (r - 0.5 * vres + sp.y);
+		rayDirection(pp, hres, vres, s, r_squared, ray.d);
+
+		//if (r_squared.d <= 1.0)
+		L.addLocal(w.tracer.traceRay(ray, depth));
+	    }
+
+	    L.divLocal(vp.numSamples);
+	    L.mulLocal(exposureTime);
+	    w.displayPixel(r, c, L);
+	});
 	w.finishRender();
 
     }
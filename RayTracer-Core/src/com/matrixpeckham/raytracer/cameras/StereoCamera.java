@@ -89,7 +89,7 @@ public class StereoCamera extends Camera {
 
 	final double r = eye.distance(lookat);
 	final double x = r * Math.tan(0.5 * beta * Utility.PI_ON_180);
-	w.startRender(vres, hres);
+	w.startRender(hres * 2 + pixelGap, vres);
 	CountDownLatch cdl = new CountDownLatch(2);
 	if (viewingType == ViewingType.PARALLEL) {
 	    Runnable left = new Runnable() {
@@ -122,15 +122,14 @@ public class StereoCamera extends Camera {
 	    };
 	    EXEC.submit(left);
 	    EXEC.submit(right);
-	    try {
-		cdl.await();
-	    } catch (InterruptedException ex) {
-		Logger.getLogger(Pinhole.class.getName()).
-			log(Level.SEVERE, null, ex);
-	    }
-	    w.finishRender();
-
 	}
+	try {
+	    cdl.await();
+	} catch (InterruptedException ex) {
+	    Logger.getLogger(Pinhole.class.getName()).
+		    log(Level.SEVERE, null, ex);
+	}
+	w.finishRender();
     }
 
     /**
@@ -239,6 +238,17 @@ public class StereoCamera extends Camera {
 	    public void startRender(int width, int height) {
 	    }
 
+	    @Override
+	    public void displayPixel(int row, int column, double r, double g,
+		    double b) {
+		w.displayPixel(row, column, r, g, b);
+	    }
+
+	    @Override
+	    public void displayTile(int row, int column, int rows, int columns) {
+		w.displayTile(row, column, rows, columns);
+	    }
+
 	    @Override
 	    public void updateProgress(double progress) {
 		if (this.progress > progress) {
@@ -269,6 +279,7 @@ public class StereoCamera extends Camera {
 	temp.backgroundColor = w.backgroundColor;
 	temp.lights = w.lights;
 	temp.objects = w.objects;
+	temp.setAccelerate(w.isAccelerate());
 	temp.tracer = w.tracer;
 	temp.sphere = w.sphere;
 	temp.setRenderListener(w.getRenderListener());
@@ -276,7 +287,7 @@ public class StereoCamera extends Camera {
 	double r = eye.distance(lookat);
 	double x = r * Math.tan(0.5 * beta * Utility.PI_ON_180);
 
-	w.startRender(hres * 2 + pixelGap, vres * 2 + pixelGap);
+	w.startRender(hres * 2 + pixelGap, vres);
 
 	if (viewingType == ViewingType.PARALLEL) {
 	    leftCamera.renderStereo(temp, x, 0);
@@ -21,13 +21,11 @@ import com.matrixpeckham.raytracer.samplers.Sampler;
 import com.matrixpeckham.raytracer.util.Point2D;
 import com.matrixpeckham.raytracer.util.RGBColor;
 import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
 import com.matrixpeckham.raytracer.util.Utility;
 import com.matrixpeckham.raytracer.util.Vector3D;
 import com.matrixpeckham.raytracer.world.ViewPlane;
 import com.matrixpeckham.raytracer.world.World;
-import java.util.concurrent.CountDownLatch;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Thin lens camera with depth of field.
@@ -134,12 +132,16 @@ public class ThinLens extends Camera {
      *
      * @param pixelPoint
      * @param lensPoint
-     * @return
+     * @param dir vector to store the direction in
+     * @return dir
      */
-    private Vector3D rayDirection(Point2D pixelPoint, Point2D lensPoint) {
-	Point2D p = new Point2D(pixelPoint.x * f / d, pixelPoint.y * f / d);
-	Vector3D dir = u.mul(p.x - lensPoint.x).add(v.mul(p.y - lensPoint.y)).
-		sub(w.mul(f));
+    private Vector3D rayDirection(Point2D pixelPoint, Point2D lensPoint,
+	    Vector3D dir) {
+	double px = pixelPoint.x * f / d;
+	double py = pixelPoint.y * f / d;
+	dir.setTo(0, 0, 0);
+	dir.scaleAdd(px - lensPoint.x, u).scaleAdd(py - lensPoint.y, v).
+		scaleAdd(-f, w);
 	dir.normalize();
 	return dir;
     }
@@ -192,12 +194,14 @@ public class ThinLens extends Camera {
 
 	//adjust size for zoom.
 	vp.s /= zoom;
+	setFootprint(ray, vp);
 	int pixRendered = 0;
 	double pixToRender = vp.vRes * vp.hRes;
-	w.startRender(vp.hRes, vp.hRes);
+	w.startRender(vp.hRes, vp.vRes);
 	//loop through pixels
 	for (int r = 0; r < vp.vRes; r++) {
 	    for (int c = 0; c < vp.hRes; c++) {
+		ThreadRandom.seedPixel(r, c);
 		//reset color
 		L.setTo(Utility.BLACK);
 		//for every sample
@@ -209,12 +213,12 @@ public class ThinLens extends Camera {
 
 		    //find lens point
 		    dp.setTo(sampler.sampleUnitDisc());
-		    lp.setTo(dp.mul(lensRadius));
+		    lp.setTo(dp.x * lensRadius, dp.y * lensRadius);
 
 		    //ray origin is lens point
-		    ray.o.setTo(eye.add(u.mul(lp.x)).add(v.mul(lp.y)));
+		    ray.o.setTo(eye).scaleAdd(lp.x, u).scaleAdd(lp.y, v);
 		    //calc direction and add to color
-		    ray.d.setTo(rayDirection(pp, lp));
+		    rayDirection(pp, lp, ray.d);
 		    L.addLocal(w.tracer.traceRay(ray, depth));
 		}
 		//normalize expose, and display pixel
@@ -223,6 +227,7 @@ public class ThinLens extends Camera {
 		w.displayPixel(r, c, L);
 		pixRendered++;
 	    }
+	    w.displayTile(r, 0, 1, vp.hRes);
 	    w.updateProgress(pixRendered / pixToRender);
 	}
 	w.finishRender();
@@ -266,12 +271,15 @@ public class ThinLens extends Camera {
 
 	//adjust size for zoom.
 	vp.s /= zoom;
+	setFootprint(ray, vp);
 	int pixRendered = 0;
 	double pixToRender = vp.vRes * vp.hRes;
 
 	//loop through pixels
 	for (int r = 0; r < vp.vRes; r++) {
 	    for (int c = 0; c < vp.hRes; c++) {
+		//each eye gets its own samples, the same every render
+		ThreadRandom.seedPixel(r, c + i);
 		//reset color
 		L.setTo(Utility.BLACK);
 		//for every sample
@@ -283,12 +291,12 @@ public class ThinLens extends Camera {
 
 		    //find lens point
 		    dp.setTo(sampler.sampleUnitDisc());
-		    lp.setTo(dp.mul(lensRadius));
+		    lp.setTo(dp.x * lensRadius, dp.y * lensRadius);
 
 		    //ray origin is lens point
-		    ray.o.setTo(eye.add(u.mul(lp.x)).add(v.mul(lp.y)));
+		    ray.o.setTo(eye).scaleAdd(lp.x, u).scaleAdd(lp.y, v);
 		    //calc direction and add to color
-		    ray.d.setTo(rayDirection(pp, lp));
+		    rayDirection(pp, lp, ray.d);
 		    L.addLocal(w.tracer.traceRay(ray, depth));
 		}
 		//normalize expose, and display pixel
@@ -297,78 +305,87 @@ public class ThinLens extends Camera {
 		w.displayPixel(r, c + i, L);
 		pixRendered++;
 	    }
+	    w.displayTile(r, i, 1, vp.hRes);
 	    w.updateProgress(pixRendered / pixToRender);
 	}
     }
 
+    /**
+     * ray through a view plane point, for the adaptive render mode
+     *
+     * @param vp
+     * @param pp
+     * @param ray
+     * @return
+     */
+    @Override
+    protected boolean cameraRay(ViewPlane vp, Point2D pp, Ray ray) {
+	setFootprint(ray, vp);
+	Point2D dp = sampler.sampleUnitDisc();
+	Point2D lp = new Point2D(dp.x * lensRadius, dp.y * lensRadius);
+	ray.o.setTo(eye).scaleAdd(lp.x, u).scaleAdd(lp.y, v);
+	rayDirection(pp, lp, ray.d);
+	return true;
+    }
+
+    @Override
+    protected double pixelSpread(ViewPlane vp) {
+	return vp.s / d;
+    }
+
     @Override
     public void multiThreadRenderScene(final World w) {
 	//duplicate viewport because we manipulate it later
 	final ViewPlane vp = new ViewPlane(w.vp);
 	//adjust size for zoom.
 	vp.s /= zoom;
-	w.startRender(vp.vRes, vp.hRes);
-	CountDownLatch cdl = new CountDownLatch(vp.vRes * vp.hRes);
-
-	for (int ri = 0; ri < vp.vRes; ri++) {
-	    for (int ci = 0; ci < vp.hRes; ci++) {
-		final int r = ri;
-		final int c = ci;
-		Runnable pix = new Runnable() {
-		    public void run() {
-			//color
-			RGBColor L = new RGBColor();
-			//ray
-			Ray ray = new Ray();
-			//initial depth
-			int depth = 0;
-			//normal sample point
-			Point2D sp = new Point2D();
-			//pixel point
-			Point2D pp = new Point2D();
-			//normal disk point
-			Point2D dp = new Point2D();
-			//lens point
-			Point2D lp = new Point2D();
-
-			//reset color
-			L.setTo(Utility.BLACK);
-			//for every sample
-			for (int n = 0; n < vp.numSamples; n++) {
-			    //find pixel point
-			    sp.setTo(vp.sampler.sampleUnitSquare());
-			    pp.x = vp.s * (c - vp.hRes / 2.0 + sp.x);
-			    pp.y = vp.s * (r - vp.vRes / 2.0 + sp.y);
-
-			    //find lens point
-			    dp.setTo(sampler.sampleUnitDisc());
-			    lp.setTo(dp.mul(lensRadius));
-
-			    //ray origin is lens point
-			    ray.o.setTo(eye.add(u.mul(lp.x)).add(v.mul(lp.y)));
-			    //calc direction and add to color
-			    ray.d.setTo(rayDirection(pp, lp));
-			    L.addLocal(w.tracer.traceRay(ray, depth));
-			}
-			//normalize expose, and display pixel
-			L.divLocal(vp.numSamples);
-			L.mulLocal(exposureTime);
-			w.displayPixel(r, c, L);
-			w.updateProgress(((double) cdl.getCount())
-				/ ((double) (vp.hRes * vp.vRes)));
-			cdl.countDown();
-		    }
-		};
-		EXEC.submit(pix);
-	    }
-
-	}
-	try {
-	    cdl.await();
-	} catch (InterruptedException ex) {
-	    Logger.getLogger(Pinhole.class.getName()).
-		    log(Level.SEVERE, null, ex);
+	if (vp.isAdaptive()) {
+	    renderAdaptive(w, vp);
+	    return;
 	}
+	w.startRender(vp.hRes, vp.vRes);
+	SCHEDULER.render(w, vp.vRes, vp.hRes, (int r, int c) -> {
+	    PixelScratch scratch = getPixelScratch();
+	    //color
+	    RGBColor L = scratch.color;
+	    //ray
+	    Ray ray = scratch.ray;
+	    setFootprint(ray, vp);
+	    //initial depth
+	    int depth = 0;
+	    //normal sample point
+	    Point2D sp = scratch.sp;
+	    //pixel point
+	    Point2D pp = scratch.pp;
+	    //normal disk point
+	    Point2D dp = scratch.dp;
+	    //lens point
+	    Point2D lp = scratch.lp;
+
+	    //reset color
+	    L.setTo(Utility.BLACK);
+	    //for every sample
+	    for (int n = 0; n < vp.numSamples; n++) {
+		//find pixel point
+		sp.setTo(vp.sampler.sampleUnitSquare());
+		pp.x = vp.s * (c - vp.hRes / 2.0 + sp.x);
+		pp.y = vp.s * (r - vp.vRes / 2.0 + sp.y);
+
+		//find lens point
+		dp.setTo(sampler.sampleUnitDisc());
+		lp.setTo(dp.x * lensRadius, dp.y * lensRadius);
+
+		//ray origin is lens point
+		ray.o.setTo(eye).scaleAdd(lp.x, u).scaleAdd(lp.y, v);
+		//calc direction and add to color
+		rayDirection(pp, lp, ray.d);
+		L.addLocal(w.tracer.traceRay(ray, depth));
+	    }
+	    //normalize expose, and display pixel
+	    L.divLocal(vp.numSamples);
+	    L.mulLocal(exposureTime);
+	    w.displayPixel(r, c, L);
+	});
 	w.finishRender();
 
     }
@@ -192,4 +192,14 @@ public class BumpedObject extends GeometricObject {
         return obj.getBoundingBox(); //To change body of generated methods, choose Tools | Templates.
     }
 
+    /**
+     * bounded if the wrapped object is
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return obj.isBounded();
+    }
+
 }
@@ -178,4 +178,14 @@ public class ClippedObject extends GeometricObject {
         return obj.getBoundingBox(); //To change body of generated methods, choose Tools | Templates.
     }
 
+    /**
+     * bounded if the wrapped object is, clipping only removes hits
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return obj.isBounded();
+    }
+
 }
@@ -58,15 +58,14 @@ public abstract class GeometricObject {
     }
 
     /**
-     * copy constructor
+     * copy constructor, the copy shares the material of the original, call
+     * setMaterial() on it to give it its own.
      *
      * @param object
      */
     public GeometricObject(GeometricObject object) {
         shadows = object.shadows;
-        if (object.material != null) {
-            material = object.material.cloneMaterial();
-        }
+        material = object.material;
         color.setTo(object.color);
     }
 
@@ -145,6 +144,20 @@ public abstract class GeometricObject {
         return material;
     }
 
+    /**
+     * gets the material for a hit on obj. compound objects report the
+     * material of the part they hit in s.material, instead of writing their
+     * own material field, so that threads sharing the object don't see each
+     * others' hits. callers set s.material to null before calling hit.
+     *
+     * @param obj
+     * @param s
+     * @return
+     */
+    public static Material hitMaterial(GeometricObject obj, ShadeRec s) {
+        return s.material != null ? s.material : obj.getMaterial();
+    }
+
     /**
      * sets the material for this object
      *
@@ -154,6 +167,18 @@ public abstract class GeometricObject {
         material = mat.cloneMaterial();
     }
 
+    /**
+     * sets the material without copying it, so any number of objects can
+     * render with one material. materials are not changed while shading, but
+     * the caller must not change a shared material once rendering starts, and
+     * changes made before then show on every object sharing it.
+     *
+     * @param mat
+     */
+    public void setSharedMaterial(Material mat) {
+        material = mat;
+    }
+
     /**
      * gets the color
      *
@@ -206,6 +231,18 @@ public abstract class GeometricObject {
         return new BBox();
     }
 
+    /**
+     * returns true if every hit this object reports lies inside the box
+     * returned by getBoundingBox(). The world's acceleration structure only
+     * culls objects that return true here, everything else, like planes, is
+     * always tested. override along with getBoundingBox().
+     *
+     * @return
+     */
+    public boolean isBounded() {
+        return false;
+    }
+
     /**
      * Shadow hit function, also checks an object for hit with a ray, but this
      * one doesn't need to compute hit point, or normal, so can sometimes be
@@ -17,6 +17,7 @@
  */
 package com.matrixpeckham.raytracer.geometricobjects;
 
+import com.matrixpeckham.raytracer.materials.Material;
 import com.matrixpeckham.raytracer.util.BBox;
 import com.matrixpeckham.raytracer.util.DoubleRef;
 import com.matrixpeckham.raytracer.util.Matrix;
@@ -60,6 +61,12 @@ public class Instance extends GeometricObject {
      */
     private BBox bbox = new BBox();
 
+    /**
+     * true once computeBoundingBox() has been called, and cleared again by any
+     * later transform.
+     */
+    private boolean boundsValid = false;
+
     /**
      * flag for if we transform texture coordinates.
      */
@@ -92,12 +99,13 @@ public class Instance extends GeometricObject {
     }
 
     /**
-     * This is a private constructor for use by the clone method. It clones an
-     * instance to a new one. it is private because we want clients who create a
-     * new instance with another instance to use the GeometricObject parameter
-     * constructor because we want them to be able to chain instances to create
-     * transformation hierarchies without casting to GeometricObject inside the
-     * constructor.
+     * This is a private constructor for use by the clone method. It copies an
+     * instance to a new one that references the same object, so cloning an
+     * instance costs a matrix pair no matter how big the object is. it is
+     * private because we want clients who create a new instance with another
+     * instance to use the GeometricObject parameter constructor because we
+     * want them to be able to chain instances to create transformation
+     * hierarchies without casting to GeometricObject inside the constructor.
      *
      * @param i
      */
@@ -105,11 +113,10 @@ public class Instance extends GeometricObject {
         super(i);
         invMatrix.setTo(i.invMatrix);
         transformTexture = i.transformTexture;
-        if (i.object != null) {
-            object = i.object.cloneGeometry();
-        }
+        object = i.object;
         forwardMatrix.setTo(i.forwardMatrix);
         bbox = new BBox(i.bbox);
+        boundsValid = i.boundsValid;
 
     }
 
@@ -120,6 +127,16 @@ public class Instance extends GeometricObject {
      */
     public void setObject(GeometricObject obj) {
         object = obj;
+        boundsValid = false;
+    }
+
+    /**
+     * gets the object reference, which may be shared with other instances
+     *
+     * @return
+     */
+    public GeometricObject getObject() {
+        return object;
     }
 
     /**
@@ -229,6 +246,7 @@ public class Instance extends GeometricObject {
         bbox.x1 = x1;
         bbox.y1 = y1;
         bbox.z1 = z1;
+        boundsValid = true;
     }
 
     /**
@@ -241,6 +259,17 @@ public class Instance extends GeometricObject {
         return bbox;
     }
 
+    /**
+     * bounded if the box has been computed since the last transform and the
+     * object itself is bounded
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return boundsValid && object != null && object.isBounded();
+    }
+
     /**
      * sets the texture transform flag
      *
@@ -260,6 +289,50 @@ public class Instance extends GeometricObject {
         return new Instance(this);
     }
 
+    /**
+     * normal and tangents for tangentScale, so filtered hits don't allocate
+     */
+    private static final ThreadLocal<Vector3D[]> TANGENT_SCRATCH
+            = new ThreadLocal<Vector3D[]>() {
+                @Override
+                protected Vector3D[] initialValue() {
+                    return new Vector3D[]{new Vector3D(), new Vector3D(),
+                        new Vector3D()};
+                }
+
+            };
+
+    /**
+     * how much the inverse transform scales lengths on the surface around a
+     * hit, the geometric mean of its scaling of two tangent directions, one
+     * across the ray and one along it. lengths along the normal don't move
+     * texture lookups, so they're left out.
+     *
+     * @param d world ray direction
+     * @param n world normal at the hit
+     * @return
+     */
+    private double tangentScale(Vector3D d, Normal n) {
+        Vector3D[] t = TANGENT_SCRATCH.get();
+        Vector3D nv = t[0].setTo(n);
+        Vector3D across = d.crossInto(nv, t[1]);
+        if (across.lenSquared() < 1e-12) {
+            //head on, any tangent will do
+            if (Math.abs(nv.x) < 0.9) {
+                across.setTo(1, 0, 0);
+            } else {
+                across.setTo(0, 1, 0);
+            }
+            nv.crossInto(across, across);
+        }
+        across.normalize();
+        Vector3D along = nv.crossInto(across, t[2]);
+        along.normalize();
+        double scaleAcross = Vector3D.mul(invMatrix, across, across).length();
+        double scaleAlong = Vector3D.mul(invMatrix, along, along).length();
+        return Math.sqrt(scaleAcross * scaleAlong);
+    }
+
     /**
      * hit function
      *
@@ -274,15 +347,22 @@ public class Instance extends GeometricObject {
         invRay.o.setTo(Point3D.mul(invMatrix, invRay.o));
         invRay.d.setTo(Vector3D.mul(invMatrix, invRay.d));
 
+        s.material = null;
         if (object.hit(invRay, s)) {
 
             //we have to transform the hit normal to world coordinates
             s.normal.setTo(Normal.mul(invMatrix, s.normal));
             s.normal.normalize();
-            //use object material
-            if (object.getMaterial() != null) {
-                material = object.getMaterial();
+            if (transformTexture) {
+                if (ray.width != 0 || ray.spread != 0) {
+                    s.localScale *= tangentScale(ray.d, s.normal);
+                }
+            } else {
+                s.localScale = 1;
             }
+            //use object material, reported in s so shared instances don't race
+            Material m = hitMaterial(object, s);
+            s.material = m != null ? m : material;
 
             //if we don't transform the texture we use world texture coordinates, otherwise use local texture coordinates
             if (!transformTexture) {
@@ -365,6 +445,8 @@ public class Instance extends GeometricObject {
 
         invMatrix = invMatrix.mul(invScalingMatrix);
 
+        boundsValid = false;
+
         Matrix scaling_matrix = new Matrix();// temporary scaling matrix
 
         scaling_matrix.m[0][0] = s.x;
@@ -391,6 +473,8 @@ public class Instance extends GeometricObject {
 
         invMatrix = invMatrix.mul(invScalingMatrix);
 
+        boundsValid = false;
+
         Matrix scaling_matrix = new Matrix();// temporary scaling matrix
 
         scaling_matrix.m[0][0] = a;
@@ -415,6 +499,8 @@ public class Instance extends GeometricObject {
 
         invMatrix = invMatrix.mul(inv_translation_matrix);
 
+        boundsValid = false;
+
         Matrix translation_matrix = new Matrix();// temporary translation matrix
 
         translation_matrix.m[0][3] = trans.x;
@@ -441,6 +527,8 @@ public class Instance extends GeometricObject {
 
         invMatrix = invMatrix.mul(inv_translation_matrix);
 
+        boundsValid = false;
+
         Matrix translation_matrix = new Matrix();// temporary translation matrix
 
         translation_matrix.m[0][3] = dx;
@@ -469,6 +557,8 @@ public class Instance extends GeometricObject {
 
         invMatrix = invMatrix.mul(inv_x_rotation_matrix);
 
+        boundsValid = false;
+
         Matrix x_rotation_matrix = new Matrix();// temporary rotation matrix about x axis
 
         x_rotation_matrix.m[1][1] = cos_theta;
@@ -498,6 +588,8 @@ public class Instance extends GeometricObject {
 
         invMatrix = invMatrix.mul(inv_y_rotation_matrix);
 
+        boundsValid = false;
+
         Matrix y_rotation_matrix = new Matrix();// temporary rotation matrix about x axis
 
         y_rotation_matrix.m[0][0] = cos_theta;
@@ -526,6 +618,8 @@ public class Instance extends GeometricObject {
 
         invMatrix = invMatrix.mul(inv_z_rotation_matrix);
 
+        boundsValid = false;
+
         Matrix z_rotation_matrix = new Matrix();// temporary rotation matrix about y axis
 
         z_rotation_matrix.m[0][0] = cos_theta;
@@ -575,6 +669,8 @@ public class Instance extends GeometricObject {
 
         invMatrix = invMatrix.mul(inverse_shearing_matrix);
 
+        boundsValid = false;
+
         forwardMatrix = s.mul(forwardMatrix);
     }
 
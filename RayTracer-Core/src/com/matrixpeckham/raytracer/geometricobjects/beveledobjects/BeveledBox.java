@@ -118,6 +118,16 @@ public class BeveledBox extends Compound {
         return bBox;
     }
 
+    /**
+     * hit functions check the cached box first so hits are always inside it
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
     /**
      * shadow hit, overridden to use cached box
      *
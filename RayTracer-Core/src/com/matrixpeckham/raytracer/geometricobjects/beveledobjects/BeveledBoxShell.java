@@ -114,6 +114,16 @@ public class BeveledBoxShell extends Compound {
         return bBox;
     }
 
+    /**
+     * hit functions check the cached box first so hits are always inside it
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
     /**
      * shadow hit, overridden to use cached bounds
      *
@@ -446,6 +446,16 @@ public class BeveledWedge extends Compound {
         return (bbox);
     }
 
+    /**
+     * hit functions check the cached box first so hits are always inside it
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
     /**
      * shadow hit function overrides to use cached bounding box for early out
      *
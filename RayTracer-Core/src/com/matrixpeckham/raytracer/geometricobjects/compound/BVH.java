@@ -0,0 +1,475 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.geometricobjects.compound;
+
+import com.matrixpeckham.raytracer.geometricobjects.GeometricObject;
+import com.matrixpeckham.raytracer.materials.Material;
+import com.matrixpeckham.raytracer.util.BBox;
+import com.matrixpeckham.raytracer.util.DoubleRef;
+import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ShadeRec;
+import com.matrixpeckham.raytracer.util.Utility;
+import java.util.ArrayList;
+
+/**
+ * Bounding volume hierarchy, an alternative to Grid for speeding up compounds.
+ * The tree is built top down with the binned surface area heuristic, and is
+ * stored flattened in depth first order in primitive arrays, the left child of
+ * an interior node is always the next node, so only the right child index is
+ * stored.
+ *
+ * Unlike the grid this adapts to unevenly spread geometry, a small detailed
+ * mesh sitting on a huge ground plane does not blow up the cell count.
+ *
+ * Like Grid, objects are added with addObject() and then setupCells() must be
+ * called before rendering, so a scene can switch between the two by changing
+ * the constructor. Objects must override getBoundingBox().
+ *
+ * @author William Matrix Peckham
+ */
+public class BVH extends Compound {
+
+    /**
+     * outer bounding box of the hierarchy
+     */
+    protected BBox bbox = new BBox();
+
+    /**
+     * objects in leaf order, leaves reference ranges of this array
+     */
+    private GeometricObject[] prims = new GeometricObject[0];
+
+    /**
+     * the nodes, see BVHTree
+     */
+    private final BVHTree tree = new BVHTree();
+
+    /**
+     * per thread hit distance for occluded(), which only needs to know if
+     * there was a hit. occluded() is never called from inside itself, nested
+     * hierarchies are tested with shadowHit.
+     */
+    private static final ThreadLocal<DoubleRef> OCCLUDED_T
+            = new ThreadLocal<DoubleRef>() {
+                @Override
+                protected DoubleRef initialValue() {
+                    return new DoubleRef();
+                }
+
+            };
+
+    /**
+     * default constructor
+     */
+    public BVH() {
+        super();
+    }
+
+    /**
+     * copy constructor
+     *
+     * @param b
+     */
+    public BVH(BVH b) {
+        super(b);
+        tree.maxLeafSize = b.tree.maxLeafSize;
+        setupCells();
+    }
+
+    /**
+     * clone
+     *
+     * @return
+     */
+    @Override
+    public GeometricObject cloneGeometry() {
+        return new BVH(this);
+    }
+
+    /**
+     * adds all the sub objects of another compound without cloning them, this
+     * lets a mesh loaded through TriangleMesh be put in a hierarchy instead of
+     * the mesh's grid.
+     *
+     * @param c
+     */
+    public void addObjects(Compound c) {
+        objects.addAll(c.objects);
+    }
+
+    public int getMaxLeafSize() {
+        return tree.maxLeafSize;
+    }
+
+    public void setMaxLeafSize(int maxLeafSize) {
+        tree.maxLeafSize = Math.max(1, maxLeafSize);
+    }
+
+    /**
+     * returns the number of nodes in the built tree
+     *
+     * @return
+     */
+    public int getNumNodes() {
+        return tree.numNodes;
+    }
+
+    /**
+     * bounding box, returns cached box
+     *
+     * @return
+     */
+    @Override
+    public BBox getBoundingBox() {
+        return bbox;
+    }
+
+    /**
+     * traversal never leaves the node boxes so hits are always inside it
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
+    /**
+     * builds the hierarchy, named the same as Grid.setupCells() so the two can
+     * be swapped, must be called after all objects are added.
+     */
+    public final void setupCells() {
+        build();
+    }
+
+    /**
+     * builds the hierarchy from the current objects.
+     */
+    public void build() {
+        int n = objects.size();
+        if (n == 0) {
+            tree.build(new double[0], new double[0], 0);
+            prims = new GeometricObject[0];
+            bbox = new BBox(0, 0, 0, 0, 0, 0);
+            return;
+        }
+
+        //cache the boxes and centroids, getBoundingBox() can be expensive,
+        //boxes are padded so round off at grazing angles can't cull a hit
+        double[] boxes = new double[6 * n];
+        double[] centroids = new double[3 * n];
+        for (int i = 0; i < n; i++) {
+            BBox b = objects.get(i).getBoundingBox();
+            boxes[6 * i] = b.x0 - Utility.EPSILON;
+            boxes[6 * i + 1] = b.y0 - Utility.EPSILON;
+            boxes[6 * i + 2] = b.z0 - Utility.EPSILON;
+            boxes[6 * i + 3] = b.x1 + Utility.EPSILON;
+            boxes[6 * i + 4] = b.y1 + Utility.EPSILON;
+            boxes[6 * i + 5] = b.z1 + Utility.EPSILON;
+            centroids[3 * i] = (b.x0 + b.x1) * 0.5;
+            centroids[3 * i + 1] = (b.y0 + b.y1) * 0.5;
+            centroids[3 * i + 2] = (b.z0 + b.z1) * 0.5;
+        }
+
+        int[] indices = tree.build(boxes, centroids, n);
+        prims = new GeometricObject[n];
+        for (int i = 0; i < n; i++) {
+            prims[i] = objects.get(indices[i]);
+        }
+
+        double[] nb = tree.nodeBounds;
+        bbox = new BBox(nb[0], nb[3], nb[1], nb[4], nb[2], nb[5]);
+    }
+
+    /**
+     * Hit function, finds the closest hit in the hierarchy. works the same way
+     * as Compound.hit().
+     *
+     * @param ray
+     * @param sr
+     * @return
+     */
+    @Override
+    public boolean hit(Ray ray, ShadeRec sr) {
+        GeometricObject obj = hitObject(ray, sr);
+        return obj != null;
+    }
+
+    /**
+     * finds the closest object hit by the ray, the nearer child is visited
+     * first and nodes further than the current closest hit are skipped. sr
+     * gets the closest hit's parameter, normal, local hit point, texture
+     * coordinates and material. this lets the world find out which object was
+     * hit without going through the material field.
+     *
+     * @param ray
+     * @param sr
+     * @return the object hit, or null if nothing was hit
+     */
+    public GeometricObject hitObject(Ray ray, ShadeRec sr) {
+        if (tree.numNodes == 0) {
+            return null;
+        }
+        double ox = ray.o.x;
+        double oy = ray.o.y;
+        double oz = ray.o.z;
+        double idx = 1.0 / ray.d.x;
+        double idy = 1.0 / ray.d.y;
+        double idz = 1.0 / ray.d.z;
+
+        //temporary storage for keeping lowest distance hit.
+        double nx = 0;
+        double ny = 0;
+        double nz = 0;
+        double lx = 0;
+        double ly = 0;
+        double lz = 0;
+        double u = 0;
+        double v = 0;
+        double ls = 1;
+        Material m = null;
+        GeometricObject closest = null;
+        double tmin = Utility.HUGE_VALUE;
+
+        int[] stack = tree.getStack();
+        int top = 0;
+        int node = 0;
+        while (true) {
+            if (tree.hitNode(node, ox, oy, oz, idx, idy, idz, 0, tmin)) {
+                int count = tree.nodeCount[node];
+                if (count > 0) {
+                    int first = tree.nodeOffset[node];
+                    for (int j = first; j < first + count; j++) {
+                        sr.localScale = 1;
+                        sr.material = null;
+                        if (prims[j].hit(ray, sr) && sr.lastT < tmin) {
+                            closest = prims[j];
+                            m = hitMaterial(prims[j], sr);
+                            tmin = sr.lastT;
+                            nx = sr.normal.x;
+                            ny = sr.normal.y;
+                            nz = sr.normal.z;
+                            lx = sr.localHitPosition.x;
+                            ly = sr.localHitPosition.y;
+                            lz = sr.localHitPosition.z;
+                            u = sr.u;
+                            v = sr.v;
+                            ls = sr.localScale;
+                        }
+                    }
+                } else {
+                    //push the far child and descend into the near one
+                    if (tree.rightFirst(node, idx, idy, idz)) {
+                        stack[top++] = node + 1;
+                        node = tree.nodeOffset[node];
+                    } else {
+                        stack[top++] = tree.nodeOffset[node];
+                        node = node + 1;
+                    }
+                    continue;
+                }
+            }
+            if (top == 0) {
+                break;
+            }
+            node = stack[--top];
+        }
+
+        if (closest != null) {
+            sr.lastT = tmin;
+            sr.normal.setTo(nx, ny, nz);
+            sr.localHitPosition.setTo(lx, ly, lz);
+            sr.u = u;
+            sr.v = v;
+            sr.localScale = ls;
+            sr.material = m;
+        }
+        return closest;
+    }
+
+    /**
+     * multiple hit function, every object whose node the ray line passes
+     * through is tested, each object is only stored once in the hierarchy so
+     * no hit is reported twice. hits are sorted by lastT afterwards.
+     *
+     * @param ray
+     * @param hits
+     * @param s
+     * @return
+     */
+    @Override
+    public boolean hit(Ray ray, ArrayList<ShadeRec> hits, ShadeRec s) {
+        if (tree.numNodes == 0) {
+            return false;
+        }
+        double ox = ray.o.x;
+        double oy = ray.o.y;
+        double oz = ray.o.z;
+        double idx = 1.0 / ray.d.x;
+        double idy = 1.0 / ray.d.y;
+        double idz = 1.0 / ray.d.z;
+        boolean hit = false;
+
+        int[] stack = tree.getStack();
+        int top = 0;
+        int node = 0;
+        while (true) {
+            if (tree.hitNode(node, ox, oy, oz, idx, idy, idz, -Utility.HUGE_VALUE,
+                    Utility.HUGE_VALUE)) {
+                int count = tree.nodeCount[node];
+                if (count > 0) {
+                    int first = tree.nodeOffset[node];
+                    for (int j = first; j < first + count; j++) {
+                        if (prims[j].hit(ray, hits, s)) {
+                            material = prims[j].getMaterial();
+                            hit = true;
+                        }
+                    }
+                } else {
+                    stack[top++] = tree.nodeOffset[node];
+                    node = node + 1;
+                    continue;
+                }
+            }
+            if (top == 0) {
+                break;
+            }
+            node = stack[--top];
+        }
+        if (hit) {
+            hits.sort((ShadeRec s1, ShadeRec s2) -> {
+                return Double.compare(s1.lastT, s2.lastT);
+            });
+        }
+        return hit;
+    }
+
+    /**
+     * any hit query, returns true as soon as any object casts a shadow hit
+     * closer than maxT. unlike shadowHit this doesn't need the closest hit so
+     * it stops at the first blocker.
+     *
+     * @param ray
+     * @param maxT
+     * @return
+     */
+    public boolean occluded(Ray ray, double maxT) {
+        if (!shadows) {
+            return false;
+        }
+        if (tree.numNodes == 0) {
+            return false;
+        }
+        double ox = ray.o.x;
+        double oy = ray.o.y;
+        double oz = ray.o.z;
+        double idx = 1.0 / ray.d.x;
+        double idy = 1.0 / ray.d.y;
+        double idz = 1.0 / ray.d.z;
+        DoubleRef t = OCCLUDED_T.get();
+
+        int[] stack = tree.getStack();
+        int top = 0;
+        int node = 0;
+        while (true) {
+            if (tree.hitNode(node, ox, oy, oz, idx, idy, idz, 0, maxT)) {
+                int count = tree.nodeCount[node];
+                if (count > 0) {
+                    int first = tree.nodeOffset[node];
+                    for (int j = first; j < first + count; j++) {
+                        if (prims[j].shadowHit(ray, t) && t.d < maxT) {
+                            return true;
+                        }
+                    }
+                } else {
+                    stack[top++] = tree.nodeOffset[node];
+                    node = node + 1;
+                    continue;
+                }
+            }
+            if (top == 0) {
+                return false;
+            }
+            node = stack[--top];
+        }
+    }
+
+    /**
+     * shadow hit function, finds the closest shadow hit the same way hit
+     * does.
+     *
+     * @param ray
+     * @param t
+     * @return
+     */
+    @Override
+    public boolean shadowHit(Ray ray, DoubleRef t) {
+        //early out for shadows, all implementations do this
+        if (!shadows) {
+            return false;
+        }
+        if (tree.numNodes == 0) {
+            return false;
+        }
+        double ox = ray.o.x;
+        double oy = ray.o.y;
+        double oz = ray.o.z;
+        double idx = 1.0 / ray.d.x;
+        double idy = 1.0 / ray.d.y;
+        double idz = 1.0 / ray.d.z;
+        boolean hit = false;
+        double tmin = Utility.HUGE_VALUE;
+
+        int[] stack = tree.getStack();
+        int top = 0;
+        int node = 0;
+        while (true) {
+            if (tree.hitNode(node, ox, oy, oz, idx, idy, idz, 0, tmin)) {
+                int count = tree.nodeCount[node];
+                if (count > 0) {
+                    int first = tree.nodeOffset[node];
+                    for (int j = first; j < first + count; j++) {
+                        if (prims[j].shadowHit(ray, t) && t.d < tmin) {
+                            hit = true;
+                            tmin = t.d;
+                        }
+                    }
+                } else {
+                    if (tree.rightFirst(node, idx, idy, idz)) {
+                        stack[top++] = node + 1;
+                        node = tree.nodeOffset[node];
+                    } else {
+                        stack[top++] = tree.nodeOffset[node];
+                        node = node + 1;
+                    }
+                    continue;
+                }
+            }
+            if (top == 0) {
+                break;
+            }
+            node = stack[--top];
+        }
+
+        if (hit) {
+            t.d = tmin;
+        }
+        return hit;
+    }
+
+}
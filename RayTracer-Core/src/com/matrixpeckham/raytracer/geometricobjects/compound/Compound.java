@@ -4,8 +4,6 @@ import com.matrixpeckham.raytracer.geometricobjects.GeometricObject;
 import com.matrixpeckham.raytracer.materials.Material;
 import com.matrixpeckham.raytracer.util.BBox;
 import com.matrixpeckham.raytracer.util.DoubleRef;
-import com.matrixpeckham.raytracer.util.Normal;
-import com.matrixpeckham.raytracer.util.Point3D;
 import com.matrixpeckham.raytracer.util.Ray;
 import com.matrixpeckham.raytracer.util.ShadeRec;
 import com.matrixpeckham.raytracer.util.Utility;
@@ -60,15 +58,26 @@ public class Compound extends GeometricObject {
     }
 
     /**
-     * sets the material for every object
+     * sets the material for every object, the material is copied once and the
+     * copy is shared by all of them.
      *
      * @param mat
      */
     @Override
     public void setMaterial(Material mat) {
+        setSharedMaterial(mat.cloneMaterial());
+    }
+
+    /**
+     * shares the material with every object, no copies are made.
+     *
+     * @param mat
+     */
+    @Override
+    public void setSharedMaterial(Material mat) {
         objects.stream().
                 forEach((obj) -> {
-                    obj.setMaterial(mat);
+                    obj.setSharedMaterial(mat);
                 });
     }
 
@@ -92,28 +101,44 @@ public class Compound extends GeometricObject {
     @Override
     public boolean hit(Ray ray, ShadeRec s) {
 
-        //temporary storage for keeping lowest distance hit.
-        Normal n = new Normal();
-        Point3D localHitPoint = new Point3D();
+        //temporary storage for keeping lowest distance hit, plain doubles so
+        //the hit doesn't allocate.
+        double nx = 0;
+        double ny = 0;
+        double nz = 0;
+        double lx = 0;
+        double ly = 0;
+        double lz = 0;
+        double ls = 1;
+        Material m = null;
         boolean hit = false;
         double tmin = Utility.HUGE_VALUE;
         int numObjects = objects.size();
 
         for (int j = 0; j < numObjects; j++) {
+            s.localScale = 1;
+            s.material = null;
             if (objects.get(j).hit(ray, s) && s.lastT < tmin) {
                 hit = true;
                 tmin = s.lastT;
-                material = objects.get(j).getMaterial();
-                n.setTo(s.normal);
-                localHitPoint.setTo(s.localHitPosition);
+                m = hitMaterial(objects.get(j), s);
+                nx = s.normal.x;
+                ny = s.normal.y;
+                nz = s.normal.z;
+                lx = s.localHitPosition.x;
+                ly = s.localHitPosition.y;
+                lz = s.localHitPosition.z;
+                ls = s.localScale;
             }
         }
 
         if (hit) {
             //s.t=tmin;
             s.lastT = tmin;
-            s.normal.setTo(n);
-            s.localHitPosition.setTo(localHitPoint);
+            s.normal.setTo(nx, ny, nz);
+            s.localHitPosition.setTo(lx, ly, lz);
+            s.localScale = ls;
+            s.material = m;
         }
 
         return hit;
@@ -218,4 +243,20 @@ public class Compound extends GeometricObject {
         return box;
     }
 
+    /**
+     * bounded only if every sub object is bounded, the box above is built from
+     * the sub objects' boxes
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        for (GeometricObject obj : objects) {
+            if (!obj.isBounded()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
 }
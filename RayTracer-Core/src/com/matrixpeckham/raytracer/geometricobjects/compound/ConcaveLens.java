@@ -146,6 +146,16 @@ public class ConcaveLens extends Compound {
         return bbox;
     }
 
+    /**
+     * hit functions check the cached box first so hits are always inside it
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
     /**
      * override hit to do our bounds check, we compute a tighter bounds than
      * compound would because partsphere returns the whole spheres box and we
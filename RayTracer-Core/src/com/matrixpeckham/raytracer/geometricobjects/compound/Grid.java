@@ -186,6 +186,16 @@ public class Grid extends Compound {
         return bbox;
     }
 
+    /**
+     * traversal never leaves the grid's box so hits are always inside it
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
     /**
      * Hit function
      *
@@ -335,10 +345,14 @@ public class Grid extends Compound {
         // traverse the grid
         while (true) {
             GeometricObject objectPtr = cells.get(ix + nx * iy + nx * ny * iz);
+            //the hit returned is the last one tested, which only instances
+            //give a scale
+            sr.localScale = 1;
+            sr.material = null;
             if (txNext < tyNext && txNext < tzNext) {
                 if (objectPtr != null && objectPtr.hit(ray, sr) && sr.lastT
                         < txNext) {
-                    material = objectPtr.getMaterial();
+                    sr.material = hitMaterial(objectPtr, sr);
                     return true;
                 }
                 txNext += dtx;
@@ -350,7 +364,7 @@ public class Grid extends Compound {
                 if (tyNext < tzNext) {
                     if (objectPtr != null && objectPtr.hit(ray, sr) && sr.lastT
                             < tyNext) {
-                        material = objectPtr.getMaterial();
+                        sr.material = hitMaterial(objectPtr, sr);
                         return true;
                     }
                     tyNext += dty;
@@ -361,7 +375,7 @@ public class Grid extends Compound {
                 } else {
                     if (objectPtr != null && objectPtr.hit(ray, sr) && sr.lastT
                             < tzNext) {
-                        material = objectPtr.getMaterial();
+                        sr.material = hitMaterial(objectPtr, sr);
                         return true;
                     }
                     tzNext += dtz;
@@ -568,7 +582,7 @@ public class Grid extends Compound {
     /**
      * sets up the cells for the grid
      */
-    public final void setupCells() {
+    public void setupCells() {
         Point3D p0 = findMinBounds();
         Point3D p1 = findMaxBounds();
         bbox.x0 = p0.x;
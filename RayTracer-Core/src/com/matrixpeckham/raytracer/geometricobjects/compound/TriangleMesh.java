@@ -24,14 +24,18 @@ import com.matrixpeckham.raytracer.geometricobjects.triangles.SmoothMeshTriangle
 import com.matrixpeckham.raytracer.geometricobjects.triangles.SmoothTriangle;
 import com.matrixpeckham.raytracer.geometricobjects.triangles.SmoothUVMeshTriangle;
 import com.matrixpeckham.raytracer.geometricobjects.triangles.Triangle;
+import com.matrixpeckham.raytracer.materials.Material;
+import com.matrixpeckham.raytracer.util.BBox;
+import com.matrixpeckham.raytracer.util.DoubleRef;
 import com.matrixpeckham.raytracer.util.Mesh;
 import com.matrixpeckham.raytracer.util.Normal;
+import com.matrixpeckham.raytracer.util.PackedMesh;
 import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.Ray;
+import com.matrixpeckham.raytracer.util.ShadeRec;
 import com.matrixpeckham.raytracer.util.Utility;
-import com.matrixpeckham.raytracer.util.ply.PLYElement;
-import com.matrixpeckham.raytracer.util.ply.PLYFile;
+import com.matrixpeckham.raytracer.util.ply.PLYMeshReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -44,6 +48,12 @@ import java.util.logging.Logger;
  * Extends grid because we'll have many child triangles and they need to be
  * efficiently culled from hit tests
  *
+ * In packed mode, see setPacked(), the read methods load the file into a
+ * PackedMesh instead, and no object is made per triangle: setupCells() builds
+ * a bounding volume hierarchy over the triangle indices, and the hit functions
+ * intersect the packed arrays directly. The whole mesh then shares the
+ * material set on it.
+ *
  * @author William Matrix Peckham
  */
 public class TriangleMesh extends Grid {
@@ -65,7 +75,7 @@ public class TriangleMesh extends Grid {
      * @throws IOException
      */
     public void readSmoothUvTriangles(File fileName) throws IOException {
-        readPLYFileUV(new FileInputStream(fileName), TriangleType.SMOOTH);
+        readPLYFileUV(fileName, TriangleType.SMOOTH);
         computeMeshNormals();
     }
 
@@ -106,6 +116,21 @@ public class TriangleMesh extends Grid {
      */
     protected boolean reverseNomral = false;
 
+    /**
+     * if true the read methods fill packed instead of making triangle objects
+     */
+    protected boolean packMode = false;
+
+    /**
+     * the packed triangles, null unless a file was read in packed mode
+     */
+    protected PackedMesh packed = null;
+
+    /**
+     * hierarchy over the packed triangles, which are stored in leaf order
+     */
+    private BVHTree packedTree = null;
+
     /**
      * default constructor, empty mesh
      */
@@ -131,6 +156,14 @@ public class TriangleMesh extends Grid {
         super(m);
         this.mesh = m.mesh;
         reverseNomral = m.reverseNomral;
+        //packed data is never changed after setupCells() so it is shared
+        packMode = m.packMode;
+        packed = m.packed;
+        packedTree = m.packedTree;
+        if (packed != null) {
+            bbox = new BBox(m.bbox);
+            material = m.material;
+        }
     }
 
     /**
@@ -150,6 +183,33 @@ public class TriangleMesh extends Grid {
         reverseNomral = true;
     }
 
+    /**
+     * turns packed mode on or off, must be called before reading a file.
+     *
+     * @param packed
+     */
+    public void setPacked(boolean packed) {
+        packMode = packed;
+    }
+
+    /**
+     * returns true if files are read in packed mode
+     *
+     * @return
+     */
+    public boolean isPacked() {
+        return packMode;
+    }
+
+    /**
+     * gets the packed triangles
+     *
+     * @return null unless a file was read in packed mode
+     */
+    public PackedMesh getPackedMesh() {
+        return packed;
+    }
+
     /**
      * reads a file for a flat triangle mesh
      *
@@ -157,7 +217,7 @@ public class TriangleMesh extends Grid {
      * @throws IOException
      */
     public void readFlatTriangles(File f) throws IOException {
-        readPLYFile(new FileInputStream(f), TriangleType.FLAT);
+        readPLYFile(f, TriangleType.FLAT);
     }
 
     /**
@@ -187,7 +247,7 @@ public class TriangleMesh extends Grid {
     }
 
     private void readPLYFile(File f, TriangleType t) throws IOException {
-        readPLYFile(new FileInputStream(f), t);
+        PLYMeshReader.read(f, handler(t, false));
     }
 
     /**
@@ -198,56 +258,11 @@ public class TriangleMesh extends Grid {
      * @throws IOException
      */
     private void readPLYFile(InputStream f, TriangleType t) throws IOException {
-
-        //create a plyfile object from the file.
-        PLYFile ply = new PLYFile(f);
-
-        //add all the ply file's vertices to the mesh
-        ArrayList<PLYElement> verts = ply.getElements("vertex");
-        mesh.numVertices = verts.size();
-        for (int i = 0; i < mesh.numVertices; i++) {
-            mesh.vertices.add(new Point3D(verts.get(i).getDouble("x"), verts.
-                    get(i).getDouble("y"), verts.get(i).getDouble("z")));
-        }
-
-        //get the faces from the ply file, will be a list of lists of indices
-        ArrayList<PLYElement> faces = ply.getElements("face");
-        //store triangle count
-        mesh.numTriangles = faces.size();
-        //make sure we have empty lists for each vertex to store triangle connectivity, used in smooth triangles
-        for (int i = 0; i < mesh.numVertices; i++) {
-            mesh.vertexFaces.add(new ArrayList<>());
-        }
-        int count = 0;
-        for (int i = 0; i < mesh.numTriangles; i++) {
-            //gets the integer array of indices for each face
-            int[] faceLst = faces.get(i).getIntList("vertex_indices");
-
-            if (t == TriangleType.FLAT) {
-                //flat triangles mean it's easy, make a traignle from the three indices compute its normal and add to grid
-                FlatMeshTriangle tri = new FlatMeshTriangle(mesh, faceLst[0],
-                        faceLst[1], faceLst[2]);
-                tri.computeNormal(reverseNomral);
-                objects.add(tri);
-            } else {
-
-                //start by making a smooth triangle from the three indices, compute its normal and add to grid
-                SmoothMeshTriangle tri
-                        = new SmoothMeshTriangle(mesh, faceLst[0], faceLst[1],
-                                faceLst[2]);
-                tri.computeNormal(reverseNomral);
-                objects.add(tri);
-                //add connectivity information
-                mesh.vertexFaces.get(faceLst[0]).add(count);
-                mesh.vertexFaces.get(faceLst[1]).add(count);
-                mesh.vertexFaces.get(faceLst[2]).add(count);
-                count++;
-            }
-        }
+        PLYMeshReader.read(f, handler(t, false));
     }
 
     private void readPLYFileUV(File f, TriangleType t) throws IOException {
-        readPLYFileUV(new FileInputStream(f), t);
+        PLYMeshReader.read(f, handler(t, true));
     }
 
     /**
@@ -259,50 +274,140 @@ public class TriangleMesh extends Grid {
      * @throws IOException
      */
     private void readPLYFileUV(InputStream f, TriangleType t) throws IOException {
-        //method works the same way as the non-uv enabled one the only difference is in the vertex part
-        PLYFile ply = new PLYFile(f);
-        ArrayList<PLYElement> verts = ply.getElements("vertex");
-        mesh.numVertices = verts.size();
-        for (int i = 0; i < mesh.numVertices; i++) {
-            mesh.vertices.add(new Point3D(verts.get(i).getDouble("x"), verts.
-                    get(i).getDouble("y"), verts.get(i).getDouble("z")));
-            //these are the only lines added to the other method, they get the uv coordinates and put them in the mesh
-            mesh.u.add(verts.get(i).getDouble("u"));
-            mesh.v.add(verts.get(i).getDouble("v"));
-        }
-        ArrayList<PLYElement> faces = ply.getElements("face");
-        mesh.numTriangles = faces.size();
-        for (int i = 0; i < mesh.numVertices; i++) {
-            mesh.vertexFaces.add(new ArrayList<>());
-        }
-        int count = 0;
-        for (int i = 0; i < mesh.numTriangles; i++) {
-            int[] faceLst = faces.get(i).getIntList("vertex_indices");
-
-            if (t == TriangleType.FLAT) {
-                FlatUVMeshTriangle tri
-                        = new FlatUVMeshTriangle(mesh, faceLst[0],
-                                faceLst[1], faceLst[2]);
-                tri.computeNormal(reverseNomral);
-                objects.add(tri);
+        PLYMeshReader.read(f, handler(t, true));
+    }
+
+    /**
+     * makes the handler the ply reader streams the file into, packed mode
+     * fills packed, otherwise triangles of the requested type are made.
+     *
+     * @param t
+     * @param uv true to read per vertex texture coordinates
+     * @return
+     */
+    private PLYMeshReader.Handler handler(TriangleType t, boolean uv) {
+        if (packMode) {
+            return new PackedHandler(uv);
+        }
+        return new ObjectHandler(t, uv);
+    }
+
+    /**
+     * fills in the mesh and makes a mesh triangle object per face.
+     */
+    private class ObjectHandler implements PLYMeshReader.Handler {
+
+        final TriangleType type;
+
+        final boolean uv;
+
+        ObjectHandler(TriangleType type, boolean uv) {
+            this.type = type;
+            this.uv = uv;
+        }
+
+        @Override
+        public void start(int numVertices, int numFaces, boolean hasUV)
+                throws IOException {
+            if (uv && !hasUV) {
+                throw new IOException("PLY vertices have no u and v");
+            }
+            mesh.numVertices = numVertices;
+            mesh.numTriangles = numFaces;
+            //make sure we have empty lists for each vertex to store triangle connectivity, used in smooth triangles
+            for (int i = 0; i < numVertices; i++) {
+                mesh.vertexFaces.add(new ArrayList<>());
+            }
+        }
+
+        @Override
+        public void vertex(int i, double x, double y, double z, double u,
+                double v) {
+            mesh.vertices.add(new Point3D(x, y, z));
+            if (uv) {
+                mesh.u.add(u);
+                mesh.v.add(v);
+            }
+        }
+
+        @Override
+        public void face(int i, int v0, int v1, int v2) throws IOException {
+            if (v0 < 0 || v0 >= mesh.numVertices || v1 < 0 || v1
+                    >= mesh.numVertices || v2 < 0 || v2 >= mesh.numVertices) {
+                throw new IOException("PLY face " + i
+                        + " has a vertex index out of range");
+            }
+            MeshTriangle tri;
+            if (type == TriangleType.FLAT) {
+                tri = uv ? new FlatUVMeshTriangle(mesh, v0, v1, v2)
+                        : new FlatMeshTriangle(mesh, v0, v1, v2);
             } else {
-                SmoothUVMeshTriangle tri
-                        = new SmoothUVMeshTriangle(mesh, faceLst[0], faceLst[1],
-                                faceLst[2]);
-                tri.computeNormal(reverseNomral);
-                objects.add(tri);
-                mesh.vertexFaces.get(faceLst[0]).add(count);
-                mesh.vertexFaces.get(faceLst[1]).add(count);
-                mesh.vertexFaces.get(faceLst[2]).add(count);
-                count++;
+                tri = uv ? new SmoothUVMeshTriangle(mesh, v0, v1, v2)
+                        : new SmoothMeshTriangle(mesh, v0, v1, v2);
+                //add connectivity information
+                mesh.vertexFaces.get(v0).add(i);
+                mesh.vertexFaces.get(v1).add(i);
+                mesh.vertexFaces.get(v2).add(i);
+            }
+            tri.computeNormal(reverseNomral);
+            objects.add(tri);
+        }
+
+    }
+
+    /**
+     * fills packed, flat or smooth is decided later by whether
+     * computeMeshNormals() is called.
+     */
+    private class PackedHandler implements PLYMeshReader.Handler {
+
+        final boolean uv;
+
+        PackedMesh pm;
+
+        PackedHandler(boolean uv) {
+            this.uv = uv;
+        }
+
+        @Override
+        public void start(int numVertices, int numFaces, boolean hasUV)
+                throws IOException {
+            if (uv && !hasUV) {
+                throw new IOException("PLY vertices have no u and v");
             }
+            pm = new PackedMesh(numVertices, numFaces, uv);
+            packed = pm;
+            packedTree = null;
         }
+
+        @Override
+        public void vertex(int i, double x, double y, double z, double u,
+                double v) {
+            pm.setVertex(i, x, y, z);
+            if (uv) {
+                pm.setUV(i, u, v);
+            }
+        }
+
+        @Override
+        public void face(int i, int v0, int v1, int v2) throws IOException {
+            try {
+                pm.setTriangle(i, v0, v1, v2);
+            } catch (IllegalArgumentException ex) {
+                throw new IOException(ex.getMessage(), ex);
+            }
+        }
+
     }
 
     /**
      * computes the normals for the mesh from the stored adjacency information
      */
     public void computeMeshNormals() {
+        if (packed != null) {
+            packed.computeNormals(reverseNomral);
+            return;
+        }
         for (int ind = 0; ind < mesh.numVertices; ind++) {
             Normal normal = new Normal();
             for (int j = 0; j < mesh.vertexFaces.get(ind).size(); j++) {
@@ -577,6 +682,357 @@ public class TriangleMesh extends Grid {
         }
     }
 
+    /**
+     * shares the material, in packed mode there are no triangle objects so
+     * the mesh keeps it.
+     *
+     * @param mat
+     */
+    @Override
+    public void setSharedMaterial(Material mat) {
+        if (packMode) {
+            material = mat;
+        } else {
+            super.setSharedMaterial(mat);
+        }
+    }
+
+    /**
+     * sets up the cells, in packed mode this builds a hierarchy over the
+     * packed triangles instead of the grid, and reorders them to match it.
+     */
+    @Override
+    public void setupCells() {
+        if (packed == null) {
+            super.setupCells();
+            return;
+        }
+        int n = packed.numTriangles;
+        float[] pos = packed.positions;
+        int[] ind = packed.indices;
+        double[] boxes = new double[6 * n];
+        double[] centroids = new double[3 * n];
+        for (int t = 0; t < n; t++) {
+            for (int axis = 0; axis < 3; axis++) {
+                double p0 = pos[3 * ind[3 * t] + axis];
+                double p1 = pos[3 * ind[3 * t + 1] + axis];
+                double p2 = pos[3 * ind[3 * t + 2] + axis];
+                double lo = Math.min(p0, Math.min(p1, p2));
+                double hi = Math.max(p0, Math.max(p1, p2));
+                boxes[6 * t + axis] = lo - Utility.EPSILON;
+                boxes[6 * t + 3 + axis] = hi + Utility.EPSILON;
+                centroids[3 * t + axis] = (lo + hi) * 0.5;
+            }
+        }
+        BVHTree tr = new BVHTree();
+        packed.reorderTriangles(tr.build(boxes, centroids, n));
+        packedTree = tr;
+        if (n == 0) {
+            bbox = new BBox(0, 0, 0, 0, 0, 0);
+        } else {
+            double[] nb = tr.nodeBounds;
+            bbox = new BBox(nb[0], nb[3], nb[1], nb[4], nb[2], nb[5]);
+        }
+    }
+
+    /**
+     * hit function, in packed mode finds the closest packed triangle.
+     *
+     * @param ray
+     * @param sr
+     * @return
+     */
+    @Override
+    public boolean hit(Ray ray, ShadeRec sr) {
+        if (packed == null) {
+            return super.hit(ray, sr);
+        }
+        if (packedTree == null || packedTree.numNodes == 0) {
+            return false;
+        }
+        double ox = ray.o.x;
+        double oy = ray.o.y;
+        double oz = ray.o.z;
+        double idx = 1.0 / ray.d.x;
+        double idy = 1.0 / ray.d.y;
+        double idz = 1.0 / ray.d.z;
+        double tmin = Utility.HUGE_VALUE;
+        int closest = -1;
+
+        int[] stack = packedTree.getStack();
+        int top = 0;
+        int node = 0;
+        while (true) {
+            if (packedTree.hitNode(node, ox, oy, oz, idx, idy, idz, 0, tmin)) {
+                int count = packedTree.nodeCount[node];
+                if (count > 0) {
+                    int first = packedTree.nodeOffset[node];
+                    for (int j = first; j < first + count; j++) {
+                        double t = intersectPacked(j, ray);
+                        if (t >= Utility.EPSILON && t < tmin) {
+                            tmin = t;
+                            closest = j;
+                        }
+                    }
+                } else {
+                    if (packedTree.rightFirst(node, idx, idy, idz)) {
+                        stack[top++] = node + 1;
+                        node = packedTree.nodeOffset[node];
+                    } else {
+                        stack[top++] = packedTree.nodeOffset[node];
+                        node = node + 1;
+                    }
+                    continue;
+                }
+            }
+            if (top == 0) {
+                break;
+            }
+            node = stack[--top];
+        }
+
+        if (closest < 0) {
+            return false;
+        }
+        fillPackedHit(closest, ray, tmin, sr);
+        return true;
+    }
+
+    /**
+     * multiple hit function, in packed mode reports every packed triangle the
+     * ray line crosses, like the mesh triangles do. hits are sorted by lastT.
+     *
+     * @param ray
+     * @param hits
+     * @param s
+     * @return
+     */
+    @Override
+    public boolean hit(Ray ray, ArrayList<ShadeRec> hits, ShadeRec s) {
+        if (packed == null) {
+            return super.hit(ray, hits, s);
+        }
+        if (packedTree == null || packedTree.numNodes == 0) {
+            return false;
+        }
+        double ox = ray.o.x;
+        double oy = ray.o.y;
+        double oz = ray.o.z;
+        double idx = 1.0 / ray.d.x;
+        double idy = 1.0 / ray.d.y;
+        double idz = 1.0 / ray.d.z;
+        boolean hit = false;
+
+        int[] stack = packedTree.getStack();
+        int top = 0;
+        int node = 0;
+        while (true) {
+            if (packedTree.hitNode(node, ox, oy, oz, idx, idy, idz,
+                    -Utility.HUGE_VALUE, Utility.HUGE_VALUE)) {
+                int count = packedTree.nodeCount[node];
+                if (count > 0) {
+                    int first = packedTree.nodeOffset[node];
+                    for (int j = first; j < first + count; j++) {
+                        double t = intersectPacked(j, ray);
+                        if (!Double.isNaN(t)) {
+                            ShadeRec sr = new ShadeRec(s);
+                            fillPackedHit(j, ray, t, sr);
+                            hits.add(sr);
+                            hit = true;
+                        }
+                    }
+                } else {
+                    stack[top++] = packedTree.nodeOffset[node];
+                    node = node + 1;
+                    continue;
+                }
+            }
+            if (top == 0) {
+                break;
+            }
+            node = stack[--top];
+        }
+        if (hit) {
+            hits.sort((ShadeRec s1, ShadeRec s2) -> {
+                return Double.compare(s1.lastT, s2.lastT);
+            });
+        }
+        return hit;
+    }
+
+    /**
+     * shadow hit function, in packed mode finds the closest packed triangle.
+     *
+     * @param ray
+     * @param t
+     * @return
+     */
+    @Override
+    public boolean shadowHit(Ray ray, DoubleRef t) {
+        if (packed == null) {
+            return super.shadowHit(ray, t);
+        }
+        //early out for shadows, all implementations do this
+        if (!shadows) {
+            return false;
+        }
+        if (packedTree == null || packedTree.numNodes == 0) {
+            return false;
+        }
+        double ox = ray.o.x;
+        double oy = ray.o.y;
+        double oz = ray.o.z;
+        double idx = 1.0 / ray.d.x;
+        double idy = 1.0 / ray.d.y;
+        double idz = 1.0 / ray.d.z;
+        double tmin = Utility.HUGE_VALUE;
+        boolean hit = false;
+
+        int[] stack = packedTree.getStack();
+        int top = 0;
+        int node = 0;
+        while (true) {
+            if (packedTree.hitNode(node, ox, oy, oz, idx, idy, idz, 0, tmin)) {
+                int count = packedTree.nodeCount[node];
+                if (count > 0) {
+                    int first = packedTree.nodeOffset[node];
+                    for (int j = first; j < first + count; j++) {
+                        double d = intersectPacked(j, ray);
+                        if (d >= Utility.EPSILON && d < tmin) {
+                            tmin = d;
+                            hit = true;
+                        }
+                    }
+                } else {
+                    if (packedTree.rightFirst(node, idx, idy, idz)) {
+                        stack[top++] = node + 1;
+                        node = packedTree.nodeOffset[node];
+                    } else {
+                        stack[top++] = packedTree.nodeOffset[node];
+                        node = node + 1;
+                    }
+                    continue;
+                }
+            }
+            if (top == 0) {
+                break;
+            }
+            node = stack[--top];
+        }
+
+        if (hit) {
+            t.d = tmin;
+        }
+        return hit;
+    }
+
+    /**
+     * intersects the ray with a packed triangle, same test as the mesh
+     * triangles.
+     *
+     * @param tri
+     * @param ray
+     * @return the ray parameter of the hit, NaN if the line misses
+     */
+    private double intersectPacked(int tri, Ray ray) {
+        float[] pos = packed.positions;
+        int i0 = 3 * packed.indices[3 * tri];
+        int i1 = 3 * packed.indices[3 * tri + 1];
+        int i2 = 3 * packed.indices[3 * tri + 2];
+        double v0x = pos[i0], v0y = pos[i0 + 1], v0z = pos[i0 + 2];
+
+        double a = v0x - pos[i1], b = v0x - pos[i2], c = ray.d.x, d = v0x
+                - ray.o.x;
+        double e = v0y - pos[i1 + 1], f = v0y - pos[i2 + 1], g = ray.d.y, h
+                = v0y - ray.o.y;
+        double i = v0z - pos[i1 + 2], j = v0z - pos[i2 + 2], k = ray.d.z, l
+                = v0z - ray.o.z;
+
+        double m = f * k - g * j, n = h * k - g * l, p = f * l - h * j;
+        double q = g * i - e * k, s = e * j - f * i;
+
+        double inv_denom = 1.0 / (a * m + b * q + c * s);
+
+        double beta = (d * m - b * n - c * p) * inv_denom;
+        if (beta < 0.0) {
+            return Double.NaN;
+        }
+
+        double r = e * l - h * i;
+        double gamma = (a * n + d * q + c * r) * inv_denom;
+        if (gamma < 0.0 || beta + gamma > 1.0) {
+            return Double.NaN;
+        }
+
+        return (a * p - b * r + d * s) * inv_denom;
+    }
+
+    /**
+     * fills in the shade rec for a hit on a packed triangle, only done once
+     * per ray so the barycentric coordinates are worked out again here
+     * instead of being carried through the traversal.
+     *
+     * @param tri
+     * @param ray
+     * @param t
+     * @param sr
+     */
+    private void fillPackedHit(int tri, Ray ray, double t, ShadeRec sr) {
+        float[] pos = packed.positions;
+        int i0 = packed.indices[3 * tri];
+        int i1 = packed.indices[3 * tri + 1];
+        int i2 = packed.indices[3 * tri + 2];
+        double px = ray.o.x + t * ray.d.x;
+        double py = ray.o.y + t * ray.d.y;
+        double pz = ray.o.z + t * ray.d.z;
+
+        //edges and face normal, the barycentrics are ratios of sub areas
+        double e1x = pos[3 * i1] - pos[3 * i0];
+        double e1y = pos[3 * i1 + 1] - pos[3 * i0 + 1];
+        double e1z = pos[3 * i1 + 2] - pos[3 * i0 + 2];
+        double e2x = pos[3 * i2] - pos[3 * i0];
+        double e2y = pos[3 * i2 + 1] - pos[3 * i0 + 1];
+        double e2z = pos[3 * i2 + 2] - pos[3 * i0 + 2];
+        double nx = e1y * e2z - e1z * e2y;
+        double ny = e1z * e2x - e1x * e2z;
+        double nz = e1x * e2y - e1y * e2x;
+        double wx = px - pos[3 * i0];
+        double wy = py - pos[3 * i0 + 1];
+        double wz = pz - pos[3 * i0 + 2];
+        double nn = nx * nx + ny * ny + nz * nz;
+        double beta = ((wy * e2z - wz * e2y) * nx + (wz * e2x - wx * e2z) * ny
+                + (wx * e2y - wy * e2x) * nz) / nn;
+        double gamma = ((e1y * wz - e1z * wy) * nx + (e1z * wx - e1x * wz) * ny
+                + (e1x * wy - e1y * wx) * nz) / nn;
+        double alpha = 1 - beta - gamma;
+
+        sr.lastT = t;
+        float[] norm = packed.normals;
+        if (norm == null) {
+            sr.normal.setTo(nx, ny, nz);
+            sr.normal.normalize();
+            if (reverseNomral) {
+                sr.normal.setTo(-sr.normal.x, -sr.normal.y, -sr.normal.z);
+            }
+        } else {
+            sr.normal.setTo(
+                    alpha * norm[3 * i0] + beta * norm[3 * i1] + gamma
+                    * norm[3 * i2],
+                    alpha * norm[3 * i0 + 1] + beta * norm[3 * i1 + 1] + gamma
+                    * norm[3 * i2 + 1],
+                    alpha * norm[3 * i0 + 2] + beta * norm[3 * i1 + 2] + gamma
+                    * norm[3 * i2 + 2]);
+            sr.normal.normalize();
+        }
+        sr.localHitPosition.setTo(px, py, pz);
+        float[] uv = packed.uvs;
+        if (uv != null) {
+            sr.u = alpha * uv[2 * i0] + beta * uv[2 * i1] + gamma * uv[2 * i2];
+            sr.v = alpha * uv[2 * i0 + 1] + beta * uv[2 * i1 + 1] + gamma
+                    * uv[2 * i2 + 1];
+        }
+    }
+
     private static final Logger LOG
             = Logger.getLogger(TriangleMesh.class.getName());
 
@@ -307,4 +307,14 @@ public class PartRing extends GeometricObject {
                 + outerRadius);
     }
 
+    /**
+     * the bounding box encloses the whole surface
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
 }
@@ -299,6 +299,16 @@ public class ConcaveSphere extends GeometricObject {
                 new Vector3D(radius)));
     }
 
+    /**
+     * the bounding box encloses the whole surface
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
     /**
      * inverse area
      *
@@ -285,6 +285,16 @@ public class Disk extends GeometricObject {
                 center.y + radius, center.z - radius, center.z + radius);
     }
 
+    /**
+     * the bounding box encloses the whole surface
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
     /**
      * sets the sampler
      *
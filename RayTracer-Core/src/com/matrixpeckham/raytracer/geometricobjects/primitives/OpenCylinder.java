@@ -339,6 +339,16 @@ public class OpenCylinder extends GeometricObject {
         return new BBox(-radius, radius, y0, y1, -radius, radius);
     }
 
+    /**
+     * the bounding box encloses the whole surface
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
     private static final Logger LOG
             = Logger.getLogger(OpenCylinder.class.getName());
 
@@ -164,13 +164,28 @@ public class Rectangle extends GeometricObject {
     @Override
     public BBox getBoundingBox() {
         double delta = 0.0001;
+        //the rectangle need not be axis aligned so use all four corners
+        Point3D p1 = p0.add(a);
+        Point3D p2 = p0.add(b);
+        Point3D p3 = p0.add(a).add(b);
+
+        return (new BBox(Math.min(Math.min(p0.x, p1.x), Math.min(p2.x, p3.x))
+                - delta, Math.max(Math.max(p0.x, p1.x), Math.max(p2.x, p3.x))
+                + delta,
+                Math.min(Math.min(p0.y, p1.y), Math.min(p2.y, p3.y)) - delta,
+                Math.max(Math.max(p0.y, p1.y), Math.max(p2.y, p3.y)) + delta,
+                Math.min(Math.min(p0.z, p1.z), Math.min(p2.z, p3.z)) - delta,
+                Math.max(Math.max(p0.z, p1.z), Math.max(p2.z, p3.z)) + delta));
+    }
 
-        return (new BBox(Math.min(p0.x, p0.x + a.x + b.x) - delta, Math.
-                max(p0.x, p0.x + a.x + b.x) + delta,
-                Math.min(p0.y, p0.y + a.y + b.y) - delta, Math.max(p0.y, p0.y
-                        + a.y + b.y) + delta,
-                Math.min(p0.z, p0.z + a.z + b.z) - delta, Math.max(p0.z, p0.z
-                        + a.z + b.z) + delta));
+    /**
+     * the bounding box encloses the whole surface
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
     }
 
     /**
@@ -320,6 +320,16 @@ public class Ring extends GeometricObject {
                 + outerRadius);
     }
 
+    /**
+     * the bounding box encloses the whole surface
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
     /**
      * sets the sampler for the object, maps it to a disc
      *
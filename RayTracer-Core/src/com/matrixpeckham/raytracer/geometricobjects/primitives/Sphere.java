@@ -294,6 +294,16 @@ public class Sphere extends GeometricObject {
                 new Vector3D(radius)));
     }
 
+    /**
+     * the bounding box encloses the whole surface
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
     @Override
     public double pdf(ShadeRec sr) {
         return invSurfaceArea;
@@ -19,25 +19,25 @@ package com.matrixpeckham.raytracer.geometricobjects.primitives;
 
 import com.matrixpeckham.raytracer.geometricobjects.GeometricObject;
 import com.matrixpeckham.raytracer.util.BBox;
-import com.matrixpeckham.raytracer.util.BruteForceSolver;
 import com.matrixpeckham.raytracer.util.DoubleRef;
 import com.matrixpeckham.raytracer.util.Normal;
 import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.QuarticSolver;
 import com.matrixpeckham.raytracer.util.Ray;
 import com.matrixpeckham.raytracer.util.ShadeRec;
 import com.matrixpeckham.raytracer.util.Utility;
 import java.util.ArrayList;
 
 /**
- * NOT PUBLIC UNTIL I CAN SPEED UP HIT FUNCTION This class should be the torus
- * primitive, but in porting the quartic solving code I ran into problems I
- * couldn't seem to fix. They appear to be due to roundoff errors. I tried many
- * different things, but the one I have that doesn't have artifacts is extremely
- * slow.
+ * Torus primitive, solved directly as a quartic rather than tessellated like
+ * parametric.Torus. The quartic used to go through BruteForceSolver, which was
+ * free of artifacts but far too slow, it now uses the double precision
+ * QuarticSolver. To keep the coefficients well conditioned the ray origin is
+ * first moved along the ray to the point closest to the center of the torus.
  *
  * @author William Matrix Peckham
  */
-class Torus extends GeometricObject {
+public class Torus extends GeometricObject {
 
     private double a;
 
@@ -45,10 +45,19 @@ class Torus extends GeometricObject {
 
     private BBox bbox;
 
+    /**
+     * default constructor
+     */
     public Torus() {
         this(2, 0.5);
     }
 
+    /**
+     * initializing constructor
+     *
+     * @param a swept radius
+     * @param b tube radius
+     */
     public Torus(double a, double b) {
         super();
         this.a = a;
@@ -56,6 +65,11 @@ class Torus extends GeometricObject {
         bbox = new BBox(-a - b, a + b, -b, b, -a - b, a + b);
     }
 
+    /**
+     * copy constructor
+     *
+     * @param t
+     */
     public Torus(Torus t) {
         super(t);
         this.a = t.a;
@@ -85,24 +99,29 @@ class Torus extends GeometricObject {
         return (normal);
     }
 
-    @Override
-    public boolean hit(Ray ray, ShadeRec s) {
-        if (!bbox.hit(ray)) {
-            return (false);
-        }
-
-        double x1 = ray.o.x;
-        double y1 = ray.o.y;
-        double z1 = ray.o.z;
+    /**
+     * finds every ray parameter where the ray crosses the torus, sorted
+     * smallest first.
+     *
+     * @param ray
+     * @param roots array of at least 4 to hold the ray parameters
+     * @return number of roots found
+     */
+    private int findRoots(Ray ray, double[] roots) {
         double d1 = ray.d.x;
         double d2 = ray.d.y;
         double d3 = ray.d.z;
+        double sum_d_sqrd = d1 * d1 + d2 * d2 + d3 * d3;
 
-        //double[] coeffs = new double[5];	// coefficient array for the quartic equation
-        double[] roots = new double[4];	// solution array for the quartic equation
+        //start the ray at its closest point to the center, far away origins
+        //otherwise swamp the coefficients with roundoff
+        double t0 = Math.max(0, -(ray.o.x * d1 + ray.o.y * d2 + ray.o.z * d3)
+                / sum_d_sqrd);
+        double x1 = ray.o.x + t0 * d1;
+        double y1 = ray.o.y + t0 * d2;
+        double z1 = ray.o.z + t0 * d3;
 
         // define the coefficients of the quartic equation
-        double sum_d_sqrd = d1 * d1 + d2 * d2 + d3 * d3;
         double e = x1 * x1 + y1 * y1 + z1 * z1 - a * a - b * b;
         double f = x1 * d1 + y1 * d2 + z1 * d3;
         double four_a_sqrd = 4.0 * a * a;
@@ -112,48 +131,35 @@ class Torus extends GeometricObject {
         double C = 2.0 * sum_d_sqrd * e + 4.0 * f * f + four_a_sqrd * d2 * d2;
         double B = 4.0 * sum_d_sqrd * f;
         double A = sum_d_sqrd * sum_d_sqrd; // coefficient of t^4
-        /*coeffs[0] = E;
-         coeffs[1] = D;
-         coeffs[2] = C;
-         coeffs[3] = B;
-         coeffs[4] = A;
-         */
-        boolean intersected = false;
-
-        // find roots of the quartic equation
-        //int num_real_roots = Utility.solveQuartic(coeffs, roots);
-        //QuarticAnswer qa = Utility.solveQuartic(A, B,C,D,E);
-        BruteForceSolver solver = new BruteForceSolver(A, B, C, D, E);
-        int num_real_roots = solver.solveQuartic(roots);
-
-        double t = Utility.HUGE_VALUE;
-
-        //        if (qa.numRealRoots == 0) // ray misses the torus
-        if (num_real_roots == 0) {
-            return (false);
-        }
 
-        // find the smallest root greater than kEpsilon, if any
-        // the roots array is not sorted
-        //        for (int j = 0; j < qa.numRealRoots; j++) {
+        int num_real_roots = QuarticSolver.solveQuartic(A, B, C, D, E, roots);
         for (int j = 0; j < num_real_roots; j++) {
-            if (roots[j] > Utility.EPSILON) {
-                intersected = true;
-                if (roots[j] < t) {
-                    t = roots[j];
-                }
-            }
+            roots[j] += t0;
         }
+        return num_real_roots;
+    }
 
-        if (!intersected) {
+    @Override
+    public boolean hit(Ray ray, ShadeRec s) {
+        if (!bbox.hit(ray)) {
             return (false);
         }
 
-        s.lastT = t;
-        s.localHitPosition.setTo(ray.o.add(ray.d.mul(t)));
-        s.normal.setTo(computeNormal(s.localHitPosition));
+        double[] roots = new double[4];	// solution array for the quartic equation
+        int num_real_roots = findRoots(ray, roots);
 
-        return (true);
+        // roots are sorted, so the first one past kEpsilon is the nearest
+        for (int j = 0; j < num_real_roots; j++) {
+            if (roots[j] > Utility.EPSILON) {
+                double t = roots[j];
+                s.lastT = t;
+                s.localHitPosition.setTo(ray.o.add(ray.d.mul(t)));
+                s.normal.setTo(computeNormal(s.localHitPosition));
+                return (true);
+            }
+        }
+
+        return (false);
     }
 
     @Override
@@ -162,68 +168,20 @@ class Torus extends GeometricObject {
             return (false);
         }
 
-        double x1 = ray.o.x;
-        double y1 = ray.o.y;
-        double z1 = ray.o.z;
-        double d1 = ray.d.x;
-        double d2 = ray.d.y;
-        double d3 = ray.d.z;
-
-        //double[] coeffs = new double[5];	// coefficient array for the quartic equation
         double[] roots = new double[4];	// solution array for the quartic equation
+        int num_real_roots = findRoots(ray, roots);
 
-        // define the coefficients of the quartic equation
-        double sum_d_sqrd = d1 * d1 + d2 * d2 + d3 * d3;
-        double e = x1 * x1 + y1 * y1 + z1 * z1 - a * a - b * b;
-        double f = x1 * d1 + y1 * d2 + z1 * d3;
-        double four_a_sqrd = 4.0 * a * a;
-
-        double E = e * e - four_a_sqrd * (b * b - y1 * y1); 	// constant term
-        double D = 4.0 * f * e + 2.0 * four_a_sqrd * y1 * d2;
-        double C = 2.0 * sum_d_sqrd * e + 4.0 * f * f + four_a_sqrd * d2 * d2;
-        double B = 4.0 * sum_d_sqrd * f;
-        double A = sum_d_sqrd * sum_d_sqrd; // coefficient of t^4
-        /*coeffs[0] = E;
-         coeffs[1] = D;
-         coeffs[2] = C;
-         coeffs[3] = B;
-         coeffs[4] = A;
-         */
-        boolean intersected = false;
-
-        // find roots of the quartic equation
-        //int num_real_roots = Utility.solveQuartic(coeffs, roots);
-        //QuarticAnswer qa = Utility.solveQuartic(A, B,C,D,E);
-        BruteForceSolver solver = new BruteForceSolver(A, B, C, D, E);
-        int num_real_roots = solver.solveQuartic(roots);
-
-        double t = Utility.HUGE_VALUE;
-
-        //        if (qa.numRealRoots == 0) // ray misses the torus
-        if (num_real_roots == 0) {
-            return (false);
-        }
-
-        // find the smallest root greater than kEpsilon, if any
-        // the roots array is not sorted
-        //        for (int j = 0; j < qa.numRealRoots; j++) {
+        // roots come back sorted, so the hits are added in order
         for (int j = 0; j < num_real_roots; j++) {
-            intersected = true;
+            double t = roots[j];
             ShadeRec s = new ShadeRec(sr);
             s.lastT = t;
             s.localHitPosition.setTo(ray.o.add(ray.d.mul(t)));
             s.normal.setTo(computeNormal(s.localHitPosition));
             hits.add(s);
         }
-        hits.sort((ShadeRec s1, ShadeRec s2) -> {
-            return (int) (s1.lastT - s2.lastT);
-        });
 
-        if (!intersected) {
-            return (false);
-        }
-
-        return (true);
+        return (num_real_roots > 0);
     }
 
     @Override
@@ -235,61 +193,27 @@ class Torus extends GeometricObject {
             return (false);
         }
 
-        double x1 = ray.o.x;
-        double y1 = ray.o.y;
-        double z1 = ray.o.z;
-        double d1 = ray.d.x;
-        double d2 = ray.d.y;
-        double d3 = ray.d.z;
-
-        //double[] coeffs = new double[5];	// coefficient array for the quartic equation
         double[] roots = new double[4];	// solution array for the quartic equation
+        int num_real_roots = findRoots(ray, roots);
 
-        // define the coefficients of the quartic equation
-        double sum_d_sqrd = d1 * d1 + d2 * d2 + d3 * d3;
-        double e = x1 * x1 + y1 * y1 + z1 * z1 - a * a - b * b;
-        double f = x1 * d1 + y1 * d2 + z1 * d3;
-        double four_a_sqrd = 4.0 * a * a;
-
-        /*coeffs[0] = e * e - four_a_sqrd * (b * b - y1 * y1); 	// constant term
-         coeffs[1] = 4.0 * f * e + 2.0 * four_a_sqrd * y1 * d2;
-         coeffs[2] = 2.0 * sum_d_sqrd * e + 4.0 * f * f + four_a_sqrd * d2 * d2;
-         coeffs[3] = 4.0 * sum_d_sqrd * f;
-         coeffs[4] = sum_d_sqrd * sum_d_sqrd;*/  					// coefficient of t^4
-        double E = e * e - four_a_sqrd * (b * b - y1 * y1); 	// constant term
-        double D = 4.0 * f * e + 2.0 * four_a_sqrd * y1 * d2;
-        double C = 2.0 * sum_d_sqrd * e + 4.0 * f * f + four_a_sqrd * d2 * d2;
-        double B = 4.0 * sum_d_sqrd * f;
-        double A = sum_d_sqrd * sum_d_sqrd;  					// coefficient of t^4
-
-        // find roots of the quartic equation
-        BruteForceSolver solver = new BruteForceSolver(A, B, C, D, E);
-        int num_real_roots = solver.solveQuartic(roots);
-        boolean intersected = false;
-        double t = Utility.HUGE_VALUE;
-        if (num_real_roots == 0) // ray misses the torus
-        {
-            return (false);
-        }
-
-        // find the smallest root greater than kEpsilon, if any
-        // the roots array is not sorted
         for (int j = 0; j < num_real_roots; j++) {
             if (roots[j] > Utility.EPSILON) {
-                intersected = true;
-                if (roots[j] < t) {
-                    t = roots[j];
-                }
+                tr.d = roots[j];
+                return (true);
             }
         }
 
-        if (!intersected) {
-            return (false);
-        }
+        return (false);
+    }
 
-        tr.d = t;
+    @Override
+    public BBox getBoundingBox() {
+        return new BBox(bbox);
+    }
 
-        return (true);
+    @Override
+    public boolean isBounded() {
+        return true;
     }
 
 }
@@ -157,6 +157,16 @@ public abstract class MeshTriangle extends GeometricObject {
                                 v1.z, v2.z), v3.z) + delta));
     }
 
+    /**
+     * the bounding box encloses the whole surface
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
     /**
      * shadow hit, works like Triangle.hit(), but we have to get the vertices
      * from the indexes
@@ -130,6 +130,16 @@ public class Triangle extends GeometricObject {
                                 v0.z, v1.z), v2.z) + delta));
     }
 
+    /**
+     * the bounding box encloses the whole surface
+     *
+     * @return
+     */
+    @Override
+    public boolean isBounded() {
+        return true;
+    }
+
     /**
      * hit function
      *
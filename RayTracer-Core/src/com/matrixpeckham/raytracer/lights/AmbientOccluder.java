@@ -18,7 +18,6 @@
 package com.matrixpeckham.raytracer.lights;
 
 import com.matrixpeckham.raytracer.samplers.Sampler;
-import com.matrixpeckham.raytracer.util.DoubleRef;
 import com.matrixpeckham.raytracer.util.Point3D;
 import com.matrixpeckham.raytracer.util.RGBColor;
 import com.matrixpeckham.raytracer.util.Ray;
@@ -145,9 +144,10 @@ public class AmbientOccluder extends Light {
 
         //store uvw coordinte system of hit point
         w.get().setTo(sr.normal);
-        v.get().setTo(w.get().cross(new Vector3D(0.0072, 1, 0.0034)));
+        v.get().setTo(0.0072, 1, 0.0034);
+        w.get().crossInto(v.get(), v.get());
         v.get().normalize();
-        u.get().setTo(v.get().cross(w.get()));
+        v.get().crossInto(w.get(), u.get());
 
         //shadow ray
         Ray shadowRay = new Ray();
@@ -212,7 +212,9 @@ public class AmbientOccluder extends Light {
         //samples the area aroun the hit point
         Point3D sp = sampler.sampleHemisphere();
         //transform sample point to a direction from the hit point
-        return u.get().mul(sp.x).add(v.get().mul(sp.y)).add(w.get().mul(sp.z));
+        Vector3D dir = new Vector3D(0, 0, 0);
+        return dir.scaleAdd(sp.x, u.get()).scaleAdd(sp.y, v.get()).scaleAdd(
+                sp.z, w.get());
     }
 
     /**
@@ -225,15 +227,8 @@ public class AmbientOccluder extends Light {
     @Override
     public boolean inShadow(Ray shadowRay, ShadeRec sr) {
         //returns true if any object is hit and can cast shadows
-        int numObjects = sr.w.objects.size();
-        DoubleRef t = new DoubleRef();
-        for (int j = 0; j < numObjects; j++) {
-            if (sr.w.objects.get(j).shadowHit(shadowRay, t) && sr.material.
-                    getShadows()) {
-                return true;
-            }
-        }
-        return false;
+        return sr.material.getShadows() && sr.w.occluded(shadowRay,
+                Double.POSITIVE_INFINITY);
     }
 
     /**
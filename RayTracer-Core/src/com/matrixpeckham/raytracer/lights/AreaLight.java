@@ -19,7 +19,6 @@ package com.matrixpeckham.raytracer.lights;
 
 import com.matrixpeckham.raytracer.geometricobjects.GeometricObject;
 import com.matrixpeckham.raytracer.materials.Material;
-import com.matrixpeckham.raytracer.util.DoubleRef;
 import com.matrixpeckham.raytracer.util.Normal;
 import com.matrixpeckham.raytracer.util.Point3D;
 import com.matrixpeckham.raytracer.util.RGBColor;
@@ -142,7 +141,7 @@ public class AreaLight extends Light {
         lightNormal.get().setTo(obj.getNormal(samplePoint.get()));
         //calculates the direction from the sample point to the hit point and 
         //keeps it in a member variable for later use, also returned
-        wi.get().setTo(samplePoint.get().sub(sr.hitPoint));
+        Point3D.sub(samplePoint.get(), sr.hitPoint, wi.get());
         wi.get().normalize();
         return wi.get();
     }
@@ -156,7 +155,7 @@ public class AreaLight extends Light {
     @Override
     public RGBColor L(ShadeRec sr) {
         //check for back face and return black if it is
-        double ndotd = lightNormal.get().neg().dot(wi.get());
+        double ndotd = -lightNormal.get().dot(wi.get());
         if (ndotd > 0) {
             return material.getLe(sr);
         } else {
@@ -173,24 +172,18 @@ public class AreaLight extends Light {
      */
     @Override
     public boolean inShadow(Ray ray, ShadeRec sr) {
+        //check if the material receives shadows first, it's cheaper
+        if (!sr.material.getShadows()) {
+            return false;
+        }
 
         //distance to sample point on object
-        double ts = (samplePoint.get().sub(ray.o).dot(ray.d));
-
-        //reference parameter
-        DoubleRef t = new DoubleRef();
-
-        //loop through objects
-        int numObjects = sr.w.objects.size();
-        for (int j = 0; j < numObjects; j++) {
-            //we have a hit and the hit is closer than the light and the
-            //the material accepts shadows
-            if (sr.w.objects.get(j).shadowHit(ray, t) && t.d < ts
-                    && sr.material.getShadows()) {
-                return true;
-            }
-        }
-        return false;
+        double ts = (samplePoint.get().x - ray.o.x) * ray.d.x
+                + (samplePoint.get().y - ray.o.y) * ray.d.y
+                + (samplePoint.get().z - ray.o.z) * ray.d.z;
+
+        //any hit closer than the sample point on the light puts us in shadow
+        return sr.w.occluded(ray, ts);
     }
 
     /**
@@ -202,7 +195,7 @@ public class AreaLight extends Light {
     @Override
     public double G(ShadeRec sr) {
         //cosine term
-        double ndotd = lightNormal.get().neg().dot(wi.get());
+        double ndotd = -lightNormal.get().dot(wi.get());
         //distance to hit point from sample point squared
         double d2 = samplePoint.get().distSquared(sr.hitPoint);
         return ndotd / d2;
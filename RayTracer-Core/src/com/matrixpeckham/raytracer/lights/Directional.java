@@ -17,7 +17,6 @@
  */
 package com.matrixpeckham.raytracer.lights;
 
-import com.matrixpeckham.raytracer.util.DoubleRef;
 import com.matrixpeckham.raytracer.util.RGBColor;
 import com.matrixpeckham.raytracer.util.Ray;
 import com.matrixpeckham.raytracer.util.ShadeRec;
@@ -172,15 +171,9 @@ public class Directional extends Light {
      */
     @Override
     public boolean inShadow(Ray ray, ShadeRec sr) {
-        DoubleRef t = new DoubleRef(0);
-        int numObjects = sr.w.objects.size();
-        for (int j = 0; j < numObjects; j++) {
-            if (sr.w.objects.get(j).shadowHit(ray, t) && sr.material.
-                    getShadows()) {
-                return true;
-            }
-        }
-        return false;
+        //the light is at infinity so any hit blocks it
+        return sr.material.getShadows() && sr.w.occluded(ray,
+                Double.POSITIVE_INFINITY);
     }
 
     private static final Logger LOG
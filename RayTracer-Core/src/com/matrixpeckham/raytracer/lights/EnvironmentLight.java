@@ -19,7 +19,6 @@ package com.matrixpeckham.raytracer.lights;
 
 import com.matrixpeckham.raytracer.materials.Material;
 import com.matrixpeckham.raytracer.samplers.Sampler;
-import com.matrixpeckham.raytracer.util.DoubleRef;
 import com.matrixpeckham.raytracer.util.Point3D;
 import com.matrixpeckham.raytracer.util.RGBColor;
 import com.matrixpeckham.raytracer.util.Ray;
@@ -73,8 +72,16 @@ public class EnvironmentLight extends Light {
 
     };
 
-    //sampled direction to light
-    Vector3D wi = new Vector3D();
+    //sampled direction to light, per thread like the uvw basis, pdf() reads
+    //the one the same thread's getDirection() sampled
+    private ThreadLocal<Vector3D> wi = new ThreadLocal<Vector3D>() {
+
+        @Override
+        protected Vector3D initialValue() {
+            return new Vector3D();
+        }
+
+    };
 
     /**
      * default constructor
@@ -93,7 +100,7 @@ public class EnvironmentLight extends Light {
         u.get().setTo(l.u.get());
         v.get().setTo(l.v.get());
         w.get().setTo(l.w.get());
-        wi.setTo(l.wi);
+        wi.get().setTo(l.wi.get());
     }
 
     /**
@@ -125,14 +132,16 @@ public class EnvironmentLight extends Light {
     @Override
     public Vector3D getDirection(ShadeRec sr) {
         w.get().setTo(sr.normal);
-        v.get().setTo(w.get().cross(new Vector3D(0.0034, 1, 0.0071)));
+        v.get().setTo(0.0034, 1, 0.0071);
+        w.get().crossInto(v.get(), v.get());
         v.get().normalize();
-        u.get().setTo(v.get().cross(w.get()));
+        v.get().crossInto(w.get(), u.get());
         Point3D sp = sampler.sampleHemisphere();
-        wi.
-                setTo(u.get().mul(sp.x).add(v.get().mul(sp.y)).add(w.get().mul(
-                                        sp.z)));
-        return wi;
+        Vector3D dir = wi.get();
+        dir.setTo(0, 0, 0);
+        dir.scaleAdd(sp.x, u.get()).scaleAdd(sp.y, v.get()).scaleAdd(sp.z, w.
+                get());
+        return dir;
     }
 
     /**
@@ -145,15 +154,9 @@ public class EnvironmentLight extends Light {
      */
     @Override
     public boolean inShadow(Ray shadowRay, ShadeRec sr) {
-        int numObjects = sr.w.objects.size();
-        DoubleRef t = new DoubleRef();
-        for (int j = 0; j < numObjects; j++) {
-            if (sr.w.objects.get(j).shadowHit(shadowRay, t) && sr.material.
-                    getShadows()) {
-                return true;
-            }
-        }
-        return false;
+        //any hit at all blocks the environment
+        return sr.material.getShadows() && sr.w.occluded(shadowRay,
+                Double.POSITIVE_INFINITY);
     }
 
     /**
@@ -175,7 +178,7 @@ public class EnvironmentLight extends Light {
      */
     @Override
     public double pdf(ShadeRec sr) {
-        return sr.normal.dot(wi) * Utility.INV_PI;
+        return sr.normal.dot(wi.get()) * Utility.INV_PI;
     }
 
     /**
@@ -17,7 +17,6 @@
  */
 package com.matrixpeckham.raytracer.lights;
 
-import com.matrixpeckham.raytracer.util.DoubleRef;
 import com.matrixpeckham.raytracer.util.Point3D;
 import com.matrixpeckham.raytracer.util.RGBColor;
 import com.matrixpeckham.raytracer.util.Ray;
@@ -188,24 +187,16 @@ public class PointLight extends Light {
      */
     @Override
     public boolean inShadow(Ray ray, ShadeRec sr) {
-        //reference double for shadow hit function
-        DoubleRef t = new DoubleRef(0);
+        //check if the material receives shadows first, it's cheaper
+        if (!sr.material.getShadows()) {
+            return false;
+        }
 
         //distance from light to hit position
         double d = location.distance(ray.o);
 
-        //loop though objects in scene
-        int numObjects = sr.w.objects.size();
-        for (int j = 0; j < numObjects; j++) {
-            //shadow hit function returns distance through reference
-            //if that point is closer than the light we're in shadow
-            //also check if the material casts shadows
-            if (sr.w.objects.get(j).shadowHit(ray, t) && t.d < d && sr.material.
-                    getShadows()) {
-                return true;
-            }
-        }
-        return false;
+        //any hit closer than the light puts us in shadow
+        return sr.w.occluded(ray, d);
     }
 
     private static final Logger LOG
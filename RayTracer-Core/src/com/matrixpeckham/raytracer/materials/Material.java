@@ -18,6 +18,7 @@
 package com.matrixpeckham.raytracer.materials;
 
 import com.matrixpeckham.raytracer.util.RGBColor;
+import com.matrixpeckham.raytracer.util.Ray;
 import com.matrixpeckham.raytracer.util.ShadeRec;
 import com.matrixpeckham.raytracer.util.Utility;
 
@@ -38,6 +39,18 @@ public abstract class Material {
      */
     protected boolean shadow = true;
 
+    /**
+     * per thread shadow ray, see getShadowRay()
+     */
+    private static final ThreadLocal<Ray> SHADOW_RAYS
+            = new ThreadLocal<Ray>() {
+                @Override
+                protected Ray initialValue() {
+                    return new Ray();
+                }
+
+            };
+
     /**
      * default constructor, by default materials can have shadows cast on them.
      */
@@ -122,4 +135,15 @@ public abstract class Material {
     public boolean getShadows() {
         return shadow;
     }
+
+    /**
+     * gets the calling thread's scratch ray for shadow tests. a shadow test
+     * never shades anything, so one ray per thread is enough, set its origin
+     * and direction before each test.
+     *
+     * @return
+     */
+    protected static Ray getShadowRay() {
+        return SHADOW_RAYS.get();
+    }
 }
@@ -84,7 +84,10 @@ public class Matte extends Material {
         Vector3D wo = sr.ray.d.neg();
 
         //ambient color
-        RGBColor L = ambientBRDF.rho(sr, wo).mul(sr.w.ambient.L(sr));
+        RGBColor L = RGBColor.mul(ambientBRDF.rho(sr, wo), sr.w.ambient.L(sr),
+                new RGBColor());
+        //one shadow ray shared by every light
+        Ray shadowRay = getShadowRay();
         int numLights = sr.w.lights.size();
 
         //loop through lights
@@ -99,14 +102,15 @@ public class Matte extends Material {
                 //shadow cast
                 boolean inShadow = false;
                 if (sr.w.lights.get(j).castsShadows()) {
-                    Ray shadowRay = new Ray(sr.hitPoint, wi);
+                    shadowRay.o.setTo(sr.hitPoint);
+                    shadowRay.d.setTo(wi);
                     inShadow = sr.w.lights.get(j).inShadow(shadowRay, sr);
                 }
                 if (!inShadow || !shadow) {
                     //not in shadow: diffuseColor * light * geometricTerm * cosine / pdf
-                    L.addLocal(diffuseBRDF.f(sr, wo, wi).mul(sr.w.lights.get(j).
-                            L(sr)).mul(sr.w.lights.get(j).G(sr) * ndotwi
-                                    / sr.w.lights.get(j).pdf(sr)));
+                    L.scaleAdd(sr.w.lights.get(j).G(sr) * ndotwi
+                            / sr.w.lights.get(j).pdf(sr), diffuseBRDF.f(sr,
+                                    wo, wi), sr.w.lights.get(j).L(sr));
                 }
             }
         }
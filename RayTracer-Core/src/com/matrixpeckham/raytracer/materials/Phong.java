@@ -92,7 +92,11 @@ public class Phong extends Material {
         Vector3D wo = sr.ray.d.neg();
 
         //get ambient lighting.
-        RGBColor L = ambientBRDF.rho(sr, wo).mul(sr.w.ambient.L(sr));
+        RGBColor L = RGBColor.mul(ambientBRDF.rho(sr, wo), sr.w.ambient.L(sr),
+                new RGBColor());
+        //one shadow ray shared by every light
+        Ray shadowRay = getShadowRay();
+        RGBColor brdfSum = new RGBColor();
 
         //we loop through all the lights
         int numLights = sr.w.lights.size();
@@ -109,7 +113,8 @@ public class Phong extends Material {
                 //if the current light can cast a shadow
                 if (sr.w.lights.get(j).castsShadows()) {
                     //create a ray from the hit point to the light
-                    Ray shadowRay = new Ray(sr.hitPoint, wi);
+                    shadowRay.o.setTo(sr.hitPoint);
+                    shadowRay.d.setTo(wi);
                     //ask the current light if we're in shadow
                     inShadow = sr.w.lights.get(j).inShadow(shadowRay, sr);
                 }
@@ -121,10 +126,8 @@ public class Phong extends Material {
                     RGBColor illumination = sr.w.lights.get(j).L(sr);
                     double geometricFactor = sr.w.lights.get(j).G(sr);
                     double pdf = sr.w.lights.get(j).pdf(sr);
-                    L.addLocal(
-                            diffuseColor.add(specularColor).mul(illumination).
-                            mul(geometricFactor * ndotwi / pdf)
-                    );
+                    L.scaleAdd(geometricFactor * ndotwi / pdf, RGBColor.add(
+                            diffuseColor, specularColor, brdfSum), illumination);
                 }
             }
         }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.samplers;
+
+import com.matrixpeckham.raytracer.util.SplitMix64;
+import java.util.logging.Logger;
+
+/**
+ * Halton samples, radical inverses in bases 2 and 3. Each pixel scrambles
+ * the digits with its own random permutations, each digit's permutation
+ * depending on the digits before it, so the stratification of the sequence
+ * is kept but pixels don't share a pattern. Computed per sample, no sample
+ * sets.
+ *
+ * @author William Matrix Peckham
+ */
+public class Halton extends LowDiscrepancySampler {
+
+    /**
+     * the six permutations of a base 3 digit
+     */
+    private static final int[][] PERMUTATIONS_3 = {{0, 1, 2}, {0, 2, 1},
+    {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+
+    /**
+     * base 3 digits of the largest sample index, the digits that are
+     * scrambled with permutations
+     */
+    private final int digits;
+
+    /**
+     * default, one sample
+     */
+    public Halton() {
+        this(1);
+    }
+
+    /**
+     * set number of samples
+     *
+     * @param num
+     */
+    public Halton(int num) {
+        super(num);
+        int d = 0;
+        for (int n = num - 1; n != 0; n /= 3) {
+            d++;
+        }
+        digits = d;
+    }
+
+    /**
+     * copy constructor
+     *
+     * @param h
+     */
+    public Halton(Halton h) {
+        super(h);
+        digits = h.digits;
+    }
+
+    /**
+     * computes the index'th Halton point, scrambled with seed
+     *
+     * @param index
+     * @param seed
+     * @param out
+     */
+    @Override
+    protected void samplePoint(int index, long seed, double[] out) {
+        out[0] = toUnit(owenScramble(Integer.reverse(index), (int) seed));
+        out[1] = radicalInverse3(index, digits, seed);
+    }
+
+    /**
+     * scrambled radical inverse in base 3
+     *
+     * @param index
+     * @param digits number of digits to permute
+     * @param seed
+     * @return
+     */
+    private static double radicalInverse3(int index, int digits, long seed) {
+        double r = 0;
+        double f = 1.0 / 3.0;
+        long prefix = 1;
+        for (int k = 0; k < digits; k++) {
+            int d = index % 3;
+            index /= 3;
+            long h = SplitMix64.mix(seed ^ prefix);
+            r += PERMUTATIONS_3[(int) ((h >>> 1) % 6)][d] * f;
+            f /= 3.0;
+            //the permutation of the next digit depends on all the digits so far
+            prefix = prefix * 3 + d;
+        }
+        //the rest of the digits are zeros under permutations that no other
+        //sample shares, which is a uniform offset within the stratum
+        long h = SplitMix64.mix(~seed ^ prefix);
+        r += 3 * f * ((h >>> 11) * 0x1p-53);
+        //can round up to 1
+        return Math.min(r, 0x1.fffffffffffffp-1);
+    }
+
+    /**
+     * clone
+     *
+     * @return
+     */
+    @Override
+    public Sampler protclone() {
+        return new Halton(this);
+    }
+
+    private static final Logger LOG = Logger.getLogger(Halton.class.getName());
+
+}
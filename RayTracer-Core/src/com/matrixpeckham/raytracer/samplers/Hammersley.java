@@ -17,7 +17,6 @@
  */
 package com.matrixpeckham.raytracer.samplers;
 
-import com.matrixpeckham.raytracer.util.Point2D;
 import java.util.logging.Logger;
 
 /**
@@ -62,7 +61,7 @@ public class Hammersley extends Sampler {
 
         for (int p = 0; p < numSets; p++) {
             for (int j = 0; j < numSamples; j++) {
-                samples.add(new Point2D(j / (double) numSamples, phi(j)));
+                setSample(j + p * numSamples, j / (double) numSamples, phi(j));
             }
         }
     }
@@ -17,7 +17,6 @@
  */
 package com.matrixpeckham.raytracer.samplers;
 
-import com.matrixpeckham.raytracer.util.Point2D;
 import com.matrixpeckham.raytracer.util.Utility;
 import java.util.logging.Logger;
 
@@ -61,12 +60,12 @@ public class Jittered extends Sampler {
     @Override
     public final void generateSamples() {
         int n = (int) Math.sqrt(numSamples);
-
+        int k = 0;
         for (int j = 0; j < numSets; j++) {
             for (int p = 0; p < n; p++) {
                 for (int q = 0; q < n; q++) {
-                    samples.add(new Point2D((q + Utility.randDouble()) / n, (p
-                            + Utility.randDouble()) / n));
+                    setSample(k++, (q + Utility.randDouble()) / n, (p
+                            + Utility.randDouble()) / n);
                 }
             }
         }
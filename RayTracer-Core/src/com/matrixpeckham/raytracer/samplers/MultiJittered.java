@@ -17,7 +17,6 @@
  */
 package com.matrixpeckham.raytracer.samplers;
 
-import com.matrixpeckham.raytracer.util.Point2D;
 import com.matrixpeckham.raytracer.util.Utility;
 import java.util.logging.Logger;
 
@@ -75,21 +74,16 @@ public class MultiJittered extends Sampler {
 
         int n = (int) Math.sqrt((double) numSamples);
         double subcell_width = 1.0 / ((double) numSamples);
-        for (int j = 0; j < numSamples * numSets; j++) {
-            samples.add(new Point2D());
-        }
+        double[] s = samples;
         // distribute points in the initial patterns
         for (int p = 0; p < numSets; p++) {
             for (int j = 0; j < n; j++) {
                 for (int i = 0; i < n; i++) {
-                    double rand = Utility.randDouble(0,
-                            subcell_width);
-                    samples.get(j * n + i + p * numSamples).x = (i * n + j)
-                            * subcell_width + rand;
-                    rand = Utility.randDouble(0,
-                            subcell_width);
-                    samples.get(j * n + i + p * numSamples).y = (j * n + i)
-                            * subcell_width + rand;
+                    int k = j * n + i + p * numSamples;
+                    s[2 * k] = (i * n + j) * subcell_width + Utility.
+                            randDouble(0, subcell_width);
+                    s[2 * k + 1] = (j * n + i) * subcell_width + Utility.
+                            randDouble(0, subcell_width);
                 }
             }
         }
@@ -99,10 +93,11 @@ public class MultiJittered extends Sampler {
             for (int i = 0; i < n; i++) {
                 for (int j = 0; j < n; j++) {
                     int k = Utility.randInt(j, n - 1);
-                    double t = samples.get(i * n + j + p * numSamples).x;
-                    samples.get(i * n + j + p * numSamples).x = samples.get(i
-                            * n + k + p * numSamples).x;
-                    samples.get(i * n + k + p * numSamples).x = t;
+                    int a = i * n + j + p * numSamples;
+                    int b = i * n + k + p * numSamples;
+                    double t = s[2 * a];
+                    s[2 * a] = s[2 * b];
+                    s[2 * b] = t;
                 }
             }
         }
@@ -112,10 +107,11 @@ public class MultiJittered extends Sampler {
             for (int i = 0; i < n; i++) {
                 for (int j = 0; j < n; j++) {
                     int k = Utility.randInt(j, n - 1);
-                    double t = samples.get(j * n + i + p * numSamples).y;
-                    samples.get(j * n + i + p * numSamples).y = samples.get(k
-                            * n + i + p * numSamples).y;
-                    samples.get(k * n + i + p * numSamples).y = t;
+                    int a = j * n + i + p * numSamples;
+                    int b = k * n + i + p * numSamples;
+                    double t = s[2 * a + 1];
+                    s[2 * a + 1] = s[2 * b + 1];
+                    s[2 * b + 1] = t;
                 }
             }
         }
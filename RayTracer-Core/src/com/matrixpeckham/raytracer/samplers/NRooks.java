@@ -17,7 +17,6 @@
  */
 package com.matrixpeckham.raytracer.samplers;
 
-import com.matrixpeckham.raytracer.util.Point2D;
 import com.matrixpeckham.raytracer.util.Utility;
 import java.util.logging.Logger;
 
@@ -62,10 +61,8 @@ public class NRooks extends Sampler {
     public final void generateSamples() {
         for (int p = 0; p < numSets; p++) {
             for (int j = 0; j < numSamples; j++) {
-                Point2D sp
-                        = new Point2D((j + Utility.randDouble()) / numSamples,
-                                (j + Utility.randDouble()) / numSamples);
-                samples.add(sp);
+                setSample(j + p * numSamples, (j + Utility.randDouble())
+                        / numSamples, (j + Utility.randDouble()) / numSamples);
             }
         }
 
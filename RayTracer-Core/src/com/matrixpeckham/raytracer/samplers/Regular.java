@@ -17,7 +17,6 @@
  */
 package com.matrixpeckham.raytracer.samplers;
 
-import com.matrixpeckham.raytracer.util.Point2D;
 import java.util.logging.Logger;
 
 /**
@@ -60,11 +59,11 @@ public class Regular extends Sampler {
     @Override
     public final void generateSamples() {
         int n = (int) Math.sqrt(numSamples);
-
+        int k = 0;
         for (int j = 0; j < numSets; j++) {
             for (int p = 0; p < n; p++) {
                 for (int q = 0; q < n; q++) {
-                    samples.add(new Point2D((q + 0.5) / n, (p + 0.5) / n));
+                    setSample(k++, (q + 0.5) / n, (p + 0.5) / n);
                 }
             }
         }
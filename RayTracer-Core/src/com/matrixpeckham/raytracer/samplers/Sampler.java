@@ -19,17 +19,109 @@ package com.matrixpeckham.raytracer.samplers;
 
 import com.matrixpeckham.raytracer.util.Point2D;
 import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.RandomStream;
+import com.matrixpeckham.raytracer.util.SplitMix64;
+import com.matrixpeckham.raytracer.util.ThreadRandom;
 import com.matrixpeckham.raytracer.util.Utility;
-import java.util.ArrayList;
-import java.util.Collections;
 
 /**
  * Abstract base class for generating random samples in various patters.
  *
+ * The sample tables are flat double arrays, two or three values per sample,
+ * and never change once generated and mapped, so copies of a sampler share
+ * them and cloning is cheap. The position in the sample sets is kept in a
+ * Context, one per thread for the no argument sample functions, or passed in
+ * explicitly by callers that keep their own. The points returned belong to
+ * the context and are overwritten by its next sample, read them right away.
+ *
  * @author William Matrix Peckham
  */
 public abstract class Sampler {
 
+    /**
+     * position in the sample sets for one thread or one pixel loop, and the
+     * points sample values are returned in.
+     */
+    public static final class Context {
+
+        /**
+         * current number of samples taken, also considered current index in
+         * c/C++ this would be unsigned long to avoid possible overflow, so we
+         * check for negative number and reset it to 0 if overflow happens,
+         * which it can on LARGE images.
+         */
+        int count = 0;
+
+        /**
+         * random index jump, used to select random sample set at each new
+         * pixel
+         */
+        int jump = 0;
+
+        /**
+         * per pixel scramble seed, used by the samplers that make their
+         * samples on the fly instead of reading them from tables
+         */
+        long seed = 0;
+
+        /**
+         * set by resume(), the next sample continues the resumed set instead
+         * of picking a new one
+         */
+        boolean resumed = false;
+
+        /**
+         * pixel count of the thread the context belongs to
+         */
+        final ThreadRandom.PixelCount pixels = ThreadRandom.pixelCount();
+
+        /**
+         * pixel count when the context was last used, the position starts
+         * over at a new pixel
+         */
+        int pixel;
+
+        /**
+         * scratch space for mapping a generated sample
+         */
+        final double[] scratch = new double[3];
+
+        /**
+         * returned by the 2d sample functions
+         */
+        final Point2D point2 = new Point2D();
+
+        /**
+         * returned by the 3d sample functions
+         */
+        final Point3D point3 = new Point3D();
+
+        Context() {
+            pixel = pixels.get();
+        }
+
+        /**
+         * gets the count to take the next sample at, starting over if the
+         * thread has moved on to another pixel since the last sample. without
+         * this the set a sampler used at a pixel would depend on how many
+         * samples it gave the pixels the thread drew before.
+         *
+         * @return
+         */
+        int startCount() {
+            int p = pixels.get();
+            if (p != pixel) {
+                pixel = p;
+                if (!resumed) {
+                    count = 0;
+                }
+            }
+            //overflow possible on very large images with large sample counts
+            return count < 0 ? 0 : count;
+        }
+
+    }
+
     /**
      * number of samples to generate per pattern
      */
@@ -43,58 +135,42 @@ public abstract class Sampler {
     protected int numSets;
 
     /**
-     * original 2d unit square samples, will have size numSamples*numSets, or
-     * will be empty if a mapping function is called
+     * original 2d unit square samples, x y per sample, numSamples*numSets
+     * samples
      */
-    protected ArrayList<Point2D> samples;
+    protected double[] samples;
 
     /**
      * shuffled samples array indices
      */
-    protected ArrayList<Integer> shuffledIndices;
+    protected int[] shuffledIndices;
 
     /**
-     * sample points mapped to a unit disc, filled to size numSamples*numSets
-     * when mapSamplesToUnitDisc is called.
+     * sample points mapped to a unit disc, x y per sample, filled when
+     * mapSamplesToUnitDisc is called.
      */
-    protected ArrayList<Point2D> discSamples;
+    protected double[] discSamples = new double[0];
 
     /**
-     * sample points mapped to unit hemisphere, filled to size
-     * numSamples*numSets when mapSamplesToUnitHemisphere(exp) is called.
+     * sample points mapped to unit hemisphere, x y z per sample, filled when
+     * mapSamplesToUnitHemisphere(exp) is called.
      */
-    protected ArrayList<Point3D> hemisphereSamples;
+    protected double[] hemisphereSamples = new double[0];
 
     /**
-     * sample points mapped to unit sphere, filled to size numSamples*numSets
-     * when mapSamplesToUnitPhere is called.
+     * sample points mapped to unit sphere, x y z per sample, filled when
+     * mapSamplesToUnitPhere is called.
      */
-    protected ArrayList<Point3D> sphereSamples;
-
-    /**
-     * current number of samples taken, also considered current index in c/C++
-     * this would be unsigned long to avoid possible overflow and to allow
-     * extreme number of samples, but java doesn't allow long indices to
-     * arrays/ArrayLists, so we check for negative number and reset it to 0 if
-     * overflow happens, which it can on LARGE images.
-     */
-    //protected int count;
-    protected ThreadLocal<Integer> threadCount = new ThreadLocal<Integer>() {
-        @Override
-        protected Integer initialValue() {
-            return 0;
-        }
-
-    };
+    protected double[] sphereSamples = new double[0];
 
     /**
-     * random index jump, used to select random sample set at each new pixel
+     * context used by the sample functions that don't take one
      */
-    //protected int jump;
-    protected ThreadLocal<Integer> threadJump = new ThreadLocal<Integer>() {
+    private final ThreadLocal<Context> threadContext
+            = new ThreadLocal<Context>() {
         @Override
-        protected Integer initialValue() {
-            return 0;
+        protected Context initialValue() {
+            return new Context();
         }
 
     };
@@ -124,38 +200,24 @@ public abstract class Sampler {
     public Sampler(int i, int s) {
         numSamples = i;
         numSets = s;
-        threadCount.set(0);
-        threadJump.set(0);
-        //count = 0;
-        //jump = 0;
-        samples = new ArrayList<>(numSamples * numSets);
-        shuffledIndices = new ArrayList<>(numSamples * numSets);
-        discSamples = new ArrayList<>();
-        hemisphereSamples = new ArrayList<>();
-        sphereSamples = new ArrayList<>();
+        samples = new double[2 * numSamples * numSets];
         setupShuffledIndices();
     }
 
     /**
-     * copy constructor
+     * copy constructor, shares the sample tables, which are never changed in
+     * place.
      *
      * @param s
      */
     public Sampler(Sampler s) {
-        //synchronized(s){
         numSamples = s.numSamples;
         numSets = s.numSets;
-        samples = new ArrayList<>(s.samples);
-        shuffledIndices = new ArrayList<>(s.shuffledIndices);
-        discSamples = new ArrayList<>(s.discSamples);
-        hemisphereSamples = new ArrayList<>(s.hemisphereSamples);
-        sphereSamples = new ArrayList<>(s.sphereSamples);
-        //count = s.count;
-
-        threadCount.set(s.threadCount.get());
-        threadJump.set(s.threadJump.get());
-        //jump = s.jump;
-        //}
+        samples = s.samples;
+        shuffledIndices = s.shuffledIndices;
+        discSamples = s.discSamples;
+        hemisphereSamples = s.hemisphereSamples;
+        sphereSamples = s.sphereSamples;
     }
 
     /**
@@ -176,19 +238,24 @@ public abstract class Sampler {
         return numSamples;
     }
 
+    /**
+     * stores a unit square sample, used by generateSamples()
+     *
+     * @param index
+     * @param x
+     * @param y
+     */
+    protected final void setSample(int index, double x, double y) {
+        samples[2 * index] = x;
+        samples[2 * index + 1] = y;
+    }
+
     /**
      * shuffles x coordinates of sample points (used in NRooks and
      * MultiJittered)
      */
     public void shuffleXCoordinates() {
-        for (int p = 0; p < numSets; p++) {
-            for (int i = 0; i < numSamples - 1; i++) {
-                int target = Utility.randInt() % numSamples + p * numSamples;
-                double temp = samples.get(i + p * numSamples + 1).x;
-                samples.get(i + p * numSamples + 1).x = samples.get(target).x;
-                samples.get(target).x = temp;
-            }
-        }
+        shuffleCoordinates(0);
     }
 
     /**
@@ -196,160 +263,270 @@ public abstract class Sampler {
      * MultiJittered)
      */
     public void shuffleYCoordinates() {
+        shuffleCoordinates(1);
+    }
+
+    /**
+     * shuffles one coordinate of the samples within each set, on a copy so
+     * samplers sharing the table don't see it change.
+     *
+     * @param offset 0 for x 1 for y
+     */
+    private void shuffleCoordinates(int offset) {
+        double[] s = samples.clone();
         for (int p = 0; p < numSets; p++) {
             for (int i = 0; i < numSamples - 1; i++) {
                 int target = Utility.randInt() % numSamples + p * numSamples;
-                double temp = samples.get(i + p * numSamples + 1).y;
-                samples.get(i + p * numSamples + 1).y = samples.get(target).y;
-                samples.get(target).y = temp;
+                int k = i + p * numSamples + 1;
+                double temp = s[2 * k + offset];
+                s[2 * k + offset] = s[2 * target + offset];
+                s[2 * target + offset] = temp;
             }
         }
+        samples = s;
     }
 
     /**
      * sets up the shuffled indices for each set
      */
     public final void setupShuffledIndices() {
-        //make sure we have enough space, more efficient to allocate all at once
-
+        shuffledIndices = new int[numSamples * numSets];
         //temporary array for indices 0-(numSamples-1)
-        ArrayList<Integer> indices = new ArrayList<>();
+        int[] indices = new int[numSamples];
         for (int i = 0; i < numSamples; i++) {
-            indices.add(i);
+            indices[i] = i;
         }
 
         //for each sample set
+        RandomStream rand = ThreadRandom.current();
         for (int i = 0; i < numSets; i++) {
-            //shuffle the indices
-            Collections.shuffle(indices, Utility.rand);
-            //add them all to the shuffled index array
-            for (int j = 0; j < numSamples; j++) {
-                shuffledIndices.add(indices.get(j));
+            //shuffle the indices, fisher-yates off the thread's own stream
+            for (int j = numSamples - 1; j > 0; j--) {
+                int k = rand.nextInt(j + 1);
+                int t = indices[j];
+                indices[j] = indices[k];
+                indices[k] = t;
             }
+            //add them all to the shuffled index array
+            System.arraycopy(indices, 0, shuffledIndices, i * numSamples,
+                    numSamples);
         }
     }
 
     /**
-     * turns this sampler into a sampler for discs. Deletes original points
-     * after mapping them to a disc, typically called by a primitive or camera
-     * to a sampler that has been passed to it
+     * maps the samples to a unit disc for sampleUnitDisc(), typically called
+     * by a primitive or camera to a sampler that has been passed to it
      *
      */
     public void mapSamplesToUnitDisc() {
-        //implements Shirley's Cocentric map
-        int size = samples.size();
+        int size = samples.length / 2;
+        double[] disc = new double[2 * size];
+        for (int j = 0; j < size; j++) {
+            discPoint(samples[2 * j], samples[2 * j + 1], disc, 2 * j);
+        }
+        discSamples = disc;
+    }
+
+    /**
+     * maps one unit square point to the unit disc, Shirley's concentric map.
+     *
+     * @param x
+     * @param y
+     * @param out receives x y
+     * @param off offset in out
+     */
+    static void discPoint(double x, double y, double[] out, int off) {
         double r;
         double phi;
-        Point2D sp = new Point2D();
-        discSamples.ensureCapacity(numSamples * numSets);
-        for (int j = 0; j < size; j++) {
-            sp.x = 2.0 * samples.get(j).x - 1.0;
-            sp.y = 2.0 * samples.get(j).y - 1.0;
-            if (sp.x > -sp.y) {
-                if (sp.x > sp.y) {
-                    r = sp.x;
-                    if (sp.x != 0) {
-                        phi = sp.y / sp.x;
-                    } else {
-                        phi = 0;
-                    }
+        double spx = 2.0 * x - 1.0;
+        double spy = 2.0 * y - 1.0;
+        if (spx > -spy) {
+            if (spx > spy) {
+                r = spx;
+                if (spx != 0) {
+                    phi = spy / spx;
                 } else {
-                    r = sp.y;
-                    if (sp.y != 0) {
-                        phi = 2.0 - sp.x / sp.y;
-                    } else {
-                        phi = 0;
-                    }
+                    phi = 0;
                 }
             } else {
-                if (sp.x < sp.y) {
-                    r = -sp.x;
-                    if (sp.x != 0) {
-                        phi = 4 + sp.y / sp.x;
-                    } else {
-                        phi = 0;
-                    }
+                r = spy;
+                if (spy != 0) {
+                    phi = 2.0 - spx / spy;
                 } else {
-                    r = -sp.y;
-                    if (sp.y != 0) {
-                        phi = 6 - sp.x / sp.y;
-                    } else {
-                        phi = 0;
-                    }
+                    phi = 0;
+                }
+            }
+        } else {
+            if (spx < spy) {
+                r = -spx;
+                if (spx != 0) {
+                    phi = 4 + spy / spx;
+                } else {
+                    phi = 0;
+                }
+            } else {
+                r = -spy;
+                if (spy != 0) {
+                    phi = 6 - spx / spy;
+                } else {
+                    phi = 0;
                 }
             }
-            phi *= Utility.PI / 4.0;
-            discSamples.
-                    add(j, new Point2D(r * Math.cos(phi), r * Math.sin(phi)));
         }
-        samples.clear();
+        phi *= Utility.PI / 4.0;
+        out[off] = r * Math.cos(phi);
+        out[off + 1] = r * Math.sin(phi);
     }
 
     /**
-     * turns this sampler into a sampler for hemisphere. Deletes original points
-     * after mapping them to a hemisphere, typically called by a primitive or
-     * camera to a sampler that has been passed to it generates a cosine
-     * distribution with exp as the exponent
+     * maps the samples to a hemisphere for sampleHemisphere(), typically
+     * called by a primitive or camera to a sampler that has been passed to it
+     * generates a cosine distribution with exp as the exponent
      *
      * @param exp
      */
     public void mapSamplesToHemisphere(double exp) {
-        int size = samples.size();
-        hemisphereSamples.ensureCapacity(numSets * numSamples);
+        int size = samples.length / 2;
+        double[] hemi = new double[3 * size];
         for (int j = 0; j < size; j++) {
-            double cos_phi = Math.cos(2.0 * Utility.PI * samples.get(j).x);
-            double sin_phi = Math.sin(2.0 * Utility.PI * samples.get(j).x);
-            double cos_theta = Math.pow((1.0 - samples.get(j).y), 1.0 / (exp
-                    + 1.0));
-            double sin_theta = Math.sqrt(1.0 - cos_theta * cos_theta);
-            double pu = sin_theta * cos_phi;
-            double pv = sin_theta * sin_phi;
-            double pw = cos_theta;
-            hemisphereSamples.add(new Point3D(pu, pv, pw));
+            hemispherePoint(samples[2 * j], samples[2 * j + 1], exp, hemi, 3
+                    * j);
         }
+        hemisphereSamples = hemi;
+    }
+
+    /**
+     * maps one unit square point to the hemisphere with a cosine power
+     * distribution.
+     *
+     * @param x
+     * @param y
+     * @param exp
+     * @param out receives x y z
+     * @param off offset in out
+     */
+    static void hemispherePoint(double x, double y, double exp, double[] out,
+            int off) {
+        double cos_phi = Math.cos(2.0 * Utility.PI * x);
+        double sin_phi = Math.sin(2.0 * Utility.PI * x);
+        double cos_theta = Math.pow((1.0 - y), 1.0 / (exp + 1.0));
+        double sin_theta = Math.sqrt(1.0 - cos_theta * cos_theta);
+        out[off] = sin_theta * cos_phi;
+        out[off + 1] = sin_theta * sin_phi;
+        out[off + 2] = cos_theta;
     }
 
     /**
-     * turns this sampler into a sampler for sphere. Deletes original points
-     * after mapping them to a sphere, typically called by a primitive or camera
-     * to a sampler that has been passed to it
+     * maps the samples to a sphere for sampleSphere(), typically called by a
+     * primitive or camera to a sampler that has been passed to it
      */
     public void mapSamplesToSphere() {
-        sphereSamples.ensureCapacity(numSets * numSamples);
-        for (int j = 0; j < numSamples * numSets; j++) {
-            double r1 = samples.get(j).x;
-            double r2 = samples.get(j).y;
-            double z = 1.0 - 2.0 * r1;
-            double r = Math.sqrt(1.0 - z * z);
-            double phi = Utility.TWO_PI * r2;
-            double x = r * Math.cos(phi);
-            double y = r * Math.sin(phi);
-            sphereSamples.add(new Point3D(x, y, z));
+        int size = numSamples * numSets;
+        double[] sphere = new double[3 * size];
+        for (int j = 0; j < size; j++) {
+            spherePoint(samples[2 * j], samples[2 * j + 1], sphere, 3 * j);
         }
+        sphereSamples = sphere;
+    }
+
+    /**
+     * maps one unit square point to the unit sphere, uniformly.
+     *
+     * @param x
+     * @param y
+     * @param out receives x y z
+     * @param off offset in out
+     */
+    static void spherePoint(double x, double y, double[] out, int off) {
+        double z = 1.0 - 2.0 * x;
+        double r = Math.sqrt(1.0 - z * z);
+        double phi = Utility.TWO_PI * y;
+        out[off] = r * Math.cos(phi);
+        out[off + 1] = r * Math.sin(phi);
+        out[off + 2] = z;
     }
 
     /**
-     * gets the next sample from the unit sphere.
+     * makes a new context, for callers that want to keep the sample position
+     * themselves instead of using the calling thread's. it starts over at
+     * each new pixel of the thread that made it, so only use it on that
+     * thread.
      *
      * @return
      */
-    public Point2D sampleUnitSquare() {
+    public Context newContext() {
+        return new Context();
+    }
+
+    /**
+     * gets the calling thread's context, the one the no argument sample
+     * functions use. looking it up once per pixel instead of once per sample
+     * saves the thread local lookups.
+     *
+     * @return
+     */
+    public Context context() {
+        return threadContext.get();
+    }
+
+    /**
+     * positions c at sample index of the set picked by seed, so a pixel can
+     * be sampled over several passes: each pass resumes with the pixel's own
+     * seed and the number of samples already taken, and carries on through
+     * the same set where the last pass stopped.
+     *
+     * @param c
+     * @param seed the pixel's seed, the same for every pass
+     * @param index samples already taken from the pixel
+     */
+    public void resume(Context c, long seed, int index) {
+        long h = SplitMix64.mix(seed);
+        c.count = index % numSamples;
+        c.jump = numSets > 0 ? (int) ((h >>> 1) % numSets) * numSamples : 0;
+        c.seed = h;
+        c.resumed = true;
+        c.pixel = c.pixels.get();
+    }
+
+    /**
+     * advances the context and returns the index of the next sample
+     *
+     * @param c
+     * @return
+     */
+    private int nextIndex(Context c) {
+        int count = c.startCount();
         //if this is the first sample from this pixel, calculate next set of
         //samples and the jump point
-        int finalIndex;
-        int count = threadCount.get();
-        int jump = threadJump.get();
-        if (count % numSamples == 0) {
-            jump = (Utility.randInt() % numSets) * numSamples;
-            threadJump.set(jump);
-        }
-        if (count < 0) {
-            count = 0;//overflow possible on very large images with large sample counts
+        if (c.resumed) {
+            c.resumed = false;
+        } else if (count % numSamples == 0) {
+            c.jump = (Utility.randInt() % numSets) * numSamples;
         }
-        finalIndex = jump + shuffledIndices.get(jump + count++
-                % numSamples);
-        threadCount.set(count);
-        return (samples.get(finalIndex));
+        c.count = count + 1;
+        return c.jump + shuffledIndices[c.jump + count % numSamples];
+    }
+
+    /**
+     * gets the next sample from the unit square.
+     *
+     * @return
+     */
+    public Point2D sampleUnitSquare() {
+        return sampleUnitSquare(threadContext.get());
+    }
+
+    /**
+     * gets the next sample from the unit square.
+     *
+     * @param c
+     * @return point owned by c
+     */
+    public Point2D sampleUnitSquare(Context c) {
+        int i = nextIndex(c);
+        c.point2.x = samples[2 * i];
+        c.point2.y = samples[2 * i + 1];
+        return c.point2;
     }
 
     /**
@@ -358,20 +535,20 @@ public abstract class Sampler {
      * @return
      */
     public Point2D sampleUnitDisc() {
-        int finalIndex;
-        int count = threadCount.get();
-        int jump = threadJump.get();
-        if (count % numSamples == 0) {
-            jump = (Utility.randInt() % numSets) * numSamples;
-            threadJump.set(jump);
-        }
-        if (count < 0) {
-            count = 0;//overflow possible on very large images with large sample counts
-        }
-        finalIndex = jump + shuffledIndices.get(jump + count++
-                % numSamples);
-        threadCount.set(count);
-        return (discSamples.get(finalIndex));
+        return sampleUnitDisc(threadContext.get());
+    }
+
+    /**
+     * get next sample from the unit disc
+     *
+     * @param c
+     * @return point owned by c
+     */
+    public Point2D sampleUnitDisc(Context c) {
+        int i = nextIndex(c);
+        c.point2.x = discSamples[2 * i];
+        c.point2.y = discSamples[2 * i + 1];
+        return c.point2;
     }
 
     /**
@@ -380,20 +557,20 @@ public abstract class Sampler {
      * @return
      */
     public Point3D sampleHemisphere() {
-        int finalIndex;
-        int count = threadCount.get();
-        int jump = threadJump.get();
-        if (count % numSamples == 0) {
-            jump = (Utility.randInt() % numSets) * numSamples;
-            threadJump.set(jump);
-        }
-        if (count < 0) {
-            count = 0;//overflow possible on very large images with large sample counts
-        }
-        finalIndex = jump + shuffledIndices.get(jump + count++
-                % numSamples);
-        threadCount.set(count);
-        return (hemisphereSamples.get(finalIndex));
+        return sampleHemisphere(threadContext.get());
+    }
+
+    /**
+     * get sample from unit hemisphere
+     *
+     * @param c
+     * @return point owned by c
+     */
+    public Point3D sampleHemisphere(Context c) {
+        int i = nextIndex(c);
+        c.point3.setTo(hemisphereSamples[3 * i], hemisphereSamples[3 * i + 1],
+                hemisphereSamples[3 * i + 2]);
+        return c.point3;
     }
 
     /**
@@ -402,20 +579,20 @@ public abstract class Sampler {
      * @return
      */
     public Point3D sampleSphere() {
-        int finalIndex;
-        int count = threadCount.get();
-        int jump = threadJump.get();
-        if (count % numSamples == 0) {
-            jump = (Utility.randInt() % numSets) * numSamples;
-            threadJump.set(jump);
-        }
-        if (count < 0) {
-            count = 0;//overflow possible on very large images with large sample counts
-        }
-        finalIndex = jump + shuffledIndices.get(jump + count++
-                % numSamples);
-        threadCount.set(count);
-        return (sphereSamples.get(finalIndex));
+        return sampleSphere(threadContext.get());
+    }
+
+    /**
+     * get the next sample from the unit sphere.
+     *
+     * @param c
+     * @return point owned by c
+     */
+    public Point3D sampleSphere(Context c) {
+        int i = nextIndex(c);
+        c.point3.setTo(sphereSamples[3 * i], sphereSamples[3 * i + 1],
+                sphereSamples[3 * i + 2]);
+        return c.point3;
     }
 
     /**
@@ -446,10 +623,10 @@ public abstract class Sampler {
      * @return
      */
     public Point2D sampleOneSet() {
-        int index;
-        int count = threadCount.get();
-        index = count++ % numSamples;
-        threadCount.set(count);
-        return samples.get(index);
+        Context c = threadContext.get();
+        int index = c.count++ % numSamples;
+        c.point2.x = samples[2 * index];
+        c.point2.y = samples[2 * index + 1];
+        return c.point2;
     }
 }
@@ -19,18 +19,28 @@ package com.matrixpeckham.raytracer.textures.image;
 
 import com.matrixpeckham.raytracer.util.RGBColor;
 import com.matrixpeckham.raytracer.util.Utility;
-import java.awt.Color;
 import java.awt.image.BufferedImage;
-import java.io.BufferedInputStream;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
- * Class for images. Holds float RGB color pixels.
+ * Class for images. Holds RGB color pixels, packed into primitive arrays: 8
+ * bit images take one int per pixel, deeper ones three floats. Loaded images
+ * are never changed, so copies share the pixel arrays. Binary PPM files loaded
+ * while the shared TextureCache is enabled aren't read into memory, their
+ * pixels are read a tile at a time through the cache when lookups need them.
  *
  * @author William Matrix Peckham
  */
@@ -47,9 +57,35 @@ public class Image {
     private int vres = 100;
 
     /**
-     * pixels
+     * pixels of 8 bit images as 0xRRGGBB, top row first, null if the image
+     * is in floats
      */
-    private final ArrayList<RGBColor> pixels = new ArrayList<>();
+    private int[] packed = null;
+
+    /**
+     * channel value of each byte in packed, the byte over the file's max
+     * value
+     */
+    private double[] levels = null;
+
+    /**
+     * r g b of each pixel of deeper images, top row first, null if the
+     * image is packed
+     */
+    private float[] floats = null;
+
+    /**
+     * file the pixels are read from a tile at a time, null if they're in
+     * memory
+     */
+    private PPMTiles tiles = null;
+
+    /**
+     * MIP levels for filtered lookups, built by the first one. entry i is the
+     * image box filtered down i times, each time to half the size, entry 0 is
+     * null as level 0 is the image itself.
+     */
+    private volatile MipLevel[] mips = null;
 
     /**
      * default constructor (blank image, size (100,100) returns all RED.
@@ -65,8 +101,11 @@ public class Image {
     public Image(Image img) {
 	hres = img.hres;
 	vres = img.vres;
-	pixels.clear();
-	pixels.addAll(img.pixels);
+	packed = img.packed;
+	levels = img.levels;
+	floats = img.floats;
+	tiles = img.tiles;
+	mips = img.mips;
     }
 
     /**
@@ -74,21 +113,321 @@ public class Image {
      *
      * @param row
      * @param col
-     * @return
+     * @return a new color
      */
     public RGBColor getColor(int row, int col) {
+	return getColor(row, col, new RGBColor());
+    }
+
+    /**
+     * access given pixel without allocating, if row or col is out of bounds
+     * gives RED
+     *
+     * @param row
+     * @param col
+     * @param out receives the color
+     * @return out
+     */
+    public RGBColor getColor(int row, int col, RGBColor out) {
 	//calculate index
 	int index = col + hres * (vres - row - 1);
-	//total pixels
-	int n = pixels.size();
-	//index in bounds
-	if (index < n && index >= 0) {
-	    return pixels.get(index);
+	if (packed != null && index >= 0 && index < packed.length) {
+	    int p = packed[index];
+	    out.setTo(levels[p >>> 16], levels[(p >>> 8) & 0xff], levels[p
+		    & 0xff]);
+	} else if (floats != null && index >= 0 && 3 * index < floats.length) {
+	    index *= 3;
+	    out.setTo(floats[index], floats[index + 1], floats[index + 2]);
+	} else if (tiles != null && index >= 0 && index < hres * vres) {
+	    //from the index, so columns off the edge wrap like they do above
+	    int fileRow = index / hres;
+	    col = index % hres;
+	    TextureCache.Tile t = tile(col, fileRow);
+	    if (t == null) {
+		return out.setTo(Utility.RED);
+	    }
+	    int i = col % TextureCache.TILE_SIZE + t.width * (fileRow
+		    % TextureCache.TILE_SIZE);
+	    if (t.packed != null) {
+		int p = t.packed[i];
+		out.setTo(levels[p >>> 16], levels[(p >>> 8) & 0xff], levels[p
+			& 0xff]);
+	    } else {
+		i *= 3;
+		out.setTo(t.floats[i], t.floats[i + 1], t.floats[i + 2]);
+	    }
+	} else {
+	    out.setTo(Utility.RED);
+	}
+	return out;
+    }
+
+    /**
+     * gets the tile holding a texel of a tiled image
+     *
+     * @param col
+     * @param fileRow row from the top
+     * @return null if it couldn't be read
+     */
+    private TextureCache.Tile tile(int col, int fileRow) {
+	return TextureCache.getShared().get(tiles, fileRow
+		/ TextureCache.TILE_SIZE * tiles.tilesX + col
+		/ TextureCache.TILE_SIZE);
+    }
+
+    /**
+     * trilinear filtered lookup: the texels around a position, averaged over
+     * a square footprint by interpolating between the two MIP levels whose
+     * texels are closest to the footprint in size. footprints of a texel or
+     * less are bilinear lookups in the image itself.
+     *
+     * @param x column position, as from Mapping.getTexelPosition()
+     * @param y row position
+     * @param width width of the footprint in texels
+     * @param out receives the color
+     * @return out
+     */
+    public RGBColor getFiltered(double x, double y, double width,
+	    RGBColor out) {
+	if (packed == null && floats == null && tiles == null) {
+	    return out.setTo(Utility.RED);
+	}
+	MipLevel[] m = mipLevels();
+	int top = m.length - 1;
+	double lod = width > 1 ? Math.log(width) * INV_LN2 : 0;
+	out.setTo(0, 0, 0);
+	if (lod >= top) {
+	    bilinear(m, top, x, y, 1, out);
+	} else {
+	    int l = (int) lod;
+	    double f = lod - l;
+	    bilinear(m, l, x, y, 1 - f, out);
+	    if (f > 0) {
+		bilinear(m, l + 1, x, y, f, out);
+	    }
+	}
+	return out;
+    }
+
+    private static final double INV_LN2 = 1 / Math.log(2);
+
+    /**
+     * adds weight times the bilinear interpolation of a MIP level at a level
+     * 0 position to c. positions are clamped to the edges.
+     *
+     * @param m
+     * @param level
+     * @param x
+     * @param y
+     * @param weight
+     * @param c sum so far
+     */
+    private void bilinear(MipLevel[] m, int level, double x, double y,
+	    double weight, RGBColor c) {
+	int w = level == 0 ? hres : m[level].width;
+	int h = level == 0 ? vres : m[level].height;
+	//texel k covers k to k + 1, so centers are at k + 0.5
+	double fx = x * w / hres - 0.5;
+	double fy = y * h / vres - 0.5;
+	int x0 = (int) Math.floor(fx);
+	int y0 = (int) Math.floor(fy);
+	double tx = fx - x0;
+	double ty = fy - y0;
+	int x1 = Math.min(Math.max(x0 + 1, 0), w - 1);
+	int y1 = Math.min(Math.max(y0 + 1, 0), h - 1);
+	x0 = Math.min(Math.max(x0, 0), w - 1);
+	y0 = Math.min(Math.max(y0, 0), h - 1);
+	addTexel(m, level, x0, y0, weight * (1 - tx) * (1 - ty), c);
+	addTexel(m, level, x1, y0, weight * tx * (1 - ty), c);
+	addTexel(m, level, x0, y1, weight * (1 - tx) * ty, c);
+	addTexel(m, level, x1, y1, weight * tx * ty, c);
+    }
+
+    /**
+     * adds weight times a texel of a MIP level to c
+     *
+     * @param m
+     * @param level
+     * @param col
+     * @param row row from the bottom, as in getColor()
+     * @param weight
+     * @param c sum so far
+     */
+    private void addTexel(MipLevel[] m, int level, int col, int row,
+	    double weight, RGBColor c) {
+	if (weight == 0) {
+	    return;
+	}
+	if (level > 0) {
+	    MipLevel ml = m[level];
+	    int i = 3 * (col + ml.width * (ml.height - row - 1));
+	    addTexel(ml.rgb, i, weight, c);
+	    return;
+	}
+	int[] p = packed;
+	float[] f = floats;
+	int index = col + hres * (vres - row - 1);
+	if (tiles != null) {
+	    int fileRow = vres - row - 1;
+	    TextureCache.Tile t = tile(col, fileRow);
+	    if (t == null) {
+		c.r += weight * Utility.RED.r;
+		c.g += weight * Utility.RED.g;
+		c.b += weight * Utility.RED.b;
+		return;
+	    }
+	    p = t.packed;
+	    f = t.floats;
+	    index = col % TextureCache.TILE_SIZE + t.width * (fileRow
+		    % TextureCache.TILE_SIZE);
+	}
+	if (p != null) {
+	    int texel = p[index];
+	    c.r += weight * levels[texel >>> 16];
+	    c.g += weight * levels[(texel >>> 8) & 0xff];
+	    c.b += weight * levels[texel & 0xff];
 	} else {
-	    return Utility.RED;
+	    addTexel(f, 3 * index, weight, c);
+	}
+    }
+
+    /**
+     * adds weight times the r g b floats at i to c
+     *
+     * @param rgb
+     * @param i
+     * @param weight
+     * @param c
+     */
+    private static void addTexel(float[] rgb, int i, double weight,
+	    RGBColor c) {
+	c.r += weight * rgb[i];
+	c.g += weight * rgb[i + 1];
+	c.b += weight * rgb[i + 2];
+    }
+
+    /**
+     * gets the MIP levels, building them the first time.
+     *
+     * @return
+     */
+    private MipLevel[] mipLevels() {
+	MipLevel[] m = mips;
+	if (m != null) {
+	    return m;
+	}
+	synchronized (this) {
+	    if (mips == null) {
+		mips = buildMips();
+	    }
+	    return mips;
 	}
     }
 
+    /**
+     * box filters the image down to 1x1, each level is half the size of the
+     * one before, rounded up, and each texel the average of the 2x2 texels it
+     * covers, fewer at an odd edge.
+     *
+     * @return
+     */
+    private MipLevel[] buildMips() {
+	List<MipLevel> list = new ArrayList<>();
+	list.add(null);
+	int pw = hres;
+	int ph = vres;
+	if (pw > 1 || ph > 1) {
+	    list.add(reduceImage());
+	    pw = list.get(1).width;
+	    ph = list.get(1).height;
+	}
+	float[] prev = list.size() > 1 ? list.get(1).rgb : null;
+	while (pw > 1 || ph > 1) {
+	    int w = (pw + 1) / 2;
+	    int h = (ph + 1) / 2;
+	    float[] rgb = new float[3 * w * h];
+	    for (int y = 0; y < h; y++) {
+		int ya = 2 * y;
+		int yb = Math.min(ya + 1, ph - 1);
+		for (int x = 0; x < w; x++) {
+		    int xa = 2 * x;
+		    int xb = Math.min(xa + 1, pw - 1);
+		    int o = 3 * (y * w + x);
+		    for (int k = 0; k < 3; k++) {
+			rgb[o + k] = 0.25f * (prev[3 * (ya * pw + xa) + k]
+				+ prev[3 * (ya * pw + xb) + k]
+				+ prev[3 * (yb * pw + xa) + k]
+				+ prev[3 * (yb * pw + xb) + k]);
+		    }
+		}
+	    }
+	    list.add(new MipLevel(w, h, rgb));
+	    prev = rgb;
+	    pw = w;
+	    ph = h;
+	}
+	return list.toArray(new MipLevel[list.size()]);
+    }
+
+    /**
+     * builds MIP level 1 straight from the image, without a float copy of it,
+     * a tile's worth of texels at a time so tiled images are read once.
+     *
+     * @return
+     */
+    private MipLevel reduceImage() {
+	int w = (hres + 1) / 2;
+	int h = (vres + 1) / 2;
+	float[] rgb = new float[3 * w * h];
+	int block = TextureCache.TILE_SIZE / 2;
+	RGBColor[] c = {new RGBColor(), new RGBColor(), new RGBColor(),
+	    new RGBColor()};
+	for (int by = 0; by < h; by += block) {
+	    for (int bx = 0; bx < w; bx += block) {
+		for (int y = by; y < Math.min(by + block, h); y++) {
+		    //rows from the bottom, level rows are from the top
+		    int ra = vres - 1 - 2 * y;
+		    int rb = Math.max(ra - 1, 0);
+		    for (int x = bx; x < Math.min(bx + block, w); x++) {
+			int xa = 2 * x;
+			int xb = Math.min(xa + 1, hres - 1);
+			getColor(ra, xa, c[0]);
+			getColor(ra, xb, c[1]);
+			getColor(rb, xa, c[2]);
+			getColor(rb, xb, c[3]);
+			int o = 3 * (y * w + x);
+			rgb[o] = 0.25f * ((float) c[0].r + (float) c[1].r
+				+ (float) c[2].r + (float) c[3].r);
+			rgb[o + 1] = 0.25f * ((float) c[0].g + (float) c[1].g
+				+ (float) c[2].g + (float) c[3].g);
+			rgb[o + 2] = 0.25f * ((float) c[0].b + (float) c[1].b
+				+ (float) c[2].b + (float) c[3].b);
+		    }
+		}
+	    }
+	}
+	return new MipLevel(w, h, rgb);
+    }
+
+    /**
+     * one reduced copy of the image, r g b floats, top row first
+     */
+    private static final class MipLevel {
+
+	final int width;
+
+	final int height;
+
+	final float[] rgb;
+
+	MipLevel(int width, int height, float[] rgb) {
+	    this.width = width;
+	    this.height = height;
+	    this.rgb = rgb;
+	}
+
+    }
+
     /**
      * clone
      *
@@ -102,78 +441,207 @@ public class Image {
      * Loads an image from a BufferedImage, utility function, not used in code
      * from book but useful for people who want to test with their own images in
      * PNG, JPEG, or BMP formats, which ImageIO can read into a BufferedImage.
+     * The common ImageIO layouts are copied straight out of the raster, others
+     * are converted by getRGB().
      *
      * @param bi
      */
     public void loadFromBufferedImage(BufferedImage bi) {
 	//get size
-	hres = bi.getWidth();
-	vres = bi.getHeight();
-
-	//loop through all image pixels in left to right, top to bottom order
-	for (int y = 0; y < vres; y++) {
-	    for (int x = 0; x < hres; x++) {
-		//uses java Color class to seperate RGB values from BufferedImage
-		//int return value, could be done manually, but this is cleaner.
-		Color col = new Color(bi.getRGB(x, y));
-		//normalize RGB values
-		double r = col.getRed() / 255.0;
-		double g = col.getGreen() / 255.0;
-		double b = col.getBlue() / 255.0;
-		//put into pixel array
-		pixels.add(new RGBColor(r, g, b));
+	int w = bi.getWidth();
+	int h = bi.getHeight();
+	int[] px = new int[w * h];
+	int type = bi.getType();
+	boolean whole = bi.getRaster().getParent() == null && bi.getRaster().
+		getDataBuffer().getNumBanks() == 1;
+	if (whole && (type == BufferedImage.TYPE_INT_RGB
+		|| type == BufferedImage.TYPE_INT_ARGB)) {
+	    //already packed
+	    int[] src = ((DataBufferInt) bi.getRaster().getDataBuffer()).
+		    getData();
+	    for (int i = 0; i < px.length; i++) {
+		px[i] = src[i] & 0xffffff;
+	    }
+	} else if (whole && type == BufferedImage.TYPE_3BYTE_BGR) {
+	    byte[] src = ((DataBufferByte) bi.getRaster().getDataBuffer()).
+		    getData();
+	    for (int p = 0, i = 0; p < px.length; p++, i += 3) {
+		px[p] = (src[i + 2] & 0xff) << 16 | (src[i + 1] & 0xff) << 8
+			| (src[i] & 0xff);
+	    }
+	} else {
+	    //one bulk conversion
+	    bi.getRGB(0, 0, w, h, px, 0, w);
+	    for (int i = 0; i < px.length; i++) {
+		px[i] &= 0xffffff;
 	    }
 	}
+	setPacked(w, h, px, 255);
     }
 
     /**
-     * Utility function to read a single word from a text file.
+     * makes this an 8 bit image.
      *
-     * @param in
-     * @return
+     * @param w
+     * @param h
+     * @param px pixels, top row first, null if they're tiled
+     * @param maxColor channel value that means 1
+     */
+    private void setPacked(int w, int h, int[] px, int maxColor) {
+	double[] l = new double[256];
+	for (int i = 0; i < l.length; i++) {
+	    l[i] = (double) i / (double) maxColor;
+	}
+	hres = w;
+	vres = h;
+	packed = px;
+	levels = l;
+	floats = null;
+	tiles = null;
+	mips = null;
+    }
+
+    /**
+     * reads a PPM file. while the shared TextureCache is enabled only the
+     * header of a binary file is read, the pixels are read when needed.
+     *
+     * @param f
      * @throws IOException
      */
-    private String readWord(BufferedInputStream in) throws IOException {
-	StringBuilder s = new StringBuilder();
-	char c = (char) in.read();
-	//ignore # comments to end of line
-	while (c == '#') {
-	    //read until end of line
-	    while ("\r\n".indexOf(c) == -1) {
-		c = (char) in.read();
-//                s.append(c);
+    public void loadPPMFile(File f) throws IOException {
+	try (FileChannel ch = FileChannel.open(f.toPath(),
+		StandardOpenOption.READ)) {
+	    long size = ch.size();
+	    if (TextureCache.getShared().isEnabled() && openTiled(f, ch, size)) {
+		return;
 	    }
-	    c = (char) in.read();
-	}
-	//read until end of line or word, and add character to string
-	while (" \t\r\n".indexOf(c) == -1) {
-	    s.append(c);
-	    c = (char) in.read();
-	}
-	if (s.toString().trim().length() == 0) {
-	    return readWord(in);
+	    if (size > Integer.MAX_VALUE) {
+		throw new IOException("File is too big " + f);
+	    }
+	    ByteBuffer buf = ByteBuffer.allocate((int) size);
+	    while (buf.hasRemaining() && ch.read(buf) >= 0) {
+	    }
+	    buf.flip();
+	    loadPPM(buf);
 	}
-	//return the string without any whitespace around it
-	return s.toString().trim();
     }
 
-    public void loadPPMFile(File f) throws IOException {
-	loadPPMFile(new FileInputStream(f));
+    /**
+     * longest header openTiled() looks for
+     */
+    private static final int MAX_HEADER = 4096;
+
+    /**
+     * makes this a tiled image of a binary PPM file, only reading the header.
+     *
+     * @param f
+     * @param ch open on f
+     * @param size size of f
+     * @return false if the file isn't binary or its header is too long to
+     * find, it has to be read whole
+     * @throws IOException
+     */
+    private boolean openTiled(File f, FileChannel ch, long size) throws
+	    IOException {
+	ByteBuffer head = ByteBuffer.allocate((int) Math.min(size, MAX_HEADER));
+	while (head.hasRemaining() && ch.read(head) >= 0) {
+	}
+	head.flip();
+	int[] h;
+	try {
+	    h = readHeader(head);
+	} catch (IOException ex) {
+	    if (head.limit() < size) {
+		return false;
+	    }
+	    throw ex;
+	}
+	//a header that runs to the end of what was read may have been cut off
+	if (h[0] == 0 || (!head.hasRemaining() && head.limit() < size)) {
+	    return false;
+	}
+	int channelBytes = h[3] > 255 ? 2 : 1;
+	if (size < head.position() + 3L * channelBytes * h[1] * h[2]) {
+	    throw new IOException("PPM file ends early");
+	}
+	if (channelBytes == 1) {
+	    setPacked(h[1], h[2], null, h[3]);
+	} else {
+	    hres = h[1];
+	    vres = h[2];
+	    packed = null;
+	    levels = null;
+	    floats = null;
+	    mips = null;
+	}
+	tiles = new PPMTiles(f, head.position(), h[1], h[2], channelBytes,
+		h[3]);
+	return true;
     }
 
     /**
-     * Reads a PPM file, this method reads the header and calls helper
-     * functions.
+     * Reads a PPM file from a stream, which is read to the end and left open.
+     * while the shared TextureCache is enabled the stream is copied to a
+     * temporary file, so it can be read a tile at a time like any other file.
      *
      * @param is
      * @throws IOException
      */
     public void loadPPMFile(InputStream is) throws IOException {
+	if (TextureCache.getShared().isEnabled()) {
+	    File f = File.createTempFile("texture", ".ppm");
+	    f.deleteOnExit();
+	    Files.copy(is, f.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	    loadPPMFile(f);
+	    if (tiles == null) {
+		//read whole, the copy isn't needed any more
+		Files.delete(f.toPath());
+	    }
+	    return;
+	}
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+	byte[] chunk = new byte[1 << 16];
+	int n;
+	while ((n = is.read(chunk)) >= 0) {
+	    bytes.write(chunk, 0, n);
+	}
+	loadPPM(ByteBuffer.wrap(bytes.toByteArray()));
+    }
 
-	//open file
-	BufferedInputStream in = new BufferedInputStream(is);
+    /**
+     * Decodes a whole PPM file, this method reads the header and calls
+     * helper functions. The pixel data is decoded straight out of the
+     * buffer's array.
+     *
+     * @param buf the file, position at the start
+     * @throws IOException
+     */
+    private void loadPPM(ByteBuffer buf) throws IOException {
+	int[] header = readHeader(buf);
+	boolean binary = header[0] == 1;
+	int width = header[1];
+	int height = header[2];
+	int maxColor = header[3];
+	//if we have more than a byte size color and we are binary we read 2 byte
+	if (maxColor > 255 && binary) {
+	    read2Byte(buf, width, height, maxColor);
+	} else if (binary) {
+	    readBinary(buf, width, height, maxColor);
+	} else {
+	    readAscii(buf, width, height, maxColor);
+	}
+    }
+
+    /**
+     * reads a PPM header, leaving the buffer at the pixel data.
+     *
+     * @param buf
+     * @return 1 for binary or 0 for ascii, width, height and max color value
+     * @throws IOException if it isn't a PPM header
+     */
+    private static int[] readHeader(ByteBuffer buf) throws IOException {
 	//read a text word on the file, should be P3 or P6
-	String magic = readWord(in);
+	String magic = readWord(buf);
 	//if the first word in the file isn't P6 or P3, bail because we can't load it
 	if (!(magic.equals("P6") || magic.equals("P3"))) {
 	    throw new IOException("File is not PPM or is Corrupted");
@@ -182,120 +650,152 @@ public class Image {
 	boolean binary = magic.charAt(1) == '6';
 
 	//regardless of binary status the width and height are store as ascii base 10 numbers
-	int width = Integer.parseInt(readWord(in));
-	int height = Integer.parseInt(readWord(in));
-	hres = width;
-	vres = height;
+	int width = Integer.parseInt(readWord(buf));
+	int height = Integer.parseInt(readWord(buf));
 
 	//the next word should be a base 10 ascii number for the max number size
 	//this is used to determine if we're a 1 byte or two byte binary file
 	//and for normalizing the color to a 0-1 float value
-	int maxColor = Integer.parseInt(readWord(in));
-	//if we have more than a byte size color and we are binary we read 2 byte
-	if (maxColor > 255 && binary) {
-	    read2Byte(in, width, height, maxColor);
-	    return;
+	int maxColor = Integer.parseInt(readWord(buf));
+	if (width < 0 || height < 0 || maxColor <= 0 || maxColor > 65535) {
+	    throw new IOException("File is not PPM or is Corrupted");
 	}
-	//if we get here it's either one byte per channel binary or ascii
-	if (binary) {
-	    readBinary(in, width, height, maxColor);
-	} else {
-	    readAscii(in, width, height, maxColor);
+	return new int[]{binary ? 1 : 0, width, height, maxColor};
+    }
+
+    /**
+     * Utility function to read a single word from the header, skipping #
+     * comments. The whitespace after the word is consumed.
+     *
+     * @param buf
+     * @return
+     * @throws IOException at the end of the file
+     */
+    private static String readWord(ByteBuffer buf) throws IOException {
+	StringBuilder s = new StringBuilder();
+	while (buf.hasRemaining()) {
+	    char c = (char) (buf.get() & 0xff);
+	    if (c == '#' && s.length() == 0) {
+		//ignore # comments to end of line
+		while (buf.hasRemaining() && "\r\n".indexOf(buf.get()) == -1) {
+		}
+	    } else if (" \t\r\n".indexOf(c) == -1) {
+		s.append(c);
+	    } else if (s.length() > 0) {
+		return s.toString();
+	    }
+	}
+	if (s.length() == 0) {
+	    throw new IOException("PPM file ends early");
+	}
+	return s.toString();
+    }
+
+    /**
+     * checks the buffer holds the pixel data
+     *
+     * @param buf
+     * @param bytes
+     * @throws IOException
+     */
+    private static void need(ByteBuffer buf, long bytes) throws IOException {
+	if (buf.remaining() < bytes) {
+	    throw new IOException("PPM file ends early");
 	}
     }
 
     /**
      * loads 2 byte ppm data, most significant byte first
      *
-     * @param in
+     * @param buf
      * @param width
      * @param height
      * @param maxColor
      * @throws IOException
      */
-    private void read2Byte(BufferedInputStream in, int width, int height,
+    private void read2Byte(ByteBuffer buf, int width, int height,
 	    int maxColor) throws IOException {
-	//loop through image data
-	for (int y = 0; y < height; y++) {
-	    for (int x = 0; x < width; x++) {
-		//shift first byte by 8 bits and or with second byte for each channel
-		int r = (in.read() << 8);
-		r |= in.read();
-		int g = (in.read() << 8);
-		g |= in.read();
-		int b = (in.read() << 8);
-		b |= in.read();
-
-		//normalize color channels to 0-1
-		double rd = (double) r / (double) maxColor;
-		double gd = (double) g / (double) maxColor;
-		double bd = (double) b / (double) maxColor;
-
-		//add pixel
-		pixels.add(new RGBColor(rd, gd, bd));
-	    }
+	need(buf, 6L * width * height);
+	byte[] src = buf.array();
+	int i = buf.arrayOffset() + buf.position();
+	float[] px = new float[3 * width * height];
+	for (int k = 0; k < px.length; k++, i += 2) {
+	    int v = (src[i] & 0xff) << 8 | (src[i + 1] & 0xff);
+	    px[k] = (float) ((double) v / (double) maxColor);
 	}
+	hres = width;
+	vres = height;
+	floats = px;
+	packed = null;
+	levels = null;
+	tiles = null;
+	mips = null;
     }
 
     /**
      * reads a single byte binary file
      *
-     * @param in
+     * @param buf
      * @param width
      * @param height
      * @param maxColor
      * @throws IOException
      */
-    private void readBinary(BufferedInputStream in, int width, int height,
+    private void readBinary(ByteBuffer buf, int width, int height,
 	    int maxColor) throws IOException {
-	//loop through all pixels
-	for (int y = 0; y < height; y++) {
-	    for (int x = 0; x < width; x++) {
-		//read each channels byte
-		int r = in.read();
-		int g = in.read();
-		int b = in.read();
-
-		//normalize the channels
-		double rd = (double) r / (double) maxColor;
-		double gd = (double) g / (double) maxColor;
-		double bd = (double) b / (double) maxColor;
-
-		//add the pixel
-		pixels.add(new RGBColor(rd, gd, bd));
-	    }
+	need(buf, 3L * width * height);
+	byte[] src = buf.array();
+	int i = buf.arrayOffset() + buf.position();
+	int[] px = new int[width * height];
+	for (int p = 0; p < px.length; p++, i += 3) {
+	    px[p] = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8
+		    | (src[i + 2] & 0xff);
 	}
+	setPacked(width, height, px, maxColor);
     }
 
     /**
      * reads an ascii file.
      *
-     * @param in
+     * @param buf
      * @param width
      * @param height
      * @param maxColor
      * @throws IOException
      */
-    private void readAscii(BufferedInputStream in, int width, int height,
+    private void readAscii(ByteBuffer buf, int width, int height,
 	    int maxColor) throws IOException {
+	int[] px = new int[width * height];
+	float[] deep = maxColor > 255 ? new float[3 * width * height] : null;
 	//loop through pixels
 	for (int y = 0; y < height; y++) {
+	    int o = y * width;
 	    for (int x = 0; x < width; x++) {
-
 		//read each channel
-		int r = Integer.parseInt(readWord(in));
-		int g = Integer.parseInt(readWord(in));
-		int b = Integer.parseInt(readWord(in));
-
-		//normalize
-		double rd = (double) r / (double) maxColor;
-		double gd = (double) g / (double) maxColor;
-		double bd = (double) b / (double) maxColor;
-
-		//add pixel
-		pixels.add(new RGBColor(rd, gd, bd));
+		int r = Integer.parseInt(readWord(buf));
+		int g = Integer.parseInt(readWord(buf));
+		int b = Integer.parseInt(readWord(buf));
+		if (deep != null) {
+		    int i = 3 * (o + x);
+		    deep[i] = (float) ((double) r / maxColor);
+		    deep[i + 1] = (float) ((double) g / maxColor);
+		    deep[i + 2] = (float) ((double) b / maxColor);
+		} else {
+		    px[o + x] = (r & 0xff) << 16 | (g & 0xff) << 8 | (b & 0xff);
+		}
 	    }
 	}
+	if (deep == null) {
+	    setPacked(width, height, px, maxColor);
+	} else {
+	    hres = width;
+	    vres = height;
+	    floats = deep;
+	    packed = null;
+	    levels = null;
+	    tiles = null;
+	    mips = null;
+	}
     }
 
     /**
@@ -316,6 +816,91 @@ public class Image {
 	return vres;
     }
 
+    /**
+     * pixels of a binary PPM file, read a tile at a time
+     */
+    private static final class PPMTiles extends TextureCache.Source {
+
+	final File file;
+
+	/**
+	 * where the pixels start in the file
+	 */
+	final long offset;
+
+	final int width;
+
+	final int height;
+
+	/**
+	 * 1 or 2, 2 byte values are most significant byte first
+	 */
+	final int channelBytes;
+
+	final int maxColor;
+
+	/**
+	 * tiles across the image
+	 */
+	final int tilesX;
+
+	PPMTiles(File file, long offset, int width, int height,
+		int channelBytes, int maxColor) {
+	    this.file = file;
+	    this.offset = offset;
+	    this.width = width;
+	    this.height = height;
+	    this.channelBytes = channelBytes;
+	    this.maxColor = maxColor;
+	    tilesX = (width + TextureCache.TILE_SIZE - 1)
+		    / TextureCache.TILE_SIZE;
+	}
+
+	@Override
+	TextureCache.Tile load(int index) throws IOException {
+	    int size = TextureCache.TILE_SIZE;
+	    int c0 = index % tilesX * size;
+	    int r0 = index / tilesX * size;
+	    int w = Math.min(size, width - c0);
+	    int h = Math.min(size, height - r0);
+	    int pixelBytes = 3 * channelBytes;
+	    ByteBuffer buf = ByteBuffer.allocate(w * h * pixelBytes);
+	    //a positional read per row of the tile, the file is opened per
+	    //tile so no file stays open
+	    try (FileChannel ch = FileChannel.open(file.toPath(),
+		    StandardOpenOption.READ)) {
+		for (int r = 0; r < h; r++) {
+		    buf.limit((r + 1) * w * pixelBytes);
+		    long pos = offset + ((long) (r0 + r) * width + c0)
+			    * pixelBytes;
+		    while (buf.hasRemaining()) {
+			int n = ch.read(buf, pos);
+			if (n < 0) {
+			    throw new IOException("PPM file ends early " + file);
+			}
+			pos += n;
+		    }
+		}
+	    }
+	    byte[] src = buf.array();
+	    if (channelBytes == 1) {
+		int[] px = new int[w * h];
+		for (int p = 0, i = 0; p < px.length; p++, i += 3) {
+		    px[p] = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8
+			    | (src[i + 2] & 0xff);
+		}
+		return new TextureCache.Tile(w, h, px, null);
+	    }
+	    float[] px = new float[3 * w * h];
+	    for (int k = 0, i = 0; k < px.length; k++, i += 2) {
+		int v = (src[i] & 0xff) << 8 | (src[i + 1] & 0xff);
+		px[k] = (float) ((double) v / (double) maxColor);
+	    }
+	    return new TextureCache.Tile(w, h, null, px);
+	}
+
+    }
+
     private static final Logger LOG = Logger.getLogger(Image.class.getName());
 
 }
@@ -18,12 +18,16 @@
 package com.matrixpeckham.raytracer.textures.image;
 
 import com.matrixpeckham.raytracer.textures.Texture;
+import com.matrixpeckham.raytracer.util.Point2D;
+import com.matrixpeckham.raytracer.util.Point3D;
 import com.matrixpeckham.raytracer.util.RGBColor;
 import com.matrixpeckham.raytracer.util.ShadeRec;
 import java.util.logging.Logger;
 
 /**
- * Image based texture.
+ * Image based texture. Rays with a footprint (see
+ * ViewPlane.setTextureFiltering()) get a trilinear filtered lookup sized to
+ * it when the texture has a mapping, anything else the nearest texel.
  *
  * @author William Matrix Peckham
  */
@@ -117,25 +121,109 @@ public class ImageTexture implements Texture {
     }
 
     /**
-     * sample texture
+     * sample texture. the color returned belongs to the calling thread and
+     * holds until its next lookup on this texture.
      *
      * @param sr
      * @return
      */
     @Override
     public RGBColor getColor(ShadeRec sr) {
-        TexelCoord point = new TexelCoord();
-
-        //if a mapping exists we get the texel coordinate from the mapping
+        double footprint = sr.ray.footprint(sr.lastT) * sr.localScale;
+        if (footprint > 0 && mapping != null) {
+            return getFiltered(sr, footprint);
+        }
+        FilterScratch s = scratch.get();
+        int row;
+        int col;
+        //if a mapping exists we get the texel coordinate from the mapping,
+        //the texel is the one getTexelCoordinate() would give
         if (mapping != null) {
-            point.setTo(mapping.getTexelCoordinate(sr.localHitPosition, hRes,
-                    vRes));
+            Point2D point = mapping.getTexelPosition(sr.localHitPosition, hRes,
+                    vRes, s.center);
+            row = (int) point.y;
+            col = (int) point.x;
         } else {
             //otherwise we use the u, v coordinates in the shade rec.
-            point.row = (int) (sr.v * (vRes - 1));
-            point.col = (int) (sr.u * (hRes - 1));
+            row = (int) (sr.v * (vRes - 1));
+            col = (int) (sr.u * (hRes - 1));
+        }
+        //the texel is read straight out of the packed image into the result
+        return image.getColor(row, col, s.color);
+    }
+
+    /**
+     * the points and color a lookup works with, reused so lookups don't
+     * allocate
+     */
+    private static final class FilterScratch {
+
+        final Point2D center = new Point2D();
+
+        final Point2D moved = new Point2D();
+
+        final Point3D q = new Point3D();
+
+        final RGBColor color = new RGBColor();
+
+    }
+
+    /**
+     * each texture has its own, so colors from two textures can be held at
+     * once
+     */
+    private final ThreadLocal<FilterScratch> scratch
+            = new ThreadLocal<FilterScratch>() {
+                @Override
+                protected FilterScratch initialValue() {
+                    return new FilterScratch();
+                }
+
+            };
+
+    /**
+     * filtered lookup. the footprint's size in texels is found by moving the
+     * hit point the footprint's width along each local axis and seeing how
+     * far the mapping moves, which works for any mapping without knowing the
+     * surface.
+     *
+     * @param sr
+     * @param footprint width in local coordinates
+     * @return
+     */
+    private RGBColor getFiltered(ShadeRec sr, double footprint) {
+        FilterScratch s = scratch.get();
+        Point3D p = sr.localHitPosition;
+        Point2D center = mapping.getTexelPosition(p, hRes, vRes, s.center);
+        Point2D moved = s.moved;
+        Point3D q = s.q;
+        double max = 0;
+        for (int axis = 0; axis < 3; axis++) {
+            q.setTo(p.x + (axis == 0 ? footprint : 0), p.y + (axis == 1
+                    ? footprint : 0), p.z + (axis == 2 ? footprint : 0));
+            mapping.getTexelPosition(q, hRes, vRes, moved);
+            double dx = moved.x - center.x;
+            double dy = moved.y - center.y;
+            //wrapping mappings jump across the image at their seam
+            if (dx > hRes / 2) {
+                dx -= hRes;
+            } else if (dx < -hRes / 2) {
+                dx += hRes;
+            }
+            double d2 = dx * dx + dy * dy;
+            //moving off a sphere can leave a mapping's domain, giving NaN
+            if (d2 > max) {
+                max = d2;
+            }
+        }
+        double width = Math.sqrt(max);
+        //the footprint stretches along the surface as the ray grazes it, the
+        //square root keeps the level between the ellipse's two axes
+        double cos = Math.abs(sr.ray.d.dot(sr.normal));
+        if (cos > 0) {
+            width /= Math.sqrt(Math.max(cos, 1.0 / 64));
         }
-        return image.getColor(point.row, point.col);
+        return image.getFiltered(center.x, center.y, width, s.color);
     }
 
     private static final Logger LOG
@@ -17,6 +17,7 @@
  */
 package com.matrixpeckham.raytracer.textures.image;
 
+import com.matrixpeckham.raytracer.util.Point2D;
 import com.matrixpeckham.raytracer.util.Point3D;
 
 /**
@@ -43,4 +44,23 @@ public interface Mapping {
      * @return
      */
     public TexelCoord getTexelCoordinate(Point3D hitPoint, int xRes, int yRes);
+
+    /**
+     * texel position of a point before it is truncated to a texel, for
+     * filtered lookups. mappings should override this, the default can only
+     * give the texel getTexelCoordinate() picks.
+     *
+     * @param hitPoint
+     * @param xRes
+     * @param yRes
+     * @param out receives the column in x and the row in y
+     * @return out
+     */
+    public default Point2D getTexelPosition(Point3D hitPoint, int xRes,
+            int yRes, Point2D out) {
+        TexelCoord t = getTexelCoordinate(hitPoint, xRes, yRes);
+        out.x = t.col;
+        out.y = t.row;
+        return out;
+    }
 }
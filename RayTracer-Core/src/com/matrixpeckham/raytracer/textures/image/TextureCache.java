@@ -0,0 +1,362 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.textures.image;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cache of image tiles for images that are too big to keep on the heap. While
+ * the cache is enabled, by giving it a byte budget, images loaded from binary
+ * PPM files only read the file's header, and their texels are decoded from the
+ * file a tile at a time the first time a lookup needs them. Every such image
+ * shares the one cache, and once the tiles in it are over the budget the least
+ * recently used ones are dropped, to be read again if they're needed again.
+ *
+ * Each render thread remembers the last few tiles it used, so most lookups
+ * don't touch the shared cache's lock. Those lookups don't refresh the tiles
+ * in the LRU order, and a tile a thread remembers isn't used once it has been
+ * dropped from the cache, but stays on the heap until the thread forgets it.
+ *
+ * The budget only counts tile pixels, images loaded while the cache was
+ * disabled, or from streams, stay on the heap whole. MIP levels for filtered
+ * lookups are built from the tiles but kept on the heap.
+ *
+ * @author William Matrix Peckham
+ */
+public class TextureCache {
+
+    /**
+     * width and height of a tile in texels
+     */
+    public static final int TILE_SIZE = 64;
+
+    private static final TextureCache SHARED = new TextureCache();
+
+    /**
+     * gets the cache used by every image
+     *
+     * @return
+     */
+    public static TextureCache getShared() {
+	return SHARED;
+    }
+
+    /**
+     * one block of texels, in the same form Image keeps whole images: 8 bit
+     * texels packed as 0xRRGGBB, deeper ones as r g b floats, top row first.
+     */
+    static final class Tile {
+
+	final int width;
+
+	final int height;
+
+	final int[] packed;
+
+	final float[] floats;
+
+	/**
+	 * set when the cache drops the tile, threads that remember it have to
+	 * look it up again
+	 */
+	volatile boolean evicted = false;
+
+	Tile(int width, int height, int[] packed, float[] floats) {
+	    this.width = width;
+	    this.height = height;
+	    this.packed = packed;
+	    this.floats = floats;
+	}
+
+	/**
+	 * bytes of texels held
+	 *
+	 * @return
+	 */
+	long bytes() {
+	    return packed != null ? 4L * packed.length : 4L * floats.length;
+	}
+
+    }
+
+    /**
+     * somewhere tiles of one image are read from
+     */
+    abstract static class Source {
+
+	private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+	/**
+	 * tells the tiles of different images apart in the cache
+	 */
+	final long id = NEXT_ID.getAndIncrement();
+
+	/**
+	 * reads a tile
+	 *
+	 * @param index tile number, row major from the top left tile
+	 * @return
+	 * @throws IOException
+	 */
+	abstract Tile load(int index) throws IOException;
+
+    }
+
+    /**
+     * tiles by source id and tile number, least recently used first
+     */
+    private final LinkedHashMap<Long, Tile> tiles = new LinkedHashMap<>(256,
+	    0.75f, true);
+
+    /**
+     * tiles each thread used last, direct mapped by key
+     */
+    private final ThreadLocal<Recent> recent = ThreadLocal.withInitial(
+	    Recent::new);
+
+    private static final int RECENT_SIZE = 16;
+
+    /**
+     * a thread's hits on its recent tiles only reach the shared order this
+     * often, so tiles in constant use aren't the first to be evicted
+     */
+    private static final int TOUCH_EVERY = 64;
+
+    private static final class Recent {
+
+	final long[] keys = new long[RECENT_SIZE];
+
+	final Tile[] tiles = new Tile[RECENT_SIZE];
+
+	int hits = 0;
+
+    }
+
+    private long budget = 0;
+
+    private long bytes = 0;
+
+    /**
+     * counted without the lock, most hits never take it
+     */
+    private final LongAdder hits = new LongAdder();
+
+    private long misses = 0;
+
+    private long evictions = 0;
+
+    /**
+     * sets how many bytes of tiles may be kept, enabling the cache for images
+     * loaded after this. 0 disables it, images already tiled still read
+     * through it, which then keeps just the last tile read.
+     *
+     * @param bytes
+     */
+    public synchronized void setBudget(long bytes) {
+	if (bytes < 0) {
+	    throw new IllegalArgumentException("negative texture cache budget");
+	}
+	budget = bytes;
+	evict();
+    }
+
+    /**
+     * getter
+     *
+     * @return
+     */
+    public synchronized long getBudget() {
+	return budget;
+    }
+
+    /**
+     * checks if images should be loaded a tile at a time
+     *
+     * @return
+     */
+    public synchronized boolean isEnabled() {
+	return budget > 0;
+    }
+
+    /**
+     * lookups that found their tile in the cache
+     *
+     * @return
+     */
+    public long getHits() {
+	return hits.sum();
+    }
+
+    /**
+     * lookups that had to read their tile
+     *
+     * @return
+     */
+    public synchronized long getMisses() {
+	return misses;
+    }
+
+    /**
+     * tiles dropped to stay within the budget
+     *
+     * @return
+     */
+    public synchronized long getEvictions() {
+	return evictions;
+    }
+
+    /**
+     * bytes of tiles held now
+     *
+     * @return
+     */
+    public synchronized long getBytes() {
+	return bytes;
+    }
+
+    /**
+     * zeroes the hit, miss and eviction counts
+     */
+    public synchronized void resetCounters() {
+	hits.reset();
+	misses = 0;
+	evictions = 0;
+    }
+
+    /**
+     * drops every tile
+     */
+    public synchronized void clear() {
+	for (Tile t : tiles.values()) {
+	    t.evicted = true;
+	}
+	tiles.clear();
+	bytes = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+	long h = hits.sum();
+	long lookups = h + misses;
+	return String.format("texture cache: %d hits, %d misses (%.2f%%), %d"
+		+ " evictions, %.1f of %.1f MB", h, misses, lookups == 0 ? 0
+		: 100.0 * misses / lookups, evictions, bytes / 1048576.0,
+		budget / 1048576.0);
+    }
+
+    /**
+     * gets a tile, reading it if it isn't cached. the tile is read without
+     * holding the lock, so two threads missing the same tile at once may both
+     * read it, the first one in is kept.
+     *
+     * @param source
+     * @param index
+     * @return null if the tile couldn't be read, the error is logged
+     */
+    Tile get(Source source, int index) {
+	long key = source.id << 32 | index;
+	Recent r = recent.get();
+	int slot = (int) (key ^ key >>> 32 ^ key >>> 4) & (RECENT_SIZE - 1);
+	Tile t = r.tiles[slot];
+	if (t != null && r.keys[slot] == key && !t.evicted) {
+	    hits.increment();
+	    if (++r.hits == TOUCH_EVERY) {
+		r.hits = 0;
+		touch(key);
+	    }
+	    return t;
+	}
+	t = lookup(source, index, key);
+	if (t != null) {
+	    r.keys[slot] = key;
+	    r.tiles[slot] = t;
+	}
+	return t;
+    }
+
+    /**
+     * marks a tile as just used in the shared order
+     *
+     * @param key
+     */
+    private synchronized void touch(long key) {
+	tiles.get(key);
+    }
+
+    /**
+     * gets a tile from the shared cache, reading it if it isn't there.
+     *
+     * @param source
+     * @param index
+     * @param key
+     * @return
+     */
+    private Tile lookup(Source source, int index, long key) {
+	synchronized (this) {
+	    Tile t = tiles.get(key);
+	    if (t != null) {
+		hits.increment();
+		return t;
+	    }
+	    misses++;
+	}
+	Tile t;
+	try {
+	    t = source.load(index);
+	} catch (IOException ex) {
+	    LOG.log(Level.WARNING, "texture tile " + index, ex);
+	    return null;
+	}
+	synchronized (this) {
+	    Tile old = tiles.get(key);
+	    if (old != null) {
+		return old;
+	    }
+	    tiles.put(key, t);
+	    bytes += t.bytes();
+	    evict();
+	}
+	return t;
+    }
+
+    /**
+     * drops least recently used tiles until the cache is within budget, the
+     * newest tile is always kept, so a tiny budget still works.
+     */
+    private void evict() {
+	Iterator<Map.Entry<Long, Tile>> it = tiles.entrySet().iterator();
+	while (bytes > budget && tiles.size() > 1) {
+	    Tile t = it.next().getValue();
+	    it.remove();
+	    t.evicted = true;
+	    bytes -= t.bytes();
+	    evictions++;
+	}
+    }
+
+    private static final Logger LOG
+	    = Logger.getLogger(TextureCache.class.getName());
+
+}
@@ -19,6 +19,7 @@ package com.matrixpeckham.raytracer.textures.image.mappings;
 
 import com.matrixpeckham.raytracer.textures.image.Mapping;
 import com.matrixpeckham.raytracer.textures.image.TexelCoord;
+import com.matrixpeckham.raytracer.util.Point2D;
 import com.matrixpeckham.raytracer.util.Point3D;
 import com.matrixpeckham.raytracer.util.Utility;
 import java.util.logging.Logger;
@@ -88,6 +89,22 @@ public class LightProbe implements Mapping {
     @Override
     public TexelCoord getTexelCoordinate(Point3D localHitPoint, int xRes,
             int yRes) {
+        Point2D p = getTexelPosition(localHitPoint, xRes, yRes, new Point2D());
+        return new TexelCoord((int) p.y, (int) p.x);
+    }
+
+    /**
+     * texel position of a hit point, not truncated to a texel
+     *
+     * @param localHitPoint
+     * @param xRes
+     * @param yRes
+     * @param out receives the column in x and the row in y
+     * @return out
+     */
+    @Override
+    public Point2D getTexelPosition(Point3D localHitPoint, int xRes,
+            int yRes, Point2D out) {
         //hit point
         double x = localHitPoint.x;
         double y = localHitPoint.y;
@@ -111,9 +128,9 @@ public class LightProbe implements Mapping {
         double r = alpha * Utility.INV_PI;
         double u = (1.0 + r * cosBeta) * 0.5;
         double v = (1.0 + r * sinBeta) * 0.5;
-        int column = (int) ((xRes - 1) * u);
-        int row = (int) ((yRes - 1) * v);
-        return new TexelCoord(row, column);
+        out.x = (xRes - 1) * u;
+        out.y = (yRes - 1) * v;
+        return out;
     }
     private static final Logger LOG
             = Logger.getLogger(LightProbe.class.getName());
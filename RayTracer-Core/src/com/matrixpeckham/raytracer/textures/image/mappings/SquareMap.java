@@ -19,6 +19,7 @@ package com.matrixpeckham.raytracer.textures.image.mappings;
 
 import com.matrixpeckham.raytracer.textures.image.Mapping;
 import com.matrixpeckham.raytracer.textures.image.TexelCoord;
+import com.matrixpeckham.raytracer.util.Point2D;
 import com.matrixpeckham.raytracer.util.Point3D;
 import java.util.logging.Logger;
 
@@ -49,15 +50,30 @@ public class SquareMap implements Mapping {
      */
     @Override
     public TexelCoord getTexelCoordinate(Point3D hitPoint, int xRes, int yRes) {
+        Point2D p = getTexelPosition(hitPoint, xRes, yRes, new Point2D());
+        return new TexelCoord((int) p.y, (int) p.x);
+    }
+
+    /**
+     * texel position of a hit point, not truncated to a texel
+     *
+     * @param hitPoint
+     * @param xRes
+     * @param yRes
+     * @param out receives the column in x and the row in y
+     * @return out
+     */
+    @Override
+    public Point2D getTexelPosition(Point3D hitPoint, int xRes, int yRes,
+            Point2D out) {
         //generic rectangle is from -1-1 normalize to 0-1
-        TexelCoord p = new TexelCoord();
         double u = (hitPoint.z + 1) / 2;
         double v = (hitPoint.x + 1) / 2;
 
         //find texel based on normalized coordinates
-        p.col = (int) ((xRes - 1) * u);
-        p.row = (int) ((yRes - 1) * v);
-        return p;
+        out.x = (xRes - 1) * u;
+        out.y = (yRes - 1) * v;
+        return out;
     }
     private static final Logger LOG
             = Logger.getLogger(SquareMap.class.getName());
@@ -19,14 +19,19 @@ package com.matrixpeckham.raytracer.textures.procedural;
 
 import com.matrixpeckham.raytracer.util.Point3D;
 import com.matrixpeckham.raytracer.util.Vector3D;
-import java.util.Iterator;
-import java.util.Random;
-import java.util.TreeSet;
 
 /**
+ * Worley (cellular) noise, the distance from a point to the nth closest of a
+ * set of feature points scattered numPerBlock to a block. The feature points
+ * of a block come from an integer hash of the seed and the block's
+ * coordinates, so they're the same on every call, thread and run, and the nth
+ * closest distance is kept in a small sorted buffer. Neighbouring blocks that
+ * can't hold a closer point than the ones found are skipped.
+ *
+ * Each thread can keep the feature points of the blocks it used last, which
+ * saves hashing them again for nearby lookups. The cache doesn't change the
+ * result, it can be turned off with setCellCache().
  *
- */
-/**
  * @author Wiliam Peckham
  *
  */
@@ -47,6 +52,9 @@ public class WorleyNoise extends Noise {
     //distance calulation
     int dist;
 
+    //keep each thread's recent blocks
+    boolean cacheCells = true;
+
     //Euclician
     public final static int EUCLID_DIST = 0;
 
@@ -62,6 +70,17 @@ public class WorleyNoise extends Noise {
     //Quadratic distance
     public final static int QUADRA_DIST = 4;
 
+    /**
+     * blocks each thread remembers, a power of two
+     */
+    private static final int CACHE_SIZE = 64;
+
+    /**
+     * per thread buffers, so lookups don't allocate
+     */
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(
+            Scratch::new);
+
     public WorleyNoise() {
         this(1, 10, 1, EUCLID_DIST);
     }
@@ -80,6 +99,7 @@ public class WorleyNoise extends Noise {
         this.numPerBlock = n.numPerBlock;
         this.nthDist = n.nthDist;
         this.dist = n.dist;
+        this.cacheCells = n.cacheCells;
     }
 
     @Override
@@ -87,313 +107,295 @@ public class WorleyNoise extends Noise {
         return this;//new WorleyNoise(this);
     }
 
-    //gets the nth distance from the set
-    private double getNth(TreeSet<Double> set) {
-        int i = 0;
-        double ret = Double.NaN;
-        Iterator<Double> it = set.iterator();
-        while (it.hasNext() && i < nthDist) {
-            i++;
-            ret = it.next();
-        }
-        return ret;
+    /**
+     * turns the per thread block cache on or off, it's on by default.
+     *
+     * @param cache
+     */
+    public void setCellCache(boolean cache) {
+        cacheCells = cache;
     }
 
     //one dimensional noise
     public double noise(double x) {
-
-        int ix = (int) Math.floor(x / blockSize);
-
-        TreeSet<Double> set = new TreeSet<>();
-
-        block1D(ix, x, set);
-        block1D(ix + 1, x, set);
-        block1D(ix - 1, x, set);
-
-        return getNth(set);
-    }
-
-    //calculate segment ix and add distances to set
-    void block1D(int ix, double x, TreeSet<Double> set) {
-        Random r = new Random((seed + "" + ix).hashCode());
-        for (int i = 0; i < numPerBlock; i++) {
-            double np = r.nextDouble() * blockSize + ix * blockSize;
-            set.add(abs(np - x));
-        }
+        Scratch s = scratch.get();
+        s.p[0] = x;
+        return nearest(s, 1, seed);
     }
 
     //two d noise
     public double noise(double x, double y) {
-        int ix = (int) Math.floor(x / blockSize);
-        int iy = (int) Math.floor(x / blockSize);
+        Scratch s = scratch.get();
+        s.p[0] = x;
+        s.p[1] = y;
+        return nearest(s, 2, seed);
+    }
 
-        TreeSet<Double> set = new TreeSet<>();
+    public double noise(double x, double y, double z) {
+        return noise(x, y, z, seed);
+    }
 
-        //add all the surrounding grid cells points to the set if needed
-        block2D(ix, iy, x, y, set);
+    public double noise(double x, double y, double z, double w) {
+        Scratch s = scratch.get();
+        s.p[0] = x;
+        s.p[1] = y;
+        s.p[2] = z;
+        s.p[3] = w;
+        return nearest(s, 4, seed);
+    }
 
-        block2D(ix - 1, iy - 1, x, y, set);
-        block2D(ix - 1, iy, x, y, set);
-        block2D(ix - 1, iy + 1, x, y, set);
-        block2D(ix + 1, iy - 1, x, y, set);
-        block2D(ix + 1, iy, x, y, set);
-        block2D(ix + 1, iy + 1, x, y, set);
-        block2D(ix, iy + 1, x, y, set);
-        block2D(ix, iy - 1, x, y, set);
+    //three d noise with the given seed
+    private double noise(double x, double y, double z, long seed) {
+        Scratch s = scratch.get();
+        s.p[0] = x;
+        s.p[1] = y;
+        s.p[2] = z;
+        return nearest(s, 3, seed);
+    }
 
-        return getNth(set);
+    /**
+     * the nth closest feature point distance to s.p, searching the point's
+     * block and every block next to it.
+     *
+     * @param s
+     * @param dims 1 to 4
+     * @param seed
+     * @return NaN if there are no points
+     */
+    private double nearest(Scratch s, int dims, long seed) {
+        if (nthDist < 1) {
+            return Double.NaN;
+        }
+        if (s.best.length != nthDist) {
+            s.best = new double[nthDist];
+        }
+        s.count = 0;
+        for (int k = 0; k < dims; k++) {
+            s.cell[k] = (int) Math.floor(s.p[k] / blockSize);
+        }
+        //the point's own block first, it fills the buffer with close points
+        //so more of the others can be skipped
+        searchBlock(s, dims, seed, 0);
+        int blocks = 1;
+        for (int k = 0; k < dims; k++) {
+            blocks *= 3;
+        }
+        for (int b = 1; b < blocks; b++) {
+            //b in base 3 gives offsets of 0, 1 and -1 along each axis
+            searchBlock(s, dims, seed, b);
+        }
+        //with fewer points than nthDist, the farthest
+        return s.count == 0 ? Double.NaN : s.best[s.count - 1];
     }
 
-    //gets the disnatances to x,y in box ix,iy and adds them to the set
-    void block2D(int ix, int iy, double x, double y, TreeSet<Double> set) {
-        Random r = new Random((seed + "" + ix + "" + iy).hashCode());
+    /**
+     * adds the distances of one neighbouring block's points to the buffer,
+     * unless none of them can be closer than the nth found so far.
+     *
+     * @param s
+     * @param dims
+     * @param seed
+     * @param offsets the block's offset from the point's block, a digit
+     * per axis in base 3, 0 for the same, 1 for next and 2 for previous
+     */
+    private void searchBlock(Scratch s, int dims, long seed, int offsets) {
+        double[] g = s.gap;
+        for (int k = 0; k < dims; k++) {
+            int o = offsets % 3;
+            offsets /= 3;
+            int c = s.cell[k] + (o == 2 ? -1 : o);
+            s.block[k] = c;
+            double lo = (double) s.cell[k] * blockSize;
+            g[k] = o == 0 ? 0 : o == 1 ? lo + blockSize - s.p[k] : s.p[k]
+                    - lo;
+        }
+        if (s.count == nthDist && lowerBound(g, dims) >= s.best[nthDist
+                - 1]) {
+            return;
+        }
+        double[] pts = featurePoints(s, dims, seed);
+        double[] d = s.d;
         for (int i = 0; i < numPerBlock; i++) {
-            double nx = r.nextDouble() * blockSize + ix * blockSize;
-            double ny = r.nextDouble() * blockSize + iy * blockSize;
-            double dist2 = Double.NaN;
-            switch (this.dist) {
-                case EUCLID_DIST:
-                    dist2 = Math.hypot(x - nx, y - ny);
-                    break;
-                case MANHAT_DIST:
-                    dist2 = abs(nx - x) + abs(ny - y);
-                    break;
-                case CHEBYC_DIST:
-                    dist2 = max(abs(nx - x), abs(ny - y));
-                    break;
-                case SQUARE_DIST:
-                    dist2 = (nx - x) * (nx - x) + (ny - y) * (ny - y);
-                    break;
-                case QUADRA_DIST:
-                    dist2 = (nx - x) * (nx - x) + (nx - x) * (ny - y) + (ny - y)
-                            * (ny - y);
-                    break;
-                default:
-                    dist2 = Math.hypot(x - nx, y - ny);
+            for (int k = 0; k < dims; k++) {
+                double n = pts[i * dims + k] * blockSize + s.block[k]
+                        * blockSize;
+                d[k] = n - s.p[k];
             }
-            set.add(dist2);
+            insert(s, distance(d, dims));
         }
     }
 
-    public double noise(double x, double y, double z) {
-        int ix = (int) Math.floor(x / blockSize);
-        int iy = (int) Math.floor(y / blockSize);
-        int iz = (int) Math.floor(z / blockSize);
-
-        TreeSet<Double> set = new TreeSet<>();
-
-        block3D(ix, iy, iz, x, y, z, set);
-        block3D(ix, iy, iz - 1, x, y, z, set);
-        block3D(ix, iy, iz + 1, x, y, z, set);
-        block3D(ix, iy - 1, iz - 1, x, y, z, set);
-        block3D(ix, iy - 1, iz, x, y, z, set);
-        block3D(ix, iy - 1, iz + 1, x, y, z, set);
-        block3D(ix, iy + 1, iz - 1, x, y, z, set);
-        block3D(ix, iy + 1, iz, x, y, z, set);
-        block3D(ix, iy + 1, iz + 1, x, y, z, set);
-
-        block3D(ix + 1, iy, iz, x, y, z, set);
-        block3D(ix + 1, iy, iz + 1, x, y, z, set);
-        block3D(ix + 1, iy, iz - 1, x, y, z, set);
-        block3D(ix + 1, iy + 1, iz - 1, x, y, z, set);
-        block3D(ix + 1, iy + 1, iz, x, y, z, set);
-        block3D(ix + 1, iy + 1, iz + 1, x, y, z, set);
-        block3D(ix + 1, iy - 1, iz - 1, x, y, z, set);
-        block3D(ix + 1, iy - 1, iz, x, y, z, set);
-        block3D(ix + 1, iy - 1, iz + 1, x, y, z, set);
-
-        block3D(ix - 1, iy, iz, x, y, z, set);
-        block3D(ix - 1, iy, iz + 1, x, y, z, set);
-        block3D(ix - 1, iy, iz - 1, x, y, z, set);
-        block3D(ix - 1, iy + 1, iz - 1, x, y, z, set);
-        block3D(ix - 1, iy + 1, iz, x, y, z, set);
-        block3D(ix - 1, iy + 1, iz + 1, x, y, z, set);
-        block3D(ix - 1, iy - 1, iz - 1, x, y, z, set);
-        block3D(ix - 1, iy - 1, iz, x, y, z, set);
-        block3D(ix - 1, iy - 1, iz + 1, x, y, z, set);
-
-        return getNth(set);
+    /**
+     * the least distance a point can be from a block, given how far the block
+     * is along each axis, which is the distance to the block's closest corner
+     * or face. the quadratic distance isn't a metric, a point anywhere can be
+     * close, so it's 0.
+     *
+     * @param g
+     * @param dims
+     * @return
+     */
+    private double lowerBound(double[] g, int dims) {
+        return dist == QUADRA_DIST && dims > 1 ? 0 : distance(g, dims);
     }
 
-    //gets the disnatances to x,y,x in box ix,iy,iz and adds them to the set
-    void block3D(int ix, int iy, int iz, double x, double y, double z,
-            TreeSet<Double> set) {
-        Random r = new Random((seed + "" + ix + "" + iy + "" + iz).hashCode());
-        for (int i = 0; i < numPerBlock; i++) {
-            double nx = r.nextDouble() * blockSize + ix * blockSize;
-            double ny = r.nextDouble() * blockSize + iy * blockSize;
-            double nz = r.nextDouble() * blockSize + iz * blockSize;
-            double dist2 = Double.NaN;
-            double dx = nx - x;
-            double dy = ny - y;
-            double dz = nz - z;
-            switch (this.dist) {
-                case EUCLID_DIST:
-                    dist2 = Math.sqrt(dx * dx + dy * dy + dz * dz);
-                    break;
-                case MANHAT_DIST:
-                    dist2 = abs(dx) + abs(dy) + abs(dz);
-                    break;
-                case CHEBYC_DIST:
-                    dist2 = max(abs(dx), max(abs(dy), abs(dz)));
-                    break;
-                case SQUARE_DIST:
-                    dist2 = dx * dx + dy * dy + dz * dz;
-                    break;
-                case QUADRA_DIST:
-                    dist2 = dx * dx + 2 * dx * dy + 2 * dx * dz + 2 * dy * dz
-                            + dy * dy + dz * dz;
-                    break;
-                default:
-                    dist2 = Math.sqrt(dx * dx + dy * dy + dz * dz);
-            }
-            if (set.size() == nthDist) {
-                if (set.last() > dist2) {
-                    set.remove(set.last());
-                    set.add(dist2);
+    /**
+     * distance for an offset from the point to a feature point. one
+     * dimensional noise always uses the absolute difference.
+     *
+     * @param d offset along each axis
+     * @param dims
+     * @return
+     */
+    private double distance(double[] d, int dims) {
+        if (dims == 1) {
+            return abs(d[0]);
+        }
+        double sum = 0;
+        switch (dist) {
+            case MANHAT_DIST:
+                for (int k = 0; k < dims; k++) {
+                    sum += abs(d[k]);
                 }
-            } else {
-                set.add(dist2);
-            }
+                return sum;
+            case CHEBYC_DIST:
+                for (int k = 0; k < dims; k++) {
+                    sum = max(sum, abs(d[k]));
+                }
+                return sum;
+            case SQUARE_DIST:
+                for (int k = 0; k < dims; k++) {
+                    sum += d[k] * d[k];
+                }
+                return sum;
+            case QUADRA_DIST:
+                if (dims == 2) {
+                    return d[0] * d[0] + d[0] * d[1] + d[1] * d[1];
+                }
+                //the square of the sum, with every cross term doubled
+                for (int k = 0; k < dims; k++) {
+                    sum += d[k];
+                }
+                return sum * sum;
+            default:
+                for (int k = 0; k < dims; k++) {
+                    sum += d[k] * d[k];
+                }
+                return Math.sqrt(sum);
         }
+    }
 
+    /**
+     * adds a distance to the sorted buffer of the nthDist closest
+     *
+     * @param s
+     * @param v
+     */
+    private void insert(Scratch s, double v) {
+        double[] best = s.best;
+        int n = s.count;
+        if (n == best.length) {
+            if (!(v < best[n - 1])) {
+                return;
+            }
+            n--;
+        } else {
+            s.count++;
+        }
+        int i = n;
+        while (i > 0 && best[i - 1] > v) {
+            best[i] = best[i - 1];
+            i--;
+        }
+        best[i] = v;
     }
 
-    public double noise(double x, double y, double z, double w) {
-        int ix = (int) Math.floor(x / blockSize);
-        int iy = (int) Math.floor(y / blockSize);
-        int iz = (int) Math.floor(z / blockSize);
-        int iw = (int) Math.floor(w / blockSize);
-
-        TreeSet<Double> set = new TreeSet<>();
-
-        block4D(ix, iy, iz, iw, x, y, z, w, set);
-
-        block4D(ix + 1, iy, iz, iw, x, y, z, w, set);
-        block4D(ix + 1, iy + 1, iz - 1, iw, x, y, z, w, set);
-        block4D(ix + 1, iy + 1, iz, iw, x, y, z, w, set);
-        block4D(ix + 1, iy + 1, iz + 1, iw, x, y, z, w, set);
-        block4D(ix + 1, iy - 1, iz - 1, iw, x, y, z, w, set);
-        block4D(ix + 1, iy - 1, iz, iw, x, y, z, w, set);
-        block4D(ix + 1, iy - 1, iz + 1, iw, x, y, z, w, set);
-        block4D(ix + 1, iy, iz + 1, iw, x, y, z, w, set);
-        block4D(ix + 1, iy, iz - 1, iw, x, y, z, w, set);
-        block4D(ix - 1, iy, iz, iw, x, y, z, w, set);
-        block4D(ix - 1, iy + 1, iz - 1, iw, x, y, z, w, set);
-        block4D(ix - 1, iy + 1, iz, iw, x, y, z, w, set);
-        block4D(ix - 1, iy + 1, iz + 1, iw, x, y, z, w, set);
-        block4D(ix - 1, iy - 1, iz - 1, iw, x, y, z, w, set);
-        block4D(ix - 1, iy - 1, iz, iw, x, y, z, w, set);
-        block4D(ix - 1, iy - 1, iz + 1, iw, x, y, z, w, set);
-        block4D(ix - 1, iy, iz + 1, iw, x, y, z, w, set);
-        block4D(ix - 1, iy, iz - 1, iw, x, y, z, w, set);
-        block4D(ix, iy + 1, iz - 1, iw, x, y, z, w, set);
-        block4D(ix, iy + 1, iz, iw, x, y, z, w, set);
-        block4D(ix, iy + 1, iz + 1, iw, x, y, z, w, set);
-        block4D(ix, iy - 1, iz - 1, iw, x, y, z, w, set);
-        block4D(ix, iy - 1, iz, iw, x, y, z, w, set);
-        block4D(ix, iy - 1, iz + 1, iw, x, y, z, w, set);
-        block4D(ix, iy, iz + 1, iw, x, y, z, w, set);
-        block4D(ix, iy, iz - 1, iw, x, y, z, w, set);
-
-        block4D(ix, iy, iz, iw + 1, x, y, z, w, set);
-        block4D(ix + 1, iy, iz, iw + 1, x, y, z, w, set);
-        block4D(ix + 1, iy + 1, iz - 1, iw + 1, x, y, z, w, set);
-        block4D(ix + 1, iy + 1, iz, iw + 1, x, y, z, w, set);
-        block4D(ix + 1, iy + 1, iz + 1, iw + 1, x, y, z, w, set);
-        block4D(ix + 1, iy - 1, iz - 1, iw + 1, x, y, z, w, set);
-        block4D(ix + 1, iy - 1, iz, iw + 1, x, y, z, w, set);
-        block4D(ix + 1, iy - 1, iz + 1, iw + 1, x, y, z, w, set);
-        block4D(ix + 1, iy, iz + 1, iw + 1, x, y, z, w, set);
-        block4D(ix + 1, iy, iz - 1, iw + 1, x, y, z, w, set);
-        block4D(ix - 1, iy, iz, iw + 1, x, y, z, w, set);
-        block4D(ix - 1, iy + 1, iz - 1, iw + 1, x, y, z, w, set);
-        block4D(ix - 1, iy + 1, iz, iw + 1, x, y, z, w, set);
-        block4D(ix - 1, iy + 1, iz + 1, iw + 1, x, y, z, w, set);
-        block4D(ix - 1, iy - 1, iz - 1, iw + 1, x, y, z, w, set);
-        block4D(ix - 1, iy - 1, iz, iw + 1, x, y, z, w, set);
-        block4D(ix - 1, iy - 1, iz + 1, iw + 1, x, y, z, w, set);
-        block4D(ix - 1, iy, iz + 1, iw + 1, x, y, z, w, set);
-        block4D(ix - 1, iy, iz - 1, iw + 1, x, y, z, w, set);
-        block4D(ix, iy + 1, iz - 1, iw + 1, x, y, z, w, set);
-        block4D(ix, iy + 1, iz, iw + 1, x, y, z, w, set);
-        block4D(ix, iy + 1, iz + 1, iw + 1, x, y, z, w, set);
-        block4D(ix, iy - 1, iz - 1, iw + 1, x, y, z, w, set);
-        block4D(ix, iy - 1, iz, iw + 1, x, y, z, w, set);
-        block4D(ix, iy - 1, iz + 1, iw + 1, x, y, z, w, set);
-        block4D(ix, iy, iz + 1, iw + 1, x, y, z, w, set);
-        block4D(ix, iy, iz - 1, iw + 1, x, y, z, w, set);
-
-        block4D(ix, iy, iz, iw - 1, x, y, z, w, set);
-        block4D(ix + 1, iy, iz, iw - 1, x, y, z, w, set);
-        block4D(ix + 1, iy + 1, iz - 1, iw - 1, x, y, z, w, set);
-        block4D(ix + 1, iy + 1, iz, iw - 1, x, y, z, w, set);
-        block4D(ix + 1, iy + 1, iz + 1, iw - 1, x, y, z, w, set);
-        block4D(ix + 1, iy - 1, iz - 1, iw - 1, x, y, z, w, set);
-        block4D(ix + 1, iy - 1, iz, iw - 1, x, y, z, w, set);
-        block4D(ix + 1, iy - 1, iz + 1, iw - 1, x, y, z, w, set);
-        block4D(ix + 1, iy, iz + 1, iw - 1, x, y, z, w, set);
-        block4D(ix + 1, iy, iz - 1, iw - 1, x, y, z, w, set);
-        block4D(ix - 1, iy, iz, iw - 1, x, y, z, w, set);
-        block4D(ix - 1, iy + 1, iz - 1, iw - 1, x, y, z, w, set);
-        block4D(ix - 1, iy + 1, iz, iw - 1, x, y, z, w, set);
-        block4D(ix - 1, iy + 1, iz + 1, iw - 1, x, y, z, w, set);
-        block4D(ix - 1, iy - 1, iz - 1, iw - 1, x, y, z, w, set);
-        block4D(ix - 1, iy - 1, iz, iw - 1, x, y, z, w, set);
-        block4D(ix - 1, iy - 1, iz + 1, iw - 1, x, y, z, w, set);
-        block4D(ix - 1, iy, iz + 1, iw - 1, x, y, z, w, set);
-        block4D(ix - 1, iy, iz - 1, iw - 1, x, y, z, w, set);
-        block4D(ix, iy + 1, iz - 1, iw - 1, x, y, z, w, set);
-        block4D(ix, iy + 1, iz, iw - 1, x, y, z, w, set);
-        block4D(ix, iy + 1, iz + 1, iw - 1, x, y, z, w, set);
-        block4D(ix, iy - 1, iz - 1, iw - 1, x, y, z, w, set);
-        block4D(ix, iy - 1, iz, iw - 1, x, y, z, w, set);
-        block4D(ix, iy - 1, iz + 1, iw - 1, x, y, z, w, set);
-        block4D(ix, iy, iz + 1, iw - 1, x, y, z, w, set);
-        block4D(ix, iy, iz - 1, iw - 1, x, y, z, w, set);
-
-        return getNth(set);
+    /**
+     * gets the feature points of block s.block, in 0-1 block coordinates,
+     * dims per point, from the thread's cache or by hashing.
+     *
+     * @param s
+     * @param dims
+     * @param seed
+     * @return
+     */
+    private double[] featurePoints(Scratch s, int dims, long seed) {
+        long h = blockHash(s.block, dims, seed);
+        int len = numPerBlock * dims;
+        if (!cacheCells) {
+            if (s.points.length < len) {
+                s.points = new double[len];
+            }
+            fillPoints(h, s.points, len);
+            return s.points;
+        }
+        int slot = (int) h & (CACHE_SIZE - 1);
+        double[] pts = s.cachePoints[slot];
+        if (pts != null && pts.length == len && s.cacheSeeds[slot] == seed
+                && s.cacheDims[slot] == dims && sameBlock(s, slot, dims)) {
+            return pts;
+        }
+        if (pts == null || pts.length != len) {
+            pts = new double[len];
+            s.cachePoints[slot] = pts;
+        }
+        fillPoints(h, pts, len);
+        s.cacheSeeds[slot] = seed;
+        s.cacheDims[slot] = dims;
+        System.arraycopy(s.block, 0, s.cacheBlocks, 4 * slot, dims);
+        return pts;
     }
 
-    //gets the disnatances to x,y,z,w in box ix,iy,iz,iw and adds them to the set
-    void block4D(int ix, int iy, int iz, int iw, double x, double y, double z,
-            double w, TreeSet<Double> set) {
-        Random r = new Random((seed + "" + ix + "" + iy + "" + iz + "" + iw).
-                hashCode());
-        for (int i = 0; i < numPerBlock; i++) {
-            double nx = r.nextDouble() * blockSize + ix * blockSize;
-            double ny = r.nextDouble() * blockSize + iy * blockSize;
-            double nz = r.nextDouble() * blockSize + iz * blockSize;
-            double nw = r.nextDouble() * blockSize + iw * blockSize;
-            double dist2 = Double.NaN;
-            double dx = nx - x;
-            double dy = ny - y;
-            double dz = nz - z;
-            double dw = nw - w;
-            switch (this.dist) {
-                case EUCLID_DIST:
-                    dist2 = Math.sqrt(dx * dx + dy * dy + dz * dz + dw * dw);
-                    break;
-                case MANHAT_DIST:
-                    dist2 = abs(dx) + abs(dy) + abs(dz) + abs(dw);
-                    break;
-                case CHEBYC_DIST:
-                    dist2 = max(max(abs(dx), abs(dz)), max(abs(dy), abs(dz)));
-                    break;
-                case SQUARE_DIST:
-                    dist2 = dx * dx + dy * dy + dz * dz + dw * dw;
-                    break;
-                case QUADRA_DIST:
-                    dist2 = dx * dx + 2 * dx * dy + 2 * dx * dz + 2 * dx * dw
-                            + dy * dy + 2 * dy * dz + 2 * dy * dw + dz * dz + 2
-                            * dz * dw + dw * dw;
-                    break;
-                default:
-                    dist2 = Math.sqrt(dx * dx + dy * dy + dz * dz + dw * dw);
+    private boolean sameBlock(Scratch s, int slot, int dims) {
+        for (int k = 0; k < dims; k++) {
+            if (s.cacheBlocks[4 * slot + k] != s.block[k]) {
+                return false;
             }
-            set.add(dist2);
         }
+        return true;
+    }
+
+    /**
+     * hashes a block's coordinates and the seed
+     *
+     * @param block
+     * @param dims
+     * @param seed
+     * @return
+     */
+    private static long blockHash(int[] block, int dims, long seed) {
+        long h = mix(seed + dims);
+        for (int k = 0; k < dims; k++) {
+            h = mix(h ^ (block[k] & 0xffffffffL) * 0xC2B2AE3D27D4EB4FL);
+        }
+        return h;
+    }
 
+    /**
+     * fills pts with len numbers in 0-1 from the block hash
+     *
+     * @param h
+     * @param pts
+     * @param len
+     */
+    private static void fillPoints(long h, double[] pts, int len) {
+        for (int i = 0; i < len; i++) {
+            h += 0x9E3779B97F4A7C15L;
+            pts[i] = (mix(h) >>> 11) * 0x1p-53;
+        }
+    }
+
+    /**
+     * the splitmix64 finalizer, scrambles every bit of z into every bit of
+     * the result
+     *
+     * @param z
+     * @return
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
     }
 
     private double abs(double d) {
@@ -411,21 +413,48 @@ public class WorleyNoise extends Noise {
 
     @Override
     public Vector3D vectorNoise(Point3D p) {
-        long classSeed = this.seed;
+        //a differently seeded noise per component
+        double x = noise(p.x, p.y, p.z, seed * 317);
+        double y = noise(p.x, p.y, p.z, seed * 887);
+        double z = noise(p.x, p.y, p.z, seed * 997);
+        return new Vector3D(x, y, z);
+    }
 
-        long xSeed = classSeed * 317;
-        long ySeed = classSeed * 887;
-        long zSeed = classSeed * 997;
+    /**
+     * one thread's buffers and block cache
+     */
+    private static final class Scratch {
 
-        this.seed = xSeed;
-        double x = noise(p.x, p.y, p.z);
-        this.seed = ySeed;
-        double y = noise(p.x, p.y, p.z);
-        this.seed = zSeed;
-        double z = noise(p.x, p.y, p.z);
+        //point being looked up
+        final double[] p = new double[4];
 
-        this.seed = classSeed;
+        //its block
+        final int[] cell = new int[4];
+
+        //block being searched
+        final int[] block = new int[4];
+
+        //offset to a feature point
+        final double[] d = new double[4];
+
+        //distance to the block being searched along each axis
+        final double[] gap = new double[4];
+
+        //closest distances, sorted
+        double[] best = new double[1];
+
+        int count;
+
+        //feature points when the cache is off
+        double[] points = new double[0];
+
+        final double[][] cachePoints = new double[CACHE_SIZE][];
+
+        final long[] cacheSeeds = new long[CACHE_SIZE];
+
+        final int[] cacheDims = new int[CACHE_SIZE];
+
+        final int[] cacheBlocks = new int[4 * CACHE_SIZE];
 
-        return new Vector3D(x, y, z);
     }
 }
@@ -34,4 +34,11 @@ public class Clamp implements ToneMapper {
         return out;
     }
 
+    @Override
+    public void map(RGBColor in, RGBColor out) {
+        out.r = in.r < 0 ? 0 : in.r > 1 ? 1 : in.r;
+        out.g = in.g < 0 ? 0 : in.g > 1 ? 1 : in.g;
+        out.b = in.b < 0 ? 0 : in.b > 1 ? 1 : in.b;
+    }
+
 }
@@ -42,4 +42,14 @@ public class ClampToColor implements ToneMapper {
         return c;
     }
 
+    @Override
+    public void map(RGBColor in, RGBColor out) {
+        if (in.r > 1 || in.g > 1 || in.b > 1 || in.r < 0 || in.g < 0 || in.b
+                < 0) {
+            out.setTo(1, 0, 0);
+        } else {
+            out.setTo(in);
+        }
+    }
+
 }
@@ -35,4 +35,14 @@ public class MaxToOne implements ToneMapper {
         return c;
     }
 
+    @Override
+    public void map(RGBColor in, RGBColor out) {
+        double maxVal = Math.max(in.r, Math.max(in.g, in.b));
+        if (maxVal > 1) {
+            out.setTo(in.r / maxVal, in.g / maxVal, in.b / maxVal);
+        } else {
+            out.setTo(in);
+        }
+    }
+
 }
@@ -34,4 +34,15 @@ public interface ToneMapper {
      * @return
      */
     public RGBColor map(RGBColor in);
+
+    /**
+     * Maps in like map(in), but into out, so converting a whole image doesn't
+     * allocate a color per pixel. in and out may be the same color.
+     *
+     * @param in
+     * @param out
+     */
+    public default void map(RGBColor in, RGBColor out) {
+        out.setTo(map(in));
+    }
 }
@@ -57,7 +57,7 @@ public class PathTrace extends Tracer {
             return Utility.BLACK;
         } else {
             //closest intersection
-            ShadeRec sr = new ShadeRec(world.hitObjects(ray));
+            ShadeRec sr = world.hitObjects(ray, world.getShadeRec(depth));
             if (sr.hitAnObject) {//book keep and shade.
                 sr.depth = depth;
                 sr.ray.setTo(ray);
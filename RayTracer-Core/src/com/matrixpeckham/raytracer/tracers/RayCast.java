@@ -72,7 +72,7 @@ public class RayCast extends Tracer {
             return Utility.BLACK;
         }
         //gets closest intersection
-        ShadeRec sr = new ShadeRec(world.hitObjects(ray));
+        ShadeRec sr = world.hitObjects(ray, world.getShadeRec(depth));
         if (sr.hitAnObject) {//book keep and shade
             sr.ray.setTo(ray);
             sr.depth = depth;
@@ -33,6 +33,18 @@ import java.util.logging.Logger;
  */
 public class Whitted extends Tracer {
 
+    /**
+     * per thread hit distance for traceRay(ray, depth), which throws it away
+     */
+    private static final ThreadLocal<DoubleRef> IGNORED_T
+            = new ThreadLocal<DoubleRef>() {
+                @Override
+                protected DoubleRef initialValue() {
+                    return new DoubleRef();
+                }
+
+            };
+
     /**
      * default
      */
@@ -65,7 +77,7 @@ public class Whitted extends Tracer {
             return Utility.BLACK;
         } else {
             //get the shaderec from the nearest hit object
-            ShadeRec sr = new ShadeRec(world.hitObjects(ray));
+            ShadeRec sr = world.hitObjects(ray, world.getShadeRec(depth));
             //book keep the shaderec for shading, updates
             //ray, depth, and edits the reference parameter.
             if (sr.hitAnObject) {
@@ -84,7 +96,7 @@ public class Whitted extends Tracer {
 
     @Override
     public RGBColor traceRay(Ray ray, int depth) {
-        return traceRay(ray, new DoubleRef(), depth); //To change body of generated methods, choose Tools | Templates.
+        return traceRay(ray, IGNORED_T.get(), depth);
     }
 
     @Override
@@ -271,6 +271,49 @@ public class Normal {
                 mat.m[0][2] * n.x + mat.m[1][2] * n.y + mat.m[2][2] * n.z);
     }
 
+    /**
+     * negates this normal in place
+     *
+     * @return this
+     */
+    public Normal negLocal() {
+        x = -x;
+        y = -y;
+        z = -z;
+        return this;
+    }
+
+    /**
+     * scales this normal in place
+     *
+     * @param a
+     * @return this
+     */
+    public Normal mulLocal(double a) {
+        x *= a;
+        y *= a;
+        z *= a;
+        return this;
+    }
+
+    /**
+     * transforms a normal by a matrix, stored in out, out may be n.
+     *
+     * @param mat
+     * @param n
+     * @param out
+     * @return out
+     */
+    public static Normal mul(Matrix mat, Normal n, Normal out) {
+        double tx = mat.m[0][0] * n.x + mat.m[1][0] * n.y + mat.m[2][0] * n.z;
+        double ty = mat.m[0][1] * n.x + mat.m[1][1] * n.y + mat.m[2][1] * n.z;
+        double tz = mat.m[0][2] * n.x + mat.m[1][2] * n.y + mat.m[2][2] * n.z;
+        out.x = tx;
+        out.y = ty;
+        out.z = tz;
+        return out;
+    }
+
     private static final Logger LOG = Logger.getLogger(Normal.class.getName());
 
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.util;
+
+import java.util.logging.Logger;
+
+/**
+ * Compact triangle mesh, the structure of arrays counterpart of Mesh. Vertex
+ * data is kept in flat float arrays and the triangles in an int index buffer,
+ * so a mesh costs a few dozen bytes per triangle instead of an object per
+ * vertex and per triangle. Used by TriangleMesh's packed mode.
+ *
+ * @author William Matrix Peckham
+ */
+public class PackedMesh {
+
+    /**
+     * vertex positions, x y z per vertex
+     */
+    public final float[] positions;
+
+    /**
+     * vertex normals, x y z per vertex, null until computeNormals() is called
+     */
+    public float[] normals = null;
+
+    /**
+     * texture coordinates, u v per vertex, null if the mesh has none
+     */
+    public final float[] uvs;
+
+    /**
+     * vertex indices, three per triangle
+     */
+    public final int[] indices;
+
+    /**
+     * number of vertices
+     */
+    public final int numVertices;
+
+    /**
+     * number of triangles
+     */
+    public final int numTriangles;
+
+    /**
+     * makes an empty mesh of the given size.
+     *
+     * @param numVertices
+     * @param numTriangles
+     * @param hasUV if true space is made for texture coordinates
+     */
+    public PackedMesh(int numVertices, int numTriangles, boolean hasUV) {
+        this.numVertices = numVertices;
+        this.numTriangles = numTriangles;
+        positions = new float[3 * numVertices];
+        uvs = hasUV ? new float[2 * numVertices] : null;
+        indices = new int[3 * numTriangles];
+    }
+
+    /**
+     * sets a vertex position
+     *
+     * @param i
+     * @param x
+     * @param y
+     * @param z
+     */
+    public void setVertex(int i, double x, double y, double z) {
+        positions[3 * i] = (float) x;
+        positions[3 * i + 1] = (float) y;
+        positions[3 * i + 2] = (float) z;
+    }
+
+    /**
+     * sets a vertex's texture coordinates
+     *
+     * @param i
+     * @param u
+     * @param v
+     */
+    public void setUV(int i, double u, double v) {
+        uvs[2 * i] = (float) u;
+        uvs[2 * i + 1] = (float) v;
+    }
+
+    /**
+     * sets the vertex indices of a triangle
+     *
+     * @param t
+     * @param i0
+     * @param i1
+     * @param i2
+     */
+    public void setTriangle(int t, int i0, int i1, int i2) {
+        if (i0 < 0 || i0 >= numVertices || i1 < 0 || i1 >= numVertices || i2
+                < 0 || i2 >= numVertices) {
+            throw new IllegalArgumentException("triangle " + t
+                    + " has a vertex index out of range");
+        }
+        indices[3 * t] = i0;
+        indices[3 * t + 1] = i1;
+        indices[3 * t + 2] = i2;
+    }
+
+    /**
+     * computes smooth vertex normals, the same way
+     * TriangleMesh.computeMeshNormals() does: the normalized sum of the unit
+     * normals of the triangles sharing the vertex, straight up if they cancel.
+     *
+     * @param reverse if true the triangle normals are reversed first
+     */
+    public void computeNormals(boolean reverse) {
+        float[] sum = new float[3 * numVertices];
+        for (int t = 0; t < numTriangles; t++) {
+            int a = 3 * indices[3 * t];
+            int b = 3 * indices[3 * t + 1];
+            int c = 3 * indices[3 * t + 2];
+            double e1x = positions[b] - positions[a];
+            double e1y = positions[b + 1] - positions[a + 1];
+            double e1z = positions[b + 2] - positions[a + 2];
+            double e2x = positions[c] - positions[a];
+            double e2y = positions[c + 1] - positions[a + 1];
+            double e2z = positions[c + 2] - positions[a + 2];
+            double nx = e1y * e2z - e1z * e2y;
+            double ny = e1z * e2x - e1x * e2z;
+            double nz = e1x * e2y - e1y * e2x;
+            double len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+            if (len == 0) {
+                continue;
+            }
+            if (reverse) {
+                len = -len;
+            }
+            for (int k = 0; k < 3; k++) {
+                int v = 3 * indices[3 * t + k];
+                sum[v] += nx / len;
+                sum[v + 1] += ny / len;
+                sum[v + 2] += nz / len;
+            }
+        }
+        for (int v = 0; v < 3 * numVertices; v += 3) {
+            double len = Math.sqrt(sum[v] * sum[v] + sum[v + 1] * sum[v + 1]
+                    + sum[v + 2] * sum[v + 2]);
+            if (len == 0) {
+                sum[v + 1] = 1;
+            } else {
+                sum[v] /= len;
+                sum[v + 1] /= len;
+                sum[v + 2] /= len;
+            }
+        }
+        normals = sum;
+    }
+
+    /**
+     * reorders the triangles, triangle i becomes old triangle order[i].
+     *
+     * @param order
+     */
+    public void reorderTriangles(int[] order) {
+        int[] old = indices.clone();
+        for (int i = 0; i < numTriangles; i++) {
+            System.arraycopy(old, 3 * order[i], indices, 3 * i, 3);
+        }
+    }
+
+    /**
+     * approximate size of the arrays in bytes
+     *
+     * @return
+     */
+    public long getMemoryBytes() {
+        long bytes = 4L * positions.length + 4L * indices.length;
+        if (normals != null) {
+            bytes += 4L * normals.length;
+        }
+        if (uvs != null) {
+            bytes += 4L * uvs.length;
+        }
+        return bytes;
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(PackedMesh.class.getName());
+
+}
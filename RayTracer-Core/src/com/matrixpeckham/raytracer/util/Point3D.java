@@ -214,6 +214,98 @@ public class Point3D {
                 + mat.m[2][3]);
     }
 
+    /**
+     * moves this point by a vector in place
+     *
+     * @param v
+     * @return this
+     */
+    public Point3D addLocal(Vector3D v) {
+        x += v.x;
+        y += v.y;
+        z += v.z;
+        return this;
+    }
+
+    /**
+     * moves this point back by a vector in place
+     *
+     * @param v
+     * @return this
+     */
+    public Point3D subLocal(Vector3D v) {
+        x -= v.x;
+        y -= v.y;
+        z -= v.z;
+        return this;
+    }
+
+    /**
+     * moves this point along a scaled vector, this += s * v. used for points
+     * along a ray.
+     *
+     * @param s
+     * @param v
+     * @return this
+     */
+    public Point3D scaleAdd(double s, Vector3D v) {
+        x += s * v.x;
+        y += s * v.y;
+        z += s * v.z;
+        return this;
+    }
+
+    /**
+     * out = p + v, out may be p.
+     *
+     * @param p
+     * @param v
+     * @param out
+     * @return out
+     */
+    public static Point3D add(Point3D p, Vector3D v, Point3D out) {
+        out.x = p.x + v.x;
+        out.y = p.y + v.y;
+        out.z = p.z + v.z;
+        return out;
+    }
+
+    /**
+     * vector from b to a stored in out.
+     *
+     * @param a
+     * @param b
+     * @param out
+     * @return out
+     */
+    public static Vector3D sub(Point3D a, Point3D b, Vector3D out) {
+        out.x = a.x - b.x;
+        out.y = a.y - b.y;
+        out.z = a.z - b.z;
+        return out;
+    }
+
+    /**
+     * Multiply the point by the matrix, stored in out, out may be p.
+     *
+     * @param mat
+     * @param p
+     * @param out
+     * @return out
+     */
+    public static Point3D mul(Matrix mat, Point3D p, Point3D out) {
+        double tx = mat.m[0][0] * p.x + mat.m[0][1] * p.y + mat.m[0][2] * p.z
+                + mat.m[0][3];
+        double ty = mat.m[1][0] * p.x + mat.m[1][1] * p.y + mat.m[1][2] * p.z
+                + mat.m[1][3];
+        double tz = mat.m[2][0] * p.x + mat.m[2][1] * p.y + mat.m[2][2] * p.z
+                + mat.m[2][3];
+        out.x = tx;
+        out.y = ty;
+        out.z = tz;
+        return out;
+    }
+
     private static final Logger LOG = Logger.getLogger(Point3D.class.getName());
 
 }
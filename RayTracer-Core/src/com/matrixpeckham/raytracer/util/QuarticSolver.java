@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.util;
+
+import java.util.logging.Logger;
+
+/**
+ * Double precision polynomial root finder for the torus hit function. Instead
+ * of the closed form (which loses too much precision, see
+ * Utility.solveQuartic) this brackets the roots between the critical points of
+ * the polynomial, found recursively from the derivative, and polishes each one
+ * with safeguarded Newton iteration. Only real roots are found, in increasing
+ * order. Much faster than BruteForceSolver, which works in BigDecimal.
+ *
+ * @author William Matrix Peckham
+ */
+public final class QuarticSolver {
+
+    /**
+     * max iterations for a single root, bisection alone would converge in
+     * about this many
+     */
+    private static final int MAX_ITERATIONS = 80;
+
+    /**
+     * relative tolerance to stop iterating at
+     */
+    private static final double TOLERANCE = 1.0e-14;
+
+    /**
+     * value at a critical point, relative to the size of the terms, that
+     * counts as touching zero
+     */
+    private static final double TOUCH_TOLERANCE = 1.0e-14;
+
+    private QuarticSolver() {
+    }
+
+    /**
+     * solves a*t^4 + b*t^3 + c*t^2 + d*t + e = 0.
+     *
+     * @param a
+     * @param b
+     * @param c
+     * @param d
+     * @param e
+     * @param roots array to hold up to 4 roots, sorted smallest first
+     * @return number of real roots found
+     */
+    public static int solveQuartic(double a, double b, double c, double d,
+            double e, double[] roots) {
+        if (a == 0) {
+            return solveCubic(b, c, d, e, roots);
+        }
+        //monic form t^4 + b t^3 + c t^2 + d t + e
+        b /= a;
+        c /= a;
+        d /= a;
+        e /= a;
+        double bound = 1 + Math.max(Math.max(Math.abs(b), Math.abs(c)), Math.
+                max(Math.abs(d), Math.abs(e)));
+
+        //critical points are the roots of the derivative
+        //4t^3 + 3b t^2 + 2c t + d, divided by 4
+        double[] crit = new double[3];
+        int numCrit = solveMonicCubic(0.75 * b, 0.5 * c, 0.25 * d, crit);
+        return bracket(b, c, d, e, 4, crit, numCrit, bound, roots);
+    }
+
+    /**
+     * solves a*t^3 + b*t^2 + c*t + d = 0.
+     *
+     * @param a
+     * @param b
+     * @param c
+     * @param d
+     * @param roots array to hold up to 3 roots, sorted smallest first
+     * @return number of real roots found
+     */
+    public static int solveCubic(double a, double b, double c, double d,
+            double[] roots) {
+        if (a == 0) {
+            return solveQuadric(b, c, d, roots);
+        }
+        return solveMonicCubic(b / a, c / a, d / a, roots);
+    }
+
+    /**
+     * solves a*t^2 + b*t + c = 0. uses the cancellation free form of the
+     * quadratic formula.
+     *
+     * @param a
+     * @param b
+     * @param c
+     * @param roots array to hold up to 2 roots, sorted smallest first
+     * @return number of real roots found
+     */
+    public static int solveQuadric(double a, double b, double c,
+            double[] roots) {
+        if (a == 0) {
+            if (b == 0) {
+                return 0;
+            }
+            roots[0] = -c / b;
+            return 1;
+        }
+        double disc = b * b - 4 * a * c;
+        if (disc < 0) {
+            return 0;
+        }
+        if (disc == 0) {
+            roots[0] = -b / (2 * a);
+            return 1;
+        }
+        double q = -0.5 * (b + Math.copySign(Math.sqrt(disc), b));
+        double r0 = q / a;
+        double r1 = c / q;
+        roots[0] = Math.min(r0, r1);
+        roots[1] = Math.max(r0, r1);
+        return 2;
+    }
+
+    /**
+     * t^3 + b t^2 + c t + d = 0
+     */
+    private static int solveMonicCubic(double b, double c, double d,
+            double[] roots) {
+        double bound = 1 + Math.max(Math.max(Math.abs(b), Math.abs(c)), Math.
+                abs(d));
+        //3t^2 + 2b t + c
+        double[] crit = new double[2];
+        int numCrit = solveQuadric(3, 2 * b, c, crit);
+        if (numCrit == 1) {
+            //double critical point, bracket counts it towards a triple root
+            crit[1] = crit[0];
+            numCrit = 2;
+        }
+        return bracket(b, c, d, 0, 3, crit, numCrit, bound, roots);
+    }
+
+    /**
+     * finds the roots of a monic polynomial of the given degree (3 or 4)
+     * between each pair of consecutive critical points. the polynomial is
+     * monotonic on each interval so it contains at most one root. a critical
+     * point where the polynomial is within roundoff of zero is a root too,
+     * even though the sign may not change there (a ray that just grazes the
+     * torus). it is reported as many times as its multiplicity, an even number
+     * when the sign is the same on both sides, so hits still come in
+     * entering/leaving pairs.
+     */
+    private static int bracket(double b, double c, double d, double e,
+            int degree, double[] crit, int numCrit, double bound,
+            double[] roots) {
+        int num = 0;
+        double lo = -bound;
+        double flo = eval(b, c, d, e, degree, lo);
+        for (int i = 0; i <= numCrit; i++) {
+            double hi = i < numCrit ? Math.max(lo, Math.min(crit[i], bound))
+                    : bound;
+            double fhi = eval(b, c, d, e, degree, hi);
+            if (i < numCrit && Math.abs(fhi) <= TOUCH_TOLERANCE * magnitude(
+                    b, c, d, e, degree, hi)) {
+                fhi = 0;
+            }
+            if (flo != 0 && fhi != 0 && (flo < 0) != (fhi < 0)) {
+                roots[num++] = refine(b, c, d, e, degree, lo, hi, flo);
+            }
+            if (fhi == 0 && (num == 0 || roots[num - 1] != hi)) {
+                //a root of multiplicity m is a critical point m - 1 times
+                int repeats = 1;
+                while (i + repeats < numCrit && crit[i + repeats] == crit[i]) {
+                    repeats++;
+                }
+                //sign past the critical point, at the next one or the bound
+                double next = i + repeats < numCrit ? Math.max(hi, Math.min(
+                        crit[i + repeats], bound)) : bound;
+                double fnext = eval(b, c, d, e, degree, next);
+                boolean touching = flo != 0 && fnext != 0 && (flo < 0)
+                        == (fnext < 0);
+                int multiplicity = repeats + 1;
+                if (touching != (multiplicity % 2 == 0)) {
+                    multiplicity = touching ? 2 : 1;
+                }
+                for (int m = 0; m < multiplicity && num < degree; m++) {
+                    roots[num++] = hi;
+                }
+            }
+            lo = hi;
+            flo = fhi;
+        }
+        return num;
+    }
+
+    /**
+     * safeguarded newton iteration, falls back to bisection when the newton
+     * step leaves the bracket.
+     */
+    private static double refine(double b, double c, double d, double e,
+            int degree, double lo, double hi, double flo) {
+        boolean loNegative = flo < 0;
+        double x = 0.5 * (lo + hi);
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double fx;
+            double dfx;
+            if (degree == 4) {
+                fx = (((x + b) * x + c) * x + d) * x + e;
+                dfx = ((4 * x + 3 * b) * x + 2 * c) * x + d;
+            } else {
+                fx = ((x + b) * x + c) * x + d;
+                dfx = (3 * x + 2 * b) * x + c;
+            }
+            if (fx == 0) {
+                return x;
+            }
+            if ((fx < 0) == loNegative) {
+                lo = x;
+            } else {
+                hi = x;
+            }
+            double next = dfx != 0 ? x - fx / dfx : lo;
+            if (!(next > lo && next < hi)) {
+                next = 0.5 * (lo + hi);
+            }
+            if (Math.abs(next - x) <= TOLERANCE * Math.max(1, Math.abs(x))) {
+                return next;
+            }
+            x = next;
+        }
+        return x;
+    }
+
+    private static double eval(double b, double c, double d, double e,
+            int degree, double x) {
+        if (degree == 4) {
+            return (((x + b) * x + c) * x + d) * x + e;
+        }
+        return ((x + b) * x + c) * x + d;
+    }
+
+    /**
+     * sum of the magnitudes of the terms at x, the roundoff in eval is
+     * proportional to this.
+     */
+    private static double magnitude(double b, double c, double d, double e,
+            int degree, double x) {
+        x = Math.abs(x);
+        if (degree == 4) {
+            return (((x + Math.abs(b)) * x + Math.abs(c)) * x + Math.abs(d))
+                    * x + Math.abs(e);
+        }
+        return ((x + Math.abs(b)) * x + Math.abs(c)) * x + Math.abs(d);
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(QuarticSolver.class.getName());
+
+}
@@ -267,6 +267,92 @@ public class RGBColor {
         setTo(d, d, d);
     }
 
+    /**
+     * component wise multiplication in place
+     *
+     * @param c
+     * @return this
+     */
+    public RGBColor mulLocal(RGBColor c) {
+        r *= c.r;
+        g *= c.g;
+        b *= c.b;
+        return this;
+    }
+
+    /**
+     * adds a scaled color, this += s * c
+     *
+     * @param s
+     * @param c
+     * @return this
+     */
+    public RGBColor scaleAdd(double s, RGBColor c) {
+        r += s * c.r;
+        g += s * c.g;
+        b += s * c.b;
+        return this;
+    }
+
+    /**
+     * adds the scaled product of two colors, this += s * c1 * c2. the usual
+     * brdf * radiance * cosine term of a shading loop.
+     *
+     * @param s
+     * @param c1
+     * @param c2
+     * @return this
+     */
+    public RGBColor scaleAdd(double s, RGBColor c1, RGBColor c2) {
+        r += s * c1.r * c2.r;
+        g += s * c1.g * c2.g;
+        b += s * c1.b * c2.b;
+        return this;
+    }
+
+    /**
+     * raises components to a power in place
+     *
+     * @param p
+     * @return this
+     */
+    public RGBColor powcLocal(double p) {
+        r = Math.pow(r, p);
+        g = Math.pow(g, p);
+        b = Math.pow(b, p);
+        return this;
+    }
+
+    /**
+     * out = a + b, out may be either argument.
+     *
+     * @param a
+     * @param b
+     * @param out
+     * @return out
+     */
+    public static RGBColor add(RGBColor a, RGBColor b, RGBColor out) {
+        out.r = a.r + b.r;
+        out.g = a.g + b.g;
+        out.b = a.b + b.b;
+        return out;
+    }
+
+    /**
+     * out = a * b component wise, out may be either argument.
+     *
+     * @param a
+     * @param b
+     * @param out
+     * @return out
+     */
+    public static RGBColor mul(RGBColor a, RGBColor b, RGBColor out) {
+        out.r = a.r * b.r;
+        out.g = a.g * b.g;
+        out.b = a.b * b.b;
+        return out;
+    }
+
     private static final Logger LOG = Logger.getLogger(RGBColor.class.getName());
 
 }
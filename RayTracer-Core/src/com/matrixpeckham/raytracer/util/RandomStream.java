@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.util;
+
+/**
+ * A stream of pseudo random numbers. Each render thread gets its own through
+ * ThreadRandom, so implementations don't need to be thread safe.
+ *
+ * @author William Matrix Peckham
+ */
+public interface RandomStream {
+
+    /**
+     * restarts the stream from a seed, the same seed always gives the same
+     * numbers.
+     *
+     * @param seed
+     */
+    public void setSeed(long seed);
+
+    /**
+     * next 64 random bits
+     *
+     * @return
+     */
+    public long nextLong();
+
+    /**
+     * random int in [0, bound)
+     *
+     * @param bound must be positive
+     * @return
+     */
+    public default int nextInt(int bound) {
+        //multiply the top 31 bits by the bound rather than using %, avoids
+        //the bias toward small numbers without needing a rejection loop
+        return (int) (((nextLong() >>> 33) * bound) >>> 31);
+    }
+
+    /**
+     * random double in [0, 1)
+     *
+     * @return
+     */
+    public default double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+}
@@ -36,6 +36,17 @@ public class Ray {
      */
     public final Vector3D d;
 
+    /**
+     * width of the ray's footprint at its origin, for texture filtering. 0
+     * for rays without a footprint, which get unfiltered texture lookups.
+     */
+    public double width = 0;
+
+    /**
+     * growth of the footprint's width per unit of distance along d.
+     */
+    public double spread = 0;
+
     /**
      * for debugging
      *
@@ -72,6 +83,8 @@ public class Ray {
      */
     public Ray(Ray r) {
         this(r.o, r.d);
+        width = r.width;
+        spread = r.spread;
     }
 
     /**
@@ -83,9 +96,22 @@ public class Ray {
     public Ray setTo(Ray r) {
         o.setTo(r.o);
         d.setTo(r.d);
+        width = r.width;
+        spread = r.spread;
         return this;
     }
 
+    /**
+     * width of the footprint where the ray has gone t, in the units of the
+     * ray's origin, assumes d has unit length.
+     *
+     * @param t
+     * @return 0 if the ray has no footprint
+     */
+    public double footprint(double t) {
+        return width + spread * t;
+    }
+
     private static final Logger LOG = Logger.getLogger(Ray.class.getName());
 
 }
@@ -72,6 +72,13 @@ public class ShadeRec {
      */
     public double v = 0;
 
+    /**
+     * length in the local hit position's coordinates of a unit of world
+     * length at the hit, not 1 when the object is inside a transformed
+     * instance. used to size texture footprints.
+     */
+    public double localScale = 1;
+
     /**
      * depth
      */
@@ -117,6 +124,25 @@ public class ShadeRec {
         normal.setTo(r.normal);
         this.u = r.u;
         this.v = r.v;
+        localScale = r.localScale;
+    }
+
+    /**
+     * clears this record back to the state of a new one, so one record can be
+     * reused for many rays.
+     */
+    public void reset() {
+        hitAnObject = false;
+        hitPoint.setTo(0, 0, 0);
+        localHitPosition.setTo(0, 0, 0);
+        normal.setTo(0, 0, 0);
+        color.setTo(Utility.BLACK);
+        lastT = Double.POSITIVE_INFINITY;
+        u = 0;
+        v = 0;
+        localScale = 1;
+        depth = 0;
+        material = null;
     }
 
     private static final Logger LOG = Logger.getLogger(ShadeRec.class.getName());
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.util;
+
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Per thread random number service. Every thread gets its own RandomStream so
+ * the render threads never contend on a shared seed the way they did on a
+ * single java.util.Random. The tile scheduler reseeds the stream for every
+ * pixel from the render seed and the pixel coordinates, so a render comes out
+ * the same no matter how many threads drew it or in what order.
+ *
+ * Scene builds draw their sample tables and random placements from the
+ * building thread's stream, reseeded by seedBuild() first, and new streams
+ * start from the render seed too, so the same scene builds the same way in
+ * every run and in every process.
+ *
+ * @author William Matrix Peckham
+ */
+public final class ThreadRandom {
+
+    /**
+     * makes the stream for each new thread, can be swapped out for another
+     * generator.
+     */
+    private static volatile Supplier<RandomStream> factory
+            = () -> new SplitMix64(buildSeed());
+
+    /**
+     * seed the per pixel seeds are derived from
+     */
+    private static volatile long renderSeed = 0;
+
+    /**
+     * keeps the build seeds apart from the per pixel and per tile ones
+     */
+    private static final long BUILD_SALT = 0x6275696c64L;
+
+    /**
+     * number of pixels a thread has started, see pixelCount()
+     */
+    public static final class PixelCount {
+
+        private int count = 0;
+
+        /**
+         * getter
+         *
+         * @return
+         */
+        public int get() {
+            return count;
+        }
+
+    }
+
+    private static final ThreadLocal<PixelCount> PIXELS
+            = new ThreadLocal<PixelCount>() {
+                @Override
+                protected PixelCount initialValue() {
+                    return new PixelCount();
+                }
+            };
+
+    private static final ThreadLocal<RandomStream> STREAM
+            = new ThreadLocal<RandomStream>() {
+                @Override
+                protected RandomStream initialValue() {
+                    return factory.get();
+                }
+            };
+
+    private ThreadRandom() {
+    }
+
+    /**
+     * gets the calling thread's stream
+     *
+     * @return
+     */
+    public static RandomStream current() {
+        return STREAM.get();
+    }
+
+    /**
+     * sets the generator used for threads that haven't drawn a number yet,
+     * and for the calling thread.
+     *
+     * @param f
+     */
+    public static void setFactory(Supplier<RandomStream> f) {
+        factory = f;
+        STREAM.set(f.get());
+    }
+
+    /**
+     * sets the seed that the per pixel and per tile seeds come from, change it
+     * to get a different, but still reproducible, noise pattern.
+     *
+     * @param seed
+     */
+    public static void setRenderSeed(long seed) {
+        renderSeed = seed;
+    }
+
+    /**
+     * getter
+     *
+     * @return
+     */
+    public static long getRenderSeed() {
+        return renderSeed;
+    }
+
+    /**
+     * gets the calling thread's pixel count, which seedPixel() bumps. state
+     * kept per thread from pixel to pixel, like the sample set positions,
+     * holds on to it and starts over when it changes, so a pixel doesn't
+     * depend on which pixels its thread drew before.
+     *
+     * @return
+     */
+    public static PixelCount pixelCount() {
+        return PIXELS.get();
+    }
+
+    /**
+     * reseeds the calling thread's stream for building a scene, call before
+     * the build so its random numbers come out the same in every run.
+     */
+    public static void seedBuild() {
+        STREAM.get().setSeed(buildSeed());
+    }
+
+    /**
+     * seed for scene builds and new streams
+     *
+     * @return
+     */
+    private static long buildSeed() {
+        return SplitMix64.mix(renderSeed ^ BUILD_SALT);
+    }
+
+    /**
+     * reseeds the calling thread's stream for a pixel.
+     *
+     * @param r row
+     * @param c column
+     */
+    public static void seedPixel(int r, int c) {
+        STREAM.get().setSeed(pixelSeed(r, c));
+        PIXELS.get().count++;
+    }
+
+    /**
+     * reseeds the calling thread's stream for one pass over a pixel, for
+     * renders that come back to a pixel several times and need new numbers
+     * each time.
+     *
+     * @param r row
+     * @param c column
+     * @param pass
+     */
+    public static void seedPixel(int r, int c, int pass) {
+        STREAM.get().setSeed(SplitMix64.mix(pixelSeed(r, c) + SplitMix64.
+                mix(pass)));
+        PIXELS.get().count++;
+    }
+
+    /**
+     * gets the seed seedPixel(r, c) uses
+     *
+     * @param r row
+     * @param c column
+     * @return
+     */
+    public static long pixelSeed(int r, int c) {
+        return SplitMix64.mix(renderSeed ^ SplitMix64.mix(((long) r << 32)
+                | (c & 0xffffffffL)));
+    }
+
+    /**
+     * reseeds the calling thread's stream for a tile, for code that draws
+     * numbers per tile rather than per pixel.
+     *
+     * @param tile index of the tile
+     */
+    public static void seedTile(int tile) {
+        STREAM.get().setSeed(SplitMix64.mix(~renderSeed ^ SplitMix64.mix(
+                tile)));
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(ThreadRandom.class.getName());
+
+}
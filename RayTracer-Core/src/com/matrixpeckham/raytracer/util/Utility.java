@@ -17,7 +17,6 @@
  */
 package com.matrixpeckham.raytracer.util;
 
-import java.util.Random;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -94,26 +93,22 @@ public class Utility {
     public static final RGBColor YELLOW = new RGBColor(1, 1, 0);
 
     /**
-     * random for random functions.
-     */
-    public static final Random rand = new Random();
-
-    /**
-     * rand int between 0 and max value
+     * rand int between 0 and max value, drawn from the calling thread's
+     * stream, see ThreadRandom.
      *
      * @return
      */
     public static final int randInt() {
-        return rand.nextInt(Integer.MAX_VALUE);
+        return (int) (ThreadRandom.current().nextLong() >>> 33);
     }
 
     /**
-     * rand 0-1 double
+     * rand 0-1 double, drawn from the calling thread's stream.
      *
      * @return
      */
     public static final double randDouble() {
-        return (double) randInt() / (double) Integer.MAX_VALUE;
+        return ThreadRandom.current().nextDouble();
     }
 
     /**
@@ -152,12 +147,12 @@ public class Utility {
     }
 
     /**
-     * sets the random seed
+     * sets the random seed of the calling thread's stream
      *
      * @param seed
      */
     public static final void setRandSeed(long seed) {
-        rand.setSeed(seed);
+        ThreadRandom.current().setSeed(seed);
     }
 
     /**
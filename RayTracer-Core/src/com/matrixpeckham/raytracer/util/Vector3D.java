@@ -342,6 +342,150 @@ public class Vector3D {
         return (x * v.x + y * v.y + z * v.z);
     }
 
+    /**
+     * compound subtraction
+     *
+     * @param v
+     * @return this
+     */
+    public Vector3D subLocal(Vector3D v) {
+        x -= v.x;
+        y -= v.y;
+        z -= v.z;
+        return this;
+    }
+
+    /**
+     * scales this vector in place
+     *
+     * @param a
+     * @return this
+     */
+    public Vector3D mulLocal(double a) {
+        x *= a;
+        y *= a;
+        z *= a;
+        return this;
+    }
+
+    /**
+     * divides this vector in place
+     *
+     * @param a
+     * @return this
+     */
+    public Vector3D divLocal(double a) {
+        x /= a;
+        y /= a;
+        z /= a;
+        return this;
+    }
+
+    /**
+     * negates this vector in place
+     *
+     * @return this
+     */
+    public Vector3D negLocal() {
+        x = -x;
+        y = -y;
+        z = -z;
+        return this;
+    }
+
+    /**
+     * adds a scaled vector to this one, this += s * v
+     *
+     * @param s
+     * @param v
+     * @return this
+     */
+    public Vector3D scaleAdd(double s, Vector3D v) {
+        x += s * v.x;
+        y += s * v.y;
+        z += s * v.z;
+        return this;
+    }
+
+    /**
+     * adds a scaled normal to this vector, this += s * n
+     *
+     * @param s
+     * @param n
+     * @return this
+     */
+    public Vector3D scaleAdd(double s, Normal n) {
+        x += s * n.x;
+        y += s * n.y;
+        z += s * n.z;
+        return this;
+    }
+
+    /**
+     * cross product stored in out, out may be this or v.
+     *
+     * @param v
+     * @param out
+     * @return out
+     */
+    public Vector3D crossInto(Vector3D v, Vector3D out) {
+        double cx = y * v.z - z * v.y;
+        double cy = z * v.x - x * v.z;
+        double cz = x * v.y - y * v.x;
+        out.x = cx;
+        out.y = cy;
+        out.z = cz;
+        return out;
+    }
+
+    /**
+     * out = a + b, out may be either argument.
+     *
+     * @param a
+     * @param b
+     * @param out
+     * @return out
+     */
+    public static Vector3D add(Vector3D a, Vector3D b, Vector3D out) {
+        out.x = a.x + b.x;
+        out.y = a.y + b.y;
+        out.z = a.z + b.z;
+        return out;
+    }
+
+    /**
+     * out = a - b, out may be either argument.
+     *
+     * @param a
+     * @param b
+     * @param out
+     * @return out
+     */
+    public static Vector3D sub(Vector3D a, Vector3D b, Vector3D out) {
+        out.x = a.x - b.x;
+        out.y = a.y - b.y;
+        out.z = a.z - b.z;
+        return out;
+    }
+
+    /**
+     * Matrix multiplication stored in out, out may be v.
+     *
+     * @param mat
+     * @param v
+     * @param out
+     * @return out
+     */
+    public static Vector3D mul(Matrix mat, Vector3D v, Vector3D out) {
+        double tx = mat.m[0][0] * v.x + mat.m[0][1] * v.y + mat.m[0][2] * v.z;
+        double ty = mat.m[1][0] * v.x + mat.m[1][1] * v.y + mat.m[1][2] * v.z;
+        double tz = mat.m[2][0] * v.x + mat.m[2][1] * v.y + mat.m[2][2] * v.z;
+        out.x = tx;
+        out.y = ty;
+        out.z = tz;
+        return out;
+    }
+
     private static final Logger LOG = Logger.getLogger(Vector3D.class.getName());
 
 }
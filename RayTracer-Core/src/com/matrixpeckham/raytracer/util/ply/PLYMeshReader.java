@@ -0,0 +1,598 @@
+/*
+ * Copyright (C) 2015 William Matrix Peckham
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package com.matrixpeckham.raytracer.util.ply;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Streaming reader for triangle meshes in ply files. Unlike PLYFile this
+ * doesn't keep the elements around, the body is parsed straight out of a byte
+ * buffer, memory mapped for files, and each vertex and face is handed to a
+ * Handler as primitives. ASCII, binary little endian and binary big endian
+ * bodies are supported.
+ *
+ * Only the x, y, z and optionally u, v properties of "vertex" elements and
+ * the first three indices of the "vertex_indices" list of "face" elements are
+ * reported, every other property and element is skipped. Like PLYFile, ascii
+ * elements are read a line each and values past the declared properties are
+ * ignored.
+ *
+ * @author William Matrix Peckham
+ */
+public class PLYMeshReader {
+
+    /**
+     * receives the mesh as it is read
+     */
+    public interface Handler {
+
+        /**
+         * called once the header is read, before any vertex or face.
+         *
+         * @param numVertices
+         * @param numFaces
+         * @param hasUV true if the vertices have u and v properties
+         * @throws IOException to reject the file
+         */
+        void start(int numVertices, int numFaces, boolean hasUV) throws
+                IOException;
+
+        /**
+         * called for each vertex in order
+         *
+         * @param i
+         * @param x
+         * @param y
+         * @param z
+         * @param u 0 if the file has no texture coordinates
+         * @param v 0 if the file has no texture coordinates
+         */
+        void vertex(int i, double x, double y, double z, double u, double v);
+
+        /**
+         * called for each face in order, with its first three vertex indices
+         *
+         * @param i
+         * @param v0
+         * @param v1
+         * @param v2
+         * @throws IOException if an index is out of range
+         */
+        void face(int i, int v0, int v1, int v2) throws IOException;
+
+    }
+
+    /**
+     * exact powers of ten for the fast path of the ascii number parser
+     */
+    private static final double[] POW10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6,
+        1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18,
+        1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * element declared in the header
+     */
+    private static class Element {
+
+        final String name;
+
+        final int count;
+
+        final ArrayList<Property> props = new ArrayList<>();
+
+        Element(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        int indexOf(String prop) {
+            for (int i = 0; i < props.size(); i++) {
+                if (props.get(i).name.equals(prop)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+    }
+
+    /**
+     * property declared in the header, countType is null unless it's a list
+     */
+    private static class Property {
+
+        final String name;
+
+        final ElementType.Type type;
+
+        final ElementType.Type countType;
+
+        Property(String name, ElementType.Type type,
+                ElementType.Type countType) {
+            this.name = name;
+            this.type = type;
+            this.countType = countType;
+        }
+
+    }
+
+    /**
+     * the file contents, positioned at the next unread byte
+     */
+    private final ByteBuffer buf;
+
+    private boolean binary;
+
+    private final ArrayList<Element> elements = new ArrayList<>();
+
+    /**
+     * scratch for number tokens that miss the fast path
+     */
+    private final char[] token = new char[64];
+
+    private PLYMeshReader(ByteBuffer buf) {
+        this.buf = buf;
+    }
+
+    /**
+     * reads a mesh from a file, the file is memory mapped rather than copied
+     * onto the heap.
+     *
+     * @param f
+     * @param h
+     * @throws IOException
+     */
+    public static void read(File f, Handler h) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(f, "r");
+                FileChannel ch = raf.getChannel()) {
+            ByteBuffer b = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            new PLYMeshReader(b).read(h);
+        }
+    }
+
+    /**
+     * reads a mesh from a stream, the stream is read into one buffer first,
+     * and is not closed.
+     *
+     * @param in
+     * @param h
+     * @throws IOException
+     */
+    public static void read(InputStream in, Handler h) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+        byte[] chunk = new byte[1 << 16];
+        int n;
+        while ((n = in.read(chunk)) != -1) {
+            bytes.write(chunk, 0, n);
+        }
+        new PLYMeshReader(ByteBuffer.wrap(bytes.toByteArray())).read(h);
+    }
+
+    /**
+     * parses the header then streams the body to the handler.
+     *
+     * @param h
+     * @throws IOException
+     */
+    private void read(Handler h) throws IOException {
+        readHeader();
+        Element vertex = null;
+        Element face = null;
+        for (Element e : elements) {
+            if (e.name.equals("vertex")) {
+                vertex = e;
+            } else if (e.name.equals("face")) {
+                face = e;
+            }
+        }
+        if (vertex == null || face == null) {
+            throw new IOException("PLY file has no vertex or face element");
+        }
+        int[] xyz = {vertex.indexOf("x"), vertex.indexOf("y"),
+            vertex.indexOf("z")};
+        if (xyz[0] < 0 || xyz[1] < 0 || xyz[2] < 0) {
+            throw new IOException("PLY vertices have no x, y or z");
+        }
+        int ui = vertex.indexOf("u");
+        int vi = vertex.indexOf("v");
+        boolean hasUV = ui >= 0 && vi >= 0;
+        int fi = face.indexOf("vertex_indices");
+        if (fi < 0) {
+            fi = face.indexOf("vertex_index");
+        }
+        if (fi < 0 || face.props.get(fi).countType == null) {
+            throw new IOException("PLY faces have no vertex_indices list");
+        }
+        h.start(vertex.count, face.count, hasUV);
+
+        double[] vals = new double[vertex.props.size()];
+        int[] idx = new int[3];
+        try {
+            for (Element e : elements) {
+                if (e == vertex) {
+                    for (int i = 0; i < e.count; i++) {
+                        for (int p = 0; p < vals.length; p++) {
+                            Property prop = e.props.get(p);
+                            if (prop.countType != null) {
+                                skipList(prop);
+                            } else {
+                                vals[p] = readNumber(prop.type);
+                            }
+                        }
+                        endElement();
+                        h.vertex(i, vals[xyz[0]], vals[xyz[1]], vals[xyz[2]],
+                                hasUV ? vals[ui] : 0, hasUV ? vals[vi] : 0);
+                    }
+                } else if (e == face) {
+                    for (int i = 0; i < e.count; i++) {
+                        for (int p = 0; p < e.props.size(); p++) {
+                            Property prop = e.props.get(p);
+                            if (p == fi) {
+                                readIndices(prop, idx, i);
+                            } else if (prop.countType != null) {
+                                skipList(prop);
+                            } else {
+                                readNumber(prop.type);
+                            }
+                        }
+                        endElement();
+                        h.face(i, idx[0], idx[1], idx[2]);
+                    }
+                } else {
+                    for (int i = 0; i < e.count; i++) {
+                        for (Property prop : e.props) {
+                            if (prop.countType != null) {
+                                skipList(prop);
+                            } else {
+                                readNumber(prop.type);
+                            }
+                        }
+                        endElement();
+                    }
+                }
+            }
+        } catch (java.nio.BufferUnderflowException ex) {
+            throw new IOException("End of file while parsing PLY body", ex);
+        }
+    }
+
+    /**
+     * ascii elements are one per line, skip anything after the declared
+     * properties, some of the bundled models have undeclared extra values.
+     */
+    private void endElement() {
+        if (binary) {
+            return;
+        }
+        while (buf.hasRemaining()) {
+            byte b = buf.get();
+            if (b == '\n' || b == '\r') {
+                return;
+            }
+        }
+    }
+
+    /**
+     * reads a face's index list, keeping the first three
+     */
+    private void readIndices(Property prop, int[] idx, int face) throws
+            IOException {
+        int n = (int) readNumber(prop.countType);
+        if (n < 3) {
+            throw new IOException("PLY face " + face + " has " + n
+                    + " vertices");
+        }
+        for (int j = 0; j < n; j++) {
+            int v = (int) readNumber(prop.type);
+            if (j < 3) {
+                idx[j] = v;
+            }
+        }
+    }
+
+    /**
+     * skips a list property
+     */
+    private void skipList(Property prop) throws IOException {
+        int n = (int) readNumber(prop.countType);
+        if (binary) {
+            buf.position(buf.position() + n * prop.type.bytes);
+        } else {
+            for (int j = 0; j < n; j++) {
+                readNumber(prop.type);
+            }
+        }
+    }
+
+    /**
+     * reads one value of the given type from the body
+     *
+     * @param t
+     * @return
+     * @throws IOException
+     */
+    private double readNumber(ElementType.Type t) throws IOException {
+        if (!binary) {
+            return readAsciiNumber();
+        }
+        switch (t) {
+            case CHAR:
+                return buf.get();
+            case UCHAR:
+                return buf.get() & 0xFF;
+            case SHORT:
+                return buf.getShort();
+            case USHORT:
+                return buf.getShort() & 0xFFFF;
+            case INT:
+                return buf.getInt();
+            case UINT:
+                return buf.getInt() & 0xFFFFFFFFL;
+            case FLOAT:
+                return buf.getFloat();
+            default:
+                return buf.getDouble();
+        }
+    }
+
+    /**
+     * parses the next whitespace separated number without making a string.
+     * numbers with up to 15 significant digits and small exponents, which is
+     * every number in a normal ply file, are converted exactly by one multiply
+     * or divide, anything else goes through Double.parseDouble().
+     *
+     * @return
+     * @throws IOException
+     */
+    private double readAsciiNumber() throws IOException {
+        int c = skipSpace();
+        if (c < 0) {
+            throw new IOException("End of file while parsing PLY body");
+        }
+        int start = buf.position();
+        boolean neg = false;
+        if (c == '-' || c == '+') {
+            neg = c == '-';
+            buf.get();
+        }
+        long mant = 0;
+        int digits = 0;
+        int exp = 0;
+        boolean any = false;
+        while (buf.hasRemaining() && isDigit(buf.get(buf.position()))) {
+            int d = buf.get() - '0';
+            any = true;
+            if (digits > 0 || d != 0) {
+                digits++;
+            }
+            mant = mant * 10 + d;
+        }
+        if (buf.hasRemaining() && buf.get(buf.position()) == '.') {
+            buf.get();
+            while (buf.hasRemaining() && isDigit(buf.get(buf.position()))) {
+                int d = buf.get() - '0';
+                any = true;
+                if (digits > 0 || d != 0) {
+                    digits++;
+                }
+                mant = mant * 10 + d;
+                exp--;
+            }
+        }
+        if (buf.hasRemaining() && (buf.get(buf.position()) | 0x20) == 'e') {
+            buf.get();
+            boolean eneg = false;
+            if (buf.hasRemaining() && (buf.get(buf.position()) == '-' || buf.
+                    get(buf.position()) == '+')) {
+                eneg = buf.get() == '-';
+            }
+            int e = 0;
+            while (buf.hasRemaining() && isDigit(buf.get(buf.position()))) {
+                e = Math.min(e * 10 + buf.get() - '0', 100000);
+            }
+            exp += eneg ? -e : e;
+        }
+        if (buf.hasRemaining() && !isSpace(buf.get(buf.position()))) {
+            //nan, inf or garbage, let the library decide
+            while (buf.hasRemaining() && !isSpace(buf.get(buf.position()))) {
+                buf.get();
+            }
+            return slowParse(start);
+        }
+        if (!any) {
+            throw new IOException("Bad number in PLY body");
+        }
+        double d;
+        if (digits > 15 || exp < -22 || exp > 22) {
+            return slowParse(start);
+        } else if (exp < 0) {
+            d = mant / POW10[-exp];
+        } else {
+            d = mant * POW10[exp];
+        }
+        return neg ? -d : d;
+    }
+
+    /**
+     * parses the token from start to the current position with the library
+     */
+    private double slowParse(int start) throws IOException {
+        int len = buf.position() - start;
+        if (len > token.length) {
+            throw new IOException("Bad number in PLY body");
+        }
+        for (int i = 0; i < len; i++) {
+            token[i] = (char) buf.get(start + i);
+        }
+        try {
+            return Double.parseDouble(new String(token, 0, len));
+        } catch (NumberFormatException ex) {
+            throw new IOException("Bad number in PLY body", ex);
+        }
+    }
+
+    /**
+     * skips white space, returns the next byte without consuming it or -1 at
+     * the end
+     */
+    private int skipSpace() {
+        while (buf.hasRemaining()) {
+            byte b = buf.get(buf.position());
+            if (!isSpace(b)) {
+                return b;
+            }
+            buf.get();
+        }
+        return -1;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * reads one header line, without the line ending, which may be \n, \r\n
+     * or a lone \r as in the older models.
+     */
+    private String readHeaderLine() throws IOException {
+        int start = buf.position();
+        while (buf.hasRemaining()) {
+            byte b = buf.get();
+            if (b == '\n' || b == '\r') {
+                int end = buf.position() - 1;
+                if (b == '\r' && buf.hasRemaining() && buf.get(buf.position())
+                        == '\n') {
+                    buf.get();
+                }
+                byte[] line = new byte[end - start];
+                for (int i = 0; i < line.length; i++) {
+                    line[i] = buf.get(start + i);
+                }
+                return new String(line, StandardCharsets.US_ASCII);
+            }
+        }
+        throw new IOException("End of file while reading PLY header");
+    }
+
+    /**
+     * reads the header, leaves the buffer at the first byte of the body.
+     *
+     * @throws IOException
+     */
+    private void readHeader() throws IOException {
+        if (!readHeaderLine().trim().equals("ply")) {
+            throw new IOException("File is not PLY or is corrupted");
+        }
+        Element current = null;
+        while (true) {
+            String[] words = readHeaderLine().trim().split("\\s+");
+            switch (words[0]) {
+                case "format":
+                    switch (words[1]) {
+                        case "ascii":
+                            binary = false;
+                            break;
+                        case "binary_little_endian":
+                            binary = true;
+                            buf.order(ByteOrder.LITTLE_ENDIAN);
+                            break;
+                        case "binary_big_endian":
+                            binary = true;
+                            buf.order(ByteOrder.BIG_ENDIAN);
+                            break;
+                        default:
+                            throw new IOException("UNKNOWN PLY TYPE "
+                                    + words[1]);
+                    }
+                    break;
+                case "element":
+                    current = new Element(words[1], Integer.parseInt(words[2]));
+                    elements.add(current);
+                    break;
+                case "property":
+                    if (current == null) {
+                        throw new IOException("Poorly formatted PLY");
+                    }
+                    if (words[1].equals("list")) {
+                        current.props.add(new Property(words[4],
+                                type(words[3]), type(words[2])));
+                    } else {
+                        current.props.add(new Property(words[2], type(
+                                words[1]), null));
+                    }
+                    break;
+                case "end_header":
+                    return;
+                default:
+                    //comments, obj_info and blank lines
+                    break;
+            }
+        }
+    }
+
+    /**
+     * maps a header type name, either the old or the sized spelling, to a
+     * type
+     */
+    private static ElementType.Type type(String name) throws IOException {
+        switch (name) {
+            case "int8":
+                return ElementType.Type.CHAR;
+            case "uint8":
+                return ElementType.Type.UCHAR;
+            case "int16":
+                return ElementType.Type.SHORT;
+            case "uint16":
+                return ElementType.Type.USHORT;
+            case "int32":
+                return ElementType.Type.INT;
+            case "uint32":
+                return ElementType.Type.UINT;
+            case "float32":
+                return ElementType.Type.FLOAT;
+            case "float64":
+                return ElementType.Type.DOUBLE;
+            default:
+                try {
+                    return ElementType.Type.valueOf(name.toUpperCase(
+                            Locale.ROOT));
+                } catch (IllegalArgumentException ex) {
+                    throw new IOException("Unknown property type " + name, ex);
+                }
+        }
+    }
+
+    private static final Logger LOG
+            = Logger.getLogger(PLYMeshReader.class.getName());
+
+}
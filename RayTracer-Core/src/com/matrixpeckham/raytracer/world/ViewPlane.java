@@ -56,6 +56,24 @@ public class ViewPlane {
      */
     public Sampler sampler = null;
 
+    /**
+     * target relative error of the adaptive render mode, 0 to always take
+     * numSamples samples per pixel. see setAdaptive().
+     */
+    public double adaptiveThreshold = 0;
+
+    /**
+     * samples every pixel gets before the adaptive mode may stop it, also the
+     * size of its first pass.
+     */
+    public int adaptiveMinSamples = 16;
+
+    /**
+     * if true camera rays carry their pixel's footprint and image textures
+     * are looked up filtered to it, see setTextureFiltering().
+     */
+    public boolean textureFiltering = false;
+
     /**
      * Gamma correction.
      */
@@ -110,6 +128,9 @@ public class ViewPlane {
         s = vp.s;
         numSamples = vp.numSamples;
         sampler = vp.sampler.cloneSampler();
+        adaptiveThreshold = vp.adaptiveThreshold;
+        adaptiveMinSamples = vp.adaptiveMinSamples;
+        textureFiltering = vp.textureFiltering;
         gamma = vp.gamma;
         invGamma = vp.invGamma;
         toneMapper = vp.toneMapper;
@@ -126,6 +147,9 @@ public class ViewPlane {
         vRes = vp.vRes;
         s = vp.s;
         numSamples = vp.numSamples;
+        adaptiveThreshold = vp.adaptiveThreshold;
+        adaptiveMinSamples = vp.adaptiveMinSamples;
+        textureFiltering = vp.textureFiltering;
         gamma = vp.gamma;
         invGamma = vp.invGamma;
         toneMapper = vp.toneMapper;
@@ -205,6 +229,46 @@ public class ViewPlane {
         numSamples = sampler.getNumSamples();
     }
 
+    /**
+     * turns on the adaptive render mode: pixels are rendered in passes, each
+     * doubling the samples taken, and a pixel stops once the standard error of
+     * its luminance falls below threshold times its luminance, or it reaches
+     * numSamples.
+     *
+     * @param threshold target relative error, 0 turns adaptive mode off
+     * @param minSamples samples each pixel gets before it may stop
+     */
+    public void setAdaptive(double threshold, int minSamples) {
+        if (threshold < 0 || minSamples < 2) {
+            throw new IllegalArgumentException("bad adaptive settings "
+                    + threshold + " " + minSamples);
+        }
+        adaptiveThreshold = threshold;
+        adaptiveMinSamples = minSamples;
+    }
+
+    /**
+     * true if the adaptive render mode is on
+     *
+     * @return
+     */
+    public boolean isAdaptive() {
+        return adaptiveThreshold > 0;
+    }
+
+    /**
+     * turns on filtered texture lookups: the multithreaded cameras give each
+     * ray the width of its share of the pixel, and image textures hit by it
+     * are sampled trilinearly from MIP maps at that width instead of from the
+     * nearest texel, so minified textures don't alias at low sample counts.
+     * rays spawned at hits have no footprint and stay unfiltered.
+     *
+     * @param filter
+     */
+    public void setTextureFiltering(boolean filter) {
+        textureFiltering = filter;
+    }
+
     /**
      * Setter.
      *
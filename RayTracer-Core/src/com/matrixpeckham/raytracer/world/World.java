@@ -17,21 +17,26 @@
  */
 package com.matrixpeckham.raytracer.world;
 
+import com.matrixpeckham.raytracer.FrameBuffer;
 import com.matrixpeckham.raytracer.RenderListener;
-import com.matrixpeckham.raytracer.RenderPixel;
 import com.matrixpeckham.raytracer.cameras.Camera;
+import com.matrixpeckham.raytracer.cameras.RenderCheckpoint;
+import com.matrixpeckham.raytracer.cameras.TileScheduler;
 import com.matrixpeckham.raytracer.geometricobjects.GeometricObject;
+import com.matrixpeckham.raytracer.geometricobjects.compound.BVH;
 import com.matrixpeckham.raytracer.geometricobjects.primitives.Sphere;
 import com.matrixpeckham.raytracer.lights.Ambient;
 import com.matrixpeckham.raytracer.lights.Light;
+import com.matrixpeckham.raytracer.materials.Material;
 import com.matrixpeckham.raytracer.tracers.Tracer;
-import com.matrixpeckham.raytracer.util.Normal;
-import com.matrixpeckham.raytracer.util.Point3D;
+import com.matrixpeckham.raytracer.util.DoubleRef;
 import com.matrixpeckham.raytracer.util.RGBColor;
 import com.matrixpeckham.raytracer.util.Ray;
 import com.matrixpeckham.raytracer.util.ShadeRec;
 import com.matrixpeckham.raytracer.util.Utility;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 
 /**
@@ -88,6 +93,65 @@ public class World {
      */
     private RenderListener paintArea = null;
 
+    /**
+     * image the render writes to, made by startRender().
+     */
+    private FrameBuffer frameBuffer = null;
+
+    /**
+     * checkpoint for long renders, null for none.
+     */
+    private RenderCheckpoint checkpoint = null;
+
+    /**
+     * where multithreaded renders get their tiles, null for all of them.
+     */
+    private TileScheduler.TileSource tileSource = null;
+
+    /**
+     * If true the bounded objects are put in a bounding volume hierarchy
+     * before rendering, so hitObjects() doesn't test every object for every
+     * ray. Default: false.
+     */
+    private boolean accelerate = false;
+
+    /**
+     * acceleration structure for the objects, built lazily, and rebuilt when
+     * the number of objects changes.
+     */
+    private volatile Accelerator accelerator = null;
+
+    /**
+     * per thread shade records indexed by ray depth, see getShadeRec().
+     */
+    private final ThreadLocal<ShadeRec[]> shadeRecs
+            = new ThreadLocal<ShadeRec[]>() {
+                @Override
+                protected ShadeRec[] initialValue() {
+                    return new ShadeRec[0];
+                }
+
+            };
+
+    /**
+     * per thread hit distance for occluded(), which only needs to know if
+     * there was a hit.
+     */
+    private final ThreadLocal<DoubleRef> occludedT
+            = new ThreadLocal<DoubleRef>() {
+                @Override
+                protected DoubleRef initialValue() {
+                    return new DoubleRef();
+                }
+
+            };
+
+    /**
+     * number of rays intersected with the scene, camera, secondary and shadow
+     * rays alike. see getRayCount().
+     */
+    private final LongAdder rayCount = new LongAdder();
+
     /**
      * Default constructor.
      */
@@ -110,6 +174,45 @@ public class World {
         this.paintArea = paintArea;
     }
 
+    /**
+     * getter
+     *
+     * @return
+     */
+    public RenderCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * sets the checkpoint multithreaded renders save their progress to, and
+     * resume from if it was saved by an earlier render of this scene. null to
+     * turn checkpoints off.
+     *
+     * @param checkpoint
+     */
+    public void setCheckpoint(RenderCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * getter
+     *
+     * @return
+     */
+    public TileScheduler.TileSource getTileSource() {
+        return tileSource;
+    }
+
+    /**
+     * makes multithreaded renders only render the tiles source hands out,
+     * for a render farm worker. null renders every tile.
+     *
+     * @param source
+     */
+    public void setTileSource(TileScheduler.TileSource source) {
+        tileSource = source;
+    }
+
     /**
      * Adds a light to the scene.
      *
@@ -154,6 +257,7 @@ public class World {
         double zw = 100.0f;
         //direction is always down z
         ray.d.setTo(0.0, 0.0, -1.0);
+        startRender(hres, vres);
         //loop through every pixel
         for (int r = 0; r < vres; r++) {
             for (int c = 0; c < hres; c++) {
@@ -165,49 +269,163 @@ public class World {
                 //display pixel
                 displayPixel(r, c, pixelColor);
             }
+            displayTile(r, 0, 1, hres);
         }
+        finishRender();
     }
 
     /**
-     * Sends a pixel to the GUI through the threading queue.
+     * Stores a finished pixel in the frame buffer. Nothing is sent to the
+     * render listener until displayTile() is called for the block of pixels
+     * containing it.
      *
-     * @param row pixel x component
-     * @param column pixel y component
-     * @param rawColor color to send, may be changed if out of gamut
+     * @param row pixel row, from the bottom
+     * @param column pixel column
+     * @param rawColor color before tone mapping
      */
     public void displayPixel(int row, int column, RGBColor rawColor) {
-        RGBColor mappedColor;
-        //fix out of gamut colors
-        mappedColor = vp.toneMapper.map(rawColor);
-
-        //gamma correction
-        if (vp.gamma != 1.0) {
-            mappedColor = mappedColor.powc(vp.invGamma);
-        }
+        displayPixel(row, column, rawColor.r, rawColor.g, rawColor.b);
+    }
 
-        //converts row/column to x,y image coordinates, flip y coordinate because
-        //image has top left origin, and row/col is bottom left origin.
-        int x = column;
-        int y = vp.vRes - row - 1;
+    /**
+     * Stores a finished pixel in the frame buffer, like
+     * displayPixel(row, column, rawColor).
+     *
+     * @param row pixel row, from the bottom
+     * @param column pixel column
+     * @param r
+     * @param g
+     * @param b
+     */
+    public void displayPixel(int row, int column, double r, double g,
+            double b) {
+        //flip y coordinate because image has top left origin, and row/col is
+        //bottom left origin.
+        frameBuffer.setPixel(column, vp.vRes - row - 1, r, g, b);
+    }
 
-        //make sure we have a valid queue and send pixel.
+    /**
+     * Sends a finished block of pixels to the render listener. Must be called
+     * by the thread that displayed the pixels, or after it has finished.
+     *
+     * @param row bottom row of the block
+     * @param column left column of the block
+     * @param rows height of the block
+     * @param columns width of the block
+     */
+    public void displayTile(int row, int column, int rows, int columns) {
         if (paintArea != null) {
-            paintArea.newPixel(new RenderPixel(x, y,
-                    (int) (mappedColor.r * 255), (int) (mappedColor.g * 255),
-                    (int) (mappedColor.b * 255)));
+            paintArea.newTile(frameBuffer, column, vp.vRes - row - rows,
+                    columns, rows);
         }
     }
 
+    /**
+     * gets the image of the current or last render.
+     *
+     * @return null if nothing has been rendered
+     */
+    public FrameBuffer getFrameBuffer() {
+        return frameBuffer;
+    }
+
     public void updateProgress(double progress) {
         paintArea.progress(progress);
     }
 
     public void startRender(int width, int height) {
+        //build the hierarchy before any render threads need it
+        getAccelerator();
+        frameBuffer = new FrameBuffer(width, height, vp.toneMapper, vp.gamma);
         paintArea.renderStarting(width, height);
     }
 
+    /**
+     * returns true if hitObjects() uses the acceleration structure
+     *
+     * @return
+     */
+    public boolean isAccelerate() {
+        return accelerate;
+    }
+
+    /**
+     * sets whether hitObjects() should use a bounding volume hierarchy over
+     * the objects instead of testing every one. Results are the same either
+     * way, objects that aren't bounded, like planes, are still tested for
+     * every ray.
+     *
+     * @param accelerate
+     */
+    public void setAccelerate(boolean accelerate) {
+        this.accelerate = accelerate;
+        accelerator = null;
+    }
+
+    /**
+     * builds the acceleration structure from the current objects. called
+     * lazily, but may be called after building the scene to do the work up
+     * front.
+     */
+    public synchronized void buildAccelerator() {
+        Accelerator acc = new Accelerator(objects.size());
+        for (GeometricObject obj : objects) {
+            if (obj.isBounded()) {
+                acc.bvh.addObject(obj);
+            } else {
+                acc.unbounded.add(obj);
+            }
+        }
+        acc.bvh.setupCells();
+        accelerator = acc;
+    }
+
+    /**
+     * gets the acceleration structure, building it if it is out of date.
+     *
+     * @return null if not accelerating
+     */
+    private Accelerator getAccelerator() {
+        if (!accelerate) {
+            return null;
+        }
+        Accelerator acc = accelerator;
+        if (acc == null || acc.numObjects != objects.size()) {
+            synchronized (this) {
+                acc = accelerator;
+                if (acc == null || acc.numObjects != objects.size()) {
+                    buildAccelerator();
+                    acc = accelerator;
+                }
+            }
+        }
+        return acc;
+    }
+
     public void finishRender() {
         paintArea.renderFinished();
+        //the listener has the image now, drop the checkpoint unless some of
+        //the render is missing
+        if (checkpoint != null && checkpoint.isComplete()) {
+            checkpoint.finished();
+        }
+    }
+
+    /**
+     * gets the number of rays traced through hitObjects() and occluded()
+     * since the world was made or resetRayCount() was called.
+     *
+     * @return
+     */
+    public long getRayCount() {
+        return rayCount.sum();
+    }
+
+    /**
+     * sets the ray count back to zero.
+     */
+    public void resetRayCount() {
+        rayCount.reset();
     }
 
     /**
@@ -219,59 +437,181 @@ public class World {
      */
     public ShadeRec hitObjects(Ray ray) {
         //creates a new shaderec.
+        return hitObjects(ray, new ShadeRec(this));
+    }
+
+    /**
+     * Same as hitObjects(Ray) but fills in the given shade rec instead of
+     * making a new one, sr is reset first.
+     *
+     * @param ray ray to trace
+     * @param sr record to reuse, usually from getShadeRec(depth)
+     * @return sr
+     */
+    public ShadeRec hitObjects(Ray ray, ShadeRec sr) {
+        rayCount.increment();
+        sr.reset();
+        if (hitClosest(ray, sr) != null) {
+            double t = sr.lastT;
+            sr.hitPoint.setTo(ray.o.x + t * ray.d.x, ray.o.y + t * ray.d.y,
+                    ray.o.z + t * ray.d.z);
+        }
+        return sr;
+    }
+
+    /**
+     * gets the calling thread's scratch shade rec for a ray depth. a tracer
+     * shades with the record for its depth while the rays it spawns use
+     * deeper ones, so the record stays valid until the tracer returns and is
+     * then reused by the next ray at that depth.
+     *
+     * @param depth
+     * @return
+     */
+    public ShadeRec getShadeRec(int depth) {
+        ShadeRec[] recs = shadeRecs.get();
+        if (depth >= recs.length) {
+            ShadeRec[] grown = Arrays.copyOf(recs, Math.max(depth + 1,
+                    vp.maxDepth + 2));
+            for (int i = recs.length; i < grown.length; i++) {
+                grown[i] = new ShadeRec(this);
+            }
+            recs = grown;
+            shadeRecs.set(recs);
+        }
+        return recs[depth];
+    }
+
+    /**
+     * Simplistic hit function, no normals no local position, pretty much just
+     * color.
+     *
+     * @param ray
+     * @return
+     */
+    public ShadeRec hitBareBonesObjects(Ray ray) {
+        rayCount.increment();
         ShadeRec sr = new ShadeRec(this);
-        //these hold some things temporarily for the
-        //normal reference
-        Normal normal = new Normal();
-        //local hit position.
-        Point3D localHitPoint = new Point3D();
+        //keep the color from the closest.
+        GeometricObject ob = hitClosest(ray, sr);
+        if (ob != null) {
+            sr.color.setTo(ob.getColor());
+        }
+        return sr;
+    }
+
+    /**
+     * finds the closest object hit by the ray, either by testing every object
+     * or through the acceleration structure and then the unbounded objects.
+     * fills in the hit flag, ray parameter, material, normal, local hit point
+     * and texture coordinates of the closest hit.
+     *
+     * @param ray
+     * @param sr
+     * @return the closest object, or null if nothing was hit
+     */
+    private GeometricObject hitClosest(Ray ray, ShadeRec sr) {
+        //these hold the closest normal and local hit position, kept in
+        //locals so finding the hit doesn't allocate
+        double nx = 0;
+        double ny = 0;
+        double nz = 0;
+        double lx = 0;
+        double ly = 0;
+        double lz = 0;
+        double u = 0;
+        double v = 0;
+        double ls = 1;
+        Material mat = null;
         double tmin = Utility.HUGE_VALUE;
-        int numObjects = objects.size();
+        GeometricObject closest = null;
+        ArrayList<GeometricObject> linear = objects;
+        Accelerator acc = getAccelerator();
+        if (acc != null) {
+            GeometricObject obj = acc.bvh.hitObject(ray, sr);
+            if (obj != null) {
+                closest = obj;
+                tmin = sr.lastT;
+                mat = GeometricObject.hitMaterial(obj, sr);
+                nx = sr.normal.x;
+                ny = sr.normal.y;
+                nz = sr.normal.z;
+                lx = sr.localHitPosition.x;
+                ly = sr.localHitPosition.y;
+                lz = sr.localHitPosition.z;
+                u = sr.u;
+                v = sr.v;
+                ls = sr.localScale;
+            }
+            //only the unbounded objects are left to test one by one
+            linear = acc.unbounded;
+        }
+        int numObjects = linear.size();
         //test the ray with all objects store values in temporary variables when they
         //are the lowest
         for (int j = 0; j < numObjects; j++) {
-            if (objects.get(j).hit(ray, sr) && sr.lastT < tmin) {
-                sr.hitAnObject = true;
+            GeometricObject obj = linear.get(j);
+            //only instances change it, every other hit is at scale 1
+            sr.localScale = 1;
+            //only compounds and instances report a material in sr
+            sr.material = null;
+            if (obj.hit(ray, sr) && sr.lastT < tmin) {
+                closest = obj;
                 tmin = sr.lastT;//changes at call to hit, so we must preserve lowest
-                sr.material = objects.get(j).getMaterial();
-                sr.hitPoint.setTo(ray.o.add(ray.d.mul(sr.lastT)));//only calculated at this point
-                normal.setTo(sr.normal);//ditto
-                localHitPoint.setTo(sr.localHitPosition);//ditto
+                mat = GeometricObject.hitMaterial(obj, sr);
+                nx = sr.normal.x;//ditto
+                ny = sr.normal.y;
+                nz = sr.normal.z;
+                lx = sr.localHitPosition.x;
+                ly = sr.localHitPosition.y;
+                lz = sr.localHitPosition.z;
+                u = sr.u;
+                v = sr.v;
+                ls = sr.localScale;
             }
         }
         //restore the saved lowest values
-        if (sr.hitAnObject) {
-            //sr.t=tmin;
+        if (closest != null) {
+            sr.hitAnObject = true;
             sr.lastT = tmin;
-            sr.normal.setTo(normal);
-            sr.localHitPosition.setTo(localHitPoint);
+            sr.normal.setTo(nx, ny, nz);
+            sr.localHitPosition.setTo(lx, ly, lz);
+            sr.u = u;
+            sr.v = v;
+            sr.localScale = ls;
+            sr.material = mat;
         }
-
-        return sr;
+        return closest;
     }
 
     /**
-     * Simplistic hit function, no normals no local position, pretty much just
-     * color.
+     * Occlusion query for shadow rays. Returns true if any object casts a
+     * shadow hit closer than maxT along the ray, stopping at the first one
+     * found. Uses the acceleration structure when it is turned on.
      *
-     * @param ray
+     * @param ray shadow ray
+     * @param maxT distance to the light, Double.POSITIVE_INFINITY for lights
+     * at infinity
      * @return
      */
-    public ShadeRec hitBareBonesObjects(Ray ray) {
-        ShadeRec sr = new ShadeRec(this);
-        double tmin = Utility.HUGE_VALUE;
-        int numObjects = objects.size();
-        //intersect each object with ray, and keep the color from the closest.
+    public boolean occluded(Ray ray, double maxT) {
+        rayCount.increment();
+        DoubleRef t = occludedT.get();
+        ArrayList<GeometricObject> linear = objects;
+        Accelerator acc = getAccelerator();
+        if (acc != null) {
+            if (acc.bvh.occluded(ray, maxT)) {
+                return true;
+            }
+            linear = acc.unbounded;
+        }
+        int numObjects = linear.size();
         for (int j = 0; j < numObjects; j++) {
-            GeometricObject ob = objects.get(j);
-            if (ob.hit(ray, sr) && (sr.lastT < tmin)) {
-                sr.hitAnObject = true;
-                tmin = sr.lastT;
-                sr.color.setTo(ob.getColor());
+            if (linear.get(j).shadowHit(ray, t) && t.d < maxT) {
+                return true;
             }
         }
-
-        return sr;
+        return false;
     }
 
     /**
@@ -281,6 +621,34 @@ public class World {
      */
     public void addObject(GeometricObject obj) {
         objects.add(obj);
+        accelerator = null;
+    }
+
+    /**
+     * bounding volume hierarchy over the bounded objects, and the list of
+     * objects that can't go in it.
+     */
+    private static final class Accelerator {
+
+        /**
+         * hierarchy of bounded objects
+         */
+        final BVH bvh = new BVH();
+
+        /**
+         * objects tested for every ray
+         */
+        final ArrayList<GeometricObject> unbounded = new ArrayList<>();
+
+        /**
+         * size of the object list this was built from
+         */
+        final int numObjects;
+
+        Accelerator(int numObjects) {
+            this.numObjects = numObjects;
+        }
+
     }
 
     private static final Logger LOG = Logger.getLogger(World.class.getName());